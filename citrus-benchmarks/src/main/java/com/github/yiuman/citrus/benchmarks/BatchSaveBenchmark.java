@@ -0,0 +1,77 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.github.yiuman.citrus.benchmarks.model.BenchEntity;
+import com.github.yiuman.citrus.support.crud.CrudHelper;
+import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CrudMapper批量保存，使用内嵌H2数据库，每轮结束后清空表
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSaveBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private CrudMapper<BenchEntity> mapper;
+
+    private List<BenchEntity> entities;
+
+    @Setup
+    public void setup() {
+        BenchmarkContext.start();
+        mapper = CrudHelper.getCrudMapper(BenchEntity.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BenchEntity entity = new BenchEntity();
+            entity.setEntityId(IdWorker.getId());
+            entity.setCode("C" + i);
+            entity.setName("name-" + i);
+            entity.setAge(i % 100);
+            entity.setRemark("remark-" + i);
+            entity.setCreateTime(LocalDateTime.now());
+            entities.add(entity);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clean() {
+        mapper.delete(new QueryWrapper<>());
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.stop();
+    }
+
+    @Benchmark
+    public boolean saveBatch() {
+        return mapper.saveBatch(entities);
+    }
+
+    @Benchmark
+    public boolean insertBatch() {
+        return mapper.insertBatch(entities);
+    }
+
+}
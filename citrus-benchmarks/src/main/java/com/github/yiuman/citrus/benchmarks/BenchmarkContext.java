@@ -0,0 +1,93 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.alibaba.druid.spring.boot.autoconfigure.DruidDataSourceAutoConfigure;
+import com.github.yiuman.citrus.security.jwt.JwtProperties;
+import com.github.yiuman.citrus.support.inject.InjectAnnotationParser;
+import com.github.yiuman.citrus.support.inject.InjectAnnotationParserHolder;
+import com.github.yiuman.citrus.support.inject.impl.InjectAnnotationParserHolderImpl;
+import com.github.yiuman.citrus.support.utils.SpringUtils;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 基准测试使用的Spring上下文<br/>
+ * 只装配被测代码依赖的组件：内嵌H2数据源、Mybatis-Plus、SpringUtils、JWT配置与注解注入器，每个JMH进程只启动一次
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+        DruidDataSourceAutoConfigure.class,
+        RedisAutoConfiguration.class,
+        RedisRepositoriesAutoConfiguration.class,
+        SecurityAutoConfiguration.class,
+        UserDetailsServiceAutoConfiguration.class
+})
+@Import({SpringUtils.class, JwtProperties.class})
+public class BenchmarkContext {
+
+    private static volatile ConfigurableApplicationContext context;
+
+    @Bean
+    public InjectAnnotationParser<BenchmarkValue> benchmarkValueInjectAnnotationParser() {
+        return new BenchmarkValueInjectAnnotationParser();
+    }
+
+    @Bean
+    public InjectAnnotationParserHolder injectAnnotationParserHolder(Set<InjectAnnotationParser<?>> parsers) {
+        return new InjectAnnotationParserHolderImpl(new HashSet<>(parsers));
+    }
+
+    /**
+     * 启动或获取已启动的上下文
+     *
+     * @return Spring上下文
+     */
+    public static ConfigurableApplicationContext start() {
+        if (Objects.isNull(context)) {
+            synchronized (BenchmarkContext.class) {
+                if (Objects.isNull(context)) {
+                    context = new SpringApplicationBuilder(BenchmarkContext.class)
+                            .web(WebApplicationType.NONE)
+                            .logStartupInfo(false)
+                            .properties(
+                                    "spring.main.banner-mode=off",
+                                    "logging.level.root=warn",
+                                    "spring.datasource.url=jdbc:h2:mem:citrus;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                                    "spring.datasource.username=sa",
+                                    "spring.sql.init.mode=always",
+                                    "spring.sql.init.schema-locations=classpath:benchmark-schema.sql"
+                            )
+                            .run();
+                }
+            }
+        }
+        return context;
+    }
+
+    /**
+     * 关闭上下文
+     */
+    public static void stop() {
+        synchronized (BenchmarkContext.class) {
+            if (Objects.nonNull(context)) {
+                context.close();
+                context = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口<br/>
+ * 参数与JMH命令行一致，如：java -jar target/benchmarks.jar TreeAssembly -p size=1000；
+ * 未指定结果格式与文件时，以JSON格式输出到jmh-result.json，方便在不同版本间对比
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!commandLineOptions.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT);
+        }
+
+        new Runner(builder.build()).run();
+    }
+}
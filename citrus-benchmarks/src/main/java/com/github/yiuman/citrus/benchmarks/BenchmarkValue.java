@@ -0,0 +1,19 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 基准测试用的注入注解，注入固定值
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface BenchmarkValue {
+
+    String value() default "";
+}
@@ -0,0 +1,17 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.github.yiuman.citrus.support.inject.InjectAnnotationParser;
+
+/**
+ * {@link BenchmarkValue}的注入解析器
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class BenchmarkValueInjectAnnotationParser implements InjectAnnotationParser<BenchmarkValue> {
+
+    @Override
+    public Object parse(BenchmarkValue annotation) {
+        return annotation.value();
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.github.yiuman.citrus.benchmarks.model.BenchDto;
+import com.github.yiuman.citrus.benchmarks.model.BenchEntity;
+import com.github.yiuman.citrus.support.crud.service.BaseDtoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * BaseDtoService实体与DTO之间的转化，按一页数据计
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoConversionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<BenchEntity> entities;
+
+    private List<BenchDto> dtos;
+
+    private Function<BenchEntity, BenchDto> entityToDto;
+
+    private Function<BenchDto, BenchEntity> dtoToEntity;
+
+    @Setup
+    public void setup() {
+        BenchmarkContext.start();
+        BenchDtoService service = new BenchDtoService();
+        entityToDto = service.entityToDto();
+        dtoToEntity = service.dtoToEntity();
+        entities = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            BenchEntity entity = new BenchEntity();
+            entity.setEntityId(i);
+            entity.setCode("C" + i);
+            entity.setName("name-" + i);
+            entity.setAge((int) (i % 100));
+            entity.setRemark("remark-" + i);
+            entity.setCreateTime(LocalDateTime.now());
+            entities.add(entity);
+        }
+        dtos = entities.stream().map(entityToDto).collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.stop();
+    }
+
+    @Benchmark
+    public List<BenchDto> entityToDto() {
+        return entities.stream().map(entityToDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BenchEntity> dtoToEntity() {
+        return dtos.stream().map(dtoToEntity).collect(Collectors.toList());
+    }
+
+    static class BenchDtoService extends BaseDtoService<BenchEntity, Long, BenchDto> {
+
+        @Override
+        protected Function<BenchDto, BenchEntity> dtoToEntity() {
+            return super.dtoToEntity();
+        }
+
+        @Override
+        protected Function<BenchEntity, BenchDto> entityToDto() {
+            return super.entityToDto();
+        }
+    }
+
+}
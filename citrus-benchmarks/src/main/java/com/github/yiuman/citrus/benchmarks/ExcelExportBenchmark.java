@@ -0,0 +1,67 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.github.yiuman.citrus.benchmarks.model.BenchDto;
+import com.github.yiuman.citrus.support.crud.view.impl.PageTableView;
+import com.github.yiuman.citrus.support.model.Page;
+import com.github.yiuman.citrus.support.utils.WebUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表格视图导出Excel，包含记录转行与EasyExcel写出
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelExportBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private PageTableView<BenchDto> view;
+
+    @Setup
+    public void setup() {
+        List<BenchDto> records = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            BenchDto dto = new BenchDto();
+            dto.setEntityId(i);
+            dto.setCode("C" + i);
+            dto.setName("name-" + i);
+            dto.setAge((int) (i % 100));
+            dto.setRemark("remark-" + i);
+            dto.setCreateTime(LocalDateTime.now());
+            records.add(dto);
+        }
+
+        Page<BenchDto> page = Page.of(records);
+        page.setItemKey("entityId");
+        view = new PageTableView<>();
+        view.addColumn("编码", "code");
+        view.addColumn("名称", "name");
+        view.addColumn("年龄", "age");
+        view.addColumn("备注", "remark");
+        view.addColumn("创建时间", "createTime");
+        view.addColumn("描述", dto -> dto.getCode() + ":" + dto.getName());
+        view.setData(page);
+    }
+
+    @Benchmark
+    public int exportExcel() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebUtils.exportExcel(response, view, "benchmark");
+        return response.getContentAsByteArray().length;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.github.yiuman.citrus.benchmarks.model.BenchQueryParams;
+import com.github.yiuman.citrus.support.inject.InjectAnnotationParserHolder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 查询参数对象的注解注入
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectBenchmark {
+
+    private InjectAnnotationParserHolder injector;
+
+    @Setup
+    public void setup() {
+        injector = BenchmarkContext.start().getBean(InjectAnnotationParserHolder.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.stop();
+    }
+
+    @Benchmark
+    public BenchQueryParams inject() {
+        BenchQueryParams params = new BenchQueryParams();
+        injector.inject(params);
+        return params;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.github.yiuman.citrus.support.http.JsonServletRequestWrapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON请求体的解析
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonRequestBenchmark {
+
+    @Param({"10", "100"})
+    private int fields;
+
+    private byte[] objectBody;
+
+    private byte[] arrayBody;
+
+    @Setup
+    public void setup() {
+        StringJoiner object = new StringJoiner(",", "{", "}");
+        StringJoiner array = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < fields; i++) {
+            object.add(String.format("\"field%d\":\"value-%d\"", i, i));
+            array.add(String.format("{\"id\":%d,\"name\":\"name-%d\"}", i, i));
+        }
+        objectBody = object.toString().getBytes(StandardCharsets.UTF_8);
+        arrayBody = array.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, String[]> parseObject() throws IOException {
+        return new JsonServletRequestWrapper(request(objectBody)).getParameterMap();
+    }
+
+    @Benchmark
+    public Object parseArray() throws IOException {
+        return new JsonServletRequestWrapper(request(arrayBody)).getArray();
+    }
+
+    private MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/benchmark");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body);
+        return request;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.github.yiuman.citrus.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT令牌的生成与校验
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        BenchmarkContext.start();
+        token = JwtUtils.generateToken("admin", new HashMap<>(2)).getToken();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.stop();
+    }
+
+    @Benchmark
+    public String generate() {
+        return JwtUtils.generateToken("admin", new HashMap<>(2)).getToken();
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return JwtUtils.validateToken(token);
+    }
+
+    @Benchmark
+    public String resolveIdentity() {
+        return JwtUtils.getIdentityClaimsValue(token);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.github.yiuman.citrus.benchmarks.model.BenchEntity;
+import com.github.yiuman.citrus.benchmarks.model.BenchQueryParams;
+import com.github.yiuman.citrus.support.crud.CrudHelper;
+import com.github.yiuman.citrus.support.crud.query.Query;
+import com.github.yiuman.citrus.support.crud.query.QueryHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 查询参数解析与QueryWrapper构建
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryHelperBenchmark {
+
+    private BenchQueryParams params;
+
+    private Query query;
+
+    @Setup
+    public void setup() {
+        BenchmarkContext.start();
+        CrudHelper.getTableInfo(BenchEntity.class);
+        params = new BenchQueryParams();
+        params.setCode("C0001");
+        params.setName("citrus");
+        params.setAge(18);
+        params.setEntityIds(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        query = injectQuery();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.stop();
+    }
+
+    @Benchmark
+    public Query injectQuery() {
+        Query current = Query.create();
+        current.setEntityClass(BenchEntity.class);
+        QueryHelper.doInjectQuery(current, params);
+        return current;
+    }
+
+    @Benchmark
+    public String queryWrapper() {
+        QueryWrapper<BenchEntity> queryWrapper = QueryHelper.getQueryWrapper(query, BenchEntity.class);
+        return queryWrapper.getCustomSqlSegment();
+    }
+
+}
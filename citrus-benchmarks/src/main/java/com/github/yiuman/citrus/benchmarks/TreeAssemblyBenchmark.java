@@ -0,0 +1,91 @@
+package com.github.yiuman.citrus.benchmarks;
+
+import com.github.yiuman.citrus.benchmarks.model.BenchNode;
+import com.github.yiuman.citrus.benchmarks.model.BenchPreOrderNode;
+import com.github.yiuman.citrus.support.crud.service.BasePreOrderTreeService;
+import com.github.yiuman.citrus.support.crud.service.BaseSimpleTreeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 列表组装为树，节点的父节点随机（种子固定）选自之前的节点
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeAssemblyBenchmark {
+
+    private static final long ROOT_ID = 0L;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private List<BenchNode> simpleNodes;
+
+    private List<BenchPreOrderNode> preOrderNodes;
+
+    private final BenchSimpleTreeService simpleTreeService = new BenchSimpleTreeService();
+
+    private final BenchPreOrderTreeService preOrderTreeService = new BenchPreOrderTreeService();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        simpleNodes = new ArrayList<>(size);
+        preOrderNodes = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            long parentId = (long) random.nextInt((int) id);
+            BenchNode simpleNode = new BenchNode();
+            simpleNode.setId(id);
+            simpleNode.setParentId(parentId == ROOT_ID ? null : parentId);
+            simpleNode.setName("node-" + id);
+            simpleNodes.add(simpleNode);
+
+            BenchPreOrderNode preOrderNode = new BenchPreOrderNode();
+            preOrderNode.setId(id);
+            preOrderNode.setParentId(parentId);
+            preOrderNode.setName("node-" + id);
+            preOrderNodes.add(preOrderNode);
+        }
+    }
+
+    @Benchmark
+    public BenchNode simpleTree() {
+        return simpleTreeService.listToTree(simpleNodes);
+    }
+
+    @Benchmark
+    public BenchPreOrderNode preOrderTree() {
+        BenchPreOrderNode root = new BenchPreOrderNode();
+        root.setId(ROOT_ID);
+        preOrderTreeService.listToTree(root, preOrderNodes);
+        return root;
+    }
+
+    static class BenchSimpleTreeService extends BaseSimpleTreeService<BenchNode, Long> {
+
+        @Override
+        protected BenchNode listToTree(List<BenchNode> list) {
+            return super.listToTree(list);
+        }
+    }
+
+    static class BenchPreOrderTreeService extends BasePreOrderTreeService<BenchPreOrderNode, Long> {
+
+        @Override
+        protected void listToTree(BenchPreOrderNode current, List<BenchPreOrderNode> list) {
+            super.listToTree(current, list);
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.github.yiuman.citrus.benchmarks.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 基准测试实体的DTO
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+public class BenchDto {
+
+    private Long entityId;
+
+    private String code;
+
+    private String name;
+
+    private Integer age;
+
+    private String remark;
+
+    private LocalDateTime createTime;
+
+}
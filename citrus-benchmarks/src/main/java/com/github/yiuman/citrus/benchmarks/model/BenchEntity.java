@@ -0,0 +1,33 @@
+package com.github.yiuman.citrus.benchmarks.model;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 基准测试实体
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+@TableName("bench_entity")
+public class BenchEntity {
+
+    @TableId(type = IdType.INPUT)
+    private Long entityId;
+
+    private String code;
+
+    private String name;
+
+    private Integer age;
+
+    private String remark;
+
+    private LocalDateTime createTime;
+
+}
@@ -0,0 +1,23 @@
+package com.github.yiuman.citrus.benchmarks.model;
+
+import com.github.yiuman.citrus.support.model.BaseTree;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 基准测试的简单树节点
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+@EqualsAndHashCode(callSuper = false, of = "id")
+public class BenchNode extends BaseTree<BenchNode, Long> {
+
+    private Long id;
+
+    private Long parentId;
+
+    private String name;
+
+}
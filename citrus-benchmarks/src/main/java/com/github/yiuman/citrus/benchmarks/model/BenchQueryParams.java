@@ -0,0 +1,35 @@
+package com.github.yiuman.citrus.benchmarks.model;
+
+import com.github.yiuman.citrus.benchmarks.BenchmarkValue;
+import com.github.yiuman.citrus.support.crud.query.annotations.Equals;
+import com.github.yiuman.citrus.support.crud.query.annotations.In;
+import com.github.yiuman.citrus.support.crud.query.annotations.Like;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 基准测试的查询参数
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+public class BenchQueryParams {
+
+    @Equals
+    private String code;
+
+    @Like
+    private String name;
+
+    @Equals
+    private Integer age;
+
+    @In(mapping = "entityId")
+    private List<Long> entityIds;
+
+    @BenchmarkValue("benchmark")
+    private String remark;
+
+}
@@ -0,0 +1,10 @@
+DROP TABLE IF EXISTS bench_entity;
+CREATE TABLE bench_entity
+(
+    entity_id   BIGINT       NOT NULL PRIMARY KEY,
+    code        VARCHAR(64)  NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    age         INT,
+    remark      VARCHAR(255),
+    create_time TIMESTAMP
+);
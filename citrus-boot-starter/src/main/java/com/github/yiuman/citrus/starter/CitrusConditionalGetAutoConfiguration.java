@@ -0,0 +1,26 @@
+package com.github.yiuman.citrus.starter;
+
+import com.github.yiuman.citrus.support.http.ConditionalGetInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 条件GET自动配置，只对标记了ConditionalGet的Controller生效，citrus.etag.enabled=false时关闭
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "citrus.etag", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CitrusConditionalGetAutoConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor());
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.yiuman.citrus.starter;
+
+import com.github.yiuman.citrus.support.crud.CrudWarmUp;
+import com.github.yiuman.citrus.support.crud.CrudWarmUpProperties;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * CRUD预热自动配置，citrus.crud.warm-up.enabled=false时关闭，动态Service、Mapper回到首次使用时生成
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(SqlSessionTemplate.class)
+@ConditionalOnProperty(prefix = "citrus.crud.warm-up", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(CrudWarmUpProperties.class)
+public class CitrusCrudWarmUpAutoConfiguration {
+
+    @Bean
+    public CrudWarmUp crudWarmUp(ApplicationContext applicationContext, CrudWarmUpProperties properties) {
+        return new CrudWarmUp(applicationContext, properties);
+    }
+}
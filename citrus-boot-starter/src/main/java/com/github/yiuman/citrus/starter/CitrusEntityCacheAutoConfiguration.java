@@ -0,0 +1,73 @@
+package com.github.yiuman.citrus.starter;
+
+import com.github.yiuman.citrus.support.cache.EntityCacheBroadcaster;
+import com.github.yiuman.citrus.support.cache.EntityCacheManager;
+import com.github.yiuman.citrus.support.cache.EntityCacheProperties;
+import com.github.yiuman.citrus.support.cache.LocalNearCache;
+import com.github.yiuman.citrus.support.cache.NearCache;
+import com.github.yiuman.citrus.support.cache.RedisEntityCacheBroadcaster;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.stream.Collectors;
+
+/**
+ * 实体缓存自动配置<br/>
+ * 默认使用进程内的LocalNearCache，可自行提供NearCache替换；
+ * 多节点部署时开启citrus.cache.entity.redis-broadcast，通过Redis发布订阅失效其他节点的缓存
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "citrus.cache.entity", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AutoConfigureAfter(RedisAutoConfiguration.class)
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class CitrusEntityCacheAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(NearCache.class)
+    public NearCache nearCache() {
+        return new LocalNearCache();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(EntityCacheManager.class)
+    public EntityCacheManager entityCacheManager(NearCache nearCache, ObjectProvider<EntityCacheBroadcaster> broadcasters) {
+        return new EntityCacheManager(nearCache, broadcasters.orderedStream().collect(Collectors.toList()));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnBean(RedisConnectionFactory.class)
+    @ConditionalOnProperty(prefix = "citrus.cache.entity", name = "redis-broadcast", havingValue = "true")
+    static class RedisBroadcastConfiguration {
+
+        @Bean
+        public RedisEntityCacheBroadcaster redisEntityCacheBroadcaster(RedisConnectionFactory redisConnectionFactory,
+                                                                       EntityCacheProperties properties,
+                                                                       ObjectProvider<EntityCacheManager> cacheManagerProvider) {
+            return new RedisEntityCacheBroadcaster(new StringRedisTemplate(redisConnectionFactory), properties.getChannel(), cacheManagerProvider);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer entityCacheListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                          RedisEntityCacheBroadcaster broadcaster) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisConnectionFactory);
+            container.addMessageListener(broadcaster, new ChannelTopic(broadcaster.getChannel()));
+            return container;
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.github.yiuman.citrus.starter;
+
+import com.github.yiuman.citrus.security.authenticate.SecurityContextPropagator;
+import com.github.yiuman.citrus.support.utils.TaskContextPropagator;
+import com.github.yiuman.citrus.support.utils.ThreadUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * 线程池上下文传递自动配置<br/>
+ * 数据源与MDC由ThreadUtils内置传递，容器中的TaskContextPropagator在启动后注册到ThreadUtils，引入Spring Security时传递认证信息
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Configuration(proxyBeanMethods = false)
+public class CitrusExecutorAutoConfiguration {
+
+    @Bean
+    public SmartInitializingSingleton taskContextPropagatorRegistrar(ObjectProvider<TaskContextPropagator> propagators) {
+        return () -> propagators.orderedStream().forEach(ThreadUtils::addPropagator);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(SecurityContextHolder.class)
+    static class SecurityContextPropagationConfiguration {
+
+        @Bean
+        public SecurityContextPropagator securityContextPropagator() {
+            return new SecurityContextPropagator();
+        }
+    }
+}
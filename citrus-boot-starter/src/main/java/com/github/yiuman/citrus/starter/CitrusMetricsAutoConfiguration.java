@@ -0,0 +1,117 @@
+package com.github.yiuman.citrus.starter;
+
+import com.github.yiuman.citrus.security.verify.captcha.CaptchaPool;
+import com.github.yiuman.citrus.support.datasource.ChainedTransactionManager;
+import com.github.yiuman.citrus.support.metrics.CitrusMetricsProperties;
+import com.github.yiuman.citrus.support.metrics.CrudServiceMetricsAdvisor;
+import com.github.yiuman.citrus.support.metrics.MybatisMetricsInterceptor;
+import com.github.yiuman.citrus.support.metrics.RestfulMetricsAdvisor;
+import com.github.yiuman.citrus.support.utils.ThreadUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.apache.ibatis.plugin.Interceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 指标自动配置<br/>
+ * 容器中存在MeterRegistry时注册CrudService、通用Controller的耗时切面、Mybatis语句拦截器、框架线程池（ThreadUtils）、链式事务与验证码池的指标，
+ * citrus.metrics.enabled=false时不注册任何组件，没有额外开销
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "citrus.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@EnableConfigurationProperties(CitrusMetricsProperties.class)
+public class CitrusMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "citrus.metrics", name = "crud", havingValue = "true", matchIfMissing = true)
+    public CrudServiceMetricsAdvisor crudServiceMetricsAdvisor(ObjectProvider<MeterRegistry> registryProvider) {
+        return new CrudServiceMetricsAdvisor(registryProvider);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "citrus.metrics", name = "rest", havingValue = "true", matchIfMissing = true)
+    public RestfulMetricsAdvisor restfulMetricsAdvisor(ObjectProvider<MeterRegistry> registryProvider) {
+        return new RestfulMetricsAdvisor(registryProvider);
+    }
+
+    @Bean
+    @ConditionalOnClass(Interceptor.class)
+    @ConditionalOnProperty(prefix = "citrus.metrics", name = "mybatis", havingValue = "true", matchIfMissing = true)
+    public MybatisMetricsInterceptor mybatisMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+        return new MybatisMetricsInterceptor(registryProvider);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "citrus.metrics", name = "executor", havingValue = "true", matchIfMissing = true)
+    public MeterBinder citrusExecutorMetrics() {
+        return registry -> {
+            new ExecutorServiceMetrics(ThreadUtils.getThreadPoolExecutor(), ThreadUtils.THREAD_POOL_NAME, Tags.empty()).bindTo(registry);
+            FunctionCounter.builder("citrus.executor.rejected", ThreadUtils.getThreadPoolExecutor(), executor -> ThreadUtils.getRejectedCount())
+                    .tag("name", ThreadUtils.THREAD_POOL_NAME)
+                    .description("Tasks run by the submitting thread because the queue was full")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnClass(ChainedTransactionManager.class)
+    @ConditionalOnProperty(prefix = "citrus.metrics", name = "transaction", havingValue = "true", matchIfMissing = true)
+    public MeterBinder citrusTransactionMetrics(ObjectProvider<ChainedTransactionManager> transactionManagerProvider) {
+        return registry -> transactionManagerProvider.ifAvailable(transactionManager -> {
+            bindTransactionCounter(registry, transactionManager, "none", ChainedTransactionManager::getReadOnlyTransactions);
+            bindTransactionCounter(registry, transactionManager, "local", ChainedTransactionManager::getLocalTransactions);
+            bindTransactionCounter(registry, transactionManager, "chained", ChainedTransactionManager::getChainedTransactions);
+        });
+    }
+
+    @Bean
+    @ConditionalOnClass(CaptchaPool.class)
+    @ConditionalOnProperty(prefix = "citrus.metrics", name = "captcha", havingValue = "true", matchIfMissing = true)
+    public MeterBinder citrusCaptchaPoolMetrics(ObjectProvider<CaptchaPool> captchaPoolProvider) {
+        return registry -> captchaPoolProvider.ifAvailable(captchaPool -> {
+            Gauge.builder("citrus.captcha.pool.depth", captchaPool, CaptchaPool::getDepth)
+                    .description("Pre-rendered captchas waiting in the pool")
+                    .register(registry);
+            Gauge.builder("citrus.captcha.pool.capacity", captchaPool, CaptchaPool::getCapacity)
+                    .description("Maximum pre-rendered captchas in the pool")
+                    .register(registry);
+            FunctionCounter.builder("citrus.captcha.pool.rendered", captchaPool, CaptchaPool::getRenderedCount)
+                    .description("Captchas rendered by the refill worker, its rate is the refill rate")
+                    .register(registry);
+            FunctionCounter.builder("citrus.captcha.pool.refill.failed", captchaPool, CaptchaPool::getRefillFailedCount)
+                    .description("Refill worker renders that failed")
+                    .register(registry);
+            FunctionCounter.builder("citrus.captcha.pool.misses", captchaPool, CaptchaPool::getMissCount)
+                    .description("Captchas rendered on the request thread because the pool was empty")
+                    .register(registry);
+        });
+    }
+
+    private static void bindTransactionCounter(MeterRegistry registry, ChainedTransactionManager transactionManager,
+                                               String mode, ToDoubleFunction<ChainedTransactionManager> counter) {
+        FunctionCounter.builder("citrus.datasource.transactions", transactionManager, counter)
+                .tag("mode", mode)
+                .description("Committed chained transactions by written datasources: none, local (one) or chained (several)")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.github.yiuman.citrus.starter;
+
+import com.github.yiuman.citrus.support.diagnostic.SqlDiagnosticEndpoint;
+import com.github.yiuman.citrus.support.diagnostic.SqlDiagnosticFilter;
+import com.github.yiuman.citrus.support.diagnostic.SqlDiagnosticInterceptor;
+import com.github.yiuman.citrus.support.diagnostic.SqlDiagnosticProperties;
+import com.github.yiuman.citrus.support.diagnostic.SqlDiagnosticRepository;
+import org.apache.ibatis.plugin.Interceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * SQL诊断自动配置，citrus.diagnostic.sql.enabled=true时开启<br/>
+ * 过滤器放在过滤链最前，认证等过滤器中执行的SQL也计入请求
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(Interceptor.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "citrus.diagnostic.sql", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SqlDiagnosticProperties.class)
+public class CitrusSqlDiagnosticAutoConfiguration {
+
+    @Bean
+    public SqlDiagnosticRepository sqlDiagnosticRepository(SqlDiagnosticProperties properties) {
+        return new SqlDiagnosticRepository(properties);
+    }
+
+    @Bean
+    public SqlDiagnosticInterceptor sqlDiagnosticInterceptor() {
+        return new SqlDiagnosticInterceptor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlDiagnosticFilter> sqlDiagnosticFilter(SqlDiagnosticProperties properties,
+                                                                          SqlDiagnosticRepository repository) {
+        FilterRegistrationBean<SqlDiagnosticFilter> registrationBean = new FilterRegistrationBean<>(new SqlDiagnosticFilter(properties, repository));
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registrationBean;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class SqlDiagnosticEndpointConfiguration {
+
+        @Bean
+        public SqlDiagnosticEndpoint sqlDiagnosticEndpoint(SqlDiagnosticRepository repository) {
+            return new SqlDiagnosticEndpoint(repository);
+        }
+    }
+
+}
@@ -12,6 +12,7 @@ import com.baomidou.mybatisplus.core.injector.ISqlInjector;
 import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
 import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
 import com.github.yiuman.citrus.support.datasource.*;
+import com.github.yiuman.citrus.support.datasource.DynamicDataSourceProperties.TransactionMode;
 import org.apache.ibatis.mapping.DatabaseIdProvider;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.scripting.LanguageDriver;
@@ -27,6 +28,7 @@ import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
@@ -45,6 +47,7 @@ import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
@@ -55,7 +58,8 @@ import java.util.*;
 import java.util.function.Consumer;
 
 /**
- * 动态数据源自动配置
+ * 动态数据源自动配置<br/>
+ * 多数据源事务默认使用XA数据源与JTA；spring.datasource.transaction-mode=chained时使用普通连接池与{@link ChainedTransactionManager}
  *
  * @author yiuman
  * @date 2020/12/1
@@ -189,6 +193,19 @@ public class DynamicDataSourceAutoConfiguration implements InitializingBean {
         return dynamicSqlSessionTemplate;
     }
 
+    /**
+     * 链式事务管理器，按需开启各数据源的本地事务
+     *
+     * @return ChainedTransactionManager
+     */
+    @Bean
+    @ConditionalOnMissingBean(PlatformTransactionManager.class)
+    @ConditionalOnProperty(prefix = "spring.datasource", name = "transaction-mode", havingValue = "chained")
+    @Conditional(DynamicDataSourceAutoConfiguration.MultiplesDatasourceCondition.class)
+    public ChainedTransactionManager transactionManager() {
+        return new ChainedTransactionManager();
+    }
+
     @Bean
     @Conditional(DynamicDataSourceAutoConfiguration.MultiplesDatasourceCondition.class)
     public DynamicDataSourceAnnotationAdvisor dynamicDataSourceAnnotationAdvisor() {
@@ -196,7 +213,13 @@ public class DynamicDataSourceAutoConfiguration implements InitializingBean {
     }
 
     private DataSource buildDataSource(String resourceName, DataSourceProperties properties, boolean enableMultipleTx) {
-        return enableMultipleTx ? buildDruidXaDataSource(resourceName, properties) : buildDruidDataSource(properties);
+        return enableMultipleTx && !isChainedTransaction()
+                ? buildDruidXaDataSource(resourceName, properties)
+                : buildDruidDataSource(properties);
+    }
+
+    private boolean isChainedTransaction() {
+        return TransactionMode.CHAINED.equals(dynamicDataSourceProperties.getTransactionMode());
     }
 
     /**
@@ -293,8 +316,14 @@ public class DynamicDataSourceAutoConfiguration implements InitializingBean {
             factory.setScriptingLanguageDrivers(this.languageDrivers);
         }
         Optional.ofNullable(defaultLanguageDriver).ifPresent(factory::setDefaultScriptingLanguageDriver);
-        if (!ObjectUtils.isEmpty(this.interceptors)) {
-            factory.setPlugins(this.interceptors);
+        Interceptor[] plugins = this.interceptors;
+        //链式事务由ChainedTransactionManager管理连接，并记录写入的数据源
+        if (isChainedTransaction()) {
+            factory.setTransactionFactory(new ChainedManagedTransactionFactory());
+            plugins = ObjectUtils.addObjectToArray(plugins, new ChainedTransactionWriteInterceptor());
+        }
+        if (!ObjectUtils.isEmpty(plugins)) {
+            factory.setPlugins(plugins);
         }
         //自定义枚举包
         if (StringUtils.hasLength(this.mybatisPlusProperties.getTypeEnumsPackage())) {
@@ -371,6 +400,7 @@ public class DynamicDataSourceAutoConfiguration implements InitializingBean {
 
     @Configuration(proxyBeanMethods = false)
     @Conditional(DynamicDataSourceAutoConfiguration.MultiplesDatasourceCondition.class)
+    @ConditionalOnProperty(prefix = "spring.datasource", name = "transaction-mode", havingValue = "xa", matchIfMissing = true)
     static class CustomJtaAutoConfiguration extends JtaAutoConfiguration {
     }
 
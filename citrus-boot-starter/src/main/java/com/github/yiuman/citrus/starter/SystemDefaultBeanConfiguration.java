@@ -19,9 +19,11 @@ import com.github.yiuman.citrus.security.jwt.JwtAccessDeniedHandler;
 import com.github.yiuman.citrus.security.jwt.JwtAuthenticationEntryPoint;
 import com.github.yiuman.citrus.security.jwt.JwtAuthenticationFilter;
 import com.github.yiuman.citrus.security.jwt.JwtSecurityConfigurerAdapter;
+import com.github.yiuman.citrus.support.file.FileStorageProperties;
 import com.github.yiuman.citrus.support.file.FileStorageService;
 import com.github.yiuman.citrus.support.file.LocalFileStorageServiceImpl;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -41,6 +43,7 @@ import java.util.List;
  * @date 2020/3/23
  */
 @Configuration
+@EnableConfigurationProperties(FileStorageProperties.class)
 public class SystemDefaultBeanConfiguration {
 
     @Bean
@@ -143,12 +146,13 @@ public class SystemDefaultBeanConfiguration {
     /**
      * 默认的文件存储服务类，本地路径classpath:
      *
+     * @param fileStorageProperties 本地文件存储配置
      * @return 文件存储服务类
      */
     @Bean
     @ConditionalOnMissingBean(FileStorageService.class)
-    public FileStorageService getFileStorageService() {
-        return new LocalFileStorageServiceImpl();
+    public FileStorageService getFileStorageService(FileStorageProperties fileStorageProperties) {
+        return new LocalFileStorageServiceImpl(fileStorageProperties);
     }
 
 
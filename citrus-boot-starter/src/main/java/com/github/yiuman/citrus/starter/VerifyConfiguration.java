@@ -3,6 +3,7 @@ package com.github.yiuman.citrus.starter;
 import com.github.yiuman.citrus.security.properties.CitrusProperties;
 import com.github.yiuman.citrus.security.verify.*;
 import com.github.yiuman.citrus.security.verify.captcha.Captcha;
+import com.github.yiuman.citrus.security.verify.captcha.CaptchaPool;
 import com.github.yiuman.citrus.security.verify.captcha.CaptchaProcessor;
 import com.github.yiuman.citrus.security.verify.sms.SmsVerifyCode;
 import com.github.yiuman.citrus.security.verify.sms.SmsVerifyCodeProcessor;
@@ -38,9 +39,14 @@ public class VerifyConfiguration implements InitializingBean {
     @Bean
     @SuppressWarnings("unchecked")
     public VerificationRepository redisRepository() {
-        if (VerifyProperties.Store.REDIS.equals(citrusProperties.getVerify().getStore())) {
+        VerifyProperties verifyProperties = citrusProperties.getVerify();
+        if (VerifyProperties.Store.REDIS.equals(verifyProperties.getStore())) {
             return new RedisVerificationRepository((RedisTemplate<String, Object>) redisTemplate);
         }
+
+        if (VerifyProperties.Store.MEMORY.equals(verifyProperties.getStore())) {
+            return new MemoryVerificationRepository(verifyProperties.getMemoryStoreMaxSize());
+        }
         return new SessionVerificationRepository();
 
     }
@@ -50,9 +56,14 @@ public class VerifyConfiguration implements InitializingBean {
         return new SmsVerifyCodeProcessor(redisRepository(), citrusProperties.getVerify());
     }
 
+    @Bean
+    public CaptchaPool captchaPool() {
+        return new CaptchaPool(citrusProperties.getVerify());
+    }
+
     @Bean("captchaProcessor")
     public VerificationProcessor<Captcha> captchaProcessor() {
-        return new CaptchaProcessor(redisRepository(), citrusProperties.getVerify());
+        return new CaptchaProcessor(redisRepository(), citrusProperties.getVerify(), captchaPool());
     }
 
 }
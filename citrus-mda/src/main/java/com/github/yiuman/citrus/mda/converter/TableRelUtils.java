@@ -53,7 +53,7 @@ public final class TableRelUtils {
             return;
         }
         Class<T> entityClass = (Class<T>) collection.stream().findAny().get().getClass();
-        collection.parallelStream().forEach(relEntity -> relEntity.setTableUuid(tableUuid));
+        collection.forEach(relEntity -> relEntity.setTableUuid(tableUuid));
         CrudMapper<T> crudMapper = CrudUtils.getCrudMapper(entityClass);
         crudMapper.saveBatch(collection);
     }
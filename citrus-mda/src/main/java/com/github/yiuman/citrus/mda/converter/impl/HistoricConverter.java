@@ -34,7 +34,7 @@ public class HistoricConverter implements Converter<Table, HistoryTable> {
         List<Column> columnList = TableRelUtils.getTableRelInfos(table.getUuid(), Column.class);
         if (!CollectionUtils.isEmpty(columnList)) {
             historyTable.setColumns(
-                    columnList.parallelStream()
+                    columnList.stream()
                             .map(LambdaUtils.functionWrapper(column -> ConvertUtils.convert(HistoryColumn.class, column)))
                             .collect(Collectors.toList())
             );
@@ -43,7 +43,7 @@ public class HistoricConverter implements Converter<Table, HistoryTable> {
         if (!CollectionUtils.isEmpty(indexesList)) {
             historyTable.setIndexes(
                     indexesList
-                            .parallelStream()
+                            .stream()
                             .map(LambdaUtils.functionWrapper(indexes -> ConvertUtils.convert(HistoryIndexes.class, indexes)))
                             .collect(Collectors.toList())
             );
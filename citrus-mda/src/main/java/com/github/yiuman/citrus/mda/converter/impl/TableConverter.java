@@ -58,8 +58,8 @@ public class TableConverter<S extends BaseTable> implements Converter<S, TableMe
         //添加唯一约束
         constraints.addAll(getColumnsConstraints(metaColumns, ColumnMeta::getUniques, UniqueConstraint.class));
 
-        metaColumns.parallelStream().forEach(columnMeta -> columnMeta.setTable(tableMeta));
-        metaIndexes.parallelStream().forEach(indexMeta -> indexMeta.setTable(tableMeta));
+        metaColumns.forEach(columnMeta -> columnMeta.setTable(tableMeta));
+        metaIndexes.forEach(indexMeta -> indexMeta.setTable(tableMeta));
         tableMeta.setColumns(metaColumns);
         tableMeta.setConstraints(constraints);
         tableMeta.setIndexes(metaIndexes);
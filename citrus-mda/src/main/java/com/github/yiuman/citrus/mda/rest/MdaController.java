@@ -39,6 +39,14 @@ public class MdaController extends BaseCrudController<Map<String, Object>, Strin
         return mdaService;
     }
 
+    /**
+     * 保存时从当前请求中获取模型，需在请求线程中同步导入
+     */
+    @Override
+    protected boolean isAsyncImport() {
+        return false;
+    }
+
     @Override
     public Object createPageView() {
         final PageTableView<Map<String, Object>> view = new PageTableView<>();
@@ -51,7 +51,7 @@ public class AuthenticateProcessorImpl implements AuthenticateProcessor {
         }
 
         //找到对应模式的认证服务类
-        return authenticateServices.parallelStream()
+        return authenticateServices.stream()
                 .filter(authenticateService -> mode.equals(authenticateService.supportMode()))
                 .findFirst()
                 .orElseThrow(() ->
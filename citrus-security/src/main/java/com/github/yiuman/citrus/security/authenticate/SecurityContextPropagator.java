@@ -0,0 +1,32 @@
+package com.github.yiuman.citrus.security.authenticate;
+
+import com.github.yiuman.citrus.support.utils.TaskContextPropagator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Objects;
+
+/**
+ * 将当前的认证信息传递到ThreadUtils的工作线程
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class SecurityContextPropagator implements TaskContextPropagator {
+
+    @Override
+    public Snapshot capture() {
+        SecurityContext context = SecurityContextHolder.getContext();
+        return () -> {
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(context);
+            return () -> {
+                if (Objects.isNull(previous.getAuthentication())) {
+                    SecurityContextHolder.clearContext();
+                } else {
+                    SecurityContextHolder.setContext(previous);
+                }
+            };
+        };
+    }
+}
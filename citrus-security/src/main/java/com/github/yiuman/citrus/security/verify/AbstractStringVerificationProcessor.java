@@ -37,12 +37,13 @@ public abstract class AbstractStringVerificationProcessor<T extends AbstractStri
         //获取当前请求的验证信息参数
         String verificationType = verificationType();
         String verificationParameter = request.getParameter(verificationType);
-
-        Verification<?> verification = verificationRepository.find(request);
         if (Strings.isBlank(verificationParameter)) {
             throw new VerificationException(String.format("%s验证码的值不能为空", verificationType));
         }
 
+        //取出即失效，验证码只能校验一次
+        Verification<?> verification = verificationRepository.consume(request);
+
         if (verification == null || LocalDateTime.now().isAfter(verification.validTimeInSeconds())) {
             throw new VerificationException("验证码超时");
         }
@@ -55,8 +56,6 @@ public abstract class AbstractStringVerificationProcessor<T extends AbstractStri
         if (!value.equals(verificationParameter.toLowerCase())) {
             throw new VerificationException("验证码错误");
         }
-
-        verificationRepository.remove(request);
     }
 
     @SuppressWarnings("unchecked")
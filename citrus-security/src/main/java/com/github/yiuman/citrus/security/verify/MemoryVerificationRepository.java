@@ -0,0 +1,178 @@
+package com.github.yiuman.citrus.security.verify;
+
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 内存验证信息仓库<br/>
+ * 以请求参数verifyId为key保存在本机内存中，不依赖会话与网络；
+ * 使用秒级时间轮过期，容量有上限，取出与移除是原子操作，适用于单节点部署
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class MemoryVerificationRepository implements VerificationRepository, DisposableBean {
+
+    private static final String VERIFICATION_PARAMETER = "verifyId";
+
+    /**
+     * 时间轮的槽数，每秒前进一格
+     */
+    private static final int WHEEL_SIZE = 128;
+
+    private final Map<String, Entry> verifications = new ConcurrentHashMap<>(256);
+
+    private final Queue<String>[] wheel;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final int maxSize;
+
+    private final ScheduledExecutorService ticker;
+
+    private volatile int cursor;
+
+    @SuppressWarnings("unchecked")
+    public MemoryVerificationRepository(int maxSize) {
+        this.maxSize = maxSize;
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verification-expire-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void save(HttpServletRequest request, HttpServletResponse response, Verification<?> verification) {
+        String key = getKey(request);
+        long expireSeconds = Math.max(verification.getExpireTime(), 1);
+        Entry entry = new Entry(compact(verification), System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(expireSeconds));
+        Entry previous = verifications.put(key, entry);
+        if (Objects.isNull(previous) && size.incrementAndGet() > maxSize) {
+            verifications.remove(key, entry);
+            size.decrementAndGet();
+            throw new VerificationException("验证码数量超出限制，请稍后重试");
+        }
+
+        schedule(key, expireSeconds);
+    }
+
+    @Override
+    public Verification<?> find(HttpServletRequest request) {
+        Entry entry = verifications.get(getKey(request));
+        return Objects.nonNull(entry) && !entry.isExpired(System.currentTimeMillis()) ? entry.verification : null;
+    }
+
+    @Override
+    public void remove(HttpServletRequest request) {
+        if (Objects.nonNull(verifications.remove(getKey(request)))) {
+            size.decrementAndGet();
+        }
+    }
+
+    @Override
+    public Verification<?> consume(HttpServletRequest request) {
+        Entry entry = verifications.remove(getKey(request));
+        if (Objects.isNull(entry)) {
+            return null;
+        }
+
+        size.decrementAndGet();
+        return entry.isExpired(System.currentTimeMillis()) ? null : entry.verification;
+    }
+
+    /**
+     * 当前保存的验证信息数量
+     *
+     * @return 数量
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 字符串验证码只保留验证码的值，不在内存中保留图片等附带数据
+     */
+    private Verification<?> compact(Verification<?> verification) {
+        if (verification instanceof AbstractStringVerification) {
+            return new AbstractStringVerification(((AbstractStringVerification) verification).getCode(), verification.getExpireTime());
+        }
+
+        return verification;
+    }
+
+    private void schedule(String key, long delaySeconds) {
+        wheel[(int) ((cursor + Math.min(delaySeconds, WHEEL_SIZE - 1)) % WHEEL_SIZE)].add(key);
+    }
+
+    /**
+     * 时间轮前进一格，清理该槽中已过期的验证信息；超过一圈仍未过期的重新放入时间轮
+     */
+    private void tick() {
+        int current = (cursor + 1) % WHEEL_SIZE;
+        cursor = current;
+        Queue<String> slot = wheel[current];
+        long now = System.currentTimeMillis();
+        String key;
+        while ((key = slot.poll()) != null) {
+            Entry entry = verifications.get(key);
+            if (Objects.isNull(entry)) {
+                continue;
+            }
+
+            if (entry.isExpired(now)) {
+                if (verifications.remove(key, entry)) {
+                    size.decrementAndGet();
+                }
+            } else {
+                //未到期：同一key被重新保存过，或有效期超过一圈
+                long remainSeconds = TimeUnit.MILLISECONDS.toSeconds(entry.expireAt - now) + 1;
+                wheel[(int) ((current + Math.min(remainSeconds, WHEEL_SIZE - 1)) % WHEEL_SIZE)].add(key);
+            }
+        }
+    }
+
+    private String getKey(HttpServletRequest request) {
+        String verificationKey = request.getParameter(VERIFICATION_PARAMETER);
+        if (Strings.isBlank(verificationKey)) {
+            throw new VerificationException("缺少verifyId");
+        }
+
+        return verificationKey;
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+
+    private static class Entry {
+
+        private final Verification<?> verification;
+
+        private final long expireAt;
+
+        Entry(Verification<?> verification, long expireAt) {
+            this.verification = verification;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
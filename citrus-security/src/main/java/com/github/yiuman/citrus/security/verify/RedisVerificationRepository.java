@@ -2,9 +2,13 @@ package com.github.yiuman.citrus.security.verify;
 
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -15,7 +19,17 @@ import java.util.concurrent.TimeUnit;
  */
 public class RedisVerificationRepository implements VerificationRepository {
 
-    private static final String VERIFICATION_PARAMETER = "verifyId:";
+    private static final String VERIFICATION_PARAMETER = "verifyId";
+
+    private static final String KEY_PREFIX = "verify:";
+
+    /**
+     * 原子地取出并删除，兼容不支持GETDEL命令的Redis版本
+     */
+    private static final RedisScript<Object> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            "local value = redis.call('GET', KEYS[1]) if value then redis.call('DEL', KEYS[1]) end return value",
+            Object.class
+    );
 
     private final RedisTemplate<String, Object> redisTemplate;
 
@@ -25,12 +39,12 @@ public class RedisVerificationRepository implements VerificationRepository {
 
     @Override
     public void save(HttpServletRequest request, HttpServletResponse response, Verification<?> verification) {
-        redisTemplate.opsForValue().set(getRedisKey(request), verification.getValue(), 60, TimeUnit.SECONDS);
+        redisTemplate.opsForValue().set(getRedisKey(request), verification.getValue(), verification.getExpireTime(), TimeUnit.SECONDS);
     }
 
     @Override
     public Verification<?> find(HttpServletRequest request) {
-        return (Verification<?>) redisTemplate.opsForValue().get(getRedisKey(request));
+        return toVerification(redisTemplate.opsForValue().get(getRedisKey(request)));
     }
 
     @Override
@@ -38,12 +52,24 @@ public class RedisVerificationRepository implements VerificationRepository {
         redisTemplate.delete(getRedisKey(request));
     }
 
+    @Override
+    public Verification<?> consume(HttpServletRequest request) {
+        return toVerification(redisTemplate.execute(CONSUME_SCRIPT, Collections.singletonList(getRedisKey(request))));
+    }
+
+    /**
+     * Redis中只保存验证码的值，过期由Redis的TTL控制
+     */
+    private Verification<?> toVerification(Object value) {
+        return Objects.nonNull(value) ? new AbstractStringVerification(String.valueOf(value)) : null;
+    }
+
     private String getRedisKey(HttpServletRequest request) {
         String verificationKey = request.getParameter(VERIFICATION_PARAMETER);
         if (Strings.isBlank(verificationKey)) {
             throw new VerificationException("缺少verifyId");
         }
 
-        return verificationKey;
+        return KEY_PREFIX + verificationKey;
     }
 }
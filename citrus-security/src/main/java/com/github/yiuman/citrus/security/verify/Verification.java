@@ -31,4 +31,13 @@ public interface Verification<T> {
      * @return 有效的验证时间
      */
     LocalDateTime validTimeInSeconds();
+
+    /**
+     * 有效时长（单位秒），用于仓库设置过期
+     *
+     * @return 有效时长，默认60秒
+     */
+    default long getExpireTime() {
+        return 60;
+    }
 }
\ No newline at end of file
@@ -36,4 +36,16 @@ public interface VerificationRepository {
      */
     void remove(HttpServletRequest request);
 
+    /**
+     * 取出并移除当前请求的验证信息，同一验证信息只能被取出一次
+     *
+     * @param request 当前请求
+     * @return 验证信息，不存在或已过期返回null
+     */
+    default Verification<?> consume(HttpServletRequest request) {
+        Verification<?> verification = find(request);
+        remove(request);
+        return verification;
+    }
+
 }
\ No newline at end of file
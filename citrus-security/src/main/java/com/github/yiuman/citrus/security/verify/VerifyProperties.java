@@ -23,11 +23,23 @@ public class VerifyProperties {
 
     private int captchaHeight = 40;
 
+    /**
+     * 预渲染的图片验证码池大小，为0时不使用验证码池
+     */
+    private int captchaPoolSize = 200;
+
+    /**
+     * 内存验证信息仓库的最大容量
+     */
+    private int memoryStoreMaxSize = 100000;
+
     public interface Store {
 
         String SESSION = "session";
 
         String REDIS = "redis";
 
+        String MEMORY = "memory";
+
     }
 }
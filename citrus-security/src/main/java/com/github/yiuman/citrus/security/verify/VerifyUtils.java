@@ -1,9 +1,18 @@
 package com.github.yiuman.citrus.security.verify;
 
+import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 验证码工具
@@ -20,7 +29,18 @@ public final class VerifyUtils {
      */
     public static final String VERIFY_CODES = "23456789ABCDEFGHJKLMNPQRSTUVWXYZ";
 
-    private static final Random RANDOM = new Random();
+    /**
+     * 验证码的值使用安全随机数，线程安全，并发生成时不会得到相同的验证码
+     */
+    private static final SecureRandom CODE_RANDOM = new SecureRandom();
+
+    /**
+     * 字形图集，key为字体大小，value为{@link #VERIFY_CODES}中每个字符预先渲染好的透明字形
+     */
+    private static final Map<Integer, BufferedImage[]> GLYPH_ATLAS = new ConcurrentHashMap<>(4);
+
+    private VerifyUtils() {
+    }
 
     /**
      * 使用系统默认字符源生成验证码
@@ -42,10 +62,9 @@ public final class VerifyUtils {
             sources = VERIFY_CODES;
         }
         int codesLen = sources.length();
-        Random rand = new Random(System.currentTimeMillis());
         StringBuilder verifyCode = new StringBuilder(verifySize);
         for (int i = 0; i < verifySize; i++) {
-            verifyCode.append(sources.charAt(rand.nextInt(codesLen - 1)));
+            verifyCode.append(sources.charAt(CODE_RANDOM.nextInt(codesLen)));
         }
         return verifyCode.toString();
     }
@@ -61,7 +80,7 @@ public final class VerifyUtils {
     public static BufferedImage bufferedImage(int width, int height, String code) {
         int verifySize = code.length();
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-        Random rand = new Random();
+        Random random = ThreadLocalRandom.current();
         Graphics2D g2 = image.createGraphics();
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -70,14 +89,13 @@ public final class VerifyUtils {
         g2.fillRect(0, 0, width, height);
 
         // 设置背景色
-        Color c = getRandColor(200, 250);
+        Color c = getRandColor(random, 200, 250);
         g2.setColor(c);
         g2.fillRect(0, 2, width, height - 4);
 
         //绘制干扰线
-        Random random = new Random();
         // 设置线条的颜色
-        g2.setColor(getRandColor(160, 200));
+        g2.setColor(getRandColor(random, 160, 200));
         for (int i = 0; i < 20; i++) {
             int x = random.nextInt(width - 1);
             int y = random.nextInt(height - 1);
@@ -86,113 +104,120 @@ public final class VerifyUtils {
             g2.drawLine(x, y, x + xl + 40, y + yl + 20);
         }
 
+        //噪点与扭曲直接操作像素数组，避免逐像素setRGB与逐行逐列copyArea
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
         // 添加噪点
         // 噪声率
         float yawpRate = 0.05f;
         int area = (int) (yawpRate * width * height);
         for (int i = 0; i < area; i++) {
-            int x = random.nextInt(width);
-            int y = random.nextInt(height);
-            int rgb = getRandomIntColor();
-            image.setRGB(x, y, rgb);
+            pixels[random.nextInt(pixels.length)] = random.nextInt(0x1000000);
         }
 
         // 使图片扭曲
-        shear(g2, width, height, c);
+        shearY(random, pixels, width, height, c.getRGB());
 
-        g2.setColor(getRandColor(100, 160));
         int fontSize = height - 4;
-        Font font = new Font("Algerian", Font.ITALIC, fontSize);
-        g2.setFont(font);
-        char[] chars = code.toCharArray();
+        BufferedImage[] atlas = GLYPH_ATLAS.computeIfAbsent(fontSize, VerifyUtils::renderGlyphs);
+        int fontColor = getRandColor(random, 100, 160).getRGB();
         for (int i = 0; i < verifySize; i++) {
+            int glyphIndex = VERIFY_CODES.indexOf(code.charAt(i));
+            if (glyphIndex < 0) {
+                continue;
+            }
+
             AffineTransform affine = new AffineTransform();
-            affine.setToRotation(Math.PI / 4 * rand.nextDouble() * (rand.nextBoolean() ? 1 : -1), (float) (width / verifySize) * i + (float) fontSize / 2, (float) height / 2);
-            g2.setTransform(affine);
-            g2.drawChars(chars, i, 1, ((width - 10) / verifySize) * i + 5, height / 2 + fontSize / 2 - 10);
+            affine.setToRotation(Math.PI / 4 * random.nextDouble() * (random.nextBoolean() ? 1 : -1), (float) (width / verifySize) * i + (float) fontSize / 2, (float) height / 2);
+            affine.translate(((width - 10) / verifySize) * i + 5, height / 2 - fontSize / 2 - 10);
+            g2.drawImage(colorGlyph(atlas[glyphIndex], fontColor), affine, null);
         }
 
         g2.dispose();
         return image;
     }
 
-    private static Color getRandColor(int fc, int bc) {
-        fc = Math.min(fc, 255);
-        bc = Math.min(bc, 255);
-        int r = fc + RANDOM.nextInt(bc - fc);
-        int g = fc + RANDOM.nextInt(bc - fc);
-        int b = fc + RANDOM.nextInt(bc - fc);
-        return new Color(r, g, b);
-    }
-
-    private static int getRandomIntColor() {
-        int[] rgb = getRandomRgb();
-        int color = 0;
-        for (int c : rgb) {
-            color = color << 8;
-            color = color | c;
+    /**
+     * 编码为PNG
+     *
+     * @param image 图片
+     * @return PNG的字节
+     */
+    public static byte[] encodePng(BufferedImage image) {
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(4096);
+            ImageIO.write(image, "png", byteArrayOutputStream);
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
-        return color;
     }
 
-    @SuppressWarnings("AlibabaUndefineMagicConstant")
-    private static int[] getRandomRgb() {
-        int[] rgb = new int[3];
-        for (int i = 0; i < 3; i++) {
-            rgb[i] = RANDOM.nextInt(255);
+    /**
+     * 复制图集中的字形并替换颜色，仅保留字形的透明度
+     */
+    private static BufferedImage colorGlyph(BufferedImage glyph, int color) {
+        int rgb = color & 0xFFFFFF;
+        BufferedImage colored = new BufferedImage(glyph.getWidth(), glyph.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        int[] source = ((DataBufferInt) glyph.getRaster().getDataBuffer()).getData();
+        int[] target = ((DataBufferInt) colored.getRaster().getDataBuffer()).getData();
+        for (int p = 0; p < source.length; p++) {
+            target[p] = (source[p] & 0xFF000000) | rgb;
         }
-        return rgb;
-    }
-
-    private static void shear(Graphics g, int w1, int h1, Color color) {
-        shearX(g, w1, h1, color);
-        shearY(g, w1, h1, color);
+        return colored;
     }
 
-    private static void shearX(Graphics g, int w1, int h1, Color color) {
-
-        int period = RANDOM.nextInt(2);
-
-        boolean borderGap = true;
-        int frames = 1;
-        int phase = RANDOM.nextInt(2);
-
-        for (int i = 0; i < h1; i++) {
-            double d = (double) (period >> 1)
-                    * Math.sin((double) i / (double) period
-                    + (6.2831853071795862D * (double) phase)
-                    / (double) frames);
-            g.copyArea(0, i, w1, 1, (int) d, 0);
-            if (borderGap) {
-                g.setColor(color);
-                g.drawLine((int) d, i, 0, i);
-                g.drawLine((int) d + w1, i, w1, i);
-            }
+    private static BufferedImage[] renderGlyphs(int fontSize) {
+        Font font = new Font("Algerian", Font.ITALIC, fontSize);
+        int glyphSize = fontSize * 2;
+        BufferedImage[] glyphs = new BufferedImage[VERIFY_CODES.length()];
+        for (int i = 0; i < glyphs.length; i++) {
+            BufferedImage glyph = new BufferedImage(glyphSize, glyphSize, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = glyph.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setFont(font);
+            g2.setColor(Color.BLACK);
+            g2.drawString(String.valueOf(VERIFY_CODES.charAt(i)), 0, fontSize);
+            g2.dispose();
+            glyphs[i] = glyph;
         }
-
+        return glyphs;
     }
 
-    private static void shearY(Graphics g, int w1, int h1, Color color) {
-
-        int period = RANDOM.nextInt(40) + 10;
+    private static Color getRandColor(Random random, int fc, int bc) {
+        fc = Math.min(fc, 255);
+        bc = Math.min(bc, 255);
+        int r = fc + random.nextInt(bc - fc);
+        int g = fc + random.nextInt(bc - fc);
+        int b = fc + random.nextInt(bc - fc);
+        return new Color(r, g, b);
+    }
 
-        boolean borderGap = true;
+    /**
+     * 按列做正弦位移，移出的空隙使用背景色填充
+     */
+    private static void shearY(Random random, int[] pixels, int width, int height, int color) {
+        int period = random.nextInt(40) + 10;
         int frames = 20;
         int phase = 7;
-        for (int i = 0; i < w1; i++) {
-            double d = (double) (period >> 1)
-                    * Math.sin((double) i / (double) period
+        int[] column = new int[height];
+        for (int x = 0; x < width; x++) {
+            int d = (int) ((double) (period >> 1)
+                    * Math.sin((double) x / (double) period
                     + (6.2831853071795862D * (double) phase)
-                    / (double) frames);
-            g.copyArea(i, 0, 1, h1, 0, (int) d);
-            if (borderGap) {
-                g.setColor(color);
-                g.drawLine(i, (int) d, i, 0);
-                g.drawLine(i, (int) d + h1, i, h1);
+                    / (double) frames));
+            for (int y = 0; y < height; y++) {
+                column[y] = pixels[y * width + x];
+            }
+            for (int y = 0; y < height; y++) {
+                int sourceY = y - d;
+                if (sourceY >= 0 && sourceY < height) {
+                    pixels[y * width + x] = column[sourceY];
+                } else if (d > 0) {
+                    pixels[y * width + x] = color;
+                }
             }
-
         }
-
     }
 
 }
@@ -5,12 +5,9 @@ import com.github.yiuman.citrus.security.verify.VerificationRepository;
 import com.github.yiuman.citrus.security.verify.VerifyProperties;
 import com.github.yiuman.citrus.support.http.ResponseEntity;
 
-import javax.imageio.ImageIO;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Base64;
 
 /**
  * @author yiuman
@@ -24,12 +21,15 @@ public class Base64CaptchaProcessor extends CaptchaProcessor {
         super(verificationRepository, verifyProperties);
     }
 
+    public Base64CaptchaProcessor(VerificationRepository verificationRepository, VerifyProperties verifyProperties, CaptchaPool captchaPool) {
+        super(verificationRepository, verifyProperties, captchaPool);
+    }
+
     @Override
     public void send(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse) throws IOException {
         Captcha captcha = generate(httpServletRequest);
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        ImageIO.write(captcha.getImage(), "png", byteArrayOutputStream);
-        httpServletResponse.getWriter().write(objectMapper.writeValueAsString(ResponseEntity.ok(Base64.getEncoder().encodeToString(byteArrayOutputStream.toByteArray()))));
+        verificationRepository.save(httpServletRequest, httpServletResponse, captcha);
+        httpServletResponse.getWriter().write(objectMapper.writeValueAsString(ResponseEntity.ok(captcha.getBase64Image())));
     }
 
     @Override
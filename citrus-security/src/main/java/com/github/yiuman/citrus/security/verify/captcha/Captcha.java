@@ -1,8 +1,11 @@
 package com.github.yiuman.citrus.security.verify.captcha;
 
 import com.github.yiuman.citrus.security.verify.AbstractStringVerification;
+import com.github.yiuman.citrus.security.verify.VerifyUtils;
 
 import java.awt.image.BufferedImage;
+import java.util.Base64;
+import java.util.Objects;
 
 /**
  * 图片验证码
@@ -14,6 +17,11 @@ public class Captcha extends AbstractStringVerification {
 
     private BufferedImage image;
 
+    /**
+     * 已编码的PNG图片
+     */
+    private byte[] imageData;
+
     public Captcha(String code, BufferedImage image) {
         super(code);
         this.image = image;
@@ -24,11 +32,38 @@ public class Captcha extends AbstractStringVerification {
         this.image = image;
     }
 
+    public Captcha(String code, byte[] imageData) {
+        super(code);
+        this.imageData = imageData;
+    }
+
     public BufferedImage getImage() {
         return image;
     }
 
     public void setImage(BufferedImage image) {
         this.image = image;
+        this.imageData = null;
+    }
+
+    /**
+     * 获取PNG格式的图片，未编码时进行编码
+     *
+     * @return PNG的字节
+     */
+    public byte[] getImageData() {
+        if (Objects.isNull(imageData) && Objects.nonNull(image)) {
+            imageData = VerifyUtils.encodePng(image);
+        }
+        return imageData;
+    }
+
+    /**
+     * 获取Base64编码的PNG图片
+     *
+     * @return Base64字符串
+     */
+    public String getBase64Image() {
+        return Base64.getEncoder().encodeToString(getImageData());
     }
 }
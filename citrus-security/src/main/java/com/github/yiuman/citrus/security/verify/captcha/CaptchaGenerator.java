@@ -5,6 +5,7 @@ import com.github.yiuman.citrus.security.verify.VerifyProperties;
 import com.github.yiuman.citrus.security.verify.VerifyUtils;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Objects;
 
 /**
  * 图片验证码构造器
@@ -16,12 +17,23 @@ public class CaptchaGenerator implements VerificationGenerator<Captcha> {
 
     private final VerifyProperties verifyProperties;
 
+    private final CaptchaPool captchaPool;
+
     public CaptchaGenerator(VerifyProperties verifyProperties) {
+        this(verifyProperties, null);
+    }
+
+    public CaptchaGenerator(VerifyProperties verifyProperties, CaptchaPool captchaPool) {
         this.verifyProperties = verifyProperties;
+        this.captchaPool = captchaPool;
     }
 
     @Override
     public Captcha generate(HttpServletRequest httpServletRequest) {
+        if (Objects.nonNull(captchaPool)) {
+            return captchaPool.take();
+        }
+
         String code = VerifyUtils.generateVerifyCode(verifyProperties.getVerifyCodeSize());
         return new Captcha(code, VerifyUtils.bufferedImage(verifyProperties.getCaptchaWidth(), verifyProperties.getCaptchaHeight(), code));
     }
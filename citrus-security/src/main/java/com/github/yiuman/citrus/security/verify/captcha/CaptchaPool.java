@@ -0,0 +1,165 @@
+package com.github.yiuman.citrus.security.verify.captcha;
+
+import com.github.yiuman.citrus.security.verify.VerifyProperties;
+import com.github.yiuman.citrus.security.verify.VerifyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 图片验证码池<br/>
+ * 后台线程预先渲染并编码验证码放入池中，请求时直接出队；池为空时在请求线程中渲染，并记录未命中次数。
+ * 池深度、后台渲染数（补充速率）、渲染失败数与未命中数由CitrusMetricsAutoConfiguration注册为指标
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+public class CaptchaPool implements DisposableBean {
+
+    private final VerifyProperties verifyProperties;
+
+    /**
+     * 预渲染的验证码，池大小为0时不启用
+     */
+    private final BlockingQueue<Captcha> captchas;
+
+    private final Thread refillWorker;
+
+    /**
+     * 后台渲染的数量
+     */
+    private final AtomicLong renderedCount = new AtomicLong();
+
+    /**
+     * 池为空时在请求线程中渲染的数量
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * 后台渲染失败的数量
+     */
+    private final AtomicLong refillFailedCount = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public CaptchaPool(VerifyProperties verifyProperties) {
+        this.verifyProperties = verifyProperties;
+        int poolSize = verifyProperties.getCaptchaPoolSize();
+        if (poolSize > 0) {
+            this.captchas = new ArrayBlockingQueue<>(poolSize);
+            this.refillWorker = new Thread(this::refill, "captcha-pool-refill");
+            this.refillWorker.setDaemon(true);
+            this.refillWorker.start();
+        } else {
+            this.captchas = null;
+            this.refillWorker = null;
+        }
+    }
+
+    /**
+     * 取出一个验证码，每个验证码只会被取出一次
+     *
+     * @return 图片已编码的验证码
+     */
+    public Captcha take() {
+        Captcha captcha = Objects.nonNull(captchas) ? captchas.poll() : null;
+        if (Objects.isNull(captcha)) {
+            missCount.incrementAndGet();
+            captcha = render();
+        }
+
+        return captcha;
+    }
+
+    /**
+     * 渲染并编码一个验证码
+     *
+     * @return 验证码
+     */
+    public Captcha render() {
+        String code = VerifyUtils.generateVerifyCode(verifyProperties.getVerifyCodeSize());
+        BufferedImage image = VerifyUtils.bufferedImage(verifyProperties.getCaptchaWidth(), verifyProperties.getCaptchaHeight(), code);
+        return new Captcha(code, VerifyUtils.encodePng(image));
+    }
+
+    /**
+     * 当前池中的验证码数量
+     *
+     * @return 池深度
+     */
+    public int getDepth() {
+        return Objects.nonNull(captchas) ? captchas.size() : 0;
+    }
+
+    /**
+     * 池的容量
+     *
+     * @return 池容量，未启用时为0
+     */
+    public int getCapacity() {
+        return Objects.nonNull(captchas) ? captchas.size() + captchas.remainingCapacity() : 0;
+    }
+
+    /**
+     * 后台渲染的验证码总数，用于计算补充速率
+     *
+     * @return 后台渲染总数
+     */
+    public long getRenderedCount() {
+        return renderedCount.get();
+    }
+
+    /**
+     * 池为空时在请求线程中渲染的次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * 后台渲染失败的次数
+     *
+     * @return 渲染失败次数
+     */
+    public long getRefillFailedCount() {
+        return refillFailedCount.get();
+    }
+
+    private void refill() {
+        while (running) {
+            try {
+                captchas.put(render());
+                renderedCount.incrementAndGet();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                refillFailedCount.incrementAndGet();
+                log.warn("captcha pool refill failed", ex);
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (Objects.nonNull(refillWorker)) {
+            refillWorker.interrupt();
+        }
+    }
+}
@@ -5,7 +5,6 @@ import com.github.yiuman.citrus.security.verify.VerificationRepository;
 import com.github.yiuman.citrus.security.verify.VerifyProperties;
 import org.springframework.http.MediaType;
 
-import javax.imageio.ImageIO;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
@@ -18,20 +17,27 @@ import java.io.IOException;
  */
 public class CaptchaProcessor extends AbstractStringVerificationProcessor<Captcha> {
 
+    protected final CaptchaGenerator captchaGenerator;
+
     public CaptchaProcessor(VerificationRepository verificationRepository, VerifyProperties verifyProperties) {
+        this(verificationRepository, verifyProperties, null);
+    }
+
+    public CaptchaProcessor(VerificationRepository verificationRepository, VerifyProperties verifyProperties, CaptchaPool captchaPool) {
         super(verificationRepository, verifyProperties);
+        this.captchaGenerator = new CaptchaGenerator(verifyProperties, captchaPool);
     }
 
     @Override
     public Captcha generate(HttpServletRequest httpServletRequest) {
-        return new CaptchaGenerator(verifyProperties).generate(httpServletRequest);
+        return captchaGenerator.generate(httpServletRequest);
     }
 
     @Override
     public void send(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse) throws IOException {
         Captcha captcha = generate(httpServletRequest);
         verificationRepository.save(httpServletRequest, httpServletResponse, captcha);
-        httpServletResponse.setContentType(MediaType.IMAGE_JPEG_VALUE);
-        ImageIO.write(captcha.getImage(), "JPEG", httpServletResponse.getOutputStream());
+        httpServletResponse.setContentType(MediaType.IMAGE_PNG_VALUE);
+        httpServletResponse.getOutputStream().write(captcha.getImageData());
     }
 }
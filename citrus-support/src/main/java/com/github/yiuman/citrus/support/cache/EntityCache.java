@@ -0,0 +1,31 @@
+package com.github.yiuman.citrus.support.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 开启实体缓存，标记在实体类或其Service上<br/>
+ * BaseService的get与listByKeys优先读取缓存，save、batchSave、remove、batchRemove、remove(Query)、clear
+ * 在事务提交后失效对应的缓存。BaseDtoService底层的实体Service为动态生成，需标记在实体上
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EntityCache {
+
+    /**
+     * @return 最多缓存的实体数
+     */
+    int maxSize() default 10000;
+
+    /**
+     * @return 过期时间（秒），用于兜底绕过Service的写入
+     */
+    long ttl() default 600;
+}
@@ -0,0 +1,20 @@
+package com.github.yiuman.citrus.support.cache;
+
+import java.util.Collection;
+
+/**
+ * 实体缓存失效广播，用于集群中其他节点失效各自的近端缓存
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public interface EntityCacheBroadcaster {
+
+    /**
+     * 广播失效
+     *
+     * @param region 区域
+     * @param keys   失效的键，为null时清空区域
+     */
+    void broadcast(String region, Collection<String> keys);
+}
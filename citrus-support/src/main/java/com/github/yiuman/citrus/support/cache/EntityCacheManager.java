@@ -0,0 +1,382 @@
+package com.github.yiuman.citrus.support.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 实体缓存管理<br/>
+ * <ul>
+ *     <li>缓存中存放实体的副本，读取时再复制一份，调用方修改返回的实体不会污染缓存；
+ *     集合、Map、数组与嵌套对象（如树的children）同样复制，不与缓存共享</li>
+ *     <li>事务中的失效在提交后执行并广播，回滚时丢弃；事务内已写入的键绕过缓存直接查库</li>
+ *     <li>每个区域维护失效代数，查库期间发生失效时不回填缓存，避免回填旧值</li>
+ *     <li>可订阅区域的失效（包括其他节点广播的失效），用于维护基于实体派生的数据，如字典快照</li>
+ * </ul>
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+public class EntityCacheManager {
+
+    private final NearCache nearCache;
+
+    private final List<EntityCacheBroadcaster> broadcasters;
+
+    /**
+     * 实体类型或Service类型对应的区域，未开启缓存时为空
+     */
+    private final Map<Class<?>, Optional<String>> regionCache = new ConcurrentHashMap<>(64);
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>(16);
+
+    private final Map<String, List<Consumer<Collection<String>>>> listeners = new ConcurrentHashMap<>(16);
+
+    public EntityCacheManager(NearCache nearCache, List<EntityCacheBroadcaster> broadcasters) {
+        this.nearCache = nearCache;
+        this.broadcasters = broadcasters;
+    }
+
+    /**
+     * 解析并注册实体的缓存区域
+     *
+     * @param entityClass  实体类型
+     * @param serviceClass Service类型
+     * @return 区域，实体与Service都未标记{@link EntityCache}时为null
+     */
+    public String register(Class<?> entityClass, Class<?> serviceClass) {
+        return regionCache.computeIfAbsent(serviceClass, key -> {
+            EntityCache entityCache = Optional
+                    .ofNullable(AnnotatedElementUtils.findMergedAnnotation(serviceClass, EntityCache.class))
+                    .orElseGet(() -> AnnotatedElementUtils.findMergedAnnotation(entityClass, EntityCache.class));
+            if (Objects.isNull(entityCache)) {
+                return Optional.empty();
+            }
+
+            String region = getRegion(entityClass);
+            nearCache.register(region, entityCache.maxSize(), TimeUnit.SECONDS.toMillis(entityCache.ttl()));
+            generations.putIfAbsent(region, new AtomicLong());
+            return Optional.of(region);
+        }).orElse(null);
+    }
+
+    /**
+     * 实体对应的区域
+     *
+     * @param entityClass 实体类型
+     * @return 区域
+     */
+    public static String getRegion(Class<?> entityClass) {
+        return entityClass.getName();
+    }
+
+    /**
+     * 订阅区域的失效，本节点提交后的失效与其他节点广播的失效都会通知
+     *
+     * @param region   区域
+     * @param listener 失效的主键，为null时表示清空区域
+     */
+    public void subscribe(String region, Consumer<Collection<String>> listener) {
+        generations.putIfAbsent(region, new AtomicLong());
+        listeners.computeIfAbsent(region, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * 获取缓存的实体
+     *
+     * @param region 区域
+     * @param key    主键
+     * @param <E>    实体类型
+     * @return 实体副本，未命中或当前事务已写入该主键时为null
+     */
+    @SuppressWarnings("unchecked")
+    public <E> E get(String region, Object key) {
+        String cacheKey = String.valueOf(key);
+        if (isPending(region, cacheKey)) {
+            return null;
+        }
+
+        Object value = nearCache.get(region, cacheKey);
+        return Objects.isNull(value) ? null : (E) copy(value);
+    }
+
+    /**
+     * 当前的失效代数，查库前获取，回填时传入
+     *
+     * @param region 区域
+     * @return 失效代数
+     */
+    public long generation(String region) {
+        return generations.get(region).get();
+    }
+
+    /**
+     * 回填缓存，期间区域发生过失效或当前事务已写入该主键时忽略
+     *
+     * @param region     区域
+     * @param key        主键
+     * @param entity     实体
+     * @param generation 查库前获取的失效代数
+     */
+    public void put(String region, Object key, Object entity, long generation) {
+        String cacheKey = String.valueOf(key);
+        if (Objects.isNull(key) || Objects.isNull(entity) || isPending(region, cacheKey)) {
+            return;
+        }
+
+        Object copy = copy(entity);
+        if (generation(region) == generation) {
+            nearCache.put(region, cacheKey, copy);
+        }
+    }
+
+    /**
+     * 失效主键对应的缓存，事务中时在提交后执行
+     *
+     * @param region 区域
+     * @param keys   主键
+     */
+    public void invalidate(String region, Collection<?> keys) {
+        if (CollUtil.isEmpty(keys)) {
+            return;
+        }
+
+        Set<String> cacheKeys = keys.stream().filter(Objects::nonNull).map(String::valueOf).collect(Collectors.toSet());
+        PendingInvalidation pending = currentPending();
+        if (Objects.isNull(pending)) {
+            evict(region, cacheKeys, true);
+        } else {
+            pending.regionKeys.computeIfAbsent(region, k -> new HashSet<>()).addAll(cacheKeys);
+        }
+    }
+
+    /**
+     * 清空区域，事务中时在提交后执行
+     *
+     * @param region 区域
+     */
+    public void invalidateAll(String region) {
+        PendingInvalidation pending = currentPending();
+        if (Objects.isNull(pending)) {
+            evict(region, null, true);
+        } else {
+            pending.clearedRegions.add(region);
+        }
+    }
+
+    /**
+     * 处理其他节点广播的失效，不再广播
+     *
+     * @param region 区域
+     * @param keys   主键，为null时清空区域
+     */
+    public void evictLocal(String region, Collection<String> keys) {
+        if (generations.containsKey(region)) {
+            evict(region, keys, false);
+        }
+    }
+
+    private void evict(String region, Collection<String> keys, boolean broadcast) {
+        generations.computeIfAbsent(region, k -> new AtomicLong()).incrementAndGet();
+        if (Objects.isNull(keys)) {
+            nearCache.clear(region);
+        } else {
+            nearCache.evict(region, keys);
+        }
+
+        listeners.getOrDefault(region, Collections.emptyList()).forEach(listener -> {
+            try {
+                listener.accept(keys);
+            } catch (Throwable throwable) {
+                log.warn("Notify entity cache invalidation of region {} failed", region, throwable);
+            }
+        });
+
+        if (broadcast) {
+            broadcasters.forEach(broadcaster -> {
+                try {
+                    broadcaster.broadcast(region, keys);
+                } catch (Throwable throwable) {
+                    log.warn("Broadcast entity cache invalidation of region {} failed", region, throwable);
+                }
+            });
+        }
+    }
+
+    private boolean isPending(String region, String key) {
+        PendingInvalidation pending = (PendingInvalidation) TransactionSynchronizationManager.getResource(this);
+        if (Objects.isNull(pending)) {
+            return false;
+        }
+
+        Set<String> keys = pending.regionKeys.get(region);
+        return pending.clearedRegions.contains(region) || (Objects.nonNull(keys) && keys.contains(key));
+    }
+
+    private PendingInvalidation currentPending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        PendingInvalidation pending = (PendingInvalidation) TransactionSynchronizationManager.getResource(this);
+        if (Objects.isNull(pending)) {
+            pending = new PendingInvalidation();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private static Object copy(Object source) {
+        return deepCopy(source, new IdentityHashMap<>(8));
+    }
+
+    /**
+     * 深复制，简单值类型直接共享；没有无参构造的对象无法复制，直接共享
+     *
+     * @param source 源对象
+     * @param copies 已复制的对象，处理循环引用
+     * @return 副本
+     */
+    @SuppressWarnings("unchecked")
+    private static Object deepCopy(Object source, Map<Object, Object> copies) {
+        if (Objects.isNull(source) || BeanUtils.isSimpleValueType(source.getClass())) {
+            return source;
+        }
+
+        Object copied = copies.get(source);
+        if (Objects.nonNull(copied)) {
+            return copied;
+        }
+
+        if (source instanceof Collection) {
+            Collection<Object> target = source instanceof SortedSet
+                    ? new TreeSet<>(((SortedSet<Object>) source).comparator())
+                    : source instanceof Set ? new LinkedHashSet<>() : new ArrayList<>(((Collection<?>) source).size());
+            copies.put(source, target);
+            ((Collection<?>) source).forEach(item -> target.add(deepCopy(item, copies)));
+            return target;
+        }
+
+        if (source instanceof Map) {
+            Map<Object, Object> target = source instanceof SortedMap
+                    ? new TreeMap<>(((SortedMap<Object, Object>) source).comparator())
+                    : new LinkedHashMap<>();
+            copies.put(source, target);
+            ((Map<?, ?>) source).forEach((key, value) -> target.put(key, deepCopy(value, copies)));
+            return target;
+        }
+
+        Class<?> sourceClass = source.getClass();
+        if (sourceClass.isArray()) {
+            int length = Array.getLength(source);
+            Object target = Array.newInstance(sourceClass.getComponentType(), length);
+            copies.put(source, target);
+            for (int i = 0; i < length; i++) {
+                Array.set(target, i, deepCopy(Array.get(source, i), copies));
+            }
+            return target;
+        }
+
+        Object target;
+        try {
+            target = BeanUtils.instantiateClass(sourceClass);
+        } catch (FatalBeanException ex) {
+            return source;
+        }
+
+        copies.put(source, target);
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(sourceClass)) {
+            if (Objects.isNull(descriptor.getReadMethod())) {
+                continue;
+            }
+
+            try {
+                Object value = descriptor.getReadMethod().invoke(source);
+                if (Objects.nonNull(descriptor.getWriteMethod())) {
+                    descriptor.getWriteMethod().invoke(target, deepCopy(value, copies));
+                } else if (value instanceof Collection) {
+                    //只有getter的集合（如final的children）填充到副本自己的集合中
+                    Object targetValue = descriptor.getReadMethod().invoke(target);
+                    if (targetValue instanceof Collection && targetValue != value) {
+                        ((Collection<Object>) targetValue).addAll((Collection<Object>) deepCopy(value, copies));
+                    }
+                }
+            } catch (UnsupportedOperationException ex) {
+                //不可修改的集合保持副本的初始值
+            } catch (Throwable throwable) {
+                throw new FatalBeanException("Could not copy property '" + descriptor.getName() + "' of cached entity", throwable);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 事务中待执行的失效
+     */
+    private class PendingInvalidation implements TransactionSynchronization {
+
+        private final Map<String, Set<String>> regionKeys = new HashMap<>(4);
+
+        private final Set<String> clearedRegions = new HashSet<>(4);
+
+        /**
+         * 挂起时解绑，REQUIRES_NEW等内层事务使用自己的待执行失效，提交后即执行，不受外层回滚影响
+         */
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EntityCacheManager.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(EntityCacheManager.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EntityCacheManager.this);
+            if (status != STATUS_COMMITTED) {
+                return;
+            }
+
+            clearedRegions.forEach(region -> evict(region, null, true));
+            regionKeys.forEach((region, keys) -> {
+                if (!clearedRegions.contains(region)) {
+                    evict(region, keys, true);
+                }
+            });
+        }
+    }
+}
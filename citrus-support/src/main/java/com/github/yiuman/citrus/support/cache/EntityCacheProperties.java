@@ -0,0 +1,55 @@
+package com.github.yiuman.citrus.support.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 实体缓存配置，具体实体通过{@link EntityCache}开启
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@ConfigurationProperties(prefix = "citrus.cache.entity")
+public class EntityCacheProperties {
+
+    /**
+     * 是否启用实体缓存，关闭后标记了EntityCache的实体也直接查库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否通过Redis发布订阅在集群中广播失效，多节点部署时需要开启
+     */
+    private boolean redisBroadcast = false;
+
+    /**
+     * 广播失效的Redis频道
+     */
+    private String channel = "citrus:entity-cache";
+
+    public EntityCacheProperties() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isRedisBroadcast() {
+        return redisBroadcast;
+    }
+
+    public void setRedisBroadcast(boolean redisBroadcast) {
+        this.redisBroadcast = redisBroadcast;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.yiuman.citrus.support.cache;
+
+import cn.hutool.cache.Cache;
+import cn.hutool.cache.CacheUtil;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 默认的近端缓存，每个区域一个带过期时间的LRU缓存
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class LocalNearCache implements NearCache {
+
+    private final Map<String, Cache<String, Object>> regions = new ConcurrentHashMap<>(16);
+
+    public LocalNearCache() {
+    }
+
+    @Override
+    public void register(String region, int maxSize, long ttlMillis) {
+        regions.computeIfAbsent(region, key -> CacheUtil.newLRUCache(maxSize, ttlMillis));
+    }
+
+    @Override
+    public Object get(String region, String key) {
+        Cache<String, Object> cache = regions.get(region);
+        return Objects.isNull(cache) ? null : cache.get(key, false);
+    }
+
+    @Override
+    public void put(String region, String key, Object value) {
+        Cache<String, Object> cache = regions.get(region);
+        if (Objects.nonNull(cache)) {
+            cache.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(String region, Collection<String> keys) {
+        Cache<String, Object> cache = regions.get(region);
+        if (Objects.nonNull(cache)) {
+            keys.forEach(cache::remove);
+        }
+    }
+
+    @Override
+    public void clear(String region) {
+        Cache<String, Object> cache = regions.get(region);
+        if (Objects.nonNull(cache)) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.yiuman.citrus.support.cache;
+
+import java.util.Collection;
+
+/**
+ * 进程内的近端缓存，按区域（一般为实体类名）隔离
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public interface NearCache {
+
+    /**
+     * 注册缓存区域，重复注册时忽略
+     *
+     * @param region    区域
+     * @param maxSize   最多缓存的条目数
+     * @param ttlMillis 过期时间（毫秒）
+     */
+    void register(String region, int maxSize, long ttlMillis);
+
+    /**
+     * 获取缓存
+     *
+     * @param region 区域
+     * @param key    键
+     * @return 缓存值，不存在时为null
+     */
+    Object get(String region, String key);
+
+    /**
+     * 放入缓存
+     *
+     * @param region 区域
+     * @param key    键
+     * @param value  值
+     */
+    void put(String region, String key, Object value);
+
+    /**
+     * 失效缓存
+     *
+     * @param region 区域
+     * @param keys   键
+     */
+    void evict(String region, Collection<String> keys);
+
+    /**
+     * 清空区域
+     *
+     * @param region 区域
+     */
+    void clear(String region);
+}
@@ -0,0 +1,77 @@
+package com.github.yiuman.citrus.support.cache;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * 基于Redis发布订阅的实体缓存失效广播<br/>
+ * 消息为JSON：{"node":"节点ID","region":"区域","keys":["主键"]}，keys为空时清空区域，忽略本节点发出的消息
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+public class RedisEntityCacheBroadcaster implements EntityCacheBroadcaster, MessageListener {
+
+    private final String node = IdUtil.fastSimpleUUID();
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final String channel;
+
+    /**
+     * 管理器依赖广播器，这里延迟获取避免循环依赖
+     */
+    private final ObjectProvider<EntityCacheManager> cacheManagerProvider;
+
+    public RedisEntityCacheBroadcaster(StringRedisTemplate redisTemplate, String channel,
+                                       ObjectProvider<EntityCacheManager> cacheManagerProvider) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.cacheManagerProvider = cacheManagerProvider;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void broadcast(String region, Collection<String> keys) {
+        JSONObject message = new JSONObject()
+                .set("node", node)
+                .set("region", region)
+                .set("keys", keys);
+        redisTemplate.convertAndSend(channel, message.toString());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JSONObject body = JSONUtil.parseObj(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (node.equals(body.getStr("node"))) {
+                return;
+            }
+
+            EntityCacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+            if (Objects.isNull(cacheManager)) {
+                return;
+            }
+
+            JSONArray keys = body.getJSONArray("keys");
+            cacheManager.evictLocal(body.getStr("region"), Objects.isNull(keys) ? null : keys.toList(String.class));
+        } catch (Throwable throwable) {
+            log.warn("Cannot handle entity cache invalidation message", throwable);
+        }
+    }
+}
@@ -14,8 +14,8 @@ import com.github.yiuman.citrus.support.model.Tree;
 import com.github.yiuman.citrus.support.utils.CrudUtils;
 import com.github.yiuman.citrus.support.utils.SpringUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.ibatis.binding.BindingException;
 import org.apache.ibatis.binding.MapperRegistry;
+import org.apache.ibatis.session.Configuration;
 import org.mybatis.spring.SqlSessionTemplate;
 
 import java.io.Serializable;
@@ -42,6 +42,11 @@ public final class CrudHelper {
      */
     private static final Map<Class<?>, Class<? extends BaseMapper<?>>> MAPPER_CACHE = new ConcurrentHashMap<>(256);
 
+    /**
+     * Mapper接口与Mapper代理的缓存
+     */
+    private static final Map<Class<?>, Object> MAPPER_PROXY_CACHE = new ConcurrentHashMap<>(256);
+
     private CrudHelper() {
     }
 
@@ -92,52 +97,37 @@ public final class CrudHelper {
     }
 
     /**
-     * 根据实体以及基础Mapper接口获取Mapper
+     * 根据实体以及基础Mapper接口获取Mapper<br/>
+     * Mapper代理按接口缓存，命中时不加锁；未注册的Mapper在Mybatis配置对象上加锁注册（Configuration的语句注册非线程安全），
+     * 开启预热后注册都在启动阶段完成
      *
      * @param entityClass     实体Class
      * @param baseMapperClass 基础Mapper基础的Class
      * @param <M>             Mapper泛型
      * @param <T>             实体泛型
      * @return 从Mybatis取出的Mapper代理对象（可能为动态字节码Mapper）
+     * @see CrudWarmUp
      */
     @SuppressWarnings("unchecked")
     public static <M extends BaseMapper<T>, T> M getMapper(Class<T> entityClass, Class<?> baseMapperClass) {
         try {
-            //多线程的使用 线程安全的SqlSessionTemplate
-            SqlSessionTemplate sqlSessionTemplate = SpringUtils.getBean(SqlSessionTemplate.class);
-            //先看下Mapper与实体映射的缓存是否为空,为空则初始化已注册的实体缓存信息
-            if (CollectionUtil.isEmpty(MAPPER_CACHE.keySet())) {
-                //找到Mapper注册器
-                MapperRegistry mapperRegistry = sqlSessionTemplate.getConfiguration().getMapperRegistry();
-                mapperRegistry.getMappers().stream().filter(mapperInterface -> {
-                    Class<?>[] interfaces = mapperInterface.getInterfaces();
-                    //找到是CrudMapper的实现
-                    return ArrayUtil.isNotEmpty(interfaces) && interfaces[0].isAssignableFrom(CrudMapper.class);
-                }).forEach(baseMapperInterface ->
-                        MAPPER_CACHE.put(
-                                (Class<?>) TypeUtil.getTypeArgument(baseMapperInterface, 0),
-                                (Class<? extends BaseMapper<?>>) baseMapperInterface
-                        )
-                );
+            Class<? extends BaseMapper<?>> mapperClass = getMapperClass(entityClass, baseMapperClass);
+            Object mapper = MAPPER_PROXY_CACHE.get(mapperClass);
+            if (Objects.nonNull(mapper)) {
+                return (M) mapper;
             }
 
-            Class<? extends BaseMapper<?>> mapperClass = MAPPER_CACHE.get(entityClass);
-
-            if (Objects.isNull(mapperClass)) {
-                mapperClass = CrudUtils.getMapperInterface(entityClass, baseMapperClass);
-                MAPPER_CACHE.put(entityClass, mapperClass);
-            }
-
-            M mapper;
-            synchronized (mapperClass) {
-                try {
-                    mapper = (M) sqlSessionTemplate.getMapper(mapperClass);
-                } catch (BindingException e) {
-                    sqlSessionTemplate.getConfiguration().addMapper(mapperClass);
-                    mapper = (M) sqlSessionTemplate.getMapper(mapperClass);
+            //多线程的使用 线程安全的SqlSessionTemplate
+            SqlSessionTemplate sqlSessionTemplate = SpringUtils.getBean(SqlSessionTemplate.class);
+            Configuration configuration = sqlSessionTemplate.getConfiguration();
+            synchronized (configuration) {
+                if (!configuration.hasMapper(mapperClass)) {
+                    configuration.addMapper(mapperClass);
                 }
             }
-            return mapper;
+            mapper = sqlSessionTemplate.getMapper(mapperClass);
+            Object existing = MAPPER_PROXY_CACHE.putIfAbsent(mapperClass, mapper);
+            return (M) (Objects.isNull(existing) ? mapper : existing);
         } catch (Throwable throwable) {
             log.error("Cannot auto get mapper for entity {} and mapperInterface {}", entityClass, baseMapperClass, throwable);
             throw new RuntimeException(throwable);
@@ -145,6 +135,40 @@ public final class CrudHelper {
 
     }
 
+    /**
+     * 获取实体对应的Mapper接口，已注册的CrudMapper实现优先，没有则动态生成
+     *
+     * @param entityClass     实体Class
+     * @param baseMapperClass 基础Mapper基础的Class
+     * @return Mapper接口
+     * @throws Exception 无法生成Mapper接口
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<? extends BaseMapper<?>> getMapperClass(Class<?> entityClass, Class<?> baseMapperClass) throws Exception {
+        //先看下Mapper与实体映射的缓存是否为空,为空则初始化已注册的实体缓存信息
+        if (CollectionUtil.isEmpty(MAPPER_CACHE.keySet())) {
+            //找到Mapper注册器
+            MapperRegistry mapperRegistry = SpringUtils.getBean(SqlSessionTemplate.class).getConfiguration().getMapperRegistry();
+            mapperRegistry.getMappers().stream().filter(mapperInterface -> {
+                Class<?>[] interfaces = mapperInterface.getInterfaces();
+                //找到是CrudMapper的实现
+                return ArrayUtil.isNotEmpty(interfaces) && interfaces[0].isAssignableFrom(CrudMapper.class);
+            }).forEach(baseMapperInterface ->
+                    MAPPER_CACHE.putIfAbsent(
+                            (Class<?>) TypeUtil.getTypeArgument(baseMapperInterface, 0),
+                            (Class<? extends BaseMapper<?>>) baseMapperInterface
+                    )
+            );
+        }
+
+        Class<? extends BaseMapper<?>> mapperClass = MAPPER_CACHE.get(entityClass);
+        if (Objects.isNull(mapperClass)) {
+            mapperClass = (Class<? extends BaseMapper<?>>) CrudUtils.getMapperInterface(entityClass, baseMapperClass);
+            MAPPER_CACHE.put(entityClass, mapperClass);
+        }
+        return mapperClass;
+    }
+
     public static <M extends CrudMapper<T>, T> M getCrudMapper(Class<T> entityClass) {
         return getMapper(entityClass, CrudMapper.class);
     }
@@ -0,0 +1,129 @@
+package com.github.yiuman.citrus.support.crud;
+
+import cn.hutool.core.util.TypeUtil;
+import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
+import com.github.yiuman.citrus.support.crud.mapper.TreeMapper;
+import com.github.yiuman.citrus.support.crud.rest.BaseRestful;
+import com.github.yiuman.citrus.support.crud.service.BaseDtoService;
+import com.github.yiuman.citrus.support.crud.service.BasePreOrderTreeService;
+import com.github.yiuman.citrus.support.crud.service.BaseService;
+import com.github.yiuman.citrus.support.crud.service.CrudService;
+import com.github.yiuman.citrus.support.utils.ClassUtils;
+import com.github.yiuman.citrus.support.utils.JavassistUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * CRUD预热<br/>
+ * 所有单例创建完成后、开始接收请求前，为容器中的Restful与Service预先生成动态Service、Mapper并注册Mybatis语句，
+ * 首次请求不再等待字节码生成，也不再进入生成与注册的锁。
+ * Javassist的ClassPool与Mybatis的Configuration都非线程安全，这里按顺序逐个生成
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+public class CrudWarmUp implements SmartInitializingSingleton {
+
+    private static final String GENERATED_SUFFIX = "$$javassist";
+
+    private final ApplicationContext applicationContext;
+
+    private final CrudWarmUpProperties properties;
+
+    public CrudWarmUp(ApplicationContext applicationContext, CrudWarmUpProperties properties) {
+        this.applicationContext = applicationContext;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        Set<Class<?>> generatedClasses = new LinkedHashSet<>();
+        Map<Class<?>, Class<?>> entityMappers = new LinkedHashMap<>();
+        int failures = 0;
+
+        //未重写getService的Restful使用动态生成的Service
+        for (BaseRestful<?, ?> restful : applicationContext.getBeansOfType(BaseRestful.class).values()) {
+            Class<?> restfulClass = ClassUtils.getRealClass(restful.getClass());
+            Method getService = ReflectionUtils.findMethod(restfulClass, "getService");
+            if (Objects.isNull(getService) || !BaseRestful.class.equals(getService.getDeclaringClass())) {
+                continue;
+            }
+
+            try {
+                CrudService<?, ?> crudService = CrudHelper.getCrudService(restful.getModelClass(), restful.getKeyClass());
+                generatedClasses.add(ClassUtils.getRealClass(crudService.getClass()));
+                entityMappers.putIfAbsent(restful.getModelClass(), CrudMapper.class);
+            } catch (Throwable throwable) {
+                failures += handleFailure(restfulClass, throwable);
+            }
+        }
+
+        for (CrudService<?, ?> crudService : applicationContext.getBeansOfType(CrudService.class).values()) {
+            Class<?> serviceClass = ClassUtils.getRealClass(crudService.getClass());
+            Class<?> entityClass = TypeUtil.getClass(TypeUtil.getTypeArgument(serviceClass, 0));
+            if (Objects.isNull(entityClass)) {
+                continue;
+            }
+
+            if (BaseService.class.isAssignableFrom(serviceClass)) {
+                Class<?> baseMapperClass = BasePreOrderTreeService.class.isAssignableFrom(serviceClass) ? TreeMapper.class : CrudMapper.class;
+                entityMappers.putIfAbsent(entityClass, baseMapperClass);
+            } else if (BaseDtoService.class.isAssignableFrom(serviceClass)) {
+                try {
+                    CrudService<?, ?> entityService = CrudHelper.getCrudService(serviceClass);
+                    generatedClasses.add(ClassUtils.getRealClass(entityService.getClass()));
+                    entityMappers.putIfAbsent(entityClass, CrudMapper.class);
+                } catch (Throwable throwable) {
+                    failures += handleFailure(serviceClass, throwable);
+                }
+            }
+        }
+
+        for (Map.Entry<Class<?>, Class<?>> entry : entityMappers.entrySet()) {
+            try {
+                CrudHelper.getMapper(entry.getKey(), entry.getValue());
+                generatedClasses.add(CrudHelper.getMapperClass(entry.getKey(), entry.getValue()));
+            } catch (Throwable throwable) {
+                failures += handleFailure(entry.getKey(), throwable);
+            }
+        }
+
+        generatedClasses.removeIf(generatedClass -> !generatedClass.getName().endsWith(GENERATED_SUFFIX));
+        if (StringUtils.hasText(properties.getOutputDirectory())) {
+            generatedClasses.forEach(this::writeClass);
+        }
+
+        log.info("Crud warm-up finished in {}ms, {} entities prepared, {} classes generated{}",
+                System.currentTimeMillis() - start, entityMappers.size(), generatedClasses.size(),
+                failures > 0 ? String.format(", %d failed", failures) : "");
+    }
+
+    private int handleFailure(Class<?> type, Throwable throwable) {
+        if (properties.isFailFast()) {
+            throw new IllegalStateException(String.format("Crud warm-up failed for %s", type.getName()), throwable);
+        }
+
+        log.warn("Crud warm-up failed for {}, it will be prepared on first use", type.getName(), throwable);
+        return 1;
+    }
+
+    private void writeClass(Class<?> generatedClass) {
+        try {
+            JavassistUtils.getClass(generatedClass).writeFile(properties.getOutputDirectory());
+        } catch (Throwable throwable) {
+            log.warn("Cannot write generated class {} to {}", generatedClass.getName(), properties.getOutputDirectory(), throwable);
+        }
+    }
+}
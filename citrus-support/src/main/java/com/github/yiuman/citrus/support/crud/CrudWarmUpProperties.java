@@ -0,0 +1,52 @@
+package com.github.yiuman.citrus.support.crud;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CRUD预热配置
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@ConfigurationProperties(prefix = "citrus.crud.warm-up")
+public class CrudWarmUpProperties {
+
+    /**
+     * 是否在启动时预先生成动态Service、Mapper并注册Mybatis语句
+     */
+    private boolean enabled = true;
+
+    /**
+     * 预热失败时是否中断启动，默认只记录日志，失败的实体在首次请求时再生成
+     */
+    private boolean failFast = false;
+
+    /**
+     * 生成的字节码输出目录，如构建时以target/classes启动一次应用，生成的类会被打进jar，运行时直接加载不再生成
+     */
+    private String outputDirectory;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+}
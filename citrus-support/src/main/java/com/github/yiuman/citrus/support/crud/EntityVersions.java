@@ -0,0 +1,94 @@
+package com.github.yiuman.citrus.support.crud;
+
+import cn.hutool.core.util.IdUtil;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 实体版本，BaseService写入实体后递增（事务中在提交后递增），用于响应的ETag校验<br/>
+ * 版本只在当前进程内有效，重启后通过epoch区分
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public final class EntityVersions {
+
+    /**
+     * 进程启动标识
+     */
+    private static final String EPOCH = IdUtil.fastSimpleUUID();
+
+    private static final Map<Class<?>, AtomicLong> VERSIONS = new ConcurrentHashMap<>(64);
+
+    private static final Object RESOURCE_KEY = new Object();
+
+    private EntityVersions() {
+    }
+
+    public static String getEpoch() {
+        return EPOCH;
+    }
+
+    /**
+     * 获取实体当前版本
+     *
+     * @param entityClass 实体类型
+     * @return 版本，未写入过时为0
+     */
+    public static long get(Class<?> entityClass) {
+        AtomicLong version = VERSIONS.get(entityClass);
+        return Objects.isNull(version) ? 0L : version.get();
+    }
+
+    /**
+     * 标记实体已变更，事务中时在提交后递增版本，回滚时不递增
+     *
+     * @param entityClass 实体类型
+     */
+    @SuppressWarnings("unchecked")
+    public static void changed(Class<?> entityClass) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(entityClass);
+            return;
+        }
+
+        Set<Class<?>> changed = (Set<Class<?>>) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (Objects.isNull(changed)) {
+            Set<Class<?>> pending = new HashSet<>(4);
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                //挂起时解绑，REQUIRES_NEW等内层事务使用自己的集合，提交后即递增，不受外层回滚影响
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(RESOURCE_KEY, pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                    if (status == STATUS_COMMITTED) {
+                        pending.forEach(EntityVersions::increment);
+                    }
+                }
+            });
+            changed = pending;
+        }
+        changed.add(entityClass);
+    }
+
+    private static void increment(Class<?> entityClass) {
+        VERSIONS.computeIfAbsent(entityClass, key -> new AtomicLong()).incrementAndGet();
+    }
+}
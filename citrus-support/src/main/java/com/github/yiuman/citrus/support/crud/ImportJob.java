@@ -0,0 +1,174 @@
+package com.github.yiuman.citrus.support.crud;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 导入任务<br/>
+ * 记录导入的进度与失败的行，失败行最多保留{@link #MAX_ERROR_ROWS}条，超出后只计数
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class ImportJob {
+
+    public static final int MAX_ERROR_ROWS = 10000;
+
+    public enum Status {
+        /**
+         * 导入中
+         */
+        RUNNING,
+        /**
+         * 已完成，可能包含失败的行
+         */
+        COMPLETED,
+        /**
+         * 文件解析失败等原因中止，已提交的批次不会回滚
+         */
+        FAILED
+    }
+
+    private final String id;
+
+    private final String fileName;
+
+    private final long startTime = System.currentTimeMillis();
+
+    private final LongAdder read = new LongAdder();
+
+    private final LongAdder succeeded = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final Queue<ErrorRow> errorRows = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger errorRowCount = new AtomicInteger();
+
+    private volatile Status status = Status.RUNNING;
+
+    private volatile long endTime;
+
+    private volatile String message;
+
+    public ImportJob(String id, String fileName) {
+        this.id = id;
+        this.fileName = fileName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return 已读取的行数
+     */
+    public long getRead() {
+        return read.sum();
+    }
+
+    /**
+     * @return 已保存的行数
+     */
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * @return 失败的行数
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return 失败的行，按工作表与行号排序
+     */
+    @JsonIgnore
+    public List<ErrorRow> getErrorRows() {
+        List<ErrorRow> rows = new ArrayList<>(errorRows);
+        rows.sort(Comparator.comparing(ErrorRow::getSheet, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(ErrorRow::getRowNumber));
+        return rows;
+    }
+
+    void read() {
+        read.increment();
+    }
+
+    void succeeded(int rows) {
+        succeeded.add(rows);
+    }
+
+    void failed(String sheet, int rowNumber, String message, Object data) {
+        failed.increment();
+        if (errorRowCount.incrementAndGet() <= MAX_ERROR_ROWS) {
+            errorRows.add(new ErrorRow(sheet, rowNumber, message, data));
+        }
+    }
+
+    void complete() {
+        endTime = System.currentTimeMillis();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        this.message = message;
+        endTime = System.currentTimeMillis();
+        status = Status.FAILED;
+    }
+
+    /**
+     * 失败的行
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ErrorRow {
+
+        /**
+         * 工作表名称
+         */
+        private final String sheet;
+
+        /**
+         * Excel中的行号，从1开始
+         */
+        private final int rowNumber;
+
+        private final String message;
+
+        /**
+         * 行数据，转换失败时为null
+         */
+        private final Object data;
+    }
+}
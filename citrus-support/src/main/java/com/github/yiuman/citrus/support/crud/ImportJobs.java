@@ -0,0 +1,196 @@
+package com.github.yiuman.citrus.support.crud;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
+import cn.hutool.core.exceptions.ExceptionUtil;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.read.builder.ExcelReaderBuilder;
+import com.github.yiuman.citrus.support.crud.service.CrudService;
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.support.http.ResponseStatusCode;
+import com.github.yiuman.citrus.support.utils.ThreadUtils;
+import com.github.yiuman.citrus.support.utils.WebUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 导入任务管理<br/>
+ * 上传的文件先落到临时文件，在独立的线程池中异步导入并立即返回任务，通过任务ID查询进度与失败行。
+ * 同时运行的任务数有上限，任务结束后在{@link #JOB_TIMEOUT}内可查询，任务只保存在当前节点的内存中。
+ * 异步导入时请求已经返回，保存逻辑依赖当前请求（如从请求中获取模型）的需使用{@link #execute}在请求线程中同步导入
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+public final class ImportJobs {
+
+    /**
+     * 每个任务的写入线程数
+     */
+    public static final int WORKERS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * 每个批次的行数，单个任务内存中最多有(2 * WORKERS + 1) * BATCH_SIZE行
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    /**
+     * 同时运行的任务数上限
+     */
+    public static final int MAX_RUNNING_JOBS = 4;
+
+    /**
+     * 任务最后一次查询后保留的时间（毫秒）
+     */
+    private static final long JOB_TIMEOUT = 60 * 60 * 1000L;
+
+    private static final String TEMP_FILE_PREFIX = "citrus-import-";
+
+    private static final TimedCache<String, ImportJob> JOBS = CacheUtil.newTimedCache(JOB_TIMEOUT);
+
+    private static final Semaphore RUNNING_JOBS = new Semaphore(MAX_RUNNING_JOBS);
+
+    /**
+     * 解析与写入线程，线程数受MAX_RUNNING_JOBS * (WORKERS + 1)限制
+     */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new NamedThreadFactory(TEMP_FILE_PREFIX, true));
+
+    private ImportJobs() {
+    }
+
+    /**
+     * 开始导入
+     *
+     * @param file       上传的文件
+     * @param modelClass 导入的模型类型
+     * @param service    保存数据的Service
+     * @param <T>        模型类型
+     * @param <K>        主键类型
+     * @return 导入任务
+     * @throws IOException 保存临时文件失败
+     */
+    public static <T, K extends Serializable> ImportJob start(MultipartFile file, Class<T> modelClass, CrudService<T, K> service) throws IOException {
+        if (!RUNNING_JOBS.tryAcquire()) {
+            throw new RestException(String.format("同时导入的任务不能超过%d个，请稍后再试", MAX_RUNNING_JOBS), ResponseStatusCode.BAD_REQUEST);
+        }
+
+        File tempFile = null;
+        try {
+            String extName = FileUtil.extName(file.getOriginalFilename());
+            tempFile = File.createTempFile(TEMP_FILE_PREFIX, StrUtil.isBlank(extName) ? null : "." + extName);
+            file.transferTo(tempFile);
+            ImportJob job = new ImportJob(IdUtil.fastSimpleUUID(), file.getOriginalFilename());
+            JOBS.prune();
+            JOBS.put(job.getId(), job);
+            File source = tempFile;
+            EXECUTOR.execute(ThreadUtils.wrap(() -> {
+                try {
+                    read(job, WORKERS, service, listener -> EasyExcel.read(source, modelClass, listener));
+                } finally {
+                    FileUtil.del(source);
+                    //刷新过期时间，运行时间较长的任务结束后仍可查询
+                    JOBS.put(job.getId(), job);
+                    RUNNING_JOBS.release();
+                }
+            }));
+            return job;
+        } catch (Throwable throwable) {
+            FileUtil.del(tempFile);
+            RUNNING_JOBS.release();
+            throw throwable;
+        }
+    }
+
+    /**
+     * 在当前线程中同步导入，逐批校验并保存，返回时任务已结束
+     *
+     * @param file       上传的文件
+     * @param modelClass 导入的模型类型
+     * @param service    保存数据的Service
+     * @param <T>        模型类型
+     * @param <K>        主键类型
+     * @return 已结束的导入任务
+     * @throws IOException 读取上传的文件失败
+     */
+    public static <T, K extends Serializable> ImportJob execute(MultipartFile file, Class<T> modelClass, CrudService<T, K> service) throws IOException {
+        ImportJob job = new ImportJob(IdUtil.fastSimpleUUID(), file.getOriginalFilename());
+        try (InputStream inputStream = file.getInputStream()) {
+            read(job, 0, service, listener -> EasyExcel.read(inputStream, modelClass, listener));
+        }
+        JOBS.prune();
+        JOBS.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * 获取导入任务
+     *
+     * @param jobId 任务ID
+     * @return 导入任务
+     */
+    public static ImportJob get(String jobId) {
+        ImportJob job = JOBS.get(jobId);
+        if (Objects.isNull(job)) {
+            throw new RestException("导入任务不存在或已过期", ResponseStatusCode.NOT_FOUND);
+        }
+        return job;
+    }
+
+    /**
+     * 导出失败行的报告
+     *
+     * @param response 当前响应
+     * @param jobId    任务ID
+     * @throws IOException IO异常
+     */
+    public static void exportErrors(HttpServletResponse response, String jobId) throws IOException {
+        ImportJob job = get(jobId);
+        List<List<String>> headers = Stream.of("工作表", "行号", "错误信息", "数据")
+                .map(Collections::singletonList)
+                .collect(Collectors.toList());
+        List<List<Object>> data = job.getErrorRows().stream()
+                .map(row -> Arrays.<Object>asList(row.getSheet(), row.getRowNumber(), row.getMessage(),
+                        Objects.isNull(row.getData()) ? null : JSONUtil.toJsonStr(row.getData())))
+                .collect(Collectors.toList());
+        WebUtils.exportExcel(response, headers, data, StrUtil.format("{}-errors", FileUtil.mainName(StrUtil.blankToDefault(job.getFileName(), job.getId()))));
+    }
+
+    private static <T, K extends Serializable> void read(ImportJob job, int workers, CrudService<T, K> service,
+                                                         Function<PipelinedReadDataListener<T, K>, ExcelReaderBuilder> reader) {
+        PipelinedReadDataListener<T, K> listener = null;
+        try {
+            listener = new PipelinedReadDataListener<>(service, job, EXECUTOR, workers, BATCH_SIZE);
+            reader.apply(listener).doReadAll();
+            listener.finish();
+            job.complete();
+        } catch (Throwable throwable) {
+            log.error("Import job {} failed", job.getId(), throwable);
+            if (Objects.nonNull(listener)) {
+                listener.abort();
+            }
+            job.fail(ExceptionUtil.getRootCauseMessage(throwable));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.github.yiuman.citrus.support.crud;
+
+import cn.hutool.core.exceptions.ExceptionUtil;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.event.AnalysisEventListener;
+import com.alibaba.excel.exception.ExcelDataConvertException;
+import com.github.yiuman.citrus.support.crud.groups.Save;
+import com.github.yiuman.citrus.support.crud.service.CrudService;
+import com.github.yiuman.citrus.support.utils.ThreadUtils;
+import com.github.yiuman.citrus.support.utils.ValidateUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.validation.groups.Default;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * 流水线导入监听器<br/>
+ * 解析线程将行按批次放入有界队列，由多个写入线程校验并保存，每个批次一个事务。
+ * 队列满时解析线程阻塞，内存中最多有(队列容量 + 写入线程数 + 1)个批次。
+ * 批次保存失败时逐行重新保存，定位失败的行记录到{@link ImportJob}中。
+ * 写入线程数为0时在解析线程中逐批写入，用于依赖当前请求上下文的Service
+ *
+ * @param <T> 实体类型
+ * @param <K> 主键类型
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+public class PipelinedReadDataListener<T, K extends Serializable> extends AnalysisEventListener<T> {
+
+    private static final Class<?>[] VALIDATE_GROUPS = {Save.class, Default.class};
+
+    private final CrudService<T, K> service;
+
+    private final ImportJob job;
+
+    private final int batchSize;
+
+    /**
+     * 写入线程数为0时为null
+     */
+    private final BlockingQueue<List<Row<T>>> queue;
+
+    /**
+     * 结束标记，每个写入线程取到后退出
+     */
+    private final List<Row<T>> poison = new ArrayList<>(0);
+
+    private final List<Future<?>> workers;
+
+    private List<Row<T>> batch;
+
+    public PipelinedReadDataListener(CrudService<T, K> service, ImportJob job, ExecutorService executor, int workers, int batchSize) {
+        this.service = service;
+        this.job = job;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        this.queue = workers > 0 ? new ArrayBlockingQueue<>(workers) : null;
+        this.workers = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            this.workers.add(executor.submit(ThreadUtils.wrap(this::work)));
+        }
+    }
+
+    @Override
+    public void invoke(T data, AnalysisContext context) {
+        job.read();
+        batch.add(new Row<>(context.readSheetHolder().getSheetName(), context.readRowHolder().getRowIndex() + 1, data));
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onException(Exception exception, AnalysisContext context) throws Exception {
+        //单元格转换失败只记录该行，继续解析
+        if (exception instanceof ExcelDataConvertException) {
+            ExcelDataConvertException convertException = (ExcelDataConvertException) exception;
+            job.read();
+            job.failed(context.readSheetHolder().getSheetName(), convertException.getRowIndex() + 1,
+                    String.format("第%d列数据格式错误：%s", convertException.getColumnIndex() + 1, ExceptionUtil.getRootCauseMessage(exception)),
+                    null);
+            return;
+        }
+        throw exception;
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        //每个工作表解析完成时都会调用
+        if (!batch.isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * 解析完成后调用，等待所有批次写入完成
+     *
+     * @throws Exception 写入线程被中断等
+     */
+    public void finish() throws Exception {
+        if (!batch.isEmpty()) {
+            flush();
+        }
+
+        for (int i = 0; i < workers.size(); i++) {
+            put(poison);
+        }
+
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    /**
+     * 解析失败时调用，丢弃未写入的批次并停止写入线程
+     */
+    public void abort() {
+        if (Objects.nonNull(queue)) {
+            queue.clear();
+        }
+        workers.forEach(worker -> worker.cancel(true));
+    }
+
+    private void flush() {
+        if (Objects.isNull(queue)) {
+            writeQuietly(batch);
+        } else {
+            put(batch);
+        }
+        batch = new ArrayList<>(batchSize);
+    }
+
+    private void put(List<Row<T>> rows) {
+        try {
+            queue.put(rows);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import job interrupted", e);
+        }
+    }
+
+    private void work() {
+        try {
+            List<Row<T>> rows;
+            while ((rows = queue.take()) != poison) {
+                writeQuietly(rows);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeQuietly(List<Row<T>> rows) {
+        try {
+            write(rows);
+        } catch (Throwable throwable) {
+            //写入线程不能退出，否则解析线程会在队列满时一直阻塞
+            log.error("Import job {} write batch failed", job.getId(), throwable);
+            String message = ExceptionUtil.getRootCauseMessage(throwable);
+            rows.forEach(row -> job.failed(row.sheet, row.rowNumber, message, row.data));
+        }
+    }
+
+    private void write(List<Row<T>> rows) {
+        List<Row<T>> validRows = new ArrayList<>(rows.size());
+        for (Row<T> row : rows) {
+            ValidateUtils.ValidationResult result = ValidateUtils.validateEntity(row.data, VALIDATE_GROUPS);
+            if (result.isHasErrors()) {
+                job.failed(row.sheet, row.rowNumber, result.getMessage(), row.data);
+            } else {
+                validRows.add(row);
+            }
+        }
+
+        if (validRows.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (service.batchSave(validRows.stream().map(row -> row.data).collect(Collectors.toList()))) {
+                job.succeeded(validRows.size());
+            } else {
+                validRows.forEach(row -> job.failed(row.sheet, row.rowNumber, "批量保存失败", row.data));
+            }
+            return;
+        } catch (Throwable throwable) {
+            log.debug("Import job {} batch save failed, retry row by row", job.getId(), throwable);
+        }
+
+        //批次失败时整批已回滚，逐行保存找出失败的行
+        for (Row<T> row : validRows) {
+            try {
+                service.save(row.data);
+                job.succeeded(1);
+            } catch (Throwable throwable) {
+                job.failed(row.sheet, row.rowNumber, ExceptionUtil.getRootCauseMessage(throwable), row.data);
+            }
+        }
+    }
+
+    private static class Row<T> {
+
+        private final String sheet;
+
+        private final int rowNumber;
+
+        private final T data;
+
+        Row(String sheet, int rowNumber, T data) {
+            this.sheet = sheet;
+            this.rowNumber = rowNumber;
+            this.data = data;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.yiuman.citrus.support.crud.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
@@ -10,18 +11,23 @@ import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import com.github.yiuman.citrus.support.utils.ClassUtils;
+import com.github.yiuman.citrus.support.utils.SpringUtils;
 import org.apache.ibatis.binding.MapperMethod;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.session.SqlSession;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -74,12 +80,21 @@ public interface CrudMapper<T> extends BaseMapper<T> {
         Class<?> realEntityClass = ClassUtils.getRealClass(entity.getClass());
         TableInfo tableInfo = TableInfoHelper.getTableInfo(realEntityClass);
         Assert.notNull(tableInfo, "error: can not execute. because can not find cache of TableInfo for entity!");
-        //根据是否存在主键进行分组，有主键为true,没主键为false
+        //已存在于数据库的主键一次查出，不再逐条查询
+        List<Serializable> keys = entities.stream()
+                .map(item -> ReflectionKit.getFieldValue(item, tableInfo.getKeyProperty()))
+                .filter(keyFieldValue -> !StringUtils.checkValNull(keyFieldValue))
+                .map(keyFieldValue -> (Serializable) keyFieldValue)
+                .collect(Collectors.toList());
+        Set<String> existingKeys = keys.isEmpty()
+                ? Collections.emptySet()
+                : selectBatchIds(keys).stream()
+                .map(item -> String.valueOf(ReflectionKit.getFieldValue(item, tableInfo.getKeyProperty())))
+                .collect(Collectors.toSet());
+        //根据是否需要插入进行分组，无主键或主键不存在为true，否则为false
         Map<Boolean, List<T>> collect = entities.stream().collect(Collectors.groupingBy((item) -> {
             Object keyFieldValue = ReflectionKit.getFieldValue(item, tableInfo.getKeyProperty());
-            //已经存在与数据库
-            return StringUtils.checkValNull(keyFieldValue)
-                    || Objects.isNull(selectById((Serializable) keyFieldValue));
+            return StringUtils.checkValNull(keyFieldValue) || !existingKeys.contains(String.valueOf(keyFieldValue));
         }));
 
         return insertBatch(collect.get(true)) && updateBatch(collect.get(false));
@@ -140,6 +155,24 @@ public interface CrudMapper<T> extends BaseMapper<T> {
                 > 0;
     }
 
+    /**
+     * 流式查询，结果逐行回调，不在内存中汇总整个结果集<br/>
+     * 数据库驱动是否分批拉取取决于驱动配置，如MySQL需开启useCursorFetch并设置fetchSize
+     *
+     * @param queryWrapper 查询条件
+     * @param consumer     行处理
+     */
+    @SuppressWarnings("unchecked")
+    default void selectStream(Wrapper<T> queryWrapper, Consumer<T> consumer) {
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.WRAPPER, queryWrapper);
+        SpringUtils.getBean(SqlSessionTemplate.class).select(
+                SqlHelper.getSqlStatement(ClassUtils.getRealClass(this.getClass()), SqlMethod.SELECT_LIST),
+                param,
+                resultContext -> consumer.accept((T) resultContext.getResultObject())
+        );
+    }
+
     /**
      * 批量执行
      *
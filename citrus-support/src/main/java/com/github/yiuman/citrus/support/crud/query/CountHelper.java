@@ -0,0 +1,153 @@
+package com.github.yiuman.citrus.support.crud.query;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.github.yiuman.citrus.support.datasource.DynamicDataSourceHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分页总数统计辅助类<br/>
+ * <ul>
+ *     <li>缓存：按实体、数据源与查询条件的指纹缓存总数，过期前总数可能滞后</li>
+ *     <li>估算：MySQL/MariaDB取EXPLAIN的rows*filtered，PostgreSQL取执行计划顶层的rows，其他数据库返回null</li>
+ * </ul>
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+public final class CountHelper {
+
+    /**
+     * 总数缓存的过期时间（毫秒）
+     */
+    private static final long COUNT_CACHE_TIMEOUT = 60 * 1000L;
+
+    private static final LRUCache<String, Long> COUNT_CACHE = CacheUtil.newLRUCache(1024, COUNT_CACHE_TIMEOUT);
+
+    /**
+     * Mybatis-Plus Wrapper生成的参数占位，如#{ew.paramNameValuePairs.MPGENVAL1}
+     */
+    private static final Pattern PARAM_PATTERN = Pattern.compile("#\\{ew\\.paramNameValuePairs\\.([^,}]+)[^}]*}");
+
+    private static final Pattern POSTGRESQL_ROWS_PATTERN = Pattern.compile("rows=(\\d+)");
+
+    private CountHelper() {
+    }
+
+    /**
+     * 只保留查询条件的统计查询，去掉排序与游标
+     *
+     * @param query 查询对象
+     * @return 统计用的查询对象
+     */
+    public static Query countQuery(Query query) {
+        Query countQuery = Query.create();
+        countQuery.setEntityClass(query.getEntityClass());
+        countQuery.setConditions(query.getConditions());
+        return countQuery;
+    }
+
+    /**
+     * 获取缓存的总数，没有则统计后缓存
+     *
+     * @param entityClass 实体类型
+     * @param countQuery  统计用的查询对象
+     * @param counter     精确统计
+     * @return 总数
+     */
+    public static long cached(Class<?> entityClass, Query countQuery, Supplier<Long> counter) {
+        return COUNT_CACHE.get(fingerprint(entityClass, countQuery), counter::get);
+    }
+
+    /**
+     * 根据执行计划估算总数
+     *
+     * @param entityClass  实体类型
+     * @param countWrapper 统计用的查询Wrapper
+     * @return 估算的总数，数据库不支持或估算失败时为null
+     */
+    public static Long estimate(Class<?> entityClass, QueryWrapper<?> countWrapper) {
+        TableInfo tableInfo = SqlHelper.table(entityClass);
+        DataSource dataSource = tableInfo.getConfiguration().getEnvironment().getDataSource();
+        List<Object> parameters = new ArrayList<>();
+        String sql = toJdbcSql(countWrapper, parameters);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            boolean postgresql = product.contains("postgresql");
+            if (!postgresql && !product.contains("mysql") && !product.contains("mariadb")) {
+                return null;
+            }
+
+            String explainSql = String.format("EXPLAIN SELECT 1 FROM %s %s", tableInfo.getTableName(), sql);
+            try (PreparedStatement statement = connection.prepareStatement(explainSql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return null;
+                    }
+
+                    if (postgresql) {
+                        Matcher matcher = POSTGRESQL_ROWS_PATTERN.matcher(resultSet.getString(1));
+                        return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+                    }
+
+                    long rows = resultSet.getLong("rows");
+                    double filtered = resultSet.getDouble("filtered");
+                    return resultSet.wasNull() ? rows : Math.round(rows * filtered / 100);
+                }
+            }
+        } catch (Throwable throwable) {
+            log.debug("Cannot estimate count for entity {}", entityClass, throwable);
+            return null;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String toJdbcSql(QueryWrapper<?> wrapper, List<Object> parameters) {
+        Map<String, Object> paramNameValuePairs = wrapper.getParamNameValuePairs();
+        Matcher matcher = PARAM_PATTERN.matcher(wrapper.getCustomSqlSegment());
+        StringBuffer sql = new StringBuffer();
+        while (matcher.find()) {
+            parameters.add(paramNameValuePairs.get(matcher.group(1)));
+            matcher.appendReplacement(sql, "?");
+        }
+        matcher.appendTail(sql);
+        return sql.toString();
+    }
+
+    private static String fingerprint(Class<?> entityClass, Query countQuery) {
+        StringBuilder builder = new StringBuilder(entityClass.getName())
+                .append('@').append(DynamicDataSourceHolder.peek());
+        countQuery.getConditions().forEach(conditionInfo -> {
+            Object value = conditionInfo.getValue();
+            builder.append('|').append(conditionInfo.getClauses())
+                    .append(' ').append(Objects.toString(conditionInfo.getMapping(), conditionInfo.getParameter()))
+                    .append(' ').append(conditionInfo.getOperator())
+                    .append(' ').append(value instanceof Object[] ? Arrays.deepToString((Object[]) value) : value);
+        });
+        return builder.toString();
+    }
+}
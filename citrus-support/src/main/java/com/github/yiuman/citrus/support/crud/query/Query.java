@@ -4,6 +4,7 @@ import com.github.yiuman.citrus.support.model.SortBy;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 查询对象
@@ -20,6 +21,11 @@ public class Query {
 
     private List<SortBy> sorts = new ArrayList<>();
 
+    /**
+     * 游标分页条件，为空时不使用游标分页
+     */
+    private Seek seek;
+
     public Query() {
     }
 
@@ -47,6 +53,23 @@ public class Query {
         this.sorts = sorts;
     }
 
+    public Seek getSeek() {
+        return seek;
+    }
+
+    public void setSeek(Seek seek) {
+        this.seek = seek;
+    }
+
+    /**
+     * 是否有查询条件，参数对象的字段都为空时没有条件
+     *
+     * @return 有条件时为true
+     */
+    public boolean hasConditions() {
+        return Objects.nonNull(conditions) && !conditions.isEmpty();
+    }
+
     public static Query create() {
         return new Query();
     }
@@ -2,7 +2,9 @@ package com.github.yiuman.citrus.support.crud.query;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.convert.Convert;
 import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.ReflectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.core.toolkit.support.ColumnCache;
@@ -120,6 +122,10 @@ public final class QueryHelper {
             }));
         }
 
+        if (Objects.nonNull(query.getSeek())) {
+            applySeek(queryWrapper, query.getSeek(), entityClass, columnMap);
+        }
+
         if (CollUtil.isNotEmpty(query.getSorts())) {
             final Consumer<SortBy> sortItemHandler = (sortBy) -> {
                 ColumnCache columnCache = columnMap.get(com.baomidou.mybatisplus.core.toolkit.LambdaUtils.formatKey(sortBy.getSortBy()));
@@ -131,6 +137,67 @@ public final class QueryHelper {
         return queryWrapper;
     }
 
+    /**
+     * 拼接游标条件，如排序键为(a,b)时为：(a > ?) or (a = ? and b > ?)，倒序项使用小于<br/>
+     * 空值按MySQL的规则排在最前
+     *
+     * @param queryWrapper 查询Wrapper
+     * @param seek         游标分页条件
+     * @param entityClass  实体类型，用于将游标中的值转换为字段类型
+     * @param columnMap    实体属性与列的映射
+     * @param <E>          实体类型
+     */
+    private static <E> void applySeek(QueryWrapper<E> queryWrapper, Seek seek, Class<E> entityClass, Map<String, ColumnCache> columnMap) {
+        List<SortBy> sorts = seek.getSorts();
+        List<String> columns = new ArrayList<>(sorts.size());
+        List<Object> values = new ArrayList<>(sorts.size());
+        boolean hasBranch = false;
+        for (int i = 0; i < sorts.size(); i++) {
+            String property = sorts.get(i).getSortBy();
+            ColumnCache columnCache = columnMap.get(com.baomidou.mybatisplus.core.toolkit.LambdaUtils.formatKey(property));
+            columns.add(Objects.nonNull(columnCache) ? columnCache.getColumn() : property);
+            Object value = seek.getValues().get(i);
+            Field field = Objects.isNull(value) ? null : ReflectUtil.getField(entityClass, property);
+            values.add(Objects.isNull(field) ? value : Convert.convert(field.getType(), value));
+            hasBranch = hasBranch || Objects.nonNull(value) || !Boolean.TRUE.equals(sorts.get(i).getSortDesc());
+        }
+
+        if (!hasBranch) {
+            //倒序的空值之后没有记录
+            queryWrapper.apply("1 = 0");
+            return;
+        }
+
+        queryWrapper.and(seekWrapper -> {
+            for (int i = 0; i < sorts.size(); i++) {
+                final int index = i;
+                final boolean desc = Boolean.TRUE.equals(sorts.get(i).getSortDesc());
+                final Object value = values.get(i);
+                if (Objects.isNull(value) && desc) {
+                    continue;
+                }
+
+                seekWrapper.or(branch -> {
+                    for (int j = 0; j < index; j++) {
+                        if (Objects.isNull(values.get(j))) {
+                            branch.isNull(columns.get(j));
+                        } else {
+                            branch.eq(columns.get(j), values.get(j));
+                        }
+                    }
+
+                    if (Objects.isNull(value)) {
+                        branch.isNotNull(columns.get(index));
+                    } else if (desc) {
+                        branch.lt(columns.get(index), value);
+                    } else {
+                        branch.gt(columns.get(index), value);
+                    }
+                });
+            }
+        });
+    }
+
     private static Class<?> getParameterClass(Class<?> clazz) {
         if (clazz.isArray()) {
             return Object[].class;
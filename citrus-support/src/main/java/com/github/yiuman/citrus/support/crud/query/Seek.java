@@ -0,0 +1,105 @@
+package com.github.yiuman.citrus.support.crud.query;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONConfig;
+import cn.hutool.json.JSONUtil;
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.support.http.ResponseStatusCode;
+import com.github.yiuman.citrus.support.model.SortBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 游标（Seek）分页条件<br/>
+ * 记录上一页最后一条记录的排序键值，下一页只查询排在其后的记录，不再使用OFFSET，任何一页的代价与第一页相同。
+ * 排序键需要唯一（一般以主键收尾），游标为排序键值JSON数组的Base64（URL安全）编码
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class Seek {
+
+    /**
+     * 排序键，即Query中的排序项
+     */
+    private final List<SortBy> sorts;
+
+    /**
+     * 上一页最后一条记录对应排序键的值
+     */
+    private final List<Object> values;
+
+    public Seek(List<SortBy> sorts, List<Object> values) {
+        if (sorts.size() != values.size()) {
+            throw new RestException("游标与排序项不匹配", ResponseStatusCode.BAD_REQUEST);
+        }
+        this.sorts = sorts;
+        this.values = values;
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param sorts  排序键
+     * @param cursor 游标
+     * @return 游标分页条件
+     */
+    public static Seek of(List<SortBy> sorts, String cursor) {
+        List<Object> values;
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            JSONArray array = JSONUtil.parseArray(json);
+            values = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                Object value = array.get(i);
+                values.add(JSONUtil.isNull(value) ? null : value);
+            }
+        } catch (RuntimeException e) {
+            throw new RestException("游标格式不正确", e, ResponseStatusCode.BAD_REQUEST);
+        }
+        return new Seek(sorts, values);
+    }
+
+    /**
+     * 以记录的排序键值创建游标分页条件，用于服务端连续分批查询，无需编码游标
+     *
+     * @param sorts  排序键
+     * @param record 上一批最后一条记录
+     * @return 游标分页条件
+     */
+    public static Seek after(List<SortBy> sorts, Object record) {
+        List<Object> values = new ArrayList<>(sorts.size());
+        for (SortBy sortBy : sorts) {
+            values.add(BeanUtil.getFieldValue(record, sortBy.getSortBy()));
+        }
+        return new Seek(sorts, values);
+    }
+
+    /**
+     * 根据记录生成游标
+     *
+     * @param sorts  排序键
+     * @param record 当前页最后一条记录（实体、DTO或Map）
+     * @return 游标
+     */
+    public static String cursor(List<SortBy> sorts, Object record) {
+        //排序键值可能为null，需保留占位，否则游标与排序项数量不一致
+        JSONArray array = new JSONArray(JSONConfig.create().setIgnoreNullValue(false));
+        for (SortBy sortBy : sorts) {
+            array.add(BeanUtil.getFieldValue(record, sortBy.getSortBy()));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(array.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public List<SortBy> getSorts() {
+        return sorts;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+}
@@ -2,6 +2,8 @@ package com.github.yiuman.citrus.support.crud.rest;
 
 import cn.hutool.core.thread.threadlocal.NamedThreadLocal;
 import cn.hutool.core.util.ObjectUtil;
+import com.github.yiuman.citrus.support.crud.ImportJob;
+import com.github.yiuman.citrus.support.crud.ImportJobs;
 import com.github.yiuman.citrus.support.crud.groups.Modify;
 import com.github.yiuman.citrus.support.crud.groups.Save;
 import com.github.yiuman.citrus.support.crud.view.DataView;
@@ -9,6 +11,7 @@ import com.github.yiuman.citrus.support.crud.view.FormViewable;
 import com.github.yiuman.citrus.support.crud.view.PageViewable;
 import com.github.yiuman.citrus.support.crud.view.ViewHelper;
 import com.github.yiuman.citrus.support.exception.ValidateException;
+import com.github.yiuman.citrus.support.http.ConditionalGet;
 import com.github.yiuman.citrus.support.http.ResponseEntity;
 import com.github.yiuman.citrus.support.model.Page;
 import com.github.yiuman.citrus.support.utils.SpringUtils;
@@ -156,11 +159,28 @@ public abstract class BaseCrudController<T, K extends Serializable> extends Base
     }
 
     /**
-     * 导入
+     * 导入，立即返回导入任务
      */
     @PostMapping(value = Operations.IMPORT)
-    public void importFile(MultipartFile file) throws Exception {
-        getProxy().imp(file);
+    public ResponseEntity<ImportJob> importFile(MultipartFile file) throws Exception {
+        return ResponseEntity.ok(getProxy().imp(file));
+    }
+
+    /**
+     * 导入进度
+     */
+    @ConditionalGet.Exclude
+    @GetMapping(Operations.IMPORT_JOB)
+    public ResponseEntity<ImportJob> importJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ImportJobs.get(jobId));
+    }
+
+    /**
+     * 导出导入失败的行
+     */
+    @GetMapping(Operations.IMPORT_ERRORS)
+    public void importErrors(@PathVariable String jobId, HttpServletResponse response) throws Exception {
+        ImportJobs.exportErrors(response, jobId);
     }
 
     protected <CRUD extends BaseCrudController<T, K>> CRUD getProxy() {
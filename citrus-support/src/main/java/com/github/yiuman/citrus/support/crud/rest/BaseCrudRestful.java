@@ -1,7 +1,7 @@
 package com.github.yiuman.citrus.support.crud.rest;
 
-import com.github.yiuman.citrus.support.crud.CrudReadDataListener;
-import com.github.yiuman.citrus.support.utils.WebUtils;
+import com.github.yiuman.citrus.support.crud.ImportJob;
+import com.github.yiuman.citrus.support.crud.ImportJobs;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -36,9 +36,19 @@ public abstract class BaseCrudRestful<T, K extends Serializable> extends BaseQue
     }
 
     @Override
-    public void imp(MultipartFile file) throws Exception {
-        //CrudReadDataListener不能被spring管理，要每次读取excel都要new,然后里面用到spring可以构造方法传进去
-        WebUtils.importExcel(file, modelClass, new CrudReadDataListener<>(getService()));
+    public ImportJob imp(MultipartFile file) throws Exception {
+        return isAsyncImport()
+                ? ImportJobs.start(file, modelClass, getService())
+                : ImportJobs.execute(file, modelClass, getService());
+    }
+
+    /**
+     * 是否异步导入，保存逻辑依赖当前请求的控制器需返回false，在请求线程中同步导入
+     *
+     * @return 默认异步
+     */
+    protected boolean isAsyncImport() {
+        return true;
     }
 
 
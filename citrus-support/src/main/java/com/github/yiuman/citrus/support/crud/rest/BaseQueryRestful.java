@@ -5,10 +5,15 @@ import cn.hutool.core.util.ObjectUtil;
 import com.github.yiuman.citrus.support.crud.query.Fn;
 import com.github.yiuman.citrus.support.crud.query.Query;
 import com.github.yiuman.citrus.support.crud.query.QueryHelper;
+import com.github.yiuman.citrus.support.crud.query.Seek;
 import com.github.yiuman.citrus.support.crud.query.builder.QueryBuilders;
 import com.github.yiuman.citrus.support.crud.query.builder.SimpleQueryBuilder;
 import com.github.yiuman.citrus.support.crud.view.ViewHelper;
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.support.http.JsonStreamWriter;
+import com.github.yiuman.citrus.support.http.ResponseStatusCode;
 import com.github.yiuman.citrus.support.inject.InjectAnnotationParserHolder;
+import com.github.yiuman.citrus.support.model.CountMode;
 import com.github.yiuman.citrus.support.model.Page;
 import com.github.yiuman.citrus.support.model.SortBy;
 import com.github.yiuman.citrus.support.utils.LambdaUtils;
@@ -47,6 +52,23 @@ public abstract class BaseQueryRestful<T, K extends Serializable> extends BaseRe
      */
     protected List<SortBy> sortByList = new ArrayList<>();
 
+    /**
+     * 导出格式的请求参数，为json时流式导出JSON数组，否则导出Excel
+     */
+    protected static final String EXPORT_FORMAT = "format";
+
+    protected static final String EXPORT_FORMAT_JSON = "json";
+
+    /**
+     * JSON导出每批查询的条数
+     */
+    protected static final int EXPORT_BATCH_SIZE = 1000;
+
+    /**
+     * 请求未指定countMode时的总数统计方式，如无限滚动的列表可设置为{@link CountMode#NONE}
+     */
+    protected CountMode defaultCountMode = CountMode.EXACT;
+
     public BaseQueryRestful() {
     }
 
@@ -65,12 +87,57 @@ public abstract class BaseQueryRestful<T, K extends Serializable> extends BaseRe
         Page<T> page = new Page<>();
         //绑定页面参数
         WebUtils.requestDataBind(page, request);
+        if (Objects.isNull(page.getCountMode())) {
+            page.setCountMode(defaultCountMode);
+        }
+
+        //游标分页：第一页传空字符串，之后传上一页返回的nextCursor
+        List<SortBy> seekSorts = null;
+        if (Objects.nonNull(page.getCursor())) {
+            seekSorts = handleSeekQuery(query, page.getCursor());
+            page.setCurrent(1);
+        }
+
         //这里需要调用了page方法查询后再进行设置ItemKey,原因是Service中的mapper为动态注入，调用查询才会初始化mapper构造表信息
         Page<T> returnPage = selectPage(page, query);
         returnPage.setItemKey(getService().getKeyProperty());
+        if (Objects.nonNull(seekSorts)) {
+            List<T> records = returnPage.getRecords();
+            boolean hasMore = Objects.nonNull(returnPage.getHasMore())
+                    ? returnPage.getHasMore()
+                    : records.size() >= returnPage.getSize();
+            returnPage.setNextCursor(hasMore && !records.isEmpty()
+                    ? Seek.cursor(seekSorts, records.get(records.size() - 1))
+                    : null);
+        }
         return returnPage;
     }
 
+    /**
+     * 处理游标分页，排序项以主键收尾保证唯一
+     *
+     * @param query  查询构造
+     * @param cursor 游标，为空字符串时查询第一页
+     * @return 游标的排序键
+     */
+    protected List<SortBy> handleSeekQuery(Query query, String cursor) {
+        List<SortBy> sorts = query.getSorts();
+        String keyProperty = getService().getKeyProperty();
+        if (Objects.nonNull(keyProperty) && sorts.stream().noneMatch(sortBy -> keyProperty.equals(sortBy.getSortBy()))) {
+            sorts.add(new SortBy(keyProperty, false));
+        }
+
+        if (sorts.isEmpty()) {
+            throw new RestException("游标分页需要排序项", ResponseStatusCode.BAD_REQUEST);
+        }
+
+        List<SortBy> seekSorts = new ArrayList<>(sorts);
+        if (org.springframework.util.StringUtils.hasText(cursor)) {
+            query.setSeek(Seek.of(seekSorts, cursor));
+        }
+        return seekSorts;
+    }
+
     /**
      * 根据分页条件，查询条件进行分页查询
      *
@@ -96,8 +163,38 @@ public abstract class BaseQueryRestful<T, K extends Serializable> extends BaseRe
 
         Query query = Optional.ofNullable(getQueryCondition(request)).orElse(Query.create());
         handleSortQuery(query, request);
-        Page<T> page = new Page<>();
+        if (EXPORT_FORMAT_JSON.equals(WebUtils.getRequestParam(EXPORT_FORMAT))) {
+            //JSON导出与Excel一样经过selectPage查询，按批次边查询边写出，不汇总整个结果集；
+            //有主键时按以主键收尾的游标分批，每批的代价与第一批相同，不随OFFSET增长
+            List<SortBy> seekSorts = Objects.nonNull(getService().getKeyProperty())
+                    ? handleSeekQuery(query, null)
+                    : null;
+            try (JsonStreamWriter writer = JsonStreamWriter.export(request, response, fileName)) {
+                writer.getGenerator().writeStartArray();
+                boolean hasMore = true;
+                for (long current = 1; hasMore; current++) {
+                    Page<T> page = new Page<>();
+                    page.setCurrent(Objects.isNull(seekSorts) ? current : 1);
+                    page.setSize(EXPORT_BATCH_SIZE);
+                    page.setCountMode(CountMode.NONE);
+                    Page<T> returnPage = selectPage(page, query);
+                    List<T> records = returnPage.getRecords();
+                    for (T record : records) {
+                        writer.write(record);
+                    }
+                    //返回的条数超过批次大小时为未分页的查询，已全部写出
+                    hasMore = !records.isEmpty() && records.size() <= EXPORT_BATCH_SIZE
+                            && (Objects.nonNull(returnPage.getHasMore()) ? returnPage.getHasMore() : records.size() == EXPORT_BATCH_SIZE);
+                    if (hasMore && Objects.nonNull(seekSorts)) {
+                        query.setSeek(Seek.after(seekSorts, records.get(records.size() - 1)));
+                    }
+                }
+                writer.getGenerator().writeEndArray();
+            }
+            return;
+        }
 
+        Page<T> page = new Page<>();
         page.setSize(-1);
         page = selectPage(page, query);
         WebUtils.exportExcel(response, ViewHelper.createPageView(this, page), fileName);
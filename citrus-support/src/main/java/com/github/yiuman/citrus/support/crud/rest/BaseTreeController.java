@@ -10,11 +10,13 @@ import com.github.yiuman.citrus.support.crud.service.BaseSimpleTreeService;
 import com.github.yiuman.citrus.support.crud.service.CrudService;
 import com.github.yiuman.citrus.support.crud.service.TreeCrudService;
 import com.github.yiuman.citrus.support.crud.view.DataView;
+import com.github.yiuman.citrus.support.http.JsonStreamWriter;
 import com.github.yiuman.citrus.support.http.ResponseEntity;
 import com.github.yiuman.citrus.support.model.BasePreOrderTree;
 import com.github.yiuman.citrus.support.model.Page;
 import com.github.yiuman.citrus.support.model.Tree;
 import com.github.yiuman.citrus.support.utils.CrudUtils;
+import com.github.yiuman.citrus.support.utils.LambdaUtils;
 import com.github.yiuman.citrus.support.utils.WebUtils;
 import org.springframework.web.bind.annotation.*;
 
@@ -145,13 +147,35 @@ public abstract class BaseTreeController<T extends Tree<K>, K extends Serializab
         return ResponseEntity.ok();
     }
 
+    /**
+     * 导出JSON，无查询条件且非懒加载时按先序流式写出整棵树
+     */
     @Override
     public void exp(HttpServletRequest request, HttpServletResponse response) throws Exception {
-        ResponseEntity<T> load = this.load(request);
         String fileName = WebUtils.getRequestParam("fileName");
         if (StringUtils.isBlank(fileName)) {
             fileName = String.valueOf(System.currentTimeMillis());
         }
-        WebUtils.exportJson(response, load.getData(), fileName);
+
+        Query query = getQueryCondition(request);
+        try (JsonStreamWriter writer = JsonStreamWriter.export(request, response, fileName)) {
+            //参数对象总会创建，字段都为空时没有条件，同样按先序流式写出
+            if (isLazy || (Objects.nonNull(query) && query.hasConditions())) {
+                //条件查询需补全父节点，结果已组装成树
+                writer.write(treeRequest(request));
+                return;
+            }
+
+            TreeCrudService<T, K> crudService = getCrudService();
+            T root = crudService.getRoot();
+            if (Objects.isNull(root)) {
+                writer.write(null);
+                return;
+            }
+
+            writer.startTree(root);
+            crudService.preOrder(root, LambdaUtils.consumerWrapper(writer::writeTreeNode));
+            writer.endTree();
+        }
     }
 }
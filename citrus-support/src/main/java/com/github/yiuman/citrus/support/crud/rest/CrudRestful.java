@@ -1,5 +1,6 @@
 package com.github.yiuman.citrus.support.crud.rest;
 
+import com.github.yiuman.citrus.support.crud.ImportJob;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -41,11 +42,12 @@ public interface CrudRestful<T, K> extends QueryRestful<T, K> {
     void batchDelete(List<K> keys) throws Exception;
 
     /**
-     * 导入文件
+     * 导入文件，异步执行
      *
      * @param file 文件
+     * @return 导入任务，通过任务ID查询进度
      * @throws Exception IO异常等
      */
-    void imp(MultipartFile file) throws Exception;
+    ImportJob imp(MultipartFile file) throws Exception;
 
 }
\ No newline at end of file
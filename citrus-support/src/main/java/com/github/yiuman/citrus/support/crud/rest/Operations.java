@@ -46,6 +46,16 @@ public interface Operations {
      */
     String IMPORT = "/import";
 
+    /**
+     * 导入进度
+     */
+    String IMPORT_JOB = IMPORT + "/{jobId}";
+
+    /**
+     * 导入失败行的报告
+     */
+    String IMPORT_ERRORS = IMPORT_JOB + "/errors";
+
     interface Tree {
 
         String DEFAULT_PREFIX = "/tree";
@@ -4,11 +4,11 @@ import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.core.util.TypeUtil;
 import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.github.yiuman.citrus.support.crud.CrudHelper;
 import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
 import com.github.yiuman.citrus.support.crud.query.Query;
 import com.github.yiuman.citrus.support.crud.query.builder.QueryBuilders;
+import com.github.yiuman.citrus.support.model.Page;
 import com.github.yiuman.citrus.support.utils.ConvertUtils;
 import com.github.yiuman.citrus.support.utils.LambdaUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +20,9 @@ import org.springframework.util.ReflectionUtils;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -152,6 +154,11 @@ public abstract class BaseDtoService<E, K extends Serializable, D> implements Cr
         return entityToDto().apply(getService().get(key));
     }
 
+    @Override
+    public List<D> listByKeys(Collection<K> keys) {
+        return ConvertUtils.listConvert(dtoClass, getService().listByKeys(keys));
+    }
+
     @Override
     public D get(Query query) {
         return entityToDto().apply(getService().get(query));
@@ -167,9 +174,14 @@ public abstract class BaseDtoService<E, K extends Serializable, D> implements Cr
         return ConvertUtils.listConvert(dtoClass, getService().list(query));
     }
 
+    @Override
+    public void stream(Query query, Consumer<D> consumer) {
+        getService().stream(query, LambdaUtils.consumerWrapper(entity -> consumer.accept(ConvertUtils.convert(dtoClass, entity))));
+    }
+
     @Override
     public <P extends IPage<D>> P page(P page, Query query) {
-        //拷贝
+        //拷贝，使用模型中的Page以保留统计方式与游标分页信息
         Page<E> entityPage = new Page<>();
         BeanUtils.copyProperties(page, entityPage);
         getService().page(entityPage, query);
@@ -1,6 +1,5 @@
 package com.github.yiuman.citrus.support.crud.service;
 
-import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
@@ -11,11 +10,13 @@ import com.github.yiuman.citrus.support.crud.query.Query;
 import com.github.yiuman.citrus.support.model.BasePreOrderTree;
 import com.github.yiuman.citrus.support.model.Tree;
 import com.github.yiuman.citrus.support.utils.LambdaUtils;
+import com.github.yiuman.citrus.support.utils.TreeUtils;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -86,7 +87,9 @@ public abstract class BasePreOrderTreeService<E extends BasePreOrderTree<E, K>,
     @Transactional(rollbackFor = Exception.class)
     @Override
     public void batchRemove(Iterable<K> keys) {
-        getMapper().deleteBatchIds(StreamSupport.stream(keys.spliterator(), false).collect(Collectors.toList()));
+        List<K> ids = StreamSupport.stream(keys.spliterator(), false).collect(Collectors.toList());
+        getMapper().deleteBatchIds(ids);
+        invalidateCache(ids);
     }
 
     @Override
@@ -130,7 +133,7 @@ public abstract class BasePreOrderTreeService<E extends BasePreOrderTree<E, K>,
             return null;
         }
         //找到列表ID
-        List<K> ids = list.parallelStream().map(Tree::getId).collect(Collectors.toList());
+        List<K> ids = list.stream().map(Tree::getId).collect(Collectors.toList());
         TableInfo table = SqlHelper.table(getEntityType());
 
         //将查询到的列表的项的所有父节点查出来
@@ -139,27 +142,19 @@ public abstract class BasePreOrderTreeService<E extends BasePreOrderTree<E, K>,
                 .replaceAll("rightValue", getRightField());
         list.addAll(getTreeMapper().treeLink(table.getTableName(), Wrappers.<E>query().apply(parentSql).in("t1." + table.getKeyColumn(), ids)));
         final E root = getRoot();
-        //传list进去前需要去重,并排除根节点
-        listToTree(root, list.parallelStream().distinct().filter(item -> !Objects.equals(item.getId(), root.getId())).collect(Collectors.toList()));
+        //组装时会按主键去重并排除根节点
+        listToTree(root, list);
         return root;
     }
 
     /**
-     * 此处记得去重，实体记得重写equals&hasCode
+     * 将节点列表组装到当前节点下，主键相同的节点只保留一个
      *
      * @param current 挂载的节点
      * @param list    节点列表
      */
     protected void listToTree(E current, List<E> list) {
-        Map<String, List<E>> parentIdChildrenMap = list.stream()
-                .collect(Collectors.groupingBy(item -> StrUtil.toString(item.getParentId())));
-        list.forEach(entity -> entity.setChildren(parentIdChildrenMap.get(StrUtil.toString(entity.getId()))
-                .stream().distinct().collect(Collectors.toList())));
-        current.setChildren(
-                list.stream()
-                        .filter(entity -> Objects.equals(StrUtil.toString(entity.getParentId()), StrUtil.toString(current.getId())))
-                        .collect(Collectors.toList())
-        );
+        TreeUtils.assemble(current, list);
     }
 
     @Override
@@ -171,17 +166,29 @@ public abstract class BasePreOrderTreeService<E extends BasePreOrderTree<E, K>,
     public void load(E current, boolean isLazy) {
         if (isLazy) {
             List<E> children = loadByParent(current.getId());
-            children.parallelStream().forEach(childNode -> {
+            children.forEach(childNode -> {
                 if (!childNode.isLeaf()) {
                     childNode.setChildren(new ArrayList<>());
                 }
             });
             current.setChildren(children);
         } else {
-            listToTree(current, list());
+            //只查询当前节点的子孙节点
+            listToTree(current, children(current));
         }
     }
 
+    /**
+     * 按左值顺序流式查询子孙节点，左值顺序即先序，不在内存中组装整棵树
+     */
+    @Override
+    public void preOrder(E current, Consumer<E> consumer) {
+        getMapper().selectStream(Wrappers.<E>query()
+                .gt(getLeftField(), current.getLeftValue())
+                .lt(getRightField(), current.getRightValue())
+                .orderByAsc(getLeftField()), consumer);
+    }
+
     @Override
     public List<E> loadByParent(K parentKey) {
         return getTreeMapper().selectList(Wrappers.<E>query().eq(getParentField(), parentKey));
@@ -245,6 +252,8 @@ public abstract class BasePreOrderTreeService<E extends BasePreOrderTree<E, K>,
      * @param parent 当前节点的父节点
      */
     private void beforeSaveOrUpdate(E parent) {
+        //批量更新左右值，无法精确失效
+        invalidateAllCache();
 
         //2.更新所有左值大于当前父节点右值的节点左值 +2
         getTreeMapper().update(null, Wrappers.<E>update()
@@ -263,6 +272,7 @@ public abstract class BasePreOrderTreeService<E extends BasePreOrderTree<E, K>,
      * @param current 当前节点
      */
     private void beforeDeleteOrMove(E current) {
+        invalidateAllCache();
         //1.更新所有右值小于当前父节点右值的节点左值 -2
         getTreeMapper().update(null, Wrappers.<E>update()
                 .setSql(String.format(UPDATE_REDUCTION_FORMAT, getLeftField(), getLeftField(), 2))
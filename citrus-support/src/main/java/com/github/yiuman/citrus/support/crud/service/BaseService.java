@@ -1,20 +1,33 @@
 package com.github.yiuman.citrus.support.crud.service;
 
 import cn.hutool.core.collection.CollectionUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Assert;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.yiuman.citrus.support.cache.EntityCacheManager;
 import com.github.yiuman.citrus.support.crud.CrudHelper;
+import com.github.yiuman.citrus.support.crud.EntityVersions;
 import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
+import com.github.yiuman.citrus.support.crud.query.CountHelper;
 import com.github.yiuman.citrus.support.crud.query.Query;
 import com.github.yiuman.citrus.support.crud.query.QueryHelper;
+import com.github.yiuman.citrus.support.model.CountMode;
+import com.github.yiuman.citrus.support.model.Page;
+import com.github.yiuman.citrus.support.utils.ClassUtils;
 import com.github.yiuman.citrus.support.utils.LambdaUtils;
+import com.github.yiuman.citrus.support.utils.SpringUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -28,6 +41,15 @@ import java.util.stream.StreamSupport;
  */
 public abstract class BaseService<E, K extends Serializable> implements CrudService<E, K> {
 
+    /**
+     * 实体缓存区域，未开启实体缓存时为空字符串
+     *
+     * @see com.github.yiuman.citrus.support.cache.EntityCache
+     */
+    private volatile String cacheRegion;
+
+    private EntityCacheManager entityCacheManager;
+
     public BaseService() {
     }
 
@@ -53,6 +75,7 @@ public abstract class BaseService<E, K extends Serializable> implements CrudServ
         if (Objects.nonNull(entity)) {
             getMapper().saveEntity(entity);
             //如果找不到主键就直接插入
+            invalidateCache(Collections.singletonList(getKey(entity)));
             this.afterSave(entity);
             return getKey(entity);
         }
@@ -65,6 +88,11 @@ public abstract class BaseService<E, K extends Serializable> implements CrudServ
     public boolean batchSave(Iterable<E> entityIterable) {
         entityIterable.forEach(LambdaUtils.consumerWrapper(this::beforeSave));
         boolean assertSave = getMapper().saveBatch((Collection<E>) entityIterable);
+        if (Objects.nonNull(getCacheRegion())) {
+            invalidateCache(StreamSupport.stream(entityIterable.spliterator(), false).map(this::getKey).collect(Collectors.toList()));
+        } else {
+            EntityVersions.changed(getEntityType());
+        }
         if (assertSave) {
             entityIterable.forEach(LambdaUtils.consumerWrapper(this::afterSave));
         }
@@ -85,7 +113,13 @@ public abstract class BaseService<E, K extends Serializable> implements CrudServ
     @Transactional(rollbackFor = Exception.class)
     @Override
     public boolean remove(E entity) {
-        return this.beforeRemove(entity) && getMapper().deleteById(getKey(entity)) > 1;
+        if (!this.beforeRemove(entity)) {
+            return false;
+        }
+        K key = getKey(entity);
+        boolean removed = getMapper().deleteById(key) > 1;
+        invalidateCache(Collections.singletonList(key));
+        return removed;
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -97,19 +131,68 @@ public abstract class BaseService<E, K extends Serializable> implements CrudServ
             list.forEach(this::beforeRemove);
         }
         getMapper().deleteBatchIds((Collection<? extends Serializable>) keys);
+        invalidateCache(ids);
     }
 
     @Transactional(rollbackFor = Exception.class)
     @Override
     public void clear() {
-        getMapper().deleteBatchIds(list().parallelStream()
+        getMapper().deleteBatchIds(list().stream()
                 .map(LambdaUtils.functionWrapper(this::getKey))
                 .collect(Collectors.toList()));
+        invalidateAllCache();
     }
 
     @Override
     public E get(K key) {
-        return getMapper().selectById(key);
+        String region = getCacheRegion();
+        if (Objects.isNull(region) || Objects.isNull(key)) {
+            return getMapper().selectById(key);
+        }
+
+        E cached = entityCacheManager.get(region, key);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+
+        long generation = entityCacheManager.generation(region);
+        E entity = getMapper().selectById(key);
+        entityCacheManager.put(region, key, entity, generation);
+        return entity;
+    }
+
+    @Override
+    public List<E> listByKeys(Collection<K> keys) {
+        if (CollectionUtil.isEmpty(keys)) {
+            return new ArrayList<>();
+        }
+
+        String region = getCacheRegion();
+        if (Objects.isNull(region)) {
+            return getMapper().selectBatchIds(keys);
+        }
+
+        //按传入主键的顺序返回
+        Map<String, E> entities = new LinkedHashMap<>(keys.size());
+        List<K> misses = new ArrayList<>();
+        keys.forEach(key -> {
+            E cached = entityCacheManager.get(region, key);
+            entities.put(String.valueOf(key), cached);
+            if (Objects.isNull(cached)) {
+                misses.add(key);
+            }
+        });
+
+        if (!misses.isEmpty()) {
+            long generation = entityCacheManager.generation(region);
+            getMapper().selectBatchIds(misses).forEach(entity -> {
+                K key = getKey(entity);
+                entities.put(String.valueOf(key), entity);
+                entityCacheManager.put(region, key, entity, generation);
+            });
+        }
+
+        return entities.values().stream().filter(Objects::nonNull).collect(Collectors.toList());
     }
 
     @Override
@@ -127,14 +210,123 @@ public abstract class BaseService<E, K extends Serializable> implements CrudServ
         return getMapper().selectList(QueryHelper.getQueryWrapper(query, getEntityType()));
     }
 
+    @Override
+    public void stream(Query query, Consumer<E> consumer) {
+        getMapper().selectStream(QueryHelper.getQueryWrapper(query, getEntityType()), consumer);
+    }
+
+    /**
+     * 分页查询<br/>
+     * 精确统计且非游标分页时与Mybatis-Plus的分页一致；否则不使用分页插件的COUNT，
+     * 多查询一条记录判断是否有下一页，并按{@link CountMode}单独统计不含排序与游标的总数
+     */
+    @SuppressWarnings("unchecked")
     @Override
     public <P extends IPage<E>> P page(P page, Query query) {
-        return getMapper().selectPage(page, QueryHelper.getQueryWrapper(query, getEntityType()));
+        QueryWrapper<E> queryWrapper = QueryHelper.getQueryWrapper(query, getEntityType());
+        if (!(page instanceof Page) || page.getSize() < 0) {
+            return getMapper().selectPage(page, queryWrapper);
+        }
+
+        Page<E> modelPage = (Page<E>) page;
+        CountMode countMode = Objects.isNull(modelPage.getCountMode()) ? CountMode.EXACT : modelPage.getCountMode();
+        boolean seek = Objects.nonNull(query.getSeek());
+        if (countMode == CountMode.EXACT && !seek) {
+            return getMapper().selectPage(page, queryWrapper);
+        }
+
+        modelPage.setSearchCount(false);
+        modelPage.probe(true);
+        try {
+            getMapper().selectPage(modelPage, queryWrapper);
+        } finally {
+            modelPage.probe(false);
+        }
+
+        List<E> records = modelPage.getRecords();
+        boolean hasMore = records.size() > modelPage.getSize();
+        if (hasMore) {
+            modelPage.setRecords(new ArrayList<>(records.subList(0, (int) modelPage.getSize())));
+        }
+        modelPage.setHasMore(hasMore);
+        modelPage.setTotal(count(countMode, modelPage, query, seek));
+        return page;
+    }
+
+    private long count(CountMode countMode, Page<E> page, Query query, boolean seek) {
+        if (countMode == CountMode.NONE) {
+            return -1;
+        }
+
+        //第一页且没有下一页时记录数即总数
+        if (!seek && page.getCurrent() <= 1 && !page.getHasMore()) {
+            return page.getRecords().size();
+        }
+
+        Query countQuery = CountHelper.countQuery(query);
+        QueryWrapper<E> countWrapper = QueryHelper.getQueryWrapper(countQuery, getEntityType());
+        if (countMode == CountMode.CACHED) {
+            return CountHelper.cached(getEntityType(), countQuery, () -> getMapper().selectCount(countWrapper));
+        }
+
+        Long estimated = countMode == CountMode.ESTIMATED ? CountHelper.estimate(getEntityType(), countWrapper) : null;
+        return Objects.nonNull(estimated) ? estimated : getMapper().selectCount(countWrapper);
     }
 
     @Transactional(rollbackFor = Exception.class)
     @Override
     public boolean remove(Query query) {
-        return getMapper().delete(QueryHelper.getQueryWrapper(query, getEntityType())) >= 0;
+        if (Objects.isNull(getCacheRegion())) {
+            EntityVersions.changed(getEntityType());
+            return getMapper().delete(QueryHelper.getQueryWrapper(query, getEntityType())) >= 0;
+        }
+
+        //开启缓存时先查出将删除的主键，精确失效
+        List<Object> keys = getMapper().selectObjs(QueryHelper.getQueryWrapper(query, getEntityType()).select(getKeyColumn()));
+        boolean removed = getMapper().delete(QueryHelper.getQueryWrapper(query, getEntityType())) >= 0;
+        invalidateCache(keys);
+        return removed;
+    }
+
+    /**
+     * 实体缓存区域，实体或Service标记了EntityCache且容器中存在EntityCacheManager时有值
+     *
+     * @return 区域，未开启缓存时为null
+     */
+    protected String getCacheRegion() {
+        String region = cacheRegion;
+        if (Objects.isNull(region)) {
+            EntityCacheManager cacheManager = SpringUtils.getBean(EntityCacheManager.class);
+            if (Objects.nonNull(cacheManager)) {
+                entityCacheManager = cacheManager;
+                region = cacheManager.register(getEntityType(), ClassUtils.getRealClass(getClass()));
+            }
+            region = cacheRegion = Objects.isNull(region) ? "" : region;
+        }
+        return region.isEmpty() ? null : region;
+    }
+
+    /**
+     * 失效主键对应的实体缓存并递增实体版本，事务中时在提交后执行
+     *
+     * @param keys 主键
+     */
+    protected void invalidateCache(Collection<?> keys) {
+        EntityVersions.changed(getEntityType());
+        String region = getCacheRegion();
+        if (Objects.nonNull(region)) {
+            entityCacheManager.invalidate(region, keys);
+        }
+    }
+
+    /**
+     * 清空当前实体的缓存并递增实体版本，用于批量更新等无法确定主键的写入，事务中时在提交后执行
+     */
+    protected void invalidateAllCache() {
+        EntityVersions.changed(getEntityType());
+        String region = getCacheRegion();
+        if (Objects.nonNull(region)) {
+            entityCacheManager.invalidateAll(region);
+        }
     }
 }
@@ -1,33 +1,52 @@
 package com.github.yiuman.citrus.support.crud.service;
 
-import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import com.github.yiuman.citrus.support.crud.query.Query;
 import com.github.yiuman.citrus.support.model.BaseTree;
-import com.github.yiuman.citrus.support.utils.LambdaUtils;
+import com.github.yiuman.citrus.support.utils.TreeUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
 import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
- * 简单树逻辑层
+ * 简单树逻辑层<br/>
+ * 整树与子树一次查询加载后在内存中组装；数据库支持递归CTE（MySQL 8+、MariaDB 10.2+、PostgreSQL）时，
+ * 子树与祖先链路只查询相关节点
  *
  * @param <E> 实体类型
  * @param <K> 主键类型
  * @author yiuman
  * @date 2020/5/22
  */
+@Slf4j
 public abstract class BaseSimpleTreeService<E extends BaseTree<E, K>, K extends Serializable>
         extends BaseService<E, K>
         implements TreeCrudService<E, K> {
 
+    private static final String DESCENDANTS_SQL = "%1$s in (with recursive tree_link(link_id) as ("
+            + "select %1$s from %2$s where %3$s = {0} "
+            + "union all select t.%1$s from %2$s t inner join tree_link l on t.%3$s = l.link_id) "
+            + "select link_id from tree_link)";
+
+    private static final String ANCESTORS_SQL = "%1$s in (with recursive tree_link(link_id, link_parent_id) as ("
+            + "select %1$s, %3$s from %2$s where %1$s = {0} "
+            + "union all select t.%1$s, t.%3$s from %2$s t inner join tree_link l on t.%1$s = l.link_parent_id) "
+            + "select link_id from tree_link)";
+
+    private volatile Boolean recursiveQuerySupported;
+
     @Override
     public E getRoot() {
         //创建虚拟节点
@@ -58,29 +77,26 @@ public abstract class BaseSimpleTreeService<E extends BaseTree<E, K>, K extends
     }
 
     private void listToTree(E current, final List<E> list) {
-        Map<String, List<E>> parentIdChildrenMap = list.stream()
-                .collect(Collectors.groupingBy(item -> StrUtil.toString(item.getParentId())));
-        list.forEach(entity -> entity.setChildren(parentIdChildrenMap.get(StrUtil.toString(entity.getId()))
-                .stream().distinct().collect(Collectors.toList())));
-        current.setChildren(
-                list.stream()
-                        .filter(entity -> Objects.equals(StrUtil.toString(entity.getParentId()), StrUtil.toString(current.getId())))
-                        .collect(Collectors.toList())
-        );
+        TreeUtils.assemble(current, list);
     }
 
     @Override
     public void load(E current) {
-        load(true);
+        load(current, true);
     }
 
     @Override
     public void load(E current, boolean isLazy) {
-        List<E> children = loadByParent(current.getId());
-        current.setChildren(children);
-        if (!isLazy) {
-            children.forEach(LambdaUtils.consumerWrapper(item -> load(item, false)));
+        if (isLazy) {
+            current.setChildren(loadByParent(current.getId()));
+            return;
         }
+
+        //虚拟根节点或不支持递归查询时加载整表，一次查询后组装
+        List<E> nodes = Objects.nonNull(current.getId()) && isRecursiveQuerySupported()
+                ? getMapper().selectList(Wrappers.<E>query().apply(recursiveSql(DESCENDANTS_SQL), current.getId()))
+                : getMapper().selectList(Wrappers.emptyWrapper());
+        listToTree(current, nodes);
     }
 
     @Override
@@ -111,31 +127,81 @@ public abstract class BaseSimpleTreeService<E extends BaseTree<E, K>, K extends
 
     @Override
     public List<E> parents(E current) {
-        List<E> parents = new ArrayList<>();
-        while (current.getParentId() != null) {
-            E parent = get(current.getParentId());
-            parents.add(parent);
-            current = parent;
+        if (Objects.isNull(current.getParentId())) {
+            return new ArrayList<>();
         }
 
-        return parents;
+        List<E> nodes = isRecursiveQuerySupported()
+                ? getMapper().selectList(Wrappers.<E>query().apply(recursiveSql(ANCESTORS_SQL), current.getParentId()))
+                : getMapper().selectList(Wrappers.emptyWrapper());
+        return TreeUtils.ancestors(current, nodes);
     }
 
     @Override
     public E parent(E current, int high) {
-        E parent = current;
-        while (high >= 0) {
-            if (parent == null || current.getParentId() == null) {
-                break;
-            }
-            parent = get(current.getParentId());
-            high--;
-        }
-        return parent;
+        List<E> parents = parents(current);
+        return parents.isEmpty() ? current : parents.get(Math.min(Math.max(high, 0), parents.size() - 1));
     }
 
     @Override
     public List<E> siblings(E current) {
         return loadByParent(current.getParentId());
     }
+
+    /**
+     * 当前数据库是否支持递归CTE，首次调用时根据数据库元数据判断，子类可重写
+     *
+     * @return true/false
+     */
+    protected boolean isRecursiveQuerySupported() {
+        Boolean supported = recursiveQuerySupported;
+        if (Objects.isNull(supported)) {
+            supported = recursiveQuerySupported = detectRecursiveQuery();
+        }
+        return supported;
+    }
+
+    private boolean detectRecursiveQuery() {
+        DataSource dataSource = null;
+        Connection connection = null;
+        try {
+            //获取连接失败同样回退到全量加载
+            dataSource = SqlHelper.table(getEntityType()).getConfiguration().getEnvironment().getDataSource();
+            connection = DataSourceUtils.getConnection(dataSource);
+            DatabaseMetaData metaData = connection.getMetaData();
+            String product = metaData.getDatabaseProductName().toLowerCase(Locale.ROOT);
+            String version = metaData.getDatabaseProductVersion().toLowerCase(Locale.ROOT);
+            int major = metaData.getDatabaseMajorVersion();
+            if (product.contains("postgresql")) {
+                return true;
+            }
+
+            //MariaDB可能以MySQL的名义返回元数据，版本形如5.5.5-10.6.4-MariaDB
+            if (product.contains("mariadb") || version.contains("mariadb")) {
+                int[] mariaVersion = mariaDbVersion(version);
+                return mariaVersion[0] > 10 || (mariaVersion[0] == 10 && mariaVersion[1] >= 2);
+            }
+
+            return product.contains("mysql") && major >= 8;
+        } catch (Throwable throwable) {
+            log.warn("Cannot detect recursive query support for entity {}, fallback to full load", getEntityType(), throwable);
+            return false;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static int[] mariaDbVersion(String version) {
+        String mariaVersion = version.startsWith("5.5.5-") ? version.substring(6) : version;
+        String[] parts = mariaVersion.split("[.-]");
+        try {
+            return new int[]{Integer.parseInt(parts[0]), parts.length > 1 ? Integer.parseInt(parts[1]) : 0};
+        } catch (NumberFormatException e) {
+            return new int[]{0, 0};
+        }
+    }
+
+    private String recursiveSql(String format) {
+        return String.format(format, getKeyColumn(), SqlHelper.table(getEntityType()).getTableName(), getParentField());
+    }
 }
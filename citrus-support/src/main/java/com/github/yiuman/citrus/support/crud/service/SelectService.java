@@ -3,7 +3,11 @@ package com.github.yiuman.citrus.support.crud.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.github.yiuman.citrus.support.crud.query.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * 查询Service
@@ -23,6 +27,16 @@ public interface SelectService<E, K> {
      */
     E get(K key);
 
+    /**
+     * 根据主键集合获取实体列表
+     *
+     * @param keys 主键集合
+     * @return 实体列表，不存在的主键会被忽略
+     */
+    default List<E> listByKeys(Collection<K> keys) {
+        return keys.stream().map(this::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     /**
      * 根据条件查询单个
      *
@@ -46,6 +60,16 @@ public interface SelectService<E, K> {
      */
     List<E> list(Query query);
 
+    /**
+     * 根据查询条件逐条处理数据，用于导出等大结果集场景，默认查询列表后遍历
+     *
+     * @param query    查询条件
+     * @param consumer 数据处理
+     */
+    default void stream(Query query, Consumer<E> consumer) {
+        list(query).forEach(consumer);
+    }
+
     /**
      * 根据 entity 条件，查询全部记录（并翻页）
      *
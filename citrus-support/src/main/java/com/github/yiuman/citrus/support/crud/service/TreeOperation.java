@@ -5,7 +5,11 @@ import com.github.yiuman.citrus.support.model.Tree;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * 树形操作接口
@@ -103,6 +107,34 @@ public interface TreeOperation<T extends Tree<K>, K extends Serializable> {
      */
     void load(T current, boolean isLazy) throws Exception;
 
+    /**
+     * 按先序（深度优先）依次处理当前节点的所有子孙节点，不包含当前节点，用于流式导出<br/>
+     * 默认加载整棵子树后遍历，节点的children为已组装的子节点
+     *
+     * @param current  当前节点
+     * @param consumer 节点处理
+     * @throws Exception 一般为数据库异常或反射异常
+     */
+    @SuppressWarnings("unchecked")
+    default void preOrder(T current, Consumer<T> consumer) throws Exception {
+        load(current, false);
+        Deque<T> stack = new ArrayDeque<>();
+        T node = current;
+        while (Objects.nonNull(node)) {
+            List<? extends Tree<K>> children = node.getChildren();
+            if (Objects.nonNull(children)) {
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push((T) children.get(i));
+                }
+            }
+
+            node = stack.poll();
+            if (Objects.nonNull(node)) {
+                consumer.accept(node);
+            }
+        }
+    }
+
     /**
      * 根据父节点ID加载子列表
      *
@@ -7,6 +7,7 @@ import com.github.yiuman.citrus.support.crud.view.RecordExtender;
 import com.github.yiuman.citrus.support.model.FieldFunction;
 import com.github.yiuman.citrus.support.model.Page;
 import com.github.yiuman.citrus.support.model.Tree;
+import com.github.yiuman.citrus.support.utils.ThreadUtils;
 import com.github.yiuman.citrus.support.widget.BaseColumn;
 import com.github.yiuman.citrus.support.widget.Column;
 import org.springframework.util.CollectionUtils;
@@ -134,15 +135,17 @@ public class SimpleTableView<T> extends BaseActionableView implements CheckboxTa
             return null;
         }
         Map<String, Object> funcExecutedMap = new ConcurrentHashMap<>(fieldFunctions.size());
-        fieldFunctions.parallelStream()
-                .filter(fieldFunc -> Objects.nonNull(fieldFunc) && Objects.nonNull(fieldFunc.getFunction()))
-                .forEach(fieldFunc -> {
-                    Object applyValue = fieldFunc.getFunction().apply(object);
-                    if (Objects.nonNull(applyValue)) {
-                        funcExecutedMap.put(fieldFunc.getFiledName(), applyValue);
-                    }
-
-                });
+        //扩展字段较多时才并行，工作线程带上当前的数据源与认证信息
+        ThreadUtils.forEach(fieldFunctions, fieldFunc -> {
+            if (Objects.isNull(fieldFunc) || Objects.isNull(fieldFunc.getFunction())) {
+                return;
+            }
+
+            Object applyValue = fieldFunc.getFunction().apply(object);
+            if (Objects.nonNull(applyValue)) {
+                funcExecutedMap.put(fieldFunc.getFiledName(), applyValue);
+            }
+        });
         return funcExecutedMap;
     }
 }
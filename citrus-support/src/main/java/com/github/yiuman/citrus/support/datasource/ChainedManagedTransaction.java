@@ -0,0 +1,73 @@
+package com.github.yiuman.citrus.support.datasource;
+
+import org.apache.ibatis.transaction.Transaction;
+import org.mybatis.spring.transaction.SpringManagedTransaction;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Mybatis在链式事务中使用的事务<br/>
+ * 存在链式事务时从中获取连接，提交、回滚与释放由{@link ChainedTransactionManager}统一处理；否则与SpringManagedTransaction一致
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class ChainedManagedTransaction implements Transaction {
+
+    private final DataSource dataSource;
+
+    private final SpringManagedTransaction delegate;
+
+    private ChainedTransaction transaction;
+
+    public ChainedManagedTransaction(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.delegate = new SpringManagedTransaction(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (Objects.isNull(transaction)) {
+            transaction = ChainedTransactionManager.currentTransaction();
+        }
+        return Objects.nonNull(transaction) ? transaction.getConnection(dataSource) : delegate.getConnection();
+    }
+
+    /**
+     * 标记当前数据源有写入
+     */
+    public void markWritten() {
+        if (Objects.nonNull(transaction)) {
+            transaction.markWritten(dataSource);
+        }
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        if (Objects.isNull(transaction)) {
+            delegate.commit();
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        if (Objects.isNull(transaction)) {
+            delegate.rollback();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (Objects.isNull(transaction)) {
+            delegate.close();
+        }
+    }
+
+    @Override
+    public Integer getTimeout() throws SQLException {
+        return Objects.nonNull(transaction) ? transaction.getTimeout(dataSource) : delegate.getTimeout();
+    }
+}
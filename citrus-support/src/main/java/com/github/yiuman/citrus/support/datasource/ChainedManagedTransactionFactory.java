@@ -0,0 +1,22 @@
+package com.github.yiuman.citrus.support.datasource;
+
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.ibatis.transaction.Transaction;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+
+import javax.sql.DataSource;
+
+/**
+ * 链式事务的Mybatis事务工厂<br/>
+ * 继承SpringManagedTransactionFactory，使SqlSession仍与Spring事务同步
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class ChainedManagedTransactionFactory extends SpringManagedTransactionFactory {
+
+    @Override
+    public Transaction newTransaction(DataSource dataSource, TransactionIsolationLevel level, boolean autoCommit) {
+        return new ChainedManagedTransaction(dataSource);
+    }
+}
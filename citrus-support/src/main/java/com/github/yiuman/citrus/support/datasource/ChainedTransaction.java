@@ -0,0 +1,240 @@
+package com.github.yiuman.citrus.support.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.HeuristicCompletionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 链式事务中各数据源的本地事务<br/>
+ * 数据源第一次被使用时才获取连接并开启本地事务，连接绑定到当前线程，Mybatis与DataSourceUtils共用。
+ * 提交时按使用顺序倒序逐个提交，任一提交失败时回滚其余未提交的连接，已提交的无法回滚
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+class ChainedTransaction {
+
+    private final TransactionDefinition definition;
+
+    private final int timeout;
+
+    /**
+     * 按使用顺序排列的数据源与连接
+     */
+    private final Map<DataSource, Enlisted> enlisted = new LinkedHashMap<>(4);
+
+    /**
+     * 执行过写入语句的数据源
+     */
+    private final Set<DataSource> written = new HashSet<>(4);
+
+    private boolean rollbackOnly;
+
+    ChainedTransaction(TransactionDefinition definition, int timeout) {
+        this.definition = definition;
+        this.timeout = timeout;
+    }
+
+    /**
+     * 获取数据源在当前事务中的连接，第一次使用时开启本地事务
+     *
+     * @param dataSource 数据源
+     * @return 连接
+     */
+    Connection getConnection(DataSource dataSource) {
+        Enlisted current = enlisted.get(dataSource);
+        if (Objects.nonNull(current)) {
+            return current.holder.getConnection();
+        }
+
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            Integer previousIsolationLevel = DataSourceUtils.prepareConnectionForTransaction(connection, definition);
+            boolean resetAutoCommit = connection.getAutoCommit();
+            if (resetAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+
+            ConnectionHolder holder = new ConnectionHolder(connection);
+            holder.setSynchronizedWithTransaction(true);
+            holder.setTransactionActive(true);
+            if (timeout != TransactionDefinition.TIMEOUT_DEFAULT) {
+                holder.setTimeoutInSeconds(timeout);
+            }
+            TransactionSynchronizationManager.bindResource(dataSource, holder);
+            enlisted.put(dataSource, new Enlisted(dataSource, holder, previousIsolationLevel, resetAutoCommit));
+            return connection;
+        } catch (Throwable throwable) {
+            DataSourceUtils.releaseConnection(connection, null);
+            throw new CannotCreateTransactionException("Could not open JDBC Connection for chained transaction", throwable);
+        }
+    }
+
+    /**
+     * 数据源在当前事务中的超时时间
+     *
+     * @param dataSource 数据源
+     * @return 剩余秒数，未设置超时时为null
+     */
+    Integer getTimeout(DataSource dataSource) {
+        Enlisted current = enlisted.get(dataSource);
+        return Objects.nonNull(current) && current.holder.hasTimeout() ? current.holder.getTimeToLiveInSeconds() : null;
+    }
+
+    void markWritten(DataSource dataSource) {
+        if (enlisted.containsKey(dataSource)) {
+            written.add(dataSource);
+        }
+    }
+
+    int getWrittenCount() {
+        return written.size();
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    void setRollbackOnly() {
+        this.rollbackOnly = true;
+    }
+
+    /**
+     * 倒序提交
+     */
+    void commit() {
+        List<Enlisted> connections = reversed();
+        int committed = 0;
+        for (Enlisted current : connections) {
+            try {
+                current.holder.getConnection().commit();
+                committed++;
+            } catch (SQLException e) {
+                List<Enlisted> pending = connections.subList(committed, connections.size());
+                //提交失败的连接也要回滚，避免释放时恢复自动提交导致提交
+                pending.forEach(Enlisted::rollbackQuietly);
+                boolean committedWrites = connections.subList(0, committed).stream().anyMatch(Enlisted::isWritten);
+                boolean pendingWrites = pending.stream().anyMatch(Enlisted::isWritten);
+                if (!committedWrites) {
+                    throw new TransactionSystemException("Could not commit chained transaction", e);
+                }
+
+                //已提交的写入无法撤销
+                log.error("Chained transaction partially committed, {} of {} datasources committed", committed, connections.size(), e);
+                throw new HeuristicCompletionException(pendingWrites
+                        ? HeuristicCompletionException.STATE_MIXED
+                        : HeuristicCompletionException.STATE_COMMITTED, e);
+            }
+        }
+    }
+
+    void rollback() {
+        SQLException failure = null;
+        for (Enlisted current : reversed()) {
+            try {
+                current.holder.getConnection().rollback();
+            } catch (SQLException e) {
+                if (Objects.isNull(failure)) {
+                    failure = e;
+                }
+            }
+        }
+
+        if (Objects.nonNull(failure)) {
+            throw new TransactionSystemException("Could not roll back chained transaction", failure);
+        }
+    }
+
+    /**
+     * 挂起时解绑连接
+     */
+    void unbind() {
+        enlisted.keySet().forEach(TransactionSynchronizationManager::unbindResource);
+    }
+
+    /**
+     * 恢复时重新绑定连接
+     */
+    void bind() {
+        enlisted.forEach((dataSource, current) -> TransactionSynchronizationManager.bindResource(dataSource, current.holder));
+    }
+
+    /**
+     * 事务结束后重置并释放所有连接
+     */
+    void release() {
+        enlisted.values().forEach(Enlisted::release);
+        enlisted.clear();
+        written.clear();
+    }
+
+    private List<Enlisted> reversed() {
+        List<Enlisted> connections = new ArrayList<>(enlisted.values());
+        Collections.reverse(connections);
+        return connections;
+    }
+
+    private final class Enlisted {
+
+        private final DataSource dataSource;
+
+        private final ConnectionHolder holder;
+
+        private final Integer previousIsolationLevel;
+
+        private final boolean resetAutoCommit;
+
+        Enlisted(DataSource dataSource, ConnectionHolder holder, Integer previousIsolationLevel, boolean resetAutoCommit) {
+            this.dataSource = dataSource;
+            this.holder = holder;
+            this.previousIsolationLevel = previousIsolationLevel;
+            this.resetAutoCommit = resetAutoCommit;
+        }
+
+        boolean isWritten() {
+            return written.contains(dataSource);
+        }
+
+        void rollbackQuietly() {
+            try {
+                holder.getConnection().rollback();
+            } catch (SQLException e) {
+                log.warn("Could not roll back connection of chained transaction", e);
+            }
+        }
+
+        void release() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+            Connection connection = holder.getConnection();
+            try {
+                if (resetAutoCommit) {
+                    connection.setAutoCommit(true);
+                }
+                DataSourceUtils.resetConnectionAfterTransaction(connection, previousIsolationLevel, definition.isReadOnly());
+            } catch (Throwable throwable) {
+                log.debug("Could not reset JDBC Connection after chained transaction", throwable);
+            }
+            DataSourceUtils.releaseConnection(connection, null);
+            holder.clear();
+        }
+    }
+}
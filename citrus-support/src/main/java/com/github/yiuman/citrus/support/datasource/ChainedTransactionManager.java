@@ -0,0 +1,151 @@
+package com.github.yiuman.citrus.support.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多数据源链式事务管理器，替代XA（Atomikos）<br/>
+ * 开启事务时不获取连接，Mybatis第一次访问某个数据源时才在该数据源上开启本地事务，提交时倒序逐个一阶段提交。
+ * 只写入一个数据源的事务与单库本地事务一致；写入多个数据源时为尽力而为的提交，
+ * 后提交的数据源失败时先提交的无法回滚（抛出{@link org.springframework.transaction.HeuristicCompletionException}），
+ * 需要原子性的场景应使用XA模式。按写入的数据源数统计事务，用于找出跨库写入的业务
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ * @see ChainedManagedTransactionFactory
+ */
+@Slf4j
+public class ChainedTransactionManager extends AbstractPlatformTransactionManager {
+
+    private static final Object RESOURCE_KEY = ChainedTransactionManager.class;
+
+    /**
+     * 没有写入的事务数
+     */
+    private final LongAdder readOnlyTransactions = new LongAdder();
+
+    /**
+     * 只写入一个数据源的事务数
+     */
+    private final LongAdder localTransactions = new LongAdder();
+
+    /**
+     * 写入多个数据源的事务数
+     */
+    private final LongAdder chainedTransactions = new LongAdder();
+
+    public ChainedTransactionManager() {
+        setNestedTransactionAllowed(false);
+    }
+
+    /**
+     * 获取当前线程的链式事务
+     *
+     * @return 链式事务，没有时为null
+     */
+    static ChainedTransaction currentTransaction() {
+        return (ChainedTransaction) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+    }
+
+    public long getReadOnlyTransactions() {
+        return readOnlyTransactions.sum();
+    }
+
+    public long getLocalTransactions() {
+        return localTransactions.sum();
+    }
+
+    public long getChainedTransactions() {
+        return chainedTransactions.sum();
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new ChainedTransactionObject(currentTransaction());
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return Objects.nonNull(((ChainedTransactionObject) transaction).transaction);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ChainedTransaction chainedTransaction = new ChainedTransaction(definition, determineTimeout(definition));
+        TransactionSynchronizationManager.bindResource(RESOURCE_KEY, chainedTransaction);
+        ((ChainedTransactionObject) transaction).transaction = chainedTransaction;
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((ChainedTransactionObject) transaction).transaction = null;
+        ChainedTransaction suspended = (ChainedTransaction) TransactionSynchronizationManager.unbindResource(RESOURCE_KEY);
+        suspended.unbind();
+        return suspended;
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        ChainedTransaction suspended = (ChainedTransaction) suspendedResources;
+        TransactionSynchronizationManager.bindResource(RESOURCE_KEY, suspended);
+        suspended.bind();
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        ChainedTransaction transaction = ((ChainedTransactionObject) status.getTransaction()).transaction;
+        int writtenCount = transaction.getWrittenCount();
+        if (writtenCount == 0) {
+            readOnlyTransactions.increment();
+        } else if (writtenCount == 1) {
+            localTransactions.increment();
+        } else {
+            chainedTransactions.increment();
+            log.debug("Committing chained transaction across {} datasources", writtenCount);
+        }
+        transaction.commit();
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        ((ChainedTransactionObject) status.getTransaction()).transaction.rollback();
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((ChainedTransactionObject) status.getTransaction()).transaction.setRollbackOnly();
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        ChainedTransactionObject transactionObject = (ChainedTransactionObject) transaction;
+        TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+        transactionObject.transaction.release();
+        transactionObject.transaction = null;
+    }
+
+    private static class ChainedTransactionObject implements SmartTransactionObject {
+
+        private ChainedTransaction transaction;
+
+        ChainedTransactionObject(ChainedTransaction transaction) {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return Objects.nonNull(transaction) && transaction.isRollbackOnly();
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
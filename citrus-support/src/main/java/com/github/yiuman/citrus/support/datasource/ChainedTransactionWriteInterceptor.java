@@ -0,0 +1,32 @@
+package com.github.yiuman.citrus.support.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * 记录链式事务中执行过写入语句的数据源，用于区分单库事务与跨库事务
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class ChainedTransactionWriteInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        try {
+            return invocation.proceed();
+        } finally {
+            //语句执行后连接才会加入事务
+            Transaction transaction = ((Executor) invocation.getTarget()).getTransaction();
+            if (transaction instanceof ChainedManagedTransaction) {
+                ((ChainedManagedTransaction) transaction).markWritten();
+            }
+        }
+    }
+}
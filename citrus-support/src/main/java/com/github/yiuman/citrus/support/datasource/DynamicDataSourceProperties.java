@@ -32,6 +32,11 @@ public class DynamicDataSourceProperties {
 
     private boolean enableMultipleTx = true;
 
+    /**
+     * 多数据源事务模式，默认XA
+     */
+    private TransactionMode transactionMode = TransactionMode.XA;
+
     public DynamicDataSourceProperties() {
     }
 
@@ -70,4 +75,26 @@ public class DynamicDataSourceProperties {
     public void setEnableMultipleTx(boolean enableMultipleTx) {
         this.enableMultipleTx = enableMultipleTx;
     }
+
+    public TransactionMode getTransactionMode() {
+        return transactionMode;
+    }
+
+    public void setTransactionMode(TransactionMode transactionMode) {
+        this.transactionMode = transactionMode;
+    }
+
+    /**
+     * 多数据源事务模式
+     */
+    public enum TransactionMode {
+        /**
+         * XA数据源与JTA（Atomikos）两阶段提交
+         */
+        XA,
+        /**
+         * 普通连接池与{@link ChainedTransactionManager}，按需开启各数据源的本地事务并倒序一阶段提交
+         */
+        CHAINED
+    }
 }
@@ -0,0 +1,38 @@
+package com.github.yiuman.citrus.support.diagnostic;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL诊断的Actuator端点，GET查看汇总，DELETE清空
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Endpoint(id = "sqldiagnostics")
+public class SqlDiagnosticEndpoint {
+
+    private final SqlDiagnosticRepository repository;
+
+    public SqlDiagnosticEndpoint(SqlDiagnosticRepository repository) {
+        this.repository = repository;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>(4);
+        report.put("sampledRequests", repository.getSampledRequests());
+        report.put("droppedIssues", repository.getDroppedIssues());
+        report.put("issues", repository.getIssues());
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        repository.reset();
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.yiuman.citrus.support.diagnostic;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SQL诊断过滤器，按采样率为请求开启SQL跟踪，请求结束时交给{@link SqlDiagnosticRepository}分析
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class SqlDiagnosticFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final SqlDiagnosticProperties properties;
+
+    private final SqlDiagnosticRepository repository;
+
+    public SqlDiagnosticFilter(SqlDiagnosticProperties properties, SqlDiagnosticRepository repository) {
+        this.properties = properties;
+        this.repository = repository;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!sampled() || Objects.nonNull(SqlRequestTrace.current())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        SqlRequestTrace trace = SqlRequestTrace.begin(properties.getMaxStatementsPerRequest());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestTrace.end();
+            repository.collect(endpoint(request), trace);
+        }
+    }
+
+    private boolean sampled() {
+        double sampleRate = properties.getSampleRate();
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * 使用匹配到的路径模板，避免路径参数造成汇总数量膨胀
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (Objects.nonNull(pattern) ? pattern : UNMAPPED);
+    }
+}
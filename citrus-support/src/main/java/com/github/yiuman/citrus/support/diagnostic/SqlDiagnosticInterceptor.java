@@ -0,0 +1,59 @@
+package com.github.yiuman.citrus.support.diagnostic;
+
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+import java.util.Objects;
+
+/**
+ * SQL诊断拦截器，记录被采样请求内每条SQL的执行次数与耗时；当前线程没有采样时直接执行
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class SqlDiagnosticInterceptor implements Interceptor {
+
+    private static final String MAPPED_STATEMENT_PROPERTY = "delegate.mappedStatement";
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        SqlRequestTrace trace = SqlRequestTrace.current();
+        if (Objects.isNull(trace)) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
+            trace.record(statementHandler.getBoundSql().getSql(), () -> statementId(statementHandler), elapsed);
+        }
+    }
+
+    private static String statementId(StatementHandler statementHandler) {
+        if (!(statementHandler instanceof RoutingStatementHandler)) {
+            return null;
+        }
+
+        MetaObject metaObject = SystemMetaObject.forObject(statementHandler);
+        return metaObject.hasGetter(MAPPED_STATEMENT_PROPERTY)
+                ? ((MappedStatement) metaObject.getValue(MAPPED_STATEMENT_PROPERTY)).getId()
+                : null;
+    }
+}
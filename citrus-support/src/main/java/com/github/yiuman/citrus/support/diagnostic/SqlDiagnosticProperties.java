@@ -0,0 +1,94 @@
+package com.github.yiuman.citrus.support.diagnostic;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL诊断配置，用于发现单个请求内的N+1查询与慢SQL
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@ConfigurationProperties(prefix = "citrus.diagnostic.sql")
+public class SqlDiagnosticProperties {
+
+    /**
+     * 是否开启
+     */
+    private boolean enabled = false;
+
+    /**
+     * 请求采样率，0-1之间，未被采样的请求不做任何记录
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * 同一请求内相同SQL执行次数达到该值时视为N+1
+     */
+    private int repeatThreshold = 10;
+
+    /**
+     * 单次执行超过该毫秒数视为慢SQL
+     */
+    private long slowThresholdMillis = 500;
+
+    /**
+     * 单个请求最多跟踪的不同SQL数量
+     */
+    private int maxStatementsPerRequest = 256;
+
+    /**
+     * 最多保留的问题汇总数量
+     */
+    private int maxIssues = 1000;
+
+    public SqlDiagnosticProperties() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowThresholdMillis;
+    }
+
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    public int getMaxStatementsPerRequest() {
+        return maxStatementsPerRequest;
+    }
+
+    public void setMaxStatementsPerRequest(int maxStatementsPerRequest) {
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+    }
+
+    public int getMaxIssues() {
+        return maxIssues;
+    }
+
+    public void setMaxIssues(int maxIssues) {
+        this.maxIssues = maxIssues;
+    }
+}
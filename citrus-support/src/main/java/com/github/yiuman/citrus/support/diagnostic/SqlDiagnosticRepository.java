@@ -0,0 +1,110 @@
+package com.github.yiuman.citrus.support.diagnostic;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQL诊断结果<br/>
+ * 分析请求结束时的跟踪，发现N+1与慢SQL时输出结构化日志（logger：citrus.sql.diagnostic），并按接口与SQL指纹汇总
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j(topic = "citrus.sql.diagnostic")
+public class SqlDiagnosticRepository {
+
+    private final SqlDiagnosticProperties properties;
+
+    private final Map<String, SqlIssue> issues = new ConcurrentHashMap<>(256);
+
+    private final AtomicLong sampledRequests = new AtomicLong();
+
+    private final AtomicLong droppedIssues = new AtomicLong();
+
+    public SqlDiagnosticRepository(SqlDiagnosticProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 分析一个请求的SQL跟踪
+     *
+     * @param endpoint 请求的接口
+     * @param trace    请求的SQL跟踪
+     */
+    public void collect(String endpoint, SqlRequestTrace trace) {
+        sampledRequests.incrementAndGet();
+        long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMillis());
+        for (SqlRequestTrace.StatementTrace statementTrace : trace.getStatements()) {
+            if (statementTrace.getCount() >= properties.getRepeatThreshold()) {
+                report(SqlIssue.Type.N_PLUS_ONE, endpoint, statementTrace);
+            }
+
+            if (statementTrace.getMaxNanos() >= slowThresholdNanos) {
+                report(SqlIssue.Type.SLOW, endpoint, statementTrace);
+            }
+        }
+
+        if (trace.getDroppedStatements() > 0) {
+            log.warn("sql-diagnostic type=TOO_MANY_STATEMENTS endpoint=\"{}\" dropped={}", endpoint, trace.getDroppedStatements());
+        }
+    }
+
+    /**
+     * 按出现问题的请求数倒序的问题汇总
+     *
+     * @return 问题汇总
+     */
+    public List<SqlIssue> getIssues() {
+        List<SqlIssue> list = new ArrayList<>(issues.values());
+        list.sort(Comparator.comparingLong(SqlIssue::getOccurrences).reversed());
+        return list;
+    }
+
+    public long getSampledRequests() {
+        return sampledRequests.get();
+    }
+
+    public long getDroppedIssues() {
+        return droppedIssues.get();
+    }
+
+    public void reset() {
+        issues.clear();
+        sampledRequests.set(0);
+        droppedIssues.set(0);
+    }
+
+    private void report(SqlIssue.Type type, String endpoint, SqlRequestTrace.StatementTrace statementTrace) {
+        String callers = statementTrace.getCallers();
+        log.warn("sql-diagnostic type={} endpoint=\"{}\" executions={} maxMs={} totalMs={} statement={} callers=\"{}\" sql=\"{}\"",
+                type,
+                endpoint,
+                statementTrace.getCount(),
+                TimeUnit.NANOSECONDS.toMillis(statementTrace.getMaxNanos()),
+                TimeUnit.NANOSECONDS.toMillis(statementTrace.getTotalNanos()),
+                statementTrace.getStatementId(),
+                callers,
+                statementTrace.getFingerprint());
+
+        String key = type + "|" + endpoint + "|" + statementTrace.getFingerprint();
+        SqlIssue issue = issues.get(key);
+        if (Objects.isNull(issue)) {
+            if (issues.size() >= properties.getMaxIssues()) {
+                droppedIssues.incrementAndGet();
+                return;
+            }
+
+            issue = issues.computeIfAbsent(key, k -> new SqlIssue(type, endpoint, statementTrace.getFingerprint(), statementTrace.getStatementId(), callers));
+        }
+
+        issue.merge(statementTrace);
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.yiuman.citrus.support.diagnostic;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL指纹<br/>
+ * 去掉字面量、合并空白、IN列表与多行VALUES，使只有参数不同的SQL得到相同的指纹
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public final class SqlFingerprints {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern VALUES_ROWS = Pattern.compile("(\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))(?:\\s*,\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 原始SQL与指纹的缓存，Mybatis的SQL已参数化，大多数语句命中缓存
+     */
+    private static final LRUCache<String, String> FINGERPRINT_CACHE = CacheUtil.newLRUCache(2048);
+
+    private SqlFingerprints() {
+    }
+
+    /**
+     * 计算SQL指纹
+     *
+     * @param sql 原始SQL
+     * @return 归一化后的SQL
+     */
+    public static String fingerprint(String sql) {
+        return FINGERPRINT_CACHE.get(sql, () -> normalize(sql));
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (?)");
+        normalized = VALUES_ROWS.matcher(normalized).replaceAll("$1");
+        return normalized;
+    }
+}
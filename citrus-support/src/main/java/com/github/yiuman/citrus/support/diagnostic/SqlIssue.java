@@ -0,0 +1,84 @@
+package com.github.yiuman.citrus.support.diagnostic;
+
+import lombok.Data;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL问题汇总，按问题类型、接口与SQL指纹聚合
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+public class SqlIssue {
+
+    /**
+     * 问题类型
+     */
+    private final Type type;
+
+    /**
+     * 请求的接口，如：GET /rest/users
+     */
+    private final String endpoint;
+
+    /**
+     * SQL指纹
+     */
+    private final String fingerprint;
+
+    /**
+     * Mybatis语句ID
+     */
+    private final String statementId;
+
+    /**
+     * 调用链，Controller方法与CrudService方法
+     */
+    private final String callers;
+
+    /**
+     * 出现该问题的请求数
+     */
+    private long occurrences;
+
+    /**
+     * 单个请求内的最大执行次数
+     */
+    private int maxExecutions;
+
+    /**
+     * 单次执行的最大耗时（毫秒）
+     */
+    private long maxMillis;
+
+    /**
+     * 出现问题的请求内该SQL的总耗时（毫秒）
+     */
+    private long totalMillis;
+
+    /**
+     * 最后出现的时间戳
+     */
+    private long lastSeen;
+
+    synchronized void merge(SqlRequestTrace.StatementTrace statementTrace) {
+        occurrences++;
+        maxExecutions = Math.max(maxExecutions, statementTrace.getCount());
+        maxMillis = Math.max(maxMillis, TimeUnit.NANOSECONDS.toMillis(statementTrace.getMaxNanos()));
+        totalMillis += TimeUnit.NANOSECONDS.toMillis(statementTrace.getTotalNanos());
+        lastSeen = System.currentTimeMillis();
+    }
+
+    public enum Type {
+        /**
+         * 同一请求内相同SQL重复执行
+         */
+        N_PLUS_ONE,
+        /**
+         * 慢SQL
+         */
+        SLOW
+    }
+}
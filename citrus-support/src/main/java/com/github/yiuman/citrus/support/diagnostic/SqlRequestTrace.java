@@ -0,0 +1,230 @@
+package com.github.yiuman.citrus.support.diagnostic;
+
+import com.github.yiuman.citrus.support.crud.service.CrudService;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 单个请求内执行的SQL<br/>
+ * 只在请求线程内访问；相同指纹的SQL只在第一次执行时遍历调用栈，解析调用它的CrudService与Controller方法
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public final class SqlRequestTrace {
+
+    private static final ThreadLocal<SqlRequestTrace> CURRENT = new NamedThreadLocal<>("sql-request-trace");
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /**
+     * 调用链中最多记录的CrudService方法数
+     */
+    private static final int MAX_SERVICE_FRAMES = 6;
+
+    private static final ClassValue<FrameKind> FRAME_KINDS = new ClassValue<FrameKind>() {
+        @Override
+        protected FrameKind computeValue(Class<?> type) {
+            if (type.getName().contains("$$")) {
+                return FrameKind.NONE;
+            }
+
+            if (CrudService.class.isAssignableFrom(type)) {
+                return FrameKind.SERVICE;
+            }
+
+            return AnnotatedElementUtils.hasAnnotation(type, Controller.class) ? FrameKind.CONTROLLER : FrameKind.NONE;
+        }
+    };
+
+    private final int maxStatements;
+
+    private final Map<String, StatementTrace> statements = new LinkedHashMap<>();
+
+    private int droppedStatements;
+
+    private SqlRequestTrace(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * 开始跟踪当前线程
+     *
+     * @param maxStatements 最多跟踪的不同SQL数量
+     * @return 当前请求的跟踪
+     */
+    public static SqlRequestTrace begin(int maxStatements) {
+        SqlRequestTrace trace = new SqlRequestTrace(maxStatements);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * 当前线程的跟踪
+     *
+     * @return 未被采样时为null
+     */
+    public static SqlRequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 结束当前线程的跟踪
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 记录一次SQL执行
+     *
+     * @param sql         原始SQL
+     * @param statementId 语句ID，只在该SQL第一次出现时获取
+     * @param nanos       耗时（纳秒）
+     */
+    public void record(String sql, Supplier<String> statementId, long nanos) {
+        String fingerprint = SqlFingerprints.fingerprint(sql);
+        StatementTrace statementTrace = statements.get(fingerprint);
+        if (Objects.isNull(statementTrace)) {
+            if (statements.size() >= maxStatements) {
+                droppedStatements++;
+                return;
+            }
+
+            statementTrace = new StatementTrace(fingerprint, statementId.get());
+            resolveCallers(statementTrace);
+            statements.put(fingerprint, statementTrace);
+        }
+
+        statementTrace.count++;
+        statementTrace.totalNanos += nanos;
+        statementTrace.maxNanos = Math.max(statementTrace.maxNanos, nanos);
+    }
+
+    public Collection<StatementTrace> getStatements() {
+        return statements.values();
+    }
+
+    public int getDroppedStatements() {
+        return droppedStatements;
+    }
+
+    private static void resolveCallers(StatementTrace statementTrace) {
+        STACK_WALKER.walk(frames -> {
+            Iterator<StackWalker.StackFrame> iterator = frames.iterator();
+            String lastService = null;
+            while (iterator.hasNext() && Objects.isNull(statementTrace.controller)) {
+                StackWalker.StackFrame frame = iterator.next();
+                FrameKind kind = FRAME_KINDS.get(frame.getDeclaringClass());
+                if (kind == FrameKind.NONE) {
+                    continue;
+                }
+
+                String caller = frame.getDeclaringClass().getSimpleName() + "#" + frame.getMethodName();
+                if (kind == FrameKind.CONTROLLER) {
+                    statementTrace.controller = caller;
+                } else if (statementTrace.services.size() < MAX_SERVICE_FRAMES && !caller.equals(lastService)) {
+                    statementTrace.services.add(caller);
+                    lastService = caller;
+                }
+            }
+            return null;
+        });
+    }
+
+    private enum FrameKind {
+        /**
+         * 其他
+         */
+        NONE,
+        /**
+         * CrudService实现
+         */
+        SERVICE,
+        /**
+         * Controller
+         */
+        CONTROLLER
+    }
+
+    /**
+     * 请求内同一指纹SQL的执行统计
+     */
+    public static final class StatementTrace {
+
+        private final String fingerprint;
+
+        private final String statementId;
+
+        /**
+         * 由近及远的CrudService调用方法
+         */
+        private final List<String> services = new ArrayList<>(MAX_SERVICE_FRAMES);
+
+        private String controller;
+
+        private int count;
+
+        private long totalNanos;
+
+        private long maxNanos;
+
+        private StatementTrace(String fingerprint, String statementId) {
+            this.fingerprint = fingerprint;
+            this.statementId = statementId;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getStatementId() {
+            return statementId;
+        }
+
+        public List<String> getServices() {
+            return services;
+        }
+
+        public String getController() {
+            return controller;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * 调用链的可读形式，如：ScopeController#getPageList > ScopeService#page > BaseService#list
+         *
+         * @return 调用链
+         */
+        public String getCallers() {
+            List<String> callers = new ArrayList<>(services.size() + 1);
+            Optional.ofNullable(controller).ifPresent(callers::add);
+            for (int i = services.size() - 1; i >= 0; i--) {
+                callers.add(services.get(i));
+            }
+            return String.join(" > ", callers);
+        }
+    }
+}
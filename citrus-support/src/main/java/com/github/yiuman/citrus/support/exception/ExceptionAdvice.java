@@ -55,7 +55,7 @@ public class ExceptionAdvice {
     }
 
     private List<ErrorResult> getErrorResults(List<FieldError> fieldErrors) {
-        return fieldErrors.parallelStream()
+        return fieldErrors.stream()
                 .map(error -> new ErrorResult(error.getField(), error.getDefaultMessage()))
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,72 @@
+package com.github.yiuman.citrus.support.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 支持分片上传的文件服务<br/>
+ * 初始化上传会话后，各分片可并发、乱序、重复上传，中断后通过{@link #getUpload(String, String)}查询已接收的分片继续上传，
+ * 全部分片接收后完成上传，校验整个文件的哈希并返回已存储的文件内容。<br/>
+ * 上传会话归属于创建它的用户，其他用户访问时视为会话不存在
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public interface ChunkedFileStorageService extends FileStorageService {
+
+    /**
+     * 初始化分片上传
+     *
+     * @param filename  文件名称
+     * @param size      文件大小
+     * @param chunkSize 分片大小
+     * @param hash      整个文件的MD5哈希，可为空
+     * @param owner     创建会话的用户
+     * @return 上传会话
+     * @throws IOException IO异常
+     */
+    ChunkedUpload initUpload(String filename, long size, int chunkSize, String hash, String owner) throws IOException;
+
+    /**
+     * 写入分片
+     *
+     * @param uploadId   上传会话ID
+     * @param owner      当前用户
+     * @param chunkIndex 分片下标，从0开始
+     * @param stream     分片内容，写入后关闭
+     * @param chunkHash  分片的MD5哈希，可为空
+     * @return 上传会话
+     * @throws IOException IO异常
+     */
+    ChunkedUpload writeChunk(String uploadId, String owner, int chunkIndex, InputStream stream, String chunkHash) throws IOException;
+
+    /**
+     * 获取上传会话及已接收的分片
+     *
+     * @param uploadId 上传会话ID
+     * @param owner    当前用户
+     * @return 上传会话，不存在时返回null
+     * @throws IOException IO异常
+     */
+    ChunkedUpload getUpload(String uploadId, String owner) throws IOException;
+
+    /**
+     * 完成上传
+     *
+     * @param uploadId 上传会话ID
+     * @param owner    当前用户
+     * @return 已存储的文件内容
+     * @throws IOException IO异常
+     */
+    StoredFile completeUpload(String uploadId, String owner) throws IOException;
+
+    /**
+     * 放弃上传，删除已接收的分片
+     *
+     * @param uploadId 上传会话ID
+     * @param owner    当前用户
+     * @throws IOException IO异常
+     */
+    void abortUpload(String uploadId, String owner) throws IOException;
+
+}
@@ -0,0 +1,77 @@
+package com.github.yiuman.citrus.support.file;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 分片上传会话
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+public class ChunkedUpload {
+
+    /**
+     * 上传会话ID
+     */
+    private String uploadId;
+
+    /**
+     * 文件名称
+     */
+    private String filename;
+
+    /**
+     * 文件大小
+     */
+    private long size;
+
+    /**
+     * 分片大小，除最后一个分片外每个分片都是这个大小
+     */
+    private int chunkSize;
+
+    /**
+     * 分片数量
+     */
+    private int chunkCount;
+
+    /**
+     * 客户端声明的整个文件的MD5哈希，完成时校验，可为空
+     */
+    private String hash;
+
+    /**
+     * 创建会话的用户，只有该用户可以继续上传、完成或放弃
+     */
+    @JsonIgnore
+    private String owner;
+
+    /**
+     * 已接收的分片下标，从0开始
+     */
+    private List<Integer> receivedChunks;
+
+    /**
+     * 获取分片在文件中的偏移量
+     *
+     * @param chunkIndex 分片下标
+     * @return 偏移量
+     */
+    public long getChunkOffset(int chunkIndex) {
+        return (long) chunkIndex * chunkSize;
+    }
+
+    /**
+     * 获取分片的长度
+     *
+     * @param chunkIndex 分片下标
+     * @return 分片长度
+     */
+    public long getChunkLength(int chunkIndex) {
+        return Math.min(chunkSize, size - getChunkOffset(chunkIndex));
+    }
+}
@@ -0,0 +1,313 @@
+package com.github.yiuman.citrus.support.file;
+
+import cn.hutool.core.util.IdUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 文件下载<br/>
+ * 支持条件请求（ETag/If-None-Match、Last-Modified/If-Modified-Since，命中返回304）、
+ * 单个与多个Range的断点续传（206）及If-Range；
+ * 本地文件通过{@link FileChannel#transferTo}输出，容器支持sendfile（如Tomcat NIO）时由容器直接发送，不经过JVM堆
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public final class FileDownloader {
+
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final String RANGE_PREFIX = BYTES_UNIT + "=";
+
+    /**
+     * 单次请求允许的最大Range数，超过则返回完整文件
+     */
+    private static final int MAX_RANGES = 16;
+
+    private static final String CRLF = "\r\n";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileDownloader() {
+    }
+
+    /**
+     * 下载本地文件
+     *
+     * @param request  当前请求
+     * @param response 当前响应
+     * @param file     本地文件
+     * @param filename 下载的文件名
+     * @param etag     强ETag，一般为文件内容的哈希，可为空
+     * @throws IOException IO异常
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path file, String filename, String etag) throws IOException {
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        String contentType = getContentType(request, filename);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        addContentDisposition(response, filename);
+        List<long[]> ranges = isRangeApplicable(request, etag, lastModified)
+                ? parseRanges(request.getHeader(HttpHeaders.RANGE), length)
+                : new ArrayList<>();
+        if (Objects.isNull(ranges)) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, String.format("%s */%d", BYTES_UNIT, length));
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        boolean head = HttpMethod.HEAD.matches(request.getMethod());
+        if (ranges.size() <= 1) {
+            long start = 0;
+            long end = length - 1;
+            if (ranges.size() == 1) {
+                start = ranges.get(0)[0];
+                end = ranges.get(0)[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(start, end, length));
+            }
+
+            response.setContentType(contentType);
+            response.setContentLengthLong(end - start + 1);
+            if (head || length == 0) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+
+            ServletOutputStream outputStream = response.getOutputStream();
+            transfer(file, start, end - start + 1, outputStream);
+            response.flushBuffer();
+            return;
+        }
+
+        //多个Range使用multipart/byteranges
+        String boundary = IdUtil.fastSimpleUUID();
+        List<String> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            String partHeader = CRLF + "--" + boundary + CRLF
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range[0], range[1], length) + CRLF + CRLF;
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length() + range[1] - range[0] + 1;
+        }
+        String closeBoundary = CRLF + "--" + boundary + "--" + CRLF;
+        contentLength += closeBoundary.length();
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+
+        ServletOutputStream outputStream = response.getOutputStream();
+        for (int i = 0; i < ranges.size(); i++) {
+            long[] range = ranges.get(i);
+            outputStream.write(partHeaders.get(i).getBytes(StandardCharsets.ISO_8859_1));
+            transfer(file, range[0], range[1] - range[0] + 1, outputStream);
+        }
+        outputStream.write(closeBoundary.getBytes(StandardCharsets.ISO_8859_1));
+        response.flushBuffer();
+    }
+
+    /**
+     * 下载非本地存储的文件，不支持Range，只处理条件请求
+     *
+     * @param request      当前请求
+     * @param response     当前响应
+     * @param stream       文件输入流，输出后关闭
+     * @param length       文件大小，未知时传null
+     * @param filename     下载的文件名
+     * @param etag         强ETag，一般为文件内容的哈希，可为空
+     * @param lastModified 最后修改时间戳，未知时传-1
+     * @throws IOException IO异常
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, InputStream stream, Long length,
+                            String filename, String etag, long lastModified) throws IOException {
+        try (InputStream inputStream = stream) {
+            if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+                return;
+            }
+
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "none");
+            addContentDisposition(response, filename);
+            response.setContentType(getContentType(request, filename));
+            if (Objects.nonNull(length)) {
+                response.setContentLengthLong(length);
+            }
+
+            if (!HttpMethod.HEAD.matches(request.getMethod())) {
+                StreamUtils.copy(inputStream, response.getOutputStream());
+                response.flushBuffer();
+            }
+        }
+    }
+
+    /**
+     * 解析Range请求头，重叠或相邻的Range会被合并
+     *
+     * @param rangeHeader Range请求头
+     * @param length      文件大小
+     * @return 闭区间[start, end]的列表；为空表示忽略Range返回完整文件；为null表示所有Range都无法满足
+     */
+    static List<long[]> parseRanges(String rangeHeader, long length) {
+        List<long[]> ranges = new ArrayList<>();
+        if (!StringUtils.hasText(rangeHeader) || !rangeHeader.startsWith(RANGE_PREFIX)) {
+            return ranges;
+        }
+
+        String[] specs = rangeHeader.substring(RANGE_PREFIX.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return ranges;
+        }
+
+        try {
+            for (String spec : specs) {
+                spec = spec.trim();
+                int dashIndex = spec.indexOf('-');
+                if (dashIndex < 0) {
+                    return new ArrayList<>();
+                }
+
+                String first = spec.substring(0, dashIndex).trim();
+                String last = spec.substring(dashIndex + 1).trim();
+                if (first.isEmpty()) {
+                    //后缀Range，如：bytes=-500
+                    long suffixLength = Long.parseLong(last);
+                    if (suffixLength > 0 && length > 0) {
+                        ranges.add(new long[]{Math.max(0, length - suffixLength), length - 1});
+                    }
+                    continue;
+                }
+
+                long start = Long.parseLong(first);
+                long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                if (start < 0 || end < start) {
+                    return new ArrayList<>();
+                }
+
+                if (start < length) {
+                    ranges.add(new long[]{start, Math.min(end, length - 1)});
+                }
+            }
+        } catch (NumberFormatException ex) {
+            return new ArrayList<>();
+        }
+
+        if (ranges.isEmpty()) {
+            return null;
+        }
+
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> merged = new ArrayList<>(ranges.size());
+        long[] current = ranges.get(0);
+        for (int i = 1; i < ranges.size(); i++) {
+            long[] next = ranges.get(i);
+            if (next[0] <= current[1] + 1) {
+                current[1] = Math.max(current[1], next[1]);
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+        return merged;
+    }
+
+    /**
+     * If-Range与当前的ETag或最后修改时间不一致时，忽略Range返回完整文件
+     */
+    private static boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (!StringUtils.hasText(ifRange)) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            //If-Range只能使用强比较
+            return StringUtils.hasText(etag) && ifRange.equals(quote(etag));
+        }
+
+        long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+        return ifRangeDate != -1 && lastModified / 1000 == ifRangeDate / 1000;
+    }
+
+    private static void transfer(Path file, long position, long count, OutputStream outputStream) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            //不关闭目标通道，否则会关闭响应的输出流
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    //文件被截断
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private static String contentRange(long start, long end, long length) {
+        return String.format("%s %d-%d/%d", BYTES_UNIT, start, end, length);
+    }
+
+    private static String quote(String etag) {
+        return etag.startsWith("\"") ? etag : "\"" + etag + "\"";
+    }
+
+    private static String getContentType(HttpServletRequest request, String filename) {
+        String mimeType = Objects.nonNull(filename) ? request.getServletContext().getMimeType(filename) : null;
+        return StringUtils.hasText(mimeType) ? mimeType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    private static void addContentDisposition(HttpServletResponse response, String filename) throws UnsupportedEncodingException {
+        if (!StringUtils.hasText(filename)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, String.format("attachment;filename=%s", URLEncoder.encode(filename, StandardCharsets.UTF_8.toString())));
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.yiuman.citrus.support.file;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 本地文件存储配置
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@ConfigurationProperties(prefix = "citrus.file")
+public class FileStorageProperties {
+
+    /**
+     * 存储目录
+     */
+    private String path = "./temp";
+
+    /**
+     * 分片上传允许的最大文件大小，初始化上传时按声明的大小预分配磁盘空间
+     */
+    private DataSize maxFileSize = DataSize.ofGigabytes(2);
+
+    /**
+     * 分片上传会话的过期时间，超过该时间没有写入的会话及其临时文件会被清理
+     */
+    private Duration uploadExpiration = Duration.ofHours(24);
+
+    public FileStorageProperties() {
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public DataSize getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(DataSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public Duration getUploadExpiration() {
+        return uploadExpiration;
+    }
+
+    public void setUploadExpiration(Duration uploadExpiration) {
+        this.uploadExpiration = uploadExpiration;
+    }
+}
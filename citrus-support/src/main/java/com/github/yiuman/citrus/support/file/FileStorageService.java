@@ -1,7 +1,15 @@
 package com.github.yiuman.citrus.support.file;
 
+import cn.hutool.core.util.HexUtil;
+import cn.hutool.core.util.IdUtil;
+import org.apache.commons.io.input.CountingInputStream;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * 文件服务类
@@ -21,6 +29,20 @@ public interface FileStorageService {
      */
     String save(String filepath, InputStream stream) throws IOException;
 
+    /**
+     * 流式保存文件内容，写入的同时计算内容的MD5哈希，只读取一次输入流<br/>
+     * 默认以随机文件名保存，实现类可按内容哈希存放以去重
+     *
+     * @param stream 输入流，保存后关闭
+     * @return 已存储的文件内容
+     * @throws IOException IO异常
+     */
+    default StoredFile saveContent(InputStream stream) throws IOException {
+        MessageDigest digest = md5();
+        CountingInputStream countingStream = new CountingInputStream(new DigestInputStream(stream, digest));
+        String path = save(IdUtil.fastSimpleUUID(), countingStream);
+        return new StoredFile(path, HexUtil.encodeHexStr(digest.digest()), countingStream.getByteCount());
+    }
 
     /**
      * 获取文件资源
@@ -31,4 +53,27 @@ public interface FileStorageService {
      */
     InputStream get(String filepath) throws IOException;
 
-}
\ No newline at end of file
+    /**
+     * 获取文件在本机上的路径，用于零拷贝与按Range下载
+     *
+     * @param filepath 文件路径
+     * @return 本地文件路径，非本地存储或文件不存在时返回null
+     */
+    default Path getLocalPath(String filepath) {
+        return null;
+    }
+
+    /**
+     * 创建MD5摘要
+     *
+     * @return MD5摘要
+     */
+    static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
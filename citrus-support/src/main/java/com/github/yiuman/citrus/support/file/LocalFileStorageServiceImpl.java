@@ -1,14 +1,34 @@
 package com.github.yiuman.citrus.support.file;
 
 import cn.hutool.core.io.FileUtil;
-import org.springframework.util.StreamUtils;
+import cn.hutool.core.util.HexUtil;
+import cn.hutool.core.util.IdUtil;
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.support.http.ResponseStatusCode;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 /**
  * 本地文件存储服务实现
@@ -16,22 +36,88 @@ import java.time.format.DateTimeFormatter;
  * @author yiuman
  * @date 2021/3/21
  */
-public class LocalFileStorageServiceImpl implements FileStorageService {
+public class LocalFileStorageServiceImpl implements ChunkedFileStorageService {
 
-    private String path = "./temp";
+    private String path;
+
+    /**
+     * 分片上传允许的最大文件大小
+     */
+    private DataSize maxFileSize;
+
+    /**
+     * 分片上传会话的过期时间
+     */
+    private Duration uploadExpiration;
 
     /**
      * 日期格式化
      */
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
 
+    /**
+     * 按内容哈希存放的目录
+     */
+    private static final String CONTENT_DIRECTORY = "content";
+
+    /**
+     * 写入中的临时文件目录
+     */
+    private static final String TEMP_DIRECTORY = "tmp";
+
+    /**
+     * 每次上传使用的固定缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 分片上传会话目录
+     */
+    private static final String UPLOAD_DIRECTORY = "uploads";
+
+    private static final String UPLOAD_DATA = "data";
+
+    private static final String UPLOAD_META = "upload.properties";
+
+    private static final String UPLOAD_CHUNKS = "chunks";
+
+    /**
+     * 单个上传会话允许的最大分片数
+     */
+    private static final int MAX_CHUNKS = 10000;
+
+    private static final Pattern UPLOAD_ID_PATTERN = Pattern.compile("[0-9a-f]{32}");
+
+    /**
+     * 清理过期上传会话的最小间隔
+     */
+    private static final long PRUNE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * 已加载的上传会话信息，分片写入时不必每次读取会话文件
+     */
+    private final Map<String, ChunkedUpload> uploads = new ConcurrentHashMap<>(16);
+
+    /**
+     * 上次清理过期上传会话的时间
+     */
+    private final AtomicLong lastPruneTime = new AtomicLong();
+
     public LocalFileStorageServiceImpl() {
+        this(new FileStorageProperties());
     }
 
     public LocalFileStorageServiceImpl(String path) {
+        this();
         this.path = path;
     }
 
+    public LocalFileStorageServiceImpl(FileStorageProperties properties) {
+        this.path = properties.getPath();
+        this.maxFileSize = properties.getMaxFileSize();
+        this.uploadExpiration = properties.getUploadExpiration();
+    }
+
     public String getPath() {
         return path;
     }
@@ -40,25 +126,375 @@ public class LocalFileStorageServiceImpl implements FileStorageService {
         this.path = path;
     }
 
+    public DataSize getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(DataSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public Duration getUploadExpiration() {
+        return uploadExpiration;
+    }
+
+    public void setUploadExpiration(Duration uploadExpiration) {
+        this.uploadExpiration = uploadExpiration;
+    }
+
     @Override
     public String save(String filepath, InputStream stream) throws IOException {
         //文件目录
+        String directoryPath = path + "/" + LocalDate.now().format(FORMATTER);
+        //创建目录
+        FileUtil.mkdir(directoryPath);
+        String filePath = directoryPath + "/" + filepath;
+        try (InputStream inputStream = stream;
+             OutputStream outputStream = Files.newOutputStream(Paths.get(filePath))) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return filePath;
+    }
+
+    /**
+     * 先写入临时文件并同时计算哈希，再原子地重命名到内容哈希目录（content/哈希前两位/哈希），
+     * 相同内容已存在时丢弃临时文件，直接复用已有文件
+     */
+    @Override
+    public StoredFile saveContent(InputStream stream) throws IOException {
+        Path tempDirectory = Paths.get(path, TEMP_DIRECTORY);
+        Files.createDirectories(tempDirectory);
+        Path tempFile = tempDirectory.resolve(IdUtil.fastSimpleUUID());
+        MessageDigest digest = FileStorageService.md5();
+        long size = 0;
         try {
-            String directoryPath = path + "/" + LocalDate.now().format(FORMATTER);
-            //创建目录
-            FileUtil.mkdir(directoryPath);
-            String filePath = directoryPath + "/" + filepath;
-            FileOutputStream fileOutputStream = new FileOutputStream(FileUtil.file(filePath));
-            StreamUtils.copy(stream, fileOutputStream);
-            return filePath;
+            try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(stream, digest));
+                 FileChannel target = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String hash = HexUtil.encodeHexStr(digest.digest());
+            return new StoredFile(toStoragePath(moveToContent(tempFile, hash)), hash, size);
         } finally {
-            stream.close();
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * 在会话目录中预分配整个文件，分片按偏移量直接写入该文件；预分配前校验声明的大小不超过上限，并顺带清理过期的会话
+     */
+    @Override
+    public ChunkedUpload initUpload(String filename, long size, int chunkSize, String hash, String owner) throws IOException {
+        if (size < 0 || chunkSize <= 0) {
+            throw new RestException("文件大小或分片大小不合法", ResponseStatusCode.BAD_REQUEST);
+        }
+
+        if (Objects.nonNull(maxFileSize) && size > maxFileSize.toBytes()) {
+            throw new RestException(String.format("文件大小不能超过%dMB", maxFileSize.toMegabytes()), ResponseStatusCode.BAD_REQUEST);
+        }
+
+        if (!StringUtils.hasText(owner)) {
+            throw new RestException("上传会话必须指定所属用户", ResponseStatusCode.BAD_REQUEST);
+        }
+
+        long chunkCount = Math.max(1, (size + chunkSize - 1) / chunkSize);
+        if (chunkCount > MAX_CHUNKS) {
+            throw new RestException(String.format("分片数不能超过%d，请增大分片大小", MAX_CHUNKS), ResponseStatusCode.BAD_REQUEST);
+        }
+
+        ChunkedUpload upload = new ChunkedUpload();
+        upload.setUploadId(IdUtil.fastSimpleUUID());
+        upload.setFilename(filename);
+        upload.setSize(size);
+        upload.setChunkSize(chunkSize);
+        upload.setChunkCount((int) chunkCount);
+        upload.setHash(StringUtils.hasText(hash) ? hash.toLowerCase() : null);
+        upload.setOwner(owner);
+
+        pruneExpiredUploads();
+        Path uploadDirectory = getUploadDirectory(upload.getUploadId());
+        Files.createDirectories(uploadDirectory.resolve(UPLOAD_CHUNKS));
+        try (RandomAccessFile data = new RandomAccessFile(uploadDirectory.resolve(UPLOAD_DATA).toFile(), "rw")) {
+            data.setLength(size);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("filename", Objects.toString(filename, ""));
+        properties.setProperty("size", String.valueOf(size));
+        properties.setProperty("chunkSize", String.valueOf(chunkSize));
+        properties.setProperty("hash", Objects.toString(upload.getHash(), ""));
+        properties.setProperty("owner", owner);
+        try (OutputStream outputStream = Files.newOutputStream(uploadDirectory.resolve(UPLOAD_META))) {
+            properties.store(outputStream, null);
         }
 
+        uploads.put(upload.getUploadId(), upload);
+        return getUpload(upload.getUploadId(), owner);
+    }
+
+    /**
+     * 使用位置写入，同一文件的不同分片可以并发写入；分片写完并校验后才记录为已接收
+     */
+    @Override
+    public ChunkedUpload writeChunk(String uploadId, String owner, int chunkIndex, InputStream stream, String chunkHash) throws IOException {
+        ChunkedUpload upload = loadUpload(uploadId, owner);
+        if (chunkIndex < 0 || chunkIndex >= upload.getChunkCount()) {
+            throw new RestException(String.format("分片下标%d超出范围", chunkIndex), ResponseStatusCode.BAD_REQUEST);
+        }
+
+        Path uploadDirectory = getUploadDirectory(uploadId);
+        long position = upload.getChunkOffset(chunkIndex);
+        long limit = position + upload.getChunkLength(chunkIndex);
+        MessageDigest digest = FileStorageService.md5();
+        try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(stream, digest));
+             FileChannel target = FileChannel.open(uploadDirectory.resolve(UPLOAD_DATA), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                if (position + buffer.remaining() > limit) {
+                    throw new RestException(String.format("分片%d的长度超出%d", chunkIndex, upload.getChunkLength(chunkIndex)), ResponseStatusCode.BAD_REQUEST);
+                }
+                while (buffer.hasRemaining()) {
+                    position += target.write(buffer, position);
+                }
+                buffer.clear();
+            }
+
+            if (position != limit) {
+                throw new RestException(String.format("分片%d不完整", chunkIndex), ResponseStatusCode.BAD_REQUEST);
+            }
+            target.force(false);
+        }
+
+        String actualHash = HexUtil.encodeHexStr(digest.digest());
+        if (StringUtils.hasText(chunkHash) && !chunkHash.equalsIgnoreCase(actualHash)) {
+            throw new RestException(String.format("分片%d的校验和不一致", chunkIndex), ResponseStatusCode.BAD_REQUEST);
+        }
+
+        //以分片的哈希作为接收标记的内容，先写临时文件再重命名，标记文件存在即分片完整
+        Path chunkMark = uploadDirectory.resolve(UPLOAD_CHUNKS).resolve(String.valueOf(chunkIndex));
+        Path tempMark = uploadDirectory.resolve(UPLOAD_CHUNKS).resolve(chunkIndex + "." + IdUtil.fastSimpleUUID());
+        Files.write(tempMark, actualHash.getBytes(StandardCharsets.US_ASCII));
+        Files.move(tempMark, chunkMark, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return getUpload(uploadId, owner);
+    }
+
+    @Override
+    public ChunkedUpload getUpload(String uploadId, String owner) throws IOException {
+        ChunkedUpload upload;
+        try {
+            upload = loadUpload(uploadId, owner);
+        } catch (RestException ex) {
+            return null;
+        }
+
+        ChunkedUpload result = new ChunkedUpload();
+        result.setUploadId(upload.getUploadId());
+        result.setFilename(upload.getFilename());
+        result.setSize(upload.getSize());
+        result.setChunkSize(upload.getChunkSize());
+        result.setChunkCount(upload.getChunkCount());
+        result.setHash(upload.getHash());
+        result.setReceivedChunks(listReceivedChunks(uploadId));
+        return result;
+    }
+
+    /**
+     * 全部分片接收后计算整个文件的哈希，与客户端声明的哈希校验一致后按内容哈希存放
+     */
+    @Override
+    public StoredFile completeUpload(String uploadId, String owner) throws IOException {
+        ChunkedUpload upload = loadUpload(uploadId, owner);
+        List<Integer> receivedChunks = listReceivedChunks(uploadId);
+        if (receivedChunks.size() != upload.getChunkCount()) {
+            throw new RestException(String.format("分片未上传完成，已接收%d/%d", receivedChunks.size(), upload.getChunkCount()), ResponseStatusCode.BAD_REQUEST);
+        }
+
+        Path data = getUploadDirectory(uploadId).resolve(UPLOAD_DATA);
+        MessageDigest digest = FileStorageService.md5();
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        String hash = HexUtil.encodeHexStr(digest.digest());
+        if (Objects.nonNull(upload.getHash()) && !upload.getHash().equals(hash)) {
+            throw new RestException("文件的哈希校验不一致，请重新上传", ResponseStatusCode.BAD_REQUEST);
+        }
+
+        Path contentFile = moveToContent(data, hash);
+        deleteUpload(uploadId);
+        return new StoredFile(toStoragePath(contentFile), hash, upload.getSize());
+    }
+
+    @Override
+    public void abortUpload(String uploadId, String owner) throws IOException {
+        loadUpload(uploadId, owner);
+        deleteUpload(uploadId);
     }
 
     @Override
     public InputStream get(String filepath) throws IOException {
         return new FileInputStream(FileUtil.file(filepath));
     }
+
+    @Override
+    public Path getLocalPath(String filepath) {
+        Path file = Paths.get(filepath);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * 获取内容哈希对应的存储路径
+     *
+     * @param hash 内容哈希
+     * @return 存储路径
+     */
+    protected Path getContentPath(String hash) {
+        return Paths.get(path, CONTENT_DIRECTORY, hash.substring(0, 2), hash);
+    }
+
+    /**
+     * 原子地重命名到内容哈希目录（content/哈希前两位/哈希），相同内容已存在时丢弃源文件，直接复用已有文件
+     */
+    private Path moveToContent(Path source, String hash) throws IOException {
+        Path contentFile = getContentPath(hash);
+        Files.createDirectories(contentFile.getParent());
+        try {
+            Files.move(source, contentFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException ex) {
+            //相同内容已存在
+            Files.deleteIfExists(source);
+        }
+
+        //部分文件系统的原子重命名会覆盖已存在的文件，内容相同不影响
+        return contentFile;
+    }
+
+    private Path getUploadDirectory(String uploadId) {
+        if (Objects.isNull(uploadId) || !UPLOAD_ID_PATTERN.matcher(uploadId).matches()) {
+            throw new RestException("上传会话ID不合法", ResponseStatusCode.BAD_REQUEST);
+        }
+
+        return Paths.get(path, UPLOAD_DIRECTORY, uploadId);
+    }
+
+    private void deleteUpload(String uploadId) {
+        Path uploadDirectory = getUploadDirectory(uploadId);
+        uploads.remove(uploadId);
+        if (Files.exists(uploadDirectory)) {
+            FileUtil.del(uploadDirectory);
+        }
+    }
+
+    /**
+     * 清理超过过期时间没有写入的上传会话及其临时文件，多次调用时每分钟最多执行一次
+     */
+    protected void pruneExpiredUploads() throws IOException {
+        long now = System.currentTimeMillis();
+        long last = lastPruneTime.get();
+        if (Objects.isNull(uploadExpiration) || now - last < PRUNE_INTERVAL || !lastPruneTime.compareAndSet(last, now)) {
+            return;
+        }
+
+        Path uploadsDirectory = Paths.get(path, UPLOAD_DIRECTORY);
+        if (!Files.isDirectory(uploadsDirectory)) {
+            return;
+        }
+
+        long expiredBefore = now - uploadExpiration.toMillis();
+        try (DirectoryStream<Path> uploadDirectories = Files.newDirectoryStream(uploadsDirectory)) {
+            for (Path uploadDirectory : uploadDirectories) {
+                String uploadId = uploadDirectory.getFileName().toString();
+                if (!UPLOAD_ID_PATTERN.matcher(uploadId).matches()) {
+                    continue;
+                }
+
+                //分片按偏移量写入数据文件，数据文件的修改时间即会话最后一次写入的时间
+                Path data = uploadDirectory.resolve(UPLOAD_DATA);
+                Path lastModified = Files.exists(data) ? data : uploadDirectory;
+                if (Files.getLastModifiedTime(lastModified).toMillis() < expiredBefore) {
+                    deleteUpload(uploadId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 加载上传会话，服务重启后从会话目录中恢复；会话不属于当前用户时视为不存在
+     */
+    private ChunkedUpload loadUpload(String uploadId, String owner) throws IOException {
+        ChunkedUpload upload = uploads.get(uploadId);
+        if (Objects.nonNull(upload)) {
+            return checkOwner(upload, owner);
+        }
+
+        Path meta = getUploadDirectory(uploadId).resolve(UPLOAD_META);
+        if (!Files.exists(meta)) {
+            throw new RestException("上传会话不存在或已完成", ResponseStatusCode.NOT_FOUND);
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(meta)) {
+            properties.load(inputStream);
+        }
+
+        upload = new ChunkedUpload();
+        upload.setUploadId(uploadId);
+        upload.setFilename(properties.getProperty("filename"));
+        upload.setSize(Long.parseLong(properties.getProperty("size")));
+        upload.setChunkSize(Integer.parseInt(properties.getProperty("chunkSize")));
+        upload.setChunkCount((int) Math.max(1, (upload.getSize() + upload.getChunkSize() - 1) / upload.getChunkSize()));
+        upload.setHash(StringUtils.hasText(properties.getProperty("hash")) ? properties.getProperty("hash") : null);
+        upload.setOwner(properties.getProperty("owner"));
+        ChunkedUpload previous = uploads.putIfAbsent(uploadId, upload);
+        return checkOwner(Objects.nonNull(previous) ? previous : upload, owner);
+    }
+
+    private ChunkedUpload checkOwner(ChunkedUpload upload, String owner) {
+        if (!StringUtils.hasText(owner) || !owner.equals(upload.getOwner())) {
+            throw new RestException("上传会话不存在或已完成", ResponseStatusCode.NOT_FOUND);
+        }
+
+        return upload;
+    }
+
+    private List<Integer> listReceivedChunks(String uploadId) throws IOException {
+        List<Integer> receivedChunks = new ArrayList<>();
+        Path chunksDirectory = getUploadDirectory(uploadId).resolve(UPLOAD_CHUNKS);
+        if (!Files.exists(chunksDirectory)) {
+            return receivedChunks;
+        }
+
+        try (DirectoryStream<Path> marks = Files.newDirectoryStream(chunksDirectory)) {
+            for (Path mark : marks) {
+                String name = mark.getFileName().toString();
+                if (name.indexOf('.') < 0) {
+                    receivedChunks.add(Integer.parseInt(name));
+                }
+            }
+        }
+
+        Collections.sort(receivedChunks);
+        return receivedChunks;
+    }
+
+    private String toStoragePath(Path file) {
+        return path + "/" + Paths.get(path).relativize(file).toString().replace('\\', '/');
+    }
 }
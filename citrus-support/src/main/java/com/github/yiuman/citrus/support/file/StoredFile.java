@@ -0,0 +1,31 @@
+package com.github.yiuman.citrus.support.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 已存储的文件内容
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Getter
+@AllArgsConstructor
+public class StoredFile {
+
+    /**
+     * 存储路径
+     */
+    private final String path;
+
+    /**
+     * 内容的MD5哈希（十六进制）
+     */
+    private final String hash;
+
+    /**
+     * 文件大小
+     */
+    private final long size;
+
+}
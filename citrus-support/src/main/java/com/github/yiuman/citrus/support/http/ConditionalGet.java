@@ -0,0 +1,38 @@
+package com.github.yiuman.citrus.support.http;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 开启条件GET，标记在Controller上<br/>
+ * 该Controller返回数据的GET接口响应ETag，请求携带的If-None-Match与当前ETag一致时直接返回304，不再执行查询。
+ * ETag由依赖实体的版本、请求路径与参数、当前用户计算，依赖实体只有通过BaseService写入时才会递增版本
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ * @see com.github.yiuman.citrus.support.crud.EntityVersions
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /**
+     * 响应数据依赖的实体类型，为空时使用Controller的模型类型（DTO Controller需指定实体类型）
+     *
+     * @return 实体类型
+     */
+    Class<?>[] value() default {};
+
+    /**
+     * 标记在接口方法上，不参与条件GET，用于进度查询等与实体版本无关的接口
+     */
+    @Documented
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Exclude {
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.yiuman.citrus.support.http;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Objects;
+
+/**
+ * 成功响应时写入{@link ConditionalGetInterceptor}计算的ETag，业务错误（code不为0）的响应不写入，避免被客户端缓存
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@ControllerAdvice
+public class ConditionalGetAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+
+        Object etag = ((ServletServerHttpRequest) request).getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        boolean success = !(body instanceof ResponseEntity)
+                || Objects.equals(((ResponseEntity<?>) body).getCode(), ResponseStatusCode.OK);
+        if (Objects.nonNull(etag) && success) {
+            response.getHeaders().set(HttpHeaders.ETAG, etag.toString());
+            response.getHeaders().set(HttpHeaders.CACHE_CONTROL, ConditionalGetInterceptor.CACHE_CONTROL);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.yiuman.citrus.support.http;
+
+import com.github.yiuman.citrus.support.crud.EntityVersions;
+import com.github.yiuman.citrus.support.crud.rest.BaseRestful;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 条件GET拦截器<br/>
+ * 在执行查询前根据实体版本计算ETag，与If-None-Match一致时直接响应304；
+ * 否则将ETag放入请求属性，由{@link ConditionalGetAdvice}在成功响应时写入响应头
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ * @see ConditionalGet
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    /**
+     * 当前请求计算的ETag
+     */
+    public static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".ETAG";
+
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private static final Class<?>[] NONE = new Class<?>[0];
+
+    /**
+     * Controller类型对应的依赖实体类型，未开启条件GET时为空数组
+     */
+    private final Map<Class<?>, Class<?>[]> dependencies = new ConcurrentHashMap<>(64);
+
+    public ConditionalGetInterceptor() {
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod) || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        //导出等直接写响应的接口及标记排除的接口不处理
+        if (void.class.equals(handlerMethod.getMethod().getReturnType())
+                || handlerMethod.hasMethodAnnotation(ConditionalGet.Exclude.class)) {
+            return true;
+        }
+
+        Class<?>[] entityClasses = dependencies.computeIfAbsent(handlerMethod.getBeanType(), beanType -> resolveDependencies(beanType, handlerMethod.getBean()));
+        if (entityClasses.length == 0) {
+            return true;
+        }
+
+        String etag = etag(request, entityClasses);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return false;
+        }
+
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    private static Class<?>[] resolveDependencies(Class<?> beanType, Object bean) {
+        ConditionalGet conditionalGet = AnnotatedElementUtils.findMergedAnnotation(beanType, ConditionalGet.class);
+        if (Objects.isNull(conditionalGet)) {
+            return NONE;
+        }
+
+        if (conditionalGet.value().length > 0) {
+            return conditionalGet.value();
+        }
+
+        return bean instanceof BaseRestful
+                ? new Class<?>[]{((BaseRestful<?, ?>) bean).getModelClass()}
+                : NONE;
+    }
+
+    private static String etag(HttpServletRequest request, Class<?>[] entityClasses) {
+        StringBuilder builder = new StringBuilder(128)
+                .append(EntityVersions.getEpoch())
+                .append('|').append(request.getRequestURI())
+                .append('?').append(Optional.ofNullable(request.getQueryString()).orElse(""))
+                .append('|').append(Optional.ofNullable(request.getUserPrincipal()).map(Principal::getName).orElse(""));
+        for (Class<?> entityClass : entityClasses) {
+            builder.append('|').append(entityClass.getName()).append('=').append(EntityVersions.get(entityClass));
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            //弱比较，忽略W/前缀
+            if ("*".equals(trimmed) || stripWeak(trimmed).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
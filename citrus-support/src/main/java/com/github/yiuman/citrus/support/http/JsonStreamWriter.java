@@ -0,0 +1,178 @@
+package com.github.yiuman.citrus.support.http;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.yiuman.citrus.support.model.Tree;
+import com.github.yiuman.citrus.support.utils.SpringUtils;
+import com.github.yiuman.citrus.support.utils.WebUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON流式写出，用于大数据量导出<br/>
+ * 数据边查询边写入响应流，每写出一定条数刷新一次，客户端支持时使用gzip压缩；
+ * 树按先序逐个节点写出，内存中只保留当前路径上的节点主键
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class JsonStreamWriter implements Closeable {
+
+    /**
+     * 每写出多少条数据刷新一次响应流
+     */
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String CHILDREN = "children";
+
+    private final ObjectWriter objectWriter;
+
+    /**
+     * 写出树节点时不序列化children
+     */
+    private final ObjectMapper nodeMapper;
+
+    private final JsonGenerator generator;
+
+    /**
+     * 当前路径上已开始、未结束的节点主键，第一个为根节点
+     */
+    private final List<Object> path = new ArrayList<>();
+
+    private long written;
+
+    public JsonStreamWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.nodeMapper = objectMapper.copy().addMixIn(Tree.class, TreeNodeMixIn.class);
+        this.generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+    }
+
+    /**
+     * 创建导出JSON文件的写出器，使用容器中的ObjectMapper，与接口响应的序列化方式一致
+     *
+     * @param request  当前请求
+     * @param response 当前响应
+     * @param fileName 文件名（不含后缀）
+     * @return 写出器，写完后需关闭
+     * @throws IOException IO异常
+     */
+    public static JsonStreamWriter export(HttpServletRequest request, HttpServletResponse response, String fileName) throws IOException {
+        WebUtils.addExportFilenameHeaders(response, fileName, "json");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (Objects.nonNull(acceptEncoding) && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            outputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE, true);
+        }
+
+        ObjectMapper objectMapper = Optional.ofNullable(SpringUtils.getBean(ObjectMapper.class)).orElseGet(ObjectMapper::new);
+        return new JsonStreamWriter(objectMapper, outputStream);
+    }
+
+    public JsonGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * 写出一个值，如数组中的一行
+     *
+     * @param value 值
+     * @throws IOException IO异常
+     */
+    public void write(Object value) throws IOException {
+        objectWriter.writeValue(generator, value);
+        afterWrite();
+    }
+
+    /**
+     * 开始写出树，写出根节点的字段并开始其children数组
+     *
+     * @param root 根节点
+     * @throws IOException IO异常
+     */
+    public void startTree(Tree<?> root) throws IOException {
+        startNode(root);
+    }
+
+    /**
+     * 按先序写出树节点，父节点不在当前路径上时挂到根节点下
+     *
+     * @param node 节点
+     * @throws IOException IO异常
+     */
+    public void writeTreeNode(Tree<?> node) throws IOException {
+        while (path.size() > 1 && !Objects.equals(path.get(path.size() - 1), node.getParentId())) {
+            endNode();
+        }
+        startNode(node);
+        afterWrite();
+    }
+
+    /**
+     * 结束树，关闭所有未结束的节点
+     *
+     * @throws IOException IO异常
+     */
+    public void endTree() throws IOException {
+        while (!path.isEmpty()) {
+            endNode();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        //关闭时同时结束gzip流
+        generator.close();
+    }
+
+    private void startNode(Tree<?> node) throws IOException {
+        JsonNode fields = nodeMapper.valueToTree(node);
+        generator.writeStartObject();
+        Iterator<Map.Entry<String, JsonNode>> iterator = fields.fields();
+        while (iterator.hasNext()) {
+            Map.Entry<String, JsonNode> field = iterator.next();
+            generator.writeFieldName(field.getKey());
+            generator.writeTree(field.getValue());
+        }
+        generator.writeArrayFieldStart(CHILDREN);
+        path.add(node.getId());
+    }
+
+    private void endNode() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        path.remove(path.size() - 1);
+    }
+
+    private void afterWrite() throws IOException {
+        if (++written % FLUSH_INTERVAL == 0) {
+            generator.flush();
+        }
+    }
+
+    @JsonIgnoreProperties(CHILDREN)
+    abstract static class TreeNodeMixIn {
+    }
+}
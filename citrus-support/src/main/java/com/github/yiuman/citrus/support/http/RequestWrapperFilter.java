@@ -26,7 +26,9 @@ public class RequestWrapperFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         String contentType = request.getContentType();
         if (StrUtil.isNotBlank(contentType)
-                && (contentType.contains("multipart/form-data") || contentType.contains("application/x-www-form-urlencoded"))) {
+                && (contentType.contains("multipart/form-data") || contentType.contains("application/x-www-form-urlencoded")
+                || contentType.contains("application/octet-stream"))) {
+            //二进制内容（如分片上传）直接流式读取，不缓存到内存
             filterChain.doFilter(request, response);
         } else {
             filterChain.doFilter(new RequestWrapper(request), response);
@@ -1,23 +1,40 @@
 package com.github.yiuman.citrus.support.inject.impl;
 
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
 import com.github.yiuman.citrus.support.inject.InjectAnnotationParser;
 import com.github.yiuman.citrus.support.inject.InjectAnnotationParserHolder;
 import com.github.yiuman.citrus.support.utils.ClassUtils;
-import com.github.yiuman.citrus.support.utils.LambdaUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.*;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * 注解注入解析器持有实现
+ * 注解注入解析器持有实现<br/>
+ * 每个类型第一次注入时编译注入计划：找出字段或setter上有解析器的注解，将setter（没有时为字段）转为MethodHandle。
+ * 相等的注解共用一个解析值，同一请求中只解析一次，请求外每次注入解析一次
  *
  * @author yiuman
  * @date 2020/7/23
@@ -27,14 +44,28 @@ import java.util.*;
 @SuppressWarnings("unchecked")
 public class InjectAnnotationParserHolderImpl implements InjectAnnotationParserHolder {
 
+    private static final String RESOLVED_VALUES_ATTRIBUTE = InjectAnnotationParserHolderImpl.class.getName() + ".RESOLVED_VALUES";
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final InjectionPoint[] NONE = new InjectionPoint[0];
+
     /**
      * 从容器中注入
      */
     private final Set<InjectAnnotationParser<? extends Annotation>> parserSet;
 
-    private static final Map<Class<? extends Annotation>, InjectAnnotationParser<? extends Annotation>> PARSER_MAP = new HashMap<>();
+    private static final Map<Class<? extends Annotation>, InjectAnnotationParser<? extends Annotation>> PARSER_MAP = new ConcurrentHashMap<>();
 
-    private static final Set<Class<? extends Annotation>> INJECT_ANNOTATIONS = new HashSet<>();
+    /**
+     * 类型对应的注入计划，注册解析器时清空
+     */
+    private static final Map<Class<?>, InjectionPoint[]> PLANS = new ConcurrentHashMap<>(64);
+
+    /**
+     * 注解对应的解析值，相等的注解共用
+     */
+    private static final Map<Annotation, ResolvedValue> RESOLVED_VALUES = new ConcurrentHashMap<>(16);
 
     public InjectAnnotationParserHolderImpl(Set<InjectAnnotationParser<?>> parserSet) {
         this.parserSet = parserSet;
@@ -55,12 +86,13 @@ public class InjectAnnotationParserHolderImpl implements InjectAnnotationParserH
         Class<? extends Annotation> superClassGenericType =
                 (Class<? extends Annotation>) ClassUtils.getGenericInterfaceType(parser.getClass());
         PARSER_MAP.put(superClassGenericType, parser);
-        INJECT_ANNOTATIONS.add(superClassGenericType);
+        PLANS.clear();
+        RESOLVED_VALUES.clear();
     }
 
     @Override
     public <A extends Annotation> Object parse(A annotation) {
-        InjectAnnotationParser<A> injectAnnotationParser = (InjectAnnotationParser<A>) PARSER_MAP.get(ClassUtils.getRealClass(annotation.getClass()));
+        InjectAnnotationParser<A> injectAnnotationParser = (InjectAnnotationParser<A>) PARSER_MAP.get(annotation.annotationType());
         if (Objects.nonNull(injectAnnotationParser)) {
             return injectAnnotationParser.parse(annotation);
         }
@@ -70,38 +102,168 @@ public class InjectAnnotationParserHolderImpl implements InjectAnnotationParserH
 
     @Override
     public void inject(Object target) {
-        Class<?> targetClass = target.getClass();
-        try {
-            for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(targetClass)) {
-                if ("class".equals(pd.getName())) {
-                    continue;
-                }
-                Field field = ReflectionUtils.findField(targetClass, pd.getName());
-                if (Objects.isNull(field)) {
+        if (Objects.isNull(target)) {
+            return;
+        }
+
+        InjectionPoint[] points = PLANS.computeIfAbsent(target.getClass(), InjectAnnotationParserHolderImpl::compile);
+        if (points.length == 0) {
+            return;
+        }
+
+        Map<ResolvedValue, Object> values = currentValues();
+        for (InjectionPoint point : points) {
+            try {
+                point.inject(target, point.value.resolve(values));
+            } catch (Throwable throwable) {
+                log.info("注解注入器注入失败，{}.{}", target.getClass().getName(), point.name, throwable);
+            }
+        }
+    }
+
+    /**
+     * 当前请求已解析的值，不在请求中时只在本次注入中共用
+     */
+    private static Map<ResolvedValue, Object> currentValues() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.isNull(requestAttributes)) {
+            return new IdentityHashMap<>(4);
+        }
+
+        Map<ResolvedValue, Object> values = (Map<ResolvedValue, Object>) requestAttributes.getAttribute(RESOLVED_VALUES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (Objects.isNull(values)) {
+            values = new IdentityHashMap<>(4);
+            requestAttributes.setAttribute(RESOLVED_VALUES_ATTRIBUTE, values, RequestAttributes.SCOPE_REQUEST);
+        }
+        return values;
+    }
+
+    private static InjectionPoint[] compile(Class<?> targetClass) {
+        List<InjectionPoint> points = new ArrayList<>();
+        Set<String> properties = new HashSet<>();
+        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(targetClass)) {
+            if ("class".equals(pd.getName())) {
+                continue;
+            }
+
+            properties.add(pd.getName());
+            Field field = ReflectionUtils.findField(targetClass, pd.getName());
+            Method writeMethod = pd.getWriteMethod();
+            List<Annotation> annotations = new ArrayList<>();
+            if (Objects.nonNull(field)) {
+                Collections.addAll(annotations, field.getDeclaredAnnotations());
+            }
+            if (Objects.nonNull(writeMethod)) {
+                Collections.addAll(annotations, writeMethod.getDeclaredAnnotations());
+            }
+
+            for (Annotation annotation : annotations) {
+                if (!PARSER_MAP.containsKey(annotation.annotationType())) {
                     continue;
                 }
-                ReflectionUtils.makeAccessible(field);
-                Method writeMethod = pd.getWriteMethod();
-                ReflectionUtils.makeAccessible(writeMethod);
-
-                List<Annotation> fieldAnnotations = Arrays.asList(field.getDeclaredAnnotations());
-                fieldAnnotations.addAll(Arrays.asList(writeMethod.getDeclaredAnnotations()));
-
-                if (!CollectionUtils.isEmpty(fieldAnnotations)) {
-                    fieldAnnotations.parallelStream()
-                            .filter(annotation -> INJECT_ANNOTATIONS.contains(ClassUtils.getRealClass(annotation.getClass())))
-                            .forEach(LambdaUtils.consumerWrapper(annotation -> {
-                                //todo 这里需要优化类型转化
-                                Object parseValue = parse(annotation);
-                                writeMethod.invoke(target, parseValue);
-                            }));
+
+                if (Objects.nonNull(writeMethod)) {
+                    ReflectionUtils.makeAccessible(writeMethod);
+                    points.add(new InjectionPoint(pd.getName(), writeMethod.getParameterTypes()[0],
+                            writeMethod.getGenericParameterTypes()[0], unreflect(writeMethod, null), annotation));
+                } else if (Objects.nonNull(field) && !Modifier.isFinal(field.getModifiers())) {
+                    points.add(fieldPoint(field, annotation));
                 }
+            }
+        }
+
+        //没有对应属性的字段直接写入
+        ReflectionUtils.doWithFields(targetClass,
+                field -> {
+                    for (Annotation annotation : field.getDeclaredAnnotations()) {
+                        if (PARSER_MAP.containsKey(annotation.annotationType())) {
+                            points.add(fieldPoint(field, annotation));
+                        }
+                    }
+                },
+                field -> !Modifier.isStatic(field.getModifiers())
+                        && !Modifier.isFinal(field.getModifiers())
+                        && !properties.contains(field.getName()));
+
+        return points.isEmpty() ? NONE : points.toArray(NONE);
+    }
+
+    private static InjectionPoint fieldPoint(Field field, Annotation annotation) {
+        ReflectionUtils.makeAccessible(field);
+        return new InjectionPoint(field.getName(), field.getType(), field.getGenericType(), unreflect(null, field), annotation);
+    }
+
+    private static MethodHandle unreflect(Method writeMethod, Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = Objects.nonNull(writeMethod) ? lookup.unreflect(writeMethod) : lookup.unreflectSetter(field);
+            return handle.asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 注入点，注入前按需转换类型
+     */
+    private static final class InjectionPoint {
+
+        private final String name;
+
+        private final Class<?> type;
+
+        private final Type genericType;
 
+        private final boolean primitive;
+
+        private final MethodHandle setter;
+
+        private final ResolvedValue value;
+
+        InjectionPoint(String name, Class<?> type, Type genericType, MethodHandle setter, Annotation annotation) {
+            this.name = name;
+            this.type = BasicType.wrap(type);
+            this.genericType = genericType;
+            this.primitive = type.isPrimitive();
+            this.setter = setter;
+            this.value = RESOLVED_VALUES.computeIfAbsent(annotation,
+                    key -> new ResolvedValue(key, (InjectAnnotationParser<Annotation>) PARSER_MAP.get(key.annotationType())));
+        }
+
+        void inject(Object target, Object value) throws Throwable {
+            if (Objects.isNull(value)) {
+                if (primitive) {
+                    return;
+                }
+            } else if (!type.isInstance(value)) {
+                value = Convert.convert(genericType, value);
             }
-        } catch (Exception e) {
-            log.info("注解注入器注入失败", e);
+            setter.invokeExact(target, value);
+        }
+    }
+
+    /**
+     * 注解的解析值，在已解析的值中按引用查找
+     */
+    private static final class ResolvedValue {
+
+        private final Annotation annotation;
+
+        private final InjectAnnotationParser<Annotation> parser;
+
+        ResolvedValue(Annotation annotation, InjectAnnotationParser<Annotation> parser) {
+            this.annotation = annotation;
+            this.parser = parser;
         }
 
+        Object resolve(Map<ResolvedValue, Object> values) {
+            Object value = values.get(this);
+            if (Objects.isNull(value) && !values.containsKey(this)) {
+                value = parser.parse(annotation);
+                values.put(this, value);
+            }
+            return value;
+        }
     }
 
 }
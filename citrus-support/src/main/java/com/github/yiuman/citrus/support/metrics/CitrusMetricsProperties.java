@@ -0,0 +1,107 @@
+package com.github.yiuman.citrus.support.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 指标配置，需要容器中存在MeterRegistry（如引入spring-boot-starter-actuator）
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@ConfigurationProperties(prefix = "citrus.metrics")
+public class CitrusMetricsProperties {
+
+    /**
+     * 是否开启指标，关闭后不注册任何切面与拦截器
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否记录CrudService操作的耗时
+     */
+    private boolean crud = true;
+
+    /**
+     * 是否记录通用Controller接口的耗时
+     */
+    private boolean rest = true;
+
+    /**
+     * 是否记录Mybatis语句的耗时、行数与批量大小
+     */
+    private boolean mybatis = true;
+
+    /**
+     * 是否记录框架线程池的队列深度、活跃线程与拒绝次数
+     */
+    private boolean executor = true;
+
+    /**
+     * 是否按写入的数据源数统计链式事务
+     */
+    private boolean transaction = true;
+
+    /**
+     * 是否记录验证码池的深度、补充与未命中次数
+     */
+    private boolean captcha = true;
+
+    public CitrusMetricsProperties() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isCrud() {
+        return crud;
+    }
+
+    public void setCrud(boolean crud) {
+        this.crud = crud;
+    }
+
+    public boolean isRest() {
+        return rest;
+    }
+
+    public void setRest(boolean rest) {
+        this.rest = rest;
+    }
+
+    public boolean isMybatis() {
+        return mybatis;
+    }
+
+    public void setMybatis(boolean mybatis) {
+        this.mybatis = mybatis;
+    }
+
+    public boolean isExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(boolean executor) {
+        this.executor = executor;
+    }
+
+    public boolean isTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(boolean transaction) {
+        this.transaction = transaction;
+    }
+
+    public boolean isCaptcha() {
+        return captcha;
+    }
+
+    public void setCaptcha(boolean captcha) {
+        this.captcha = captcha;
+    }
+}
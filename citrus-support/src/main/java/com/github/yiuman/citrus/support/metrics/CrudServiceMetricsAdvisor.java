@@ -0,0 +1,76 @@
+package com.github.yiuman.citrus.support.metrics;
+
+import com.github.yiuman.citrus.support.crud.service.CrudService;
+import com.github.yiuman.citrus.support.crud.service.EntityTypeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * CrudService操作耗时的切面<br/>
+ * 指标名为citrus.crud，标签：entity（实体类型）、service（服务类型）、operation（操作）、exception；
+ * DTO服务与其委托的基础服务分别记录，可通过service标签区分
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class CrudServiceMetricsAdvisor extends AbstractPointcutAdvisor {
+
+    public static final String METRIC_NAME = "citrus.crud";
+
+    private static final Set<String> OPERATIONS = new HashSet<>(Arrays.asList(
+            "get", "list", "page", "save", "update", "batchSave", "remove", "batchRemove", "clear"
+    ));
+
+    private final Advice advice;
+
+    private final Pointcut pointcut = new CrudServicePointcut();
+
+    public CrudServiceMetricsAdvisor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.advice = new TimedMethodInterceptor(registryProvider, METRIC_NAME, CrudServiceMetricsAdvisor::targetTags);
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return advice;
+    }
+
+    private static Tags targetTags(Object target) {
+        Class<?> entityType = target instanceof EntityTypeService
+                ? ((EntityTypeService<?>) target).getEntityType()
+                : null;
+        return Tags.of(
+                "entity", Objects.nonNull(entityType) ? entityType.getSimpleName() : "unknown",
+                "service", TimedMethodInterceptor.simpleName(target)
+        );
+    }
+
+    private static class CrudServicePointcut extends StaticMethodMatcherPointcut {
+
+        CrudServicePointcut() {
+            setClassFilter(CrudService.class::isAssignableFrom);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return OPERATIONS.contains(method.getName());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.yiuman.citrus.support.metrics;
+
+import com.github.yiuman.citrus.support.datasource.DynamicDataSourceHolder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mybatis语句指标拦截器<br/>
+ * <ul>
+ *     <li>citrus.mybatis.statement：语句耗时，标签statement（MappedStatement的ID）、command、datasource、exception</li>
+ *     <li>citrus.mybatis.rows：查询返回或更新影响的行数，标签statement、command、datasource</li>
+ *     <li>citrus.mybatis.batch.size：批量执行时每条语句的批大小，标签同上</li>
+ *     <li>citrus.mybatis.flush：批量执行刷新（真正执行批量语句）的耗时，标签datasource</li>
+ * </ul>
+ * 批量执行器中的update只是加入批次，不记录耗时，批次在flushStatements时统计
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class MybatisMetricsInterceptor implements Interceptor {
+
+    public static final String STATEMENT_METRIC_NAME = "citrus.mybatis.statement";
+
+    public static final String ROWS_METRIC_NAME = "citrus.mybatis.rows";
+
+    public static final String BATCH_SIZE_METRIC_NAME = "citrus.mybatis.batch.size";
+
+    public static final String FLUSH_METRIC_NAME = "citrus.mybatis.flush";
+
+    private static final String FLUSH_STATEMENTS = "flushStatements";
+
+    /**
+     * 未切换数据源时的数据源标签
+     */
+    private static final String PRIMARY_DATASOURCE = "primary";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>(256);
+
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>(256);
+
+    private final Map<String, DistributionSummary> batchSummaries = new ConcurrentHashMap<>(256);
+
+    private final Map<String, Timer> flushTimers = new ConcurrentHashMap<>(8);
+
+    private volatile MeterRegistry registry;
+
+    public MybatisMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MeterRegistry meterRegistry = getRegistry();
+        if (Objects.isNull(meterRegistry)) {
+            return invocation.proceed();
+        }
+
+        String datasource = currentDataSource();
+        long start = meterRegistry.config().clock().monotonicTime();
+        if (FLUSH_STATEMENTS.equals(invocation.getMethod().getName())) {
+            return flush(invocation, meterRegistry, datasource, start);
+        }
+
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable throwable) {
+            Timer.builder(STATEMENT_METRIC_NAME)
+                    .tags(statementTags(mappedStatement, datasource))
+                    .tag(TimedMethodInterceptor.TAG_EXCEPTION, unwrap(throwable).getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+            throw throwable;
+        }
+
+        if (result instanceof Integer && (Integer) result == BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+            return result;
+        }
+
+        long elapsed = meterRegistry.config().clock().monotonicTime() - start;
+        String key = datasource + '#' + mappedStatement.getId();
+        timers.computeIfAbsent(key, k -> Timer.builder(STATEMENT_METRIC_NAME)
+                .tags(statementTags(mappedStatement, datasource))
+                .tag(TimedMethodInterceptor.TAG_EXCEPTION, TimedMethodInterceptor.EXCEPTION_NONE)
+                .register(meterRegistry)
+        ).record(elapsed, TimeUnit.NANOSECONDS);
+
+        long rows = rows(result);
+        if (rows >= 0) {
+            getSummary(rowSummaries, ROWS_METRIC_NAME, "rows", key, mappedStatement, datasource, meterRegistry).record(rows);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object flush(Invocation invocation, MeterRegistry meterRegistry, String datasource, long start) throws Throwable {
+        Object result = invocation.proceed();
+        List<BatchResult> batchResults = (List<BatchResult>) result;
+        if (Objects.isNull(batchResults) || batchResults.isEmpty()) {
+            return result;
+        }
+
+        flushTimers.computeIfAbsent(datasource, k -> Timer.builder(FLUSH_METRIC_NAME)
+                .tag("datasource", datasource)
+                .register(meterRegistry)
+        ).record(meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+
+        for (BatchResult batchResult : batchResults) {
+            MappedStatement mappedStatement = batchResult.getMappedStatement();
+            String key = datasource + '#' + mappedStatement.getId();
+            getSummary(batchSummaries, BATCH_SIZE_METRIC_NAME, null, key, mappedStatement, datasource, meterRegistry)
+                    .record(batchResult.getParameterObjects().size());
+            long rows = 0;
+            for (int updateCount : batchResult.getUpdateCounts()) {
+                //批量驱动可能返回SUCCESS_NO_INFO(-2)
+                rows += Math.max(updateCount, 0);
+            }
+            getSummary(rowSummaries, ROWS_METRIC_NAME, "rows", key, mappedStatement, datasource, meterRegistry).record(rows);
+        }
+        return result;
+    }
+
+    private DistributionSummary getSummary(Map<String, DistributionSummary> summaries, String name, String baseUnit,
+                                           String key, MappedStatement mappedStatement, String datasource,
+                                           MeterRegistry meterRegistry) {
+        return summaries.computeIfAbsent(key, k -> DistributionSummary.builder(name)
+                .baseUnit(baseUnit)
+                .tags(statementTags(mappedStatement, datasource))
+                .register(meterRegistry));
+    }
+
+    private static Tags statementTags(MappedStatement mappedStatement, String datasource) {
+        return Tags.of(
+                "statement", mappedStatement.getId(),
+                "command", mappedStatement.getSqlCommandType().name(),
+                "datasource", datasource
+        );
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+
+        return -1;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof InvocationTargetException && Objects.nonNull(throwable.getCause())
+                ? throwable.getCause()
+                : throwable;
+    }
+
+    private static String currentDataSource() {
+        String datasource = DynamicDataSourceHolder.peek();
+        return StringUtils.hasText(datasource) ? datasource : PRIMARY_DATASOURCE;
+    }
+
+    private MeterRegistry getRegistry() {
+        MeterRegistry current = registry;
+        if (Objects.isNull(current)) {
+            current = registry = registryProvider.getIfAvailable();
+        }
+        return current;
+    }
+}
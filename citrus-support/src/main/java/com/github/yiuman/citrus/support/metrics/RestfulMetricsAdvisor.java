@@ -0,0 +1,75 @@
+package com.github.yiuman.citrus.support.metrics;
+
+import com.github.yiuman.citrus.support.crud.rest.BaseRestful;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 通用Controller接口耗时的切面<br/>
+ * 指标名为citrus.rest，作用于BaseRestful子类的请求处理方法以及page、exp，
+ * 标签：controller、entity（模型类型）、operation（方法名）、exception；
+ * 请求处理方法内部调用的page、exp不经过代理，其耗时包含在对应接口中
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class RestfulMetricsAdvisor extends AbstractPointcutAdvisor {
+
+    public static final String METRIC_NAME = "citrus.rest";
+
+    private static final Set<String> OPERATIONS = new HashSet<>(Arrays.asList("page", "exp"));
+
+    private final Advice advice;
+
+    private final Pointcut pointcut = new RestfulPointcut();
+
+    public RestfulMetricsAdvisor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.advice = new TimedMethodInterceptor(registryProvider, METRIC_NAME, RestfulMetricsAdvisor::targetTags);
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return advice;
+    }
+
+    private static Tags targetTags(Object target) {
+        Class<?> modelClass = target instanceof BaseRestful ? ((BaseRestful<?, ?>) target).getModelClass() : null;
+        return Tags.of(
+                "controller", TimedMethodInterceptor.simpleName(target),
+                "entity", Objects.nonNull(modelClass) ? modelClass.getSimpleName() : "unknown"
+        );
+    }
+
+    private static class RestfulPointcut extends StaticMethodMatcherPointcut {
+
+        RestfulPointcut() {
+            setClassFilter(BaseRestful.class::isAssignableFrom);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return OPERATIONS.contains(method.getName())
+                    || AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class);
+        }
+    }
+}
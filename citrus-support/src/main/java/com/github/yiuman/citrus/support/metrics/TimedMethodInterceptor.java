@@ -0,0 +1,116 @@
+package com.github.yiuman.citrus.support.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 记录方法耗时的拦截器<br/>
+ * 标签为目标类型的标签加上operation（方法名）与exception（异常类型，正常时为none）；
+ * 正常调用的Timer按目标类型与方法缓存，调用时不再构建标签
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class TimedMethodInterceptor implements MethodInterceptor {
+
+    static final String TAG_OPERATION = "operation";
+
+    static final String TAG_EXCEPTION = "exception";
+
+    static final String EXCEPTION_NONE = "none";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+
+    private final String metricName;
+
+    private final Function<Object, Tags> targetTagsResolver;
+
+    private final Map<Class<?>, Tags> targetTags = new ConcurrentHashMap<>(256);
+
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>(256);
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * @param registryProvider   指标注册器，首次调用时才获取，避免创建切面时提前初始化
+     * @param metricName         指标名称
+     * @param targetTagsResolver 根据目标对象解析标签，每个目标类型只解析一次
+     */
+    public TimedMethodInterceptor(ObjectProvider<MeterRegistry> registryProvider, String metricName, Function<Object, Tags> targetTagsResolver) {
+        this.registryProvider = registryProvider;
+        this.metricName = metricName;
+        this.targetTagsResolver = targetTagsResolver;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry meterRegistry = getRegistry();
+        Object target = invocation.getThis();
+        if (Objects.isNull(meterRegistry) || Objects.isNull(target)) {
+            return invocation.proceed();
+        }
+
+        long start = meterRegistry.config().clock().monotonicTime();
+        try {
+            Object result = invocation.proceed();
+            getTimer(meterRegistry, target, invocation.getMethod())
+                    .record(meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable throwable) {
+            Timer.builder(metricName)
+                    .tags(getTargetTags(target))
+                    .tag(TAG_OPERATION, invocation.getMethod().getName())
+                    .tag(TAG_EXCEPTION, throwable.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+            throw throwable;
+        }
+    }
+
+    private Timer getTimer(MeterRegistry meterRegistry, Object target, Method method) {
+        Map<Method, Timer> methodTimers = timers.computeIfAbsent(target.getClass(), key -> new ConcurrentHashMap<>(16));
+        Timer timer = methodTimers.get(method);
+        if (Objects.isNull(timer)) {
+            timer = methodTimers.computeIfAbsent(method, key -> Timer.builder(metricName)
+                    .tags(getTargetTags(target))
+                    .tag(TAG_OPERATION, key.getName())
+                    .tag(TAG_EXCEPTION, EXCEPTION_NONE)
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+
+    private Tags getTargetTags(Object target) {
+        return targetTags.computeIfAbsent(target.getClass(), key -> targetTagsResolver.apply(target));
+    }
+
+    private MeterRegistry getRegistry() {
+        MeterRegistry current = registry;
+        if (Objects.isNull(current)) {
+            current = registry = registryProvider.getIfAvailable();
+        }
+        return current;
+    }
+
+    /**
+     * 目标的类型名，去掉CGLIB等代理生成的后缀
+     *
+     * @param target 目标对象
+     * @return 类型的简单名称
+     */
+    static String simpleName(Object target) {
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.yiuman.citrus.support.model;
+
+/**
+ * 分页查询总数的统计方式
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public enum CountMode {
+
+    /**
+     * 精确统计，每次分页都执行COUNT
+     */
+    EXACT,
+
+    /**
+     * 按查询条件指纹缓存精确统计的结果，缓存过期前总数可能滞后
+     */
+    CACHED,
+
+    /**
+     * 使用数据库执行计划的估算行数，数据库不支持时退回精确统计
+     */
+    ESTIMATED,
+
+    /**
+     * 不统计总数（total为-1），通过多查询一条记录判断是否还有下一页
+     */
+    NONE
+}
@@ -46,6 +46,31 @@ public class Page<T> extends com.baomidou.mybatisplus.extension.plugins.paginati
      */
     private Object view;
 
+    /**
+     * 总数统计方式，为空时精确统计
+     */
+    private CountMode countMode;
+
+    /**
+     * 游标，不为空时使用游标分页（第一页传空字符串）
+     */
+    private String cursor;
+
+    /**
+     * 下一页的游标，没有下一页时为空
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页，只有非精确统计或游标分页时才有值
+     */
+    private Boolean hasMore;
+
+    /**
+     * 是否多查询一条记录用于判断是否有下一页
+     */
+    private boolean probing;
+
     public Page() {
     }
 
@@ -106,6 +131,58 @@ public class Page<T> extends com.baomidou.mybatisplus.extension.plugins.paginati
         });
     }
 
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    public void setCountMode(CountMode countMode) {
+        this.countMode = countMode;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * 开启或关闭探测，开启后查询的条数比分页大小多一条，偏移量不变
+     *
+     * @param probing 是否探测
+     */
+    public void probe(boolean probing) {
+        this.probing = probing;
+    }
+
+    @Override
+    public long getSize() {
+        return probing ? super.getSize() + 1 : super.getSize();
+    }
+
+    @Override
+    public long offset() {
+        long current = getCurrent();
+        return current <= 1L ? 0L : Math.max((current - 1) * super.getSize(), 0L);
+    }
+
     public Object getView() {
         return view;
     }
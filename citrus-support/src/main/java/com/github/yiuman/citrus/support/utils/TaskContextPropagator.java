@@ -0,0 +1,33 @@
+package com.github.yiuman.citrus.support.utils;
+
+/**
+ * 任务上下文传递，用于将提交线程的ThreadLocal上下文（数据源、MDC、认证信息等）带到{@link ThreadUtils}的工作线程中
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ * @see ThreadUtils#addPropagator(TaskContextPropagator)
+ */
+@FunctionalInterface
+public interface TaskContextPropagator {
+
+    /**
+     * 在提交任务的线程中调用，捕获当前上下文
+     *
+     * @return 上下文快照
+     */
+    Snapshot capture();
+
+    /**
+     * 上下文快照
+     */
+    @FunctionalInterface
+    interface Snapshot {
+
+        /**
+         * 在执行任务的线程中调用，还原捕获的上下文
+         *
+         * @return 任务结束后的清理操作，用于恢复执行线程原有的上下文
+         */
+        Runnable restore();
+    }
+}
@@ -1,15 +1,41 @@
 package com.github.yiuman.citrus.support.utils;
 
-import java.util.concurrent.*;
+import cn.hutool.core.thread.NamedThreadFactory;
+import com.github.yiuman.citrus.support.datasource.DynamicDataSourceHolder;
+import org.slf4j.MDC;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
- * 线程执行工具类
+ * 线程执行工具类<br/>
+ * 框架统一的有界线程池，提交的任务会带上提交线程的上下文（数据源、MDC及通过{@link #addPropagator(TaskContextPropagator)}注册的上下文）。
+ * 事务不会传递，工作线程中的查询看不到当前事务未提交的数据，因此事务中的{@link #forEach}、{@link #map}在当前线程顺序执行
  *
  * @author yiuman
  * @date 2020/11/20
  */
 public final class ThreadUtils {
 
+    public static final String THREAD_POOL_NAME = "citrus-task";
 
     public static final int CORE_POOL_SIZE = Runtime.getRuntime().availableProcessors() + 1;
 
@@ -19,16 +45,49 @@ public final class ThreadUtils {
 
     public static final int BLOCK_QUEUE_SIZE = 1000;
 
+    /**
+     * 并行处理的默认阈值，每个分片至少包含的元素个数，元素少于两个分片时顺序执行
+     */
+    public static final int PARALLEL_THRESHOLD = 64;
+
+    private static final String THREAD_NAME_PREFIX = THREAD_POOL_NAME + "-";
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    private static final LongAdder REJECTED = new LongAdder();
+
+    /**
+     * 队列已满时由提交线程执行，任务已包装上下文，执行后恢复提交线程原有的上下文；
+     * 线程池已关闭时抛出异常，避免任务被丢弃后其Future永远不会完成
+     */
+    static final RejectedExecutionHandler CALLER_RUNS_UNLESS_SHUTDOWN = (runnable, executor) -> {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Task " + runnable + " rejected from " + executor + " because it has been shut down");
+        }
+
+        REJECTED.increment();
+        runnable.run();
+    };
+
+    private static final List<TaskContextPropagator> PROPAGATORS = new CopyOnWriteArrayList<>(Arrays.asList(
+            ThreadUtils::captureDataSource,
+            ThreadUtils::captureMdc
+    ));
+
+    private ThreadUtils() {
+    }
+
     public static void executor(Runnable runnable) {
-        getThreadPoolExecutor().execute(runnable);
+        getThreadPoolExecutor().execute(wrap(runnable));
     }
 
     public static <T> Future<T> submit(Callable<T> callable) {
-        return getThreadPoolExecutor().submit(callable);
+        return getThreadPoolExecutor().submit(wrap(callable));
     }
 
     /**
-     * 获取线程池对象
+     * 获取线程池对象，直接向线程池提交的任务不会传递上下文
      *
      * @return 线程池
      */
@@ -36,9 +95,219 @@ public final class ThreadUtils {
         return TreadPoolHolder.THREAD_POOL;
     }
 
+    /**
+     * 线程池队列已满时由提交线程执行的任务数
+     *
+     * @return 拒绝次数
+     */
+    public static long getRejectedCount() {
+        return REJECTED.sum();
+    }
+
+    /**
+     * 注册上下文传递，相同类型的只注册一次
+     *
+     * @param propagator 上下文传递
+     */
+    public static void addPropagator(TaskContextPropagator propagator) {
+        synchronized (PROPAGATORS) {
+            if (PROPAGATORS.stream().noneMatch(registered -> registered.getClass().equals(propagator.getClass()))) {
+                PROPAGATORS.add(propagator);
+            }
+        }
+    }
+
+    /**
+     * 包装任务，执行时还原当前线程的上下文
+     *
+     * @param runnable 任务
+     * @return 带上下文的任务
+     */
+    public static Runnable wrap(Runnable runnable) {
+        List<TaskContextPropagator.Snapshot> snapshots = capture();
+        return () -> {
+            List<Runnable> resets = restore(snapshots);
+            try {
+                runnable.run();
+            } finally {
+                reset(resets);
+            }
+        };
+    }
+
+    /**
+     * 包装任务，执行时还原当前线程的上下文
+     *
+     * @param callable 任务
+     * @param <T>      返回类型
+     * @return 带上下文的任务
+     */
+    public static <T> Callable<T> wrap(Callable<T> callable) {
+        List<TaskContextPropagator.Snapshot> snapshots = capture();
+        return () -> {
+            List<Runnable> resets = restore(snapshots);
+            try {
+                return callable.call();
+            } finally {
+                reset(resets);
+            }
+        };
+    }
+
+    /**
+     * 遍历集合，元素足够多时分片并行处理
+     *
+     * @param items  集合
+     * @param action 处理逻辑
+     * @param <T>    元素类型
+     */
+    public static <T> void forEach(Collection<T> items, Consumer<? super T> action) {
+        forEach(items, PARALLEL_THRESHOLD, action);
+    }
+
+    /**
+     * 遍历集合，元素足够多时分片并行处理
+     *
+     * @param items     集合
+     * @param threshold 每个分片至少包含的元素个数
+     * @param action    处理逻辑
+     * @param <T>       元素类型
+     */
+    public static <T> void forEach(Collection<T> items, int threshold, Consumer<? super T> action) {
+        map(items, threshold, item -> {
+            action.accept(item);
+            return null;
+        });
+    }
+
+    /**
+     * 转换集合，元素足够多时分片并行处理，结果与原集合顺序一致
+     *
+     * @param items  集合
+     * @param mapper 转换逻辑
+     * @param <T>    元素类型
+     * @param <R>    结果类型
+     * @return 结果列表
+     */
+    public static <T, R> List<R> map(Collection<T> items, Function<? super T, ? extends R> mapper) {
+        return map(items, PARALLEL_THRESHOLD, mapper);
+    }
+
+    /**
+     * 转换集合，元素足够多时分片并行处理，结果与原集合顺序一致<br/>
+     * 以下情况在当前线程顺序执行：元素不足两个分片、当前线程处于事务中、当前线程已是线程池的工作线程（避免嵌套提交占满线程池）
+     *
+     * @param items     集合
+     * @param threshold 每个分片至少包含的元素个数
+     * @param mapper    转换逻辑
+     * @param <T>       元素类型
+     * @param <R>       结果类型
+     * @return 结果列表
+     */
+    public static <T, R> List<R> map(Collection<T> items, int threshold, Function<? super T, ? extends R> mapper) {
+        if (CollectionUtils.isEmpty(items)) {
+            return new ArrayList<>();
+        }
+
+        List<T> list = items instanceof List ? (List<T>) items : new ArrayList<>(items);
+        int chunks = Math.min(MAX_POOL_SIZE, list.size() / Math.max(threshold, 1));
+        if (chunks < 2
+                || TransactionSynchronizationManager.isActualTransactionActive()
+                || Thread.currentThread().getName().startsWith(THREAD_NAME_PREFIX)) {
+            return mapChunk(list, mapper);
+        }
+
+        int chunkSize = (list.size() + chunks - 1) / chunks;
+        List<Future<List<R>>> futures = new ArrayList<>(chunks - 1);
+        for (int start = chunkSize; start < list.size(); start += chunkSize) {
+            List<T> chunk = list.subList(start, Math.min(start + chunkSize, list.size()));
+            futures.add(submit(() -> mapChunk(chunk, mapper)));
+        }
+
+        //第一个分片由当前线程处理
+        List<R> results = new ArrayList<>(list.size());
+        results.addAll(mapChunk(list.subList(0, chunkSize), mapper));
+        for (Future<List<R>> future : futures) {
+            results.addAll(await(future));
+        }
+        return results;
+    }
+
+    private static <T, R> List<R> mapChunk(List<T> chunk, Function<? super T, ? extends R> mapper) {
+        List<R> results = new ArrayList<>(chunk.size());
+        chunk.forEach(item -> results.add(mapper.apply(item)));
+        return results;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static List<TaskContextPropagator.Snapshot> capture() {
+        List<TaskContextPropagator.Snapshot> snapshots = new ArrayList<>(PROPAGATORS.size());
+        PROPAGATORS.forEach(propagator -> snapshots.add(propagator.capture()));
+        return snapshots;
+    }
+
+    private static List<Runnable> restore(List<TaskContextPropagator.Snapshot> snapshots) {
+        List<Runnable> resets = new ArrayList<>(snapshots.size());
+        snapshots.forEach(snapshot -> resets.add(snapshot.restore()));
+        return resets;
+    }
+
+    private static void reset(List<Runnable> resets) {
+        for (int i = resets.size() - 1; i >= 0; i--) {
+            resets.get(i).run();
+        }
+    }
+
+    private static TaskContextPropagator.Snapshot captureDataSource() {
+        String dataSource = DynamicDataSourceHolder.peek();
+        if (Objects.isNull(dataSource)) {
+            return () -> NOOP;
+        }
+
+        return () -> {
+            DynamicDataSourceHolder.push(dataSource);
+            return DynamicDataSourceHolder::poll;
+        };
+    }
+
+    private static TaskContextPropagator.Snapshot captureMdc() {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setMdc(context);
+            return () -> setMdc(previous);
+        };
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (CollectionUtils.isEmpty(context)) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
     static class TreadPoolHolder {
         private static final ThreadPoolExecutor THREAD_POOL = new ThreadPoolExecutor(CORE_POOL_SIZE, MAX_POOL_SIZE, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>(BLOCK_QUEUE_SIZE), new ThreadPoolExecutor.CallerRunsPolicy());
+                new LinkedBlockingQueue<>(BLOCK_QUEUE_SIZE), new NamedThreadFactory(THREAD_NAME_PREFIX, true),
+                CALLER_RUNS_UNLESS_SHUTDOWN);
     }
 
 }
@@ -0,0 +1,87 @@
+package com.github.yiuman.citrus.support.utils;
+
+import com.github.yiuman.citrus.support.model.BaseTree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 树形结构工具类
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public final class TreeUtils {
+
+    private TreeUtils() {
+    }
+
+    /**
+     * 将节点列表组装到当前节点下<br/>
+     * 以主键原始类型分组，一次遍历完成，主键重复的节点只保留第一个，列表中与当前节点主键相同的节点会被忽略
+     *
+     * @param current 挂载的节点
+     * @param nodes   节点列表
+     * @param <E>     节点类型
+     * @param <K>     主键类型
+     * @return 当前节点
+     */
+    public static <E extends BaseTree<E, K>, K> E assemble(E current, Collection<E> nodes) {
+        K currentId = current.getId();
+        int capacity = Math.max((int) (nodes.size() / .75f) + 1, 16);
+        Map<K, List<E>> parentIdChildrenMap = new HashMap<>(capacity);
+        Set<K> ids = new HashSet<>(capacity);
+        List<E> distinctNodes = new ArrayList<>(nodes.size());
+        for (E node : nodes) {
+            K id = node.getId();
+            if (Objects.nonNull(id) && (id.equals(currentId) || !ids.add(id))) {
+                continue;
+            }
+
+            distinctNodes.add(node);
+            parentIdChildrenMap.computeIfAbsent(node.getParentId(), key -> new ArrayList<>()).add(node);
+        }
+
+        for (E node : distinctNodes) {
+            List<E> children = Objects.isNull(node.getId()) ? null : parentIdChildrenMap.get(node.getId());
+            node.setChildren(Objects.isNull(children) ? new ArrayList<>() : children);
+        }
+
+        List<E> children = parentIdChildrenMap.get(currentId);
+        current.setChildren(Objects.isNull(children) ? new ArrayList<>() : children);
+        return current;
+    }
+
+    /**
+     * 从节点列表中由近及远地找出当前节点的所有祖先
+     *
+     * @param current 当前节点
+     * @param nodes   节点列表，需包含当前节点的祖先
+     * @param <E>     节点类型
+     * @param <K>     主键类型
+     * @return 祖先节点列表，第一个为父节点
+     */
+    public static <E extends BaseTree<E, K>, K> List<E> ancestors(E current, Collection<E> nodes) {
+        Map<K, E> idNodeMap = new HashMap<>(Math.max((int) (nodes.size() / .75f) + 1, 16));
+        nodes.forEach(node -> idNodeMap.putIfAbsent(node.getId(), node));
+        List<E> ancestors = new ArrayList<>();
+        Set<K> visited = new HashSet<>();
+        K parentId = current.getParentId();
+        //visited防止脏数据中的环导致死循环
+        while (Objects.nonNull(parentId) && visited.add(parentId)) {
+            E parent = idNodeMap.get(parentId);
+            if (Objects.isNull(parent)) {
+                break;
+            }
+            ancestors.add(parent);
+            parentId = parent.getParentId();
+        }
+        return ancestors;
+    }
+}
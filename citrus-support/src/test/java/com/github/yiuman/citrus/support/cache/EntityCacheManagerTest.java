@@ -0,0 +1,123 @@
+package com.github.yiuman.citrus.support.cache;
+
+import com.github.yiuman.citrus.support.transaction.InMemoryTransactionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 实体缓存复制测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class EntityCacheManagerTest {
+
+    private final EntityCacheManager cacheManager = new EntityCacheManager(new LocalNearCache(), Collections.emptyList());
+
+    @Test
+    public void cachedEntityDoesNotShareNestedState() {
+        String region = cacheManager.register(Node.class, Object.class);
+        Node root = new Node("root");
+        Node child = new Node("child");
+        child.setParent(root);
+        root.getChildren().add(child);
+        root.setTags(new ArrayList<>(Collections.singletonList("a")));
+        cacheManager.put(region, "root", root, cacheManager.generation(region));
+
+        //修改原实体与读取到的副本都不影响缓存
+        root.getChildren().clear();
+        Node cached = cacheManager.get(region, "root");
+        cached.getChildren().get(0).setName("changed");
+        cached.getTags().add("b");
+
+        Node again = cacheManager.get(region, "root");
+        assertEquals(1, again.getChildren().size());
+        assertEquals("child", again.getChildren().get(0).getName());
+        assertEquals(Collections.singletonList("a"), again.getTags());
+        assertNotSame(cached.getChildren(), again.getChildren());
+        assertSame(again, again.getChildren().get(0).getParent());
+    }
+
+    @Test
+    public void requiresNewEvictsOnItsOwnCommitWhenOuterRollsBack() {
+        String region = cacheManager.register(Node.class, Object.class);
+        cacheManager.put(region, "outer", new Node("outer"), cacheManager.generation(region));
+        cacheManager.put(region, "inner", new Node("inner"), cacheManager.generation(region));
+        InMemoryTransactionManager transactionManager = new InMemoryTransactionManager();
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cacheManager.invalidate(region, Collections.singletonList("outer"));
+            requiresNew.executeWithoutResult(inner -> {
+                cacheManager.invalidate(region, Collections.singletonList("inner"));
+                //内层事务看不到外层待执行的失效
+                assertNotNull(cacheManager.get(region, "outer"));
+            });
+            //内层提交后立即失效
+            assertNull(cacheManager.get(region, "inner"));
+            status.setRollbackOnly();
+        });
+
+        assertNull(cacheManager.get(region, "inner"));
+        assertNotNull(cacheManager.get(region, "outer"));
+    }
+
+    @EntityCache
+    public static class Node {
+
+        private String name;
+
+        private Node parent;
+
+        private List<String> tags;
+
+        private final List<Node> children = new ArrayList<>();
+
+        public Node() {
+        }
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Node getParent() {
+            return parent;
+        }
+
+        public void setParent(Node parent) {
+            this.parent = parent;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public List<Node> getChildren() {
+            return children;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.yiuman.citrus.support.crud;
+
+import com.github.yiuman.citrus.support.transaction.InMemoryTransactionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 实体版本测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class EntityVersionsTest {
+
+    private final InMemoryTransactionManager transactionManager = new InMemoryTransactionManager();
+
+    @Test
+    public void versionIncrementsOnlyAfterCommit() {
+        long version = EntityVersions.get(Outer.class);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EntityVersions.changed(Outer.class);
+            assertEquals(version, EntityVersions.get(Outer.class));
+        });
+        assertEquals(version + 1, EntityVersions.get(Outer.class));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EntityVersions.changed(Outer.class);
+            status.setRollbackOnly();
+        });
+        assertEquals(version + 1, EntityVersions.get(Outer.class));
+    }
+
+    @Test
+    public void requiresNewCommitsIndependentlyOfRolledBackOuter() {
+        long outerVersion = EntityVersions.get(Outer.class);
+        long innerVersion = EntityVersions.get(Inner.class);
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EntityVersions.changed(Outer.class);
+            requiresNew.executeWithoutResult(inner -> EntityVersions.changed(Inner.class));
+            assertEquals(innerVersion + 1, EntityVersions.get(Inner.class));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(innerVersion + 1, EntityVersions.get(Inner.class));
+        assertEquals(outerVersion, EntityVersions.get(Outer.class));
+    }
+
+    static class Outer {
+    }
+
+    static class Inner {
+    }
+}
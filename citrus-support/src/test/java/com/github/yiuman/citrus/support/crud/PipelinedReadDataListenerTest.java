@@ -0,0 +1,188 @@
+package com.github.yiuman.citrus.support.crud;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.github.yiuman.citrus.support.crud.service.CrudService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.constraints.NotBlank;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 流水线导入的失败行重试与报告测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class PipelinedReadDataListenerTest {
+
+    private static final String SHEET = "people";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void failedBatchIsRetriedRowByRowOnWorkers() throws Exception {
+        assertErrorReport(2);
+    }
+
+    @Test
+    public void failedBatchIsRetriedRowByRowOnReader() throws Exception {
+        assertErrorReport(0);
+    }
+
+    @Test
+    public void successfulBatchIsSavedOnce() throws Exception {
+        CrudService<Person, Long> service = service();
+        ImportJob job = new ImportJob("ok", "ok.xlsx");
+
+        read(job, service, 0, Arrays.asList(new PersonRow("a", "1"), new PersonRow("b", "2")));
+
+        assertEquals(2, job.getRead());
+        assertEquals(2, job.getSucceeded());
+        assertEquals(0, job.getFailed());
+        verify(service, times(1)).batchSave(any());
+        verify(service, never()).save(any());
+    }
+
+    private void assertErrorReport(int workers) throws Exception {
+        CrudService<Person, Long> service = service();
+        ImportJob job = new ImportJob("job", "people.xlsx");
+
+        read(job, service, workers, Arrays.asList(
+                new PersonRow("a", "1"),
+                new PersonRow("", "2"),
+                new PersonRow("bad", "3"),
+                new PersonRow("c", "x"),
+                new PersonRow("d", "4")));
+
+        assertEquals(5, job.getRead());
+        assertEquals(2, job.getSucceeded());
+        assertEquals(3, job.getFailed());
+        //批次失败后只有通过校验的行逐行重新保存
+        verify(service, times(3)).save(any());
+
+        List<ImportJob.ErrorRow> errorRows = job.getErrorRows();
+        assertEquals(Arrays.asList(3, 4, 5), errorRows.stream().map(ImportJob.ErrorRow::getRowNumber).collect(Collectors.toList()));
+        errorRows.forEach(row -> assertEquals(SHEET, row.getSheet()));
+        assertTrue(errorRows.get(0).getMessage().contains("姓名不能为空"), errorRows.get(0).getMessage());
+        assertTrue(errorRows.get(1).getMessage().contains("duplicate"), errorRows.get(1).getMessage());
+        assertEquals("bad", ((Person) errorRows.get(1).getData()).getName());
+        assertTrue(errorRows.get(2).getMessage().startsWith("第2列数据格式错误"), errorRows.get(2).getMessage());
+    }
+
+    private void read(ImportJob job, CrudService<Person, Long> service, int workers, List<PersonRow> rows) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        EasyExcel.write(outputStream, PersonRow.class).sheet(SHEET).doWrite(rows);
+
+        PipelinedReadDataListener<Person, Long> listener = new PipelinedReadDataListener<>(service, job, executor, workers, 10);
+        EasyExcel.read(new ByteArrayInputStream(outputStream.toByteArray()), Person.class, listener).doReadAll();
+        listener.finish();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CrudService<Person, Long> service() throws Exception {
+        CrudService<Person, Long> service = mock(CrudService.class);
+        when(service.batchSave(any())).thenAnswer(invocation -> {
+            Iterable<Person> people = invocation.getArgument(0);
+            if (StreamSupport.stream(people.spliterator(), false).anyMatch(PipelinedReadDataListenerTest::isDuplicate)) {
+                throw new IllegalStateException("duplicate");
+            }
+            return true;
+        });
+        when(service.save(any())).thenAnswer(invocation -> {
+            if (isDuplicate(invocation.getArgument(0))) {
+                throw new IllegalStateException("duplicate");
+            }
+            return null;
+        });
+        return service;
+    }
+
+    private static boolean isDuplicate(Person person) {
+        return "bad".equals(person.getName());
+    }
+
+    public static class Person {
+
+        @ExcelProperty("姓名")
+        @NotBlank(message = "姓名不能为空")
+        private String name;
+
+        @ExcelProperty("年龄")
+        private Integer age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+
+    /**
+     * 写入Excel的行，年龄为文本以便构造格式错误的单元格
+     */
+    public static class PersonRow {
+
+        @ExcelProperty("姓名")
+        private String name;
+
+        @ExcelProperty("年龄")
+        private String age;
+
+        public PersonRow() {
+        }
+
+        PersonRow(String name, String age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getAge() {
+            return age;
+        }
+
+        public void setAge(String age) {
+            this.age = age;
+        }
+    }
+}
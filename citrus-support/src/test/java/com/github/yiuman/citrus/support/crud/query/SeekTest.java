@@ -0,0 +1,76 @@
+package com.github.yiuman.citrus.support.crud.query;
+
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.support.model.SortBy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 游标编码测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class SeekTest {
+
+    private final List<SortBy> sorts = Arrays.asList(new SortBy("name", false), new SortBy("id", true));
+
+    @Test
+    public void cursorRoundTripsSortValues() {
+        Map<String, Object> record = new HashMap<>(4);
+        record.put("name", "张三?&/");
+        record.put("id", 42L);
+
+        String cursor = Seek.cursor(sorts, record);
+        Seek seek = Seek.of(sorts, cursor);
+
+        assertEquals(sorts, seek.getSorts());
+        assertEquals("张三?&/", seek.getValues().get(0));
+        assertEquals(42L, ((Number) seek.getValues().get(1)).longValue());
+    }
+
+    @Test
+    public void cursorIsUrlSafeWithoutPadding() {
+        Map<String, Object> record = new HashMap<>(4);
+        record.put("name", "??>>");
+        record.put("id", 1L);
+
+        String cursor = Seek.cursor(sorts, record);
+
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+    }
+
+    @Test
+    public void cursorKeepsNullValues() {
+        Map<String, Object> record = new HashMap<>(4);
+        record.put("id", 7L);
+
+        Seek seek = Seek.of(sorts, Seek.cursor(sorts, record));
+
+        assertNull(seek.getValues().get(0));
+        assertEquals(7L, ((Number) seek.getValues().get(1)).longValue());
+    }
+
+    @Test
+    public void malformedCursorIsBadRequest() {
+        assertThrows(RestException.class, () -> Seek.of(sorts, "not a cursor!"));
+    }
+
+    @Test
+    public void cursorNotMatchingSortsIsBadRequest() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("[1]".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(RestException.class, () -> Seek.of(sorts, cursor));
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.yiuman.citrus.support.crud.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yiuman.citrus.support.crud.query.Operations;
+import com.github.yiuman.citrus.support.crud.query.Query;
+import com.github.yiuman.citrus.support.crud.service.TreeCrudService;
+import com.github.yiuman.citrus.support.model.Tree;
+import com.github.yiuman.citrus.support.utils.SpringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 树导出测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class BaseTreeControllerTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/export");
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private StaticApplicationContext applicationContext;
+
+    private TreeCrudService<Node, Long> service;
+
+    private Node root;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        new SpringUtils().setApplicationContext(applicationContext);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        service = mock(TreeCrudService.class);
+        root = new Node(0L, null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        applicationContext.close();
+    }
+
+    @Test
+    public void exportWithoutConditionsStreamsPreOrder() throws Exception {
+        when(service.getRoot()).thenReturn(root);
+        doAnswer(invocation -> {
+            Consumer<Node> consumer = invocation.getArgument(1);
+            consumer.accept(new Node(1L, 0L));
+            consumer.accept(new Node(2L, 1L));
+            consumer.accept(new Node(3L, 0L));
+            return null;
+        }).when(service).preOrder(eq(root), any());
+
+        //参数对象字段都为空时查询不为null但没有条件
+        new NodeController(service, Query.create()).exp(request, response);
+
+        verify(service, never()).treeQuery(any());
+        verify(service, never()).load(anyBoolean());
+        JsonNode tree = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertEquals(0L, tree.get("id").asLong());
+        assertEquals(2, tree.get("children").size());
+        assertEquals(1L, tree.get("children").get(0).get("id").asLong());
+        assertEquals(2L, tree.get("children").get(0).get("children").get(0).get("id").asLong());
+        assertEquals(3L, tree.get("children").get(1).get("id").asLong());
+    }
+
+    @Test
+    public void exportWithConditionsWritesQueriedTree() throws Exception {
+        Query query = Query.create();
+        query.addConditionInfo("id", 1L, Operations.EQ);
+        root.getChildren().add(new Node(1L, 0L));
+        when(service.treeQuery(query)).thenReturn(root);
+
+        new NodeController(service, query).exp(request, response);
+
+        verify(service, never()).preOrder(any(), any());
+        JsonNode tree = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertEquals(1, tree.get("children").size());
+        assertEquals(1L, tree.get("children").get(0).get("id").asLong());
+    }
+
+    static class NodeController extends BaseTreeController<Node, Long> {
+
+        private final TreeCrudService<Node, Long> service;
+
+        private final Query query;
+
+        NodeController(TreeCrudService<Node, Long> service, Query query) {
+            this.service = service;
+            this.query = query;
+        }
+
+        @Override
+        protected TreeCrudService<Node, Long> getCrudService() {
+            return service;
+        }
+
+        @Override
+        public Query getQueryCondition(HttpServletRequest request) {
+            return query;
+        }
+    }
+
+    public static class Node implements Tree<Long> {
+
+        private final Long id;
+
+        private Long parentId;
+
+        private final List<Node> children = new ArrayList<>();
+
+        Node(Long id, Long parentId) {
+            this.id = id;
+            this.parentId = parentId;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return parentId;
+        }
+
+        @Override
+        public void setParentId(Long parentId) {
+            this.parentId = parentId;
+        }
+
+        @Override
+        public boolean isLeaf() {
+            return children.isEmpty();
+        }
+
+        @Override
+        public List<Node> getChildren() {
+            return children;
+        }
+    }
+}
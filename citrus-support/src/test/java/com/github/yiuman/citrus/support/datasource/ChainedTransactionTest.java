@@ -0,0 +1,149 @@
+package com.github.yiuman.citrus.support.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.HeuristicCompletionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 链式事务提交与回滚顺序测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class ChainedTransactionTest {
+
+    private final DataSource first = mock(DataSource.class);
+
+    private final DataSource second = mock(DataSource.class);
+
+    private final DataSource third = mock(DataSource.class);
+
+    private final Connection firstConnection = mock(Connection.class);
+
+    private final Connection secondConnection = mock(Connection.class);
+
+    private final Connection thirdConnection = mock(Connection.class);
+
+    private ChainedTransaction transaction;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+        when(third.getConnection()).thenReturn(thirdConnection);
+        when(firstConnection.getAutoCommit()).thenReturn(true);
+        when(secondConnection.getAutoCommit()).thenReturn(true);
+        when(thirdConnection.getAutoCommit()).thenReturn(true);
+        transaction = new ChainedTransaction(new DefaultTransactionDefinition(), DefaultTransactionDefinition.TIMEOUT_DEFAULT);
+        transaction.getConnection(first);
+        transaction.getConnection(second);
+        transaction.getConnection(third);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transaction.release();
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    public void enlistsEachDataSourceOnce() throws SQLException {
+        assertSame(firstConnection, transaction.getConnection(first));
+
+        verify(first).getConnection();
+        verify(firstConnection).setAutoCommit(false);
+        assertEquals(3, TransactionSynchronizationManager.getResourceMap().size());
+    }
+
+    @Test
+    public void commitsInReverseOrder() throws SQLException {
+        transaction.commit();
+
+        InOrder order = inOrder(thirdConnection, secondConnection, firstConnection);
+        order.verify(thirdConnection).commit();
+        order.verify(secondConnection).commit();
+        order.verify(firstConnection).commit();
+        verify(firstConnection, never()).rollback();
+    }
+
+    @Test
+    public void rollsBackInReverseOrder() throws SQLException {
+        transaction.rollback();
+
+        InOrder order = inOrder(thirdConnection, secondConnection, firstConnection);
+        order.verify(thirdConnection).rollback();
+        order.verify(secondConnection).rollback();
+        order.verify(firstConnection).rollback();
+    }
+
+    @Test
+    public void rollbackContinuesAfterFailure() throws SQLException {
+        doThrow(new SQLException("broken")).when(secondConnection).rollback();
+
+        assertThrows(TransactionSystemException.class, transaction::rollback);
+        verify(firstConnection).rollback();
+    }
+
+    @Test
+    public void firstCommitFailureRollsBackAll() throws SQLException {
+        doThrow(new SQLException("broken")).when(thirdConnection).commit();
+
+        assertThrows(TransactionSystemException.class, transaction::commit);
+        verify(thirdConnection).rollback();
+        verify(secondConnection).rollback();
+        verify(firstConnection).rollback();
+        verify(firstConnection, never()).commit();
+    }
+
+    @Test
+    public void partialCommitWithPendingWritesIsMixed() throws SQLException {
+        transaction.markWritten(third);
+        transaction.markWritten(first);
+        doThrow(new SQLException("broken")).when(secondConnection).commit();
+
+        HeuristicCompletionException ex = assertThrows(HeuristicCompletionException.class, transaction::commit);
+        assertEquals(HeuristicCompletionException.STATE_MIXED, ex.getOutcomeState());
+        verify(thirdConnection, never()).rollback();
+        verify(secondConnection).rollback();
+        verify(firstConnection).rollback();
+    }
+
+    @Test
+    public void partialCommitWithoutPendingWritesIsCommitted() throws SQLException {
+        transaction.markWritten(third);
+        doThrow(new SQLException("broken")).when(secondConnection).commit();
+
+        HeuristicCompletionException ex = assertThrows(HeuristicCompletionException.class, transaction::commit);
+        assertEquals(HeuristicCompletionException.STATE_COMMITTED, ex.getOutcomeState());
+    }
+
+    @Test
+    public void releaseRestoresAutoCommitAndClosesConnections() throws SQLException {
+        transaction.commit();
+        transaction.release();
+
+        verify(firstConnection).setAutoCommit(true);
+        verify(firstConnection).close();
+        verify(thirdConnection).close();
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.yiuman.citrus.support.http;
+
+import com.github.yiuman.citrus.support.crud.EntityVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 条件GET的ETag与304测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class ConditionalGetInterceptorTest {
+
+    private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor();
+
+    private final ConditionalGetAdvice advice = new ConditionalGetAdvice();
+
+    @Test
+    public void matchingIfNoneMatchRespondsNotModified() throws Exception {
+        String etag = firstEtag("/items", "page=1");
+
+        MockHttpServletRequest request = get("/items", "page=1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, handler("list")));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(ConditionalGetInterceptor.CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    public void entityChangeInvalidatesEtag() throws Exception {
+        String etag = firstEtag("/items", "page=1");
+        EntityVersions.changed(Item.class);
+
+        MockHttpServletRequest request = get("/items", "page=1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler("list")));
+        assertNotEquals(etag, request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE));
+    }
+
+    @Test
+    public void etagDependsOnParametersAndUser() throws Exception {
+        String etag = firstEtag("/items", "page=1");
+
+        assertNotEquals(etag, firstEtag("/items", "page=2"));
+
+        MockHttpServletRequest request = get("/items", "page=1");
+        request.setUserPrincipal(() -> "other");
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("list"));
+        assertNotEquals(etag, request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE));
+    }
+
+    @Test
+    public void excludedAndVoidMethodsAreSkipped() throws Exception {
+        for (String method : new String[]{"progress", "exp"}) {
+            MockHttpServletRequest request = get("/items/" + method, null);
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler(method)));
+            assertNull(request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE));
+        }
+    }
+
+    @Test
+    public void controllerWithoutAnnotationIsSkipped() throws Exception {
+        MockHttpServletRequest request = get("/plain", null);
+        HandlerMethod handler = new HandlerMethod(new PlainController(), PlainController.class.getMethod("list"));
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+        assertNull(request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE));
+    }
+
+    @Test
+    public void adviceWritesEtagOnlyOnSuccess() throws Exception {
+        MockHttpServletRequest request = get("/items", null);
+        request.setAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE, "W/\"abc\"");
+
+        ServletServerHttpResponse ok = write(request, ResponseEntity.ok("data"));
+        assertEquals("W/\"abc\"", ok.getHeaders().getETag());
+
+        ServletServerHttpResponse error = write(request, ResponseEntity.error("failed"));
+        assertNull(error.getHeaders().getETag());
+    }
+
+    private String firstEtag(String uri, String queryString) throws Exception {
+        MockHttpServletRequest request = get(uri, queryString);
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("list")));
+        Object etag = request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        assertNotNull(etag);
+        return etag.toString();
+    }
+
+    private ServletServerHttpResponse write(MockHttpServletRequest request, Object body) throws Exception {
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+        advice.beforeBodyWrite(body, new MethodParameter(ItemController.class.getMethod("list"), -1),
+                MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri, String queryString) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString(queryString);
+        request.setUserPrincipal(() -> "user");
+        return request;
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new ItemController(), ItemController.class.getMethod(method));
+    }
+
+    static class Item {
+    }
+
+    @ConditionalGet(Item.class)
+    public static class ItemController {
+
+        public ResponseEntity<String> list() {
+            return ResponseEntity.ok("items");
+        }
+
+        public void exp() {
+        }
+
+        @ConditionalGet.Exclude
+        public ResponseEntity<String> progress() {
+            return ResponseEntity.ok("progress");
+        }
+    }
+
+    public static class PlainController {
+
+        public ResponseEntity<String> list() {
+            return ResponseEntity.ok("plain");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.yiuman.citrus.support.inject;
+
+import com.github.yiuman.citrus.support.inject.impl.InjectAnnotationParserHolderImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 注解注入计划测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class InjectAnnotationParserHolderImplTest {
+
+    private final ValueParser parser = new ValueParser();
+
+    private final InjectAnnotationParserHolderImpl holder = new InjectAnnotationParserHolderImpl(Collections.singleton(parser));
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void injectsThroughSettersAndFieldsWithConversion() {
+        Bean bean = new Bean();
+
+        holder.inject(bean);
+
+        assertEquals(Integer.valueOf(7), bean.count);
+        assertEquals(7, bean.primitive);
+        assertEquals("name", bean.fieldOnly);
+        assertEquals("name", bean.viaSetter);
+        assertTrue(bean.setterCalled);
+    }
+
+    @Test
+    public void equalAnnotationsAreParsedOncePerInjection() {
+        holder.inject(new Bean());
+
+        //@Value("7")与@Value("name")各解析一次
+        assertEquals(2, parser.calls.get());
+
+        holder.inject(new Bean());
+        assertEquals(4, parser.calls.get());
+    }
+
+    @Test
+    public void valuesAreSharedWithinRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        holder.inject(new Bean());
+        holder.inject(new Bean());
+        assertEquals(2, parser.calls.get());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        holder.inject(new Bean());
+        assertEquals(4, parser.calls.get());
+    }
+
+    @Test
+    public void nullValueSkipsPrimitiveAndClearsReference() {
+        NullableBean bean = new NullableBean();
+
+        holder.inject(bean);
+
+        assertEquals(3, bean.primitive);
+        assertNull(bean.reference);
+    }
+
+    @Test
+    public void beanWithoutAnnotationsIsUntouched() {
+        holder.inject(new Object());
+        holder.inject(null);
+
+        assertEquals(0, parser.calls.get());
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.FIELD, ElementType.METHOD})
+    public @interface Value {
+
+        String value();
+    }
+
+    public static class ValueParser implements InjectAnnotationParser<Value> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Object parse(Value annotation) {
+            calls.incrementAndGet();
+            return "null".equals(annotation.value()) ? null : annotation.value();
+        }
+    }
+
+    public static class Bean {
+
+        @Value("7")
+        private Integer count;
+
+        @Value("7")
+        private int primitive;
+
+        @Value("name")
+        private String fieldOnly;
+
+        private String viaSetter;
+
+        private boolean setterCalled;
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+
+        public int getPrimitive() {
+            return primitive;
+        }
+
+        public void setPrimitive(int primitive) {
+            this.primitive = primitive;
+        }
+
+        public String getViaSetter() {
+            return viaSetter;
+        }
+
+        @Value("name")
+        public void setViaSetter(String viaSetter) {
+            this.viaSetter = viaSetter;
+            this.setterCalled = true;
+        }
+    }
+
+    public static class NullableBean {
+
+        @Value("null")
+        private int primitive = 3;
+
+        @Value("null")
+        private String reference = "initial";
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.yiuman.citrus.support.transaction;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * 不连接数据库的事务管理器，支持挂起与恢复，用于测试事务同步的行为
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ThreadLocal<Object> current = new ThreadLocal<>();
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Object();
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return current.get() != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        current.set(transaction);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        Object suspended = current.get();
+        current.remove();
+        return suspended;
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        current.set(suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        current.remove();
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.yiuman.citrus.support.utils;
+
+import com.github.yiuman.citrus.support.datasource.DynamicDataSourceHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 线程执行工具类测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class ThreadUtilsTest {
+
+    private static final String TRACE_ID = "traceId";
+
+    @AfterEach
+    public void tearDown() {
+        MDC.clear();
+        DynamicDataSourceHolder.clear();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    public void mapKeepsOrderAcrossChunks() {
+        List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        List<Integer> results = ThreadUtils.map(items, 10, item -> item * 2);
+
+        assertEquals(items.stream().map(item -> item * 2).collect(Collectors.toList()), results);
+    }
+
+    @Test
+    public void mapRunsSequentiallyInTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> results = ThreadUtils.map(range(500), 1, item -> {
+            threads.add(Thread.currentThread().getName());
+            return item;
+        });
+
+        assertEquals(range(500), results);
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    public void mapRunsSequentiallyOnPoolThread() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicReference<String> worker = new AtomicReference<>();
+
+        List<Integer> results = ThreadUtils.submit(() -> {
+            worker.set(Thread.currentThread().getName());
+            return ThreadUtils.map(range(500), 1, item -> {
+                threads.add(Thread.currentThread().getName());
+                return item;
+            });
+        }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(range(500), results);
+        assertTrue(worker.get().startsWith(ThreadUtils.THREAD_POOL_NAME + "-"));
+        assertEquals(Set.of(worker.get()), threads);
+    }
+
+    @Test
+    public void wrapRestoresSubmitterContextAndResetsAfterwards() throws Exception {
+        MDC.put(TRACE_ID, "submitter");
+        DynamicDataSourceHolder.push("master");
+        Callable<String> task = ThreadUtils.wrap(() -> {
+            MDC.put("inner", "value");
+            return MDC.get(TRACE_ID) + "@" + DynamicDataSourceHolder.peek();
+        });
+
+        //执行线程原有的上下文
+        MDC.put(TRACE_ID, "runner");
+        DynamicDataSourceHolder.push("slave");
+
+        assertEquals("submitter@master", task.call());
+        assertEquals("runner", MDC.get(TRACE_ID));
+        assertNull(MDC.get("inner"));
+        assertEquals("slave", DynamicDataSourceHolder.peek());
+    }
+
+    @Test
+    public void saturatedPoolRunsTaskOnCaller() throws Exception {
+        ThreadPoolExecutor executor = ThreadUtils.getThreadPoolExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        long rejected = ThreadUtils.getRejectedCount();
+        try {
+            //占满所有线程与队列
+            for (int i = 0; i < ThreadUtils.MAX_POOL_SIZE + ThreadUtils.BLOCK_QUEUE_SIZE; i++) {
+                executor.execute(() -> await(release));
+            }
+            assertEquals(rejected, ThreadUtils.getRejectedCount());
+
+            MDC.put(TRACE_ID, "caller");
+            AtomicReference<String> runner = new AtomicReference<>();
+            AtomicReference<String> traceId = new AtomicReference<>();
+            ThreadUtils.executor(() -> {
+                runner.set(Thread.currentThread().getName());
+                traceId.set(MDC.get(TRACE_ID));
+                MDC.put(TRACE_ID, "changed");
+            });
+
+            assertEquals(Thread.currentThread().getName(), runner.get());
+            assertEquals("caller", traceId.get());
+            assertEquals("caller", MDC.get(TRACE_ID));
+            assertEquals(rejected + 1, ThreadUtils.getRejectedCount());
+        } finally {
+            release.countDown();
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while ((executor.getActiveCount() > 0 || !executor.getQueue().isEmpty()) && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    public void shutdownPoolRejectsInsteadOfDropping() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1), ThreadUtils.CALLER_RUNS_UNLESS_SHUTDOWN);
+        executor.shutdown();
+        long rejected = ThreadUtils.getRejectedCount();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> 1));
+        assertEquals(rejected, ThreadUtils.getRejectedCount());
+    }
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
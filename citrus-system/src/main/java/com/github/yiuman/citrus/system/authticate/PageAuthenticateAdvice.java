@@ -62,7 +62,7 @@ public class PageAuthenticateAdvice {
 
                 //根据当前用户的资源查出当前请求的相关操作资源
                 final Set<String> resources = currentUserOnlineInfo.getResources()
-                        .parallelStream().filter(
+                        .stream().filter(
                                 resource -> resource.getType() == ResourceType.OPERATION
                                         && currentResource.getParentId().equals(resource.getParentId()))
                         .map(Resource::getResourceCode)
@@ -91,9 +91,8 @@ public class PasswordAuthenticateServiceImpl implements AuthenticateService, Use
     public Optional<Authentication> resolve(String token, String identity) {
         UserService userService = rbacMixinService.getUserService();
         User user = userService.getUserByUuid(identity);
-        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(user, identity, null);
-        authenticationToken.setDetails(token);
-        return Optional.of(authenticationToken);
+        //请求内后续使用的用户、角色、组织机构都从认证信息上读取，不再重复查询
+        return Optional.of(new PrincipalAuthenticationToken(user, identity, token));
     }
 
     @Override
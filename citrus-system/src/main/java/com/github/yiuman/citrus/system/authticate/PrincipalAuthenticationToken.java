@@ -0,0 +1,100 @@
+package com.github.yiuman.citrus.system.authticate;
+
+import com.github.yiuman.citrus.system.dto.UserOnlineInfo;
+import com.github.yiuman.citrus.system.entity.Organization;
+import com.github.yiuman.citrus.system.entity.Role;
+import com.github.yiuman.citrus.system.entity.User;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 携带当前用户上下文的身份认证信息<br/>
+ * 每个请求解析令牌时只查询一次用户，用户的在线信息、角色与组织机构在首次使用时加载并保存在认证信息上，
+ * 同一请求内的权限校验、数据范围、审计字段填充等直接读取，无需重复查询
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class PrincipalAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient User user;
+
+    private transient volatile UserOnlineInfo onlineInfo;
+
+    private transient volatile List<Role> roles;
+
+    private transient volatile List<Organization> organs;
+
+    public PrincipalAuthenticationToken(User user, String identity, String token) {
+        super(user, identity, null);
+        this.user = user;
+        setDetails(token);
+    }
+
+    /**
+     * 当前用户
+     *
+     * @return 用户，用户不存在时为null
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * 当前用户的在线信息，同一认证信息返回同一个实例
+     *
+     * @return 用户在线信息
+     */
+    public UserOnlineInfo getOnlineInfo() {
+        UserOnlineInfo current = onlineInfo;
+        if (Objects.isNull(current) && Objects.nonNull(user)) {
+            synchronized (this) {
+                if (Objects.isNull(current = onlineInfo)) {
+                    current = onlineInfo = UserOnlineInfo.newInstance(user);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 当前用户的角色，首次获取时加载
+     *
+     * @param loader 根据用户ID加载角色
+     * @return 角色集合
+     */
+    public List<Role> getRoles(Function<Long, List<Role>> loader) {
+        List<Role> current = roles;
+        if (Objects.isNull(current) && Objects.nonNull(user)) {
+            synchronized (this) {
+                if (Objects.isNull(current = roles)) {
+                    current = roles = loader.apply(user.getUserId());
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 当前用户的组织机构，首次获取时加载
+     *
+     * @param loader 根据用户ID加载组织机构
+     * @return 组织机构集合
+     */
+    public List<Organization> getOrgans(Function<Long, List<Organization>> loader) {
+        List<Organization> current = organs;
+        if (Objects.isNull(current) && Objects.nonNull(user)) {
+            synchronized (this) {
+                if (Objects.isNull(current = organs)) {
+                    current = organs = loader.apply(user.getUserId());
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.yiuman.citrus.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 批量开通用户的进度
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+@AllArgsConstructor
+public class UserProvisionProgress {
+
+    /**
+     * 需要开通的用户总数
+     */
+    private int total;
+
+    /**
+     * 已开通（已提交）的用户数
+     */
+    private int provisioned;
+
+}
@@ -1,8 +1,11 @@
 package com.github.yiuman.citrus.system.entity;
 
+import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.github.yiuman.citrus.support.cache.EntityCache;
 import lombok.Data;
 
 /**
@@ -12,12 +15,14 @@ import lombok.Data;
  * @date 2020/4/8
  */
 @Data
+@EntityCache
+@TableName("sys_dict_item")
 public class DictionaryItem {
 
     /**
      * 主键
      */
-    @TableId
+    @TableId(type = IdType.ASSIGN_ID)
     @JsonSerialize(using = ToStringSerializer.class)
     private Long itemId;
 
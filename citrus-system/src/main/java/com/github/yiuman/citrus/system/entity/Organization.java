@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.github.yiuman.citrus.support.cache.EntityCache;
 import com.github.yiuman.citrus.support.model.BasePreOrderTree;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -16,6 +17,7 @@ import lombok.EqualsAndHashCode;
  * @date 2020/3/30
  */
 @Data
+@EntityCache
 @TableName("sys_organ")
 @EqualsAndHashCode(of = {"organId"}, callSuper = false)
 public class Organization extends BasePreOrderTree<Organization, Long> {
@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.github.yiuman.citrus.support.cache.EntityCache;
 import com.github.yiuman.citrus.support.model.BaseTree;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -18,6 +19,7 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @NoArgsConstructor
+@EntityCache
 @TableName("sys_resource")
 @EqualsAndHashCode(of = {"resourceId"}, callSuper = false)
 public class Resource extends BaseTree<Resource, Long> {
@@ -5,10 +5,12 @@ import com.github.yiuman.citrus.support.utils.SpringUtils;
 import com.github.yiuman.citrus.system.entity.User;
 import com.github.yiuman.citrus.system.service.UserService;
 import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -20,12 +22,37 @@ import java.util.Optional;
 @Component
 public class MetaObjectAuditHandler implements MetaObjectHandler {
 
+    /**
+     * 最近一次解析的操作人，批量保存时同一认证信息的每一行直接复用
+     */
+    private volatile OperationUser lastOperationUser;
+
     /**
      * 获取操作人
      */
     private Long getOperationUser() {
-        Optional<User> user = SpringUtils.getBean(UserService.class).getUser(SecurityContextHolder.getContext().getAuthentication());
-        return user.isPresent() ? user.get().getUserId() : -1;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        OperationUser operationUser = lastOperationUser;
+        if (Objects.nonNull(operationUser) && operationUser.authentication == authentication) {
+            return operationUser.userId;
+        }
+
+        Optional<User> user = SpringUtils.getBean(UserService.class).getUser(authentication);
+        Long userId = user.isPresent() ? user.get().getUserId() : -1;
+        lastOperationUser = new OperationUser(authentication, userId);
+        return userId;
+    }
+
+    private static class OperationUser {
+
+        private final Authentication authentication;
+
+        private final Long userId;
+
+        OperationUser(Authentication authentication, Long userId) {
+            this.authentication = authentication;
+            this.userId = userId;
+        }
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
 import com.github.yiuman.citrus.system.entity.Organization;
 import com.github.yiuman.citrus.system.entity.Role;
 import com.github.yiuman.citrus.system.entity.User;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
@@ -73,4 +74,19 @@ public interface UserMapper extends CrudMapper<User> {
      */
     @Select("select * from sys_organ organ where organ.organ_id in (select ur.organ_id from sys_user_role ur where ur.user_id in #{userId})")
     List<Organization> getOrgansByUserIds(Collection<Long> userIds);
-}
\ No newline at end of file
+
+    /**
+     * 多行插入用户，主键、审计字段与版本号需预先设置
+     *
+     * @param users 用户集合
+     * @return 插入的行数
+     */
+    @Insert("<script>insert into sys_user (user_id, login_id, password, username, email, mobile, uuid, admin, avatar, status, "
+            + "created_time, created_by, last_modified_time, last_modified_by, version) values "
+            + "<foreach collection='users' item='item' separator=','>"
+            + "(#{item.userId}, #{item.loginId}, #{item.password}, #{item.username}, #{item.email}, #{item.mobile}, #{item.uuid}, "
+            + "#{item.admin}, #{item.avatar,typeHandler=org.apache.ibatis.type.ClobTypeHandler}, #{item.status}, #{item.createdTime}, #{item.createdBy}, #{item.lastModifiedTime}, "
+            + "#{item.lastModifiedBy}, #{item.version})"
+            + "</foreach></script>")
+    int insertUsers(@Param("users") Collection<User> users);
+}
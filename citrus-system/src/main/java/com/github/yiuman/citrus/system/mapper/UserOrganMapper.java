@@ -4,10 +4,13 @@ import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
 import com.github.yiuman.citrus.system.entity.Organization;
 import com.github.yiuman.citrus.system.entity.User;
 import com.github.yiuman.citrus.system.entity.UserOrgan;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -37,4 +40,14 @@ public interface UserOrganMapper extends CrudMapper<UserOrgan> {
      */
     @Select("select * from sys_user su, sys_user_organ suo where su.user_id = suo.user_id and suo.organ_id in #{deptIds}")
     List<User> getUsersByDeptIds(List<Long> deptIds);
-}
\ No newline at end of file
+
+    /**
+     * 多行插入用户与组织机构的关系
+     *
+     * @param userOrgans 用户与组织机构的关系
+     * @return 插入的行数
+     */
+    @Insert("<script>insert into sys_user_organ (user_id, organ_id) values "
+            + "<foreach collection='userOrgans' item='item' separator=','>(#{item.userId}, #{item.organId})</foreach></script>")
+    int insertUserOrgans(@Param("userOrgans") Collection<UserOrgan> userOrgans);
+}
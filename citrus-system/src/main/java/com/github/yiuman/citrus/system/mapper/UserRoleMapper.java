@@ -4,7 +4,9 @@ import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
 import com.github.yiuman.citrus.system.entity.Role;
 import com.github.yiuman.citrus.system.entity.User;
 import com.github.yiuman.citrus.system.entity.UserRole;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.springframework.stereotype.Repository;
 
@@ -39,4 +41,13 @@ public interface UserRoleMapper extends CrudMapper<UserRole> {
     @Select("select * from sys_user su , sys_user_role sur where su.user_id = sur.user_id and sur.role_id in #{roleIds}")
     List<User> getUsersByRoleIds(Collection<Long> roleIds);
 
+    /**
+     * 多行插入用户角色
+     *
+     * @param userRoles 用户角色
+     * @return 插入的行数
+     */
+    @Insert("<script>insert into sys_user_role (user_id, role_id, organ_id) values "
+            + "<foreach collection='userRoles' item='item' separator=','>(#{item.userId}, #{item.roleId}, #{item.organId})</foreach></script>")
+    int insertUserRoles(@Param("userRoles") Collection<UserRole> userRoles);
 }
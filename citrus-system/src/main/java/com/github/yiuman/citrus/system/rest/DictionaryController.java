@@ -3,20 +3,68 @@ package com.github.yiuman.citrus.system.rest;
 import com.github.yiuman.citrus.support.crud.rest.BaseCrudController;
 import com.github.yiuman.citrus.support.crud.view.impl.FormView;
 import com.github.yiuman.citrus.support.crud.view.impl.PageTableView;
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.support.http.ConditionalGet;
+import com.github.yiuman.citrus.support.http.ResponseEntity;
+import com.github.yiuman.citrus.support.http.ResponseStatusCode;
 import com.github.yiuman.citrus.system.entity.Dictionary;
+import com.github.yiuman.citrus.system.entity.DictionaryItem;
+import com.github.yiuman.citrus.system.service.DictionaryService;
+import com.github.yiuman.citrus.system.service.UserService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 /**
  * 字典管理
  *
  * @author yiuman
  * @date 2020/7/31
  */
+@ConditionalGet({Dictionary.class, DictionaryItem.class})
 @RestController
 @RequestMapping("/rest/dicts")
 public class DictionaryController extends BaseCrudController<Dictionary, Long> {
 
+    private final DictionaryService dictionaryService;
+
+    private final UserService userService;
+
+    public DictionaryController(DictionaryService dictionaryService, UserService userService) {
+        this.dictionaryService = dictionaryService;
+        this.userService = userService;
+    }
+
+    /**
+     * 获取字典的代码与名称，从字典快照中读取
+     *
+     * @param dictCode 字典编码
+     * @return 字典项代码->字典项名称
+     */
+    @GetMapping("/labels/{dictCode}")
+    public ResponseEntity<Map<String, String>> getLabels(@PathVariable String dictCode) {
+        return ResponseEntity.ok(dictionaryService.getLabels(dictCode));
+    }
+
+    /**
+     * 重新加载字典快照，用于直接通过SQL修改字典后生效，只有管理员可以调用
+     *
+     * @return Void
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh() {
+        if (!Boolean.TRUE.equals(userService.getCurrentUserOnlineInfo().getAdmin())) {
+            throw new RestException("只有管理员可以刷新字典", ResponseStatusCode.NO_PERMISSIONS);
+        }
+
+        dictionaryService.refresh();
+        return ResponseEntity.ok();
+    }
+
     @Override
     public Object createPageView() {
         PageTableView<Dictionary> view = new PageTableView<>();
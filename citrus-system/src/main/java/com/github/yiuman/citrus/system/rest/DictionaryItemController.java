@@ -0,0 +1,57 @@
+package com.github.yiuman.citrus.system.rest;
+
+import com.github.yiuman.citrus.support.crud.query.annotations.Equals;
+import com.github.yiuman.citrus.support.crud.query.annotations.Like;
+import com.github.yiuman.citrus.support.crud.rest.BaseCrudController;
+import com.github.yiuman.citrus.support.crud.view.impl.FormView;
+import com.github.yiuman.citrus.support.crud.view.impl.PageTableView;
+import com.github.yiuman.citrus.support.http.ConditionalGet;
+import com.github.yiuman.citrus.system.entity.DictionaryItem;
+import lombok.Data;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 字典项管理<br/>
+ * 通过BaseService写入，提交后字典快照在下次读取时重新加载
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@ConditionalGet(DictionaryItem.class)
+@RestController
+@RequestMapping("/rest/dict-items")
+public class DictionaryItemController extends BaseCrudController<DictionaryItem, Long> {
+
+    public DictionaryItemController() {
+        setParamClass(DictionaryItemQuery.class);
+    }
+
+    @Data
+    static class DictionaryItemQuery {
+        @Equals(mapping = "dict_id")
+        private Long dictId;
+        @Like(mapping = "item_name")
+        private String itemName;
+    }
+
+    @Override
+    public Object createPageView() {
+        PageTableView<DictionaryItem> view = new PageTableView<>();
+        view.addColumn("名称", "itemName");
+        view.addColumn("代码", "itemCode");
+        view.addColumn("排序", "orderId");
+        view.addWidget("名称", "itemName");
+        view.defaultSetting();
+        return view;
+    }
+
+    @Override
+    public Object createFormView() {
+        FormView view = new FormView();
+        view.addEditField("名称", "itemName").addRule("required");
+        view.addEditField("代码", "itemCode").addRule("required");
+        view.addEditField("排序", "orderId");
+        return view;
+    }
+}
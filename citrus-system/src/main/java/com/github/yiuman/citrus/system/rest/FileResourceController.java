@@ -3,7 +3,8 @@ package com.github.yiuman.citrus.system.rest;
 import com.github.yiuman.citrus.security.authorize.Authorize;
 import com.github.yiuman.citrus.support.crud.rest.BaseQueryRestful;
 import com.github.yiuman.citrus.support.crud.service.CrudService;
-import com.github.yiuman.citrus.support.utils.WebUtils;
+import com.github.yiuman.citrus.support.file.ChunkedUpload;
+import com.github.yiuman.citrus.support.http.ResponseEntity;
 import com.github.yiuman.citrus.system.entity.FileResource;
 import com.github.yiuman.citrus.system.hook.HasLoginHook;
 import com.github.yiuman.citrus.system.service.FileResourceService;
@@ -11,7 +12,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Objects;
 
 /**
  * @author yiuman
@@ -35,10 +39,81 @@ public class FileResourceController extends BaseQueryRestful<FileResource, Strin
         return fileResourceService.upload(identify, file);
     }
 
+    /**
+     * 初始化分片上传
+     *
+     * @param filename  文件名称
+     * @param size      文件大小
+     * @param chunkSize 分片大小
+     * @param hash      整个文件的MD5哈希，可为空
+     * @return 上传会话
+     * @throws IOException IO异常
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<ChunkedUpload> initUpload(String filename, long size, int chunkSize, String hash) throws IOException {
+        return ResponseEntity.ok(fileResourceService.initUpload(filename, size, chunkSize, hash));
+    }
+
+    /**
+     * 上传分片，请求体为分片的二进制内容（application/octet-stream）
+     *
+     * @param uploadId   上传会话ID
+     * @param chunkIndex 分片下标，从0开始
+     * @param hash       分片的MD5哈希，可为空
+     * @param request    当前请求
+     * @return 上传会话
+     * @throws IOException IO异常
+     */
+    @PutMapping("/uploads/{uploadId}/{chunkIndex}")
+    public ResponseEntity<ChunkedUpload> uploadChunk(@PathVariable String uploadId, @PathVariable int chunkIndex, String hash, HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(fileResourceService.uploadChunk(uploadId, chunkIndex, request.getInputStream(), hash));
+    }
+
+    /**
+     * 查询上传会话及已接收的分片，用于断点续传
+     *
+     * @param uploadId 上传会话ID
+     * @return 上传会话
+     * @throws IOException IO异常
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ChunkedUpload> getUpload(@PathVariable String uploadId) throws IOException {
+        return ResponseEntity.ok(fileResourceService.getUpload(uploadId));
+    }
+
+    /**
+     * 完成分片上传
+     *
+     * @param uploadId 上传会话ID
+     * @return 文件资源ID
+     * @throws Exception IO异常、保存异常
+     */
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<String> completeUpload(@PathVariable String uploadId) throws Exception {
+        return ResponseEntity.ok(fileResourceService.completeUpload(uploadId));
+    }
+
+    /**
+     * 放弃分片上传
+     *
+     * @param uploadId 上传会话ID
+     * @return 空Void
+     * @throws IOException IO异常
+     */
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String uploadId) throws IOException {
+        fileResourceService.abortUpload(uploadId);
+        return ResponseEntity.ok();
+    }
+
     @GetMapping("/{key}")
-    public void download(@PathVariable String key) throws IOException {
+    public void download(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
         FileResource fileResource = get(key);
-        WebUtils.export(fileResourceService.getInputStream(fileResource), fileResource.getFilename());
+        if (Objects.isNull(fileResource)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
 
+        fileResourceService.download(fileResource, request, response);
     }
 }
@@ -4,6 +4,7 @@ import com.github.yiuman.citrus.support.crud.rest.BaseTreeController;
 import com.github.yiuman.citrus.support.crud.service.TreeCrudService;
 import com.github.yiuman.citrus.support.crud.view.impl.FormView;
 import com.github.yiuman.citrus.support.crud.view.impl.PageTableView;
+import com.github.yiuman.citrus.support.http.ConditionalGet;
 import com.github.yiuman.citrus.support.http.ResponseEntity;
 import com.github.yiuman.citrus.support.utils.Buttons;
 import com.github.yiuman.citrus.system.entity.Resource;
@@ -21,6 +22,7 @@ import java.util.List;
  * @author yiuman
  * @date 2020/5/22
  */
+@ConditionalGet
 @RestController
 @RequestMapping("/rest/menus")
 public class MenuController extends BaseTreeController<Resource, Long> {
@@ -6,6 +6,7 @@ import com.github.yiuman.citrus.support.crud.rest.BaseTreeController;
 import com.github.yiuman.citrus.support.crud.service.TreeCrudService;
 import com.github.yiuman.citrus.support.crud.view.impl.FormView;
 import com.github.yiuman.citrus.support.crud.view.impl.PageTableView;
+import com.github.yiuman.citrus.support.http.ConditionalGet;
 import com.github.yiuman.citrus.system.entity.Organization;
 import com.github.yiuman.citrus.system.service.OrganService;
 import lombok.Data;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
  * @author yiuman
  * @date 2020/4/6
  */
+@ConditionalGet
 @RestController
 @RequestMapping("/rest/organs")
 public class OrganController extends BaseTreeController<Organization, Long> {
@@ -68,7 +68,7 @@ public class RoleController extends BaseCrudController<RoleDto, Long> {
 
             String inSql = String.format(
                     "select role_id from sys_role_auth where authority_id in (%s)",
-                    authIds.parallelStream().map(String::valueOf).collect(Collectors.joining(","))
+                    authIds.stream().map(String::valueOf).collect(Collectors.joining(","))
             );
             QueryBuilders.wrapper(query).inSql(getService().getKeyColumn(), inSql);
         }
@@ -5,11 +5,13 @@ import com.github.yiuman.citrus.support.crud.rest.BaseCrudController;
 import com.github.yiuman.citrus.support.crud.service.CrudService;
 import com.github.yiuman.citrus.support.crud.view.impl.FormView;
 import com.github.yiuman.citrus.support.crud.view.impl.PageTableView;
+import com.github.yiuman.citrus.support.http.ConditionalGet;
 import com.github.yiuman.citrus.support.http.ResponseEntity;
 import com.github.yiuman.citrus.support.model.Page;
 import com.github.yiuman.citrus.support.utils.ConvertUtils;
 import com.github.yiuman.citrus.system.dto.ScopeDto;
 import com.github.yiuman.citrus.system.entity.Organization;
+import com.github.yiuman.citrus.system.entity.Scope;
 import com.github.yiuman.citrus.system.enums.ScopeType;
 import com.github.yiuman.citrus.system.service.OrganService;
 import com.github.yiuman.citrus.system.service.ScopeService;
@@ -29,6 +31,7 @@ import java.util.stream.Collectors;
  * @author yiuman
  * @date 2020/6/1
  */
+@ConditionalGet({Scope.class, Organization.class})
 @RestController
 @RequestMapping("/rest/scopes")
 public class ScopeController extends BaseCrudController<ScopeDto, Long> {
@@ -1,6 +1,7 @@
 package com.github.yiuman.citrus.system.service;
 
 import cn.hutool.core.collection.ConcurrentHashSet;
+import com.github.yiuman.citrus.support.utils.ThreadUtils;
 import com.github.yiuman.citrus.support.utils.WebUtils;
 import com.github.yiuman.citrus.system.entity.Organization;
 import com.github.yiuman.citrus.system.entity.Resource;
@@ -15,7 +16,6 @@ import org.springframework.util.ObjectUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
 /**
@@ -69,14 +69,19 @@ public class DataRangeServiceImpl implements DataRangeService {
                 return null;
             }
 
-            //下面使用并行流处理，这时使用的是线程安全的Set
-            Set<Long> authDeptIds = new CopyOnWriteArraySet<>();
+            //当前用户的组织机构只获取一次，各个数据范围定义共用
+            List<Organization> currentUserOrgans = scopeDefines.stream().anyMatch(scopeDefine -> scopeDefine.getOrganId() <= 0)
+                    ? userService.getCurrentUserOrgans()
+                    : Collections.emptyList();
 
-            //这里处理数据范围
-            scopeDefines.parallelStream().forEach(scopeDefine -> {
-                Set<Long> currentOrganIds = getScopeAuthDeptIds(scopeDefine);
+            //定义较多时并行查询各个定义的部门，包含与排除按定义顺序合并，结果与定义顺序一致
+            List<Set<Long>> scopeOrganIds = ThreadUtils.map(scopeDefines, scopeDefine -> getScopeAuthDeptIds(scopeDefine, currentUserOrgans));
+            Set<Long> authDeptIds = new HashSet<>();
+            for (int i = 0; i < scopeDefines.size(); i++) {
+                Set<Long> currentOrganIds = scopeOrganIds.get(i);
                 //获取到的当前的数据范围
                 if (!CollectionUtils.isEmpty(currentOrganIds)) {
+                    ScopeDefine scopeDefine = scopeDefines.get(i);
                     //包含
                     if (scopeDefine.getScopeRule() == null || scopeDefine.getScopeRule() == 0) {
                         authDeptIds.addAll(currentOrganIds);
@@ -85,7 +90,7 @@ public class DataRangeServiceImpl implements DataRangeService {
                         authDeptIds.removeAll(currentOrganIds);
                     }
                 }
-            });
+            }
 
             return authDeptIds;
         } catch (Exception e) {
@@ -98,12 +103,12 @@ public class DataRangeServiceImpl implements DataRangeService {
     /**
      * 根据数据范围定义，获取符合定义的组织机构ID集合
      *
-     * @param scopeDefine 数据范围定义实体
+     * @param scopeDefine       数据范围定义实体
+     * @param currentUserOrgans 当前用户的组织机构
      * @return 符合的组织机构ID集合
      */
-    private Set<Long> getScopeAuthDeptIds(ScopeDefine scopeDefine) {
+    private Set<Long> getScopeAuthDeptIds(ScopeDefine scopeDefine, List<Organization> currentUserOrgans) {
         OrganService organService = rbacMixinService.getOrganService();
-        UserService userService = rbacMixinService.getUserService();
 
         Long scopeOrganId = scopeDefine.getOrganId();
         //获取范围定义部门
@@ -119,13 +124,12 @@ public class DataRangeServiceImpl implements DataRangeService {
             }
         } else {
             //剩下都是基于现有用户的部门去处理的
-            List<Organization> currentUserOrgans = userService.getCurrentUserOrgans();
             if (CollectionUtils.isEmpty(currentUserOrgans)) {
                 return null;
             }
             //数据范围定义的部门ID=0时表示当前用户的部门，遍历当前用户部门处理
             if (scopeOrganId == 0) {
-                currentUserOrgans.parallelStream().forEach(organization -> {
+                currentUserOrgans.forEach(organization -> {
                     for (ScopeType scopeType : scopeTypes) {
                         currentOrganIds.addAll(getScopeTypeOrganIds(scopeType, organization));
                     }
@@ -133,7 +137,7 @@ public class DataRangeServiceImpl implements DataRangeService {
             } else {
                 //数据范围定义的部门ID<0时为，-(scopeOrganId)的级别，则部门树的深度
                 int deep = Math.toIntExact(-scopeOrganId);
-                currentUserOrgans.parallelStream().forEach(organization -> {
+                currentUserOrgans.forEach(organization -> {
                     for (ScopeType scopeType : scopeTypes) {
                         currentOrganIds.addAll(getScopeTypeOrganIds(scopeType, organService.parent(organization, deep)));
                     }
@@ -160,13 +164,13 @@ public class DataRangeServiceImpl implements DataRangeService {
             //找子部门
             case INCLUDE_SUB:
                 List<Organization> children = organService.children(organization);
-                return children.parallelStream()
+                return children.stream()
                         .map(Organization::getOrganId)
                         .collect(Collectors.toSet());
             //找父部门
             case INCLUDE_SUP:
                 List<Organization> parents = organService.parents(organization);
-                return parents.parallelStream()
+                return parents.stream()
                         .map(Organization::getOrganId)
                         .collect(Collectors.toSet());
             default:
@@ -0,0 +1,239 @@
+package com.github.yiuman.citrus.system.service;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.yiuman.citrus.support.cache.EntityCacheManager;
+import com.github.yiuman.citrus.support.crud.CrudHelper;
+import com.github.yiuman.citrus.support.crud.EntityVersions;
+import com.github.yiuman.citrus.system.entity.Dictionary;
+import com.github.yiuman.citrus.system.entity.DictionaryItem;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 字典服务<br/>
+ * 在内存中保存所有字典的不可变快照，字典或字典项通过BaseService写入并提交后实体版本递增，
+ * 下次读取时重新加载并整体替换快照；重新加载期间其他线程继续读取旧快照。
+ * 实体版本只在当前进程内有效，因此同时订阅字典与字典项的实体缓存失效，其他节点通过BaseService的写入经缓存失效广播后同样重新加载；
+ * 直接通过Mapper或SQL的写入需调用{@link #refresh()}
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Service
+public class DictionaryService {
+
+    private final Lock refreshLock = new ReentrantLock();
+
+    /**
+     * 收到的字典或字典项缓存失效次数
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final EntityCacheManager entityCacheManager;
+
+    private volatile Snapshot snapshot;
+
+    public DictionaryService(ObjectProvider<EntityCacheManager> entityCacheManagerProvider) {
+        this.entityCacheManager = entityCacheManagerProvider.getIfAvailable();
+        if (Objects.nonNull(entityCacheManager)) {
+            entityCacheManager.subscribe(EntityCacheManager.getRegion(Dictionary.class), keys -> invalidations.incrementAndGet());
+            entityCacheManager.subscribe(EntityCacheManager.getRegion(DictionaryItem.class), keys -> invalidations.incrementAndGet());
+        }
+    }
+
+    /**
+     * 获取当前快照，字典有写入时重新加载
+     *
+     * @return 字典快照
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        long dictVersion = EntityVersions.get(Dictionary.class);
+        long itemVersion = EntityVersions.get(DictionaryItem.class);
+        if (Objects.nonNull(current) && current.matches(dictVersion, itemVersion, invalidations.get())) {
+            return current;
+        }
+
+        //已有快照时不等待，由正在加载的线程替换
+        if (Objects.nonNull(current)) {
+            if (!refreshLock.tryLock()) {
+                return current;
+            }
+        } else {
+            refreshLock.lock();
+        }
+
+        try {
+            current = snapshot;
+            dictVersion = EntityVersions.get(Dictionary.class);
+            itemVersion = EntityVersions.get(DictionaryItem.class);
+            long invalidation = invalidations.get();
+            if (Objects.isNull(current) || !current.matches(dictVersion, itemVersion, invalidation)) {
+                current = load(Objects.isNull(current) ? 1L : current.version + 1, dictVersion, itemVersion, invalidation);
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 强制重新加载快照，开启实体缓存时同时失效字典的缓存并广播，其他节点在下次读取时重新加载
+     */
+    public void refresh() {
+        if (Objects.nonNull(entityCacheManager)) {
+            entityCacheManager.invalidateAll(EntityCacheManager.getRegion(Dictionary.class));
+        }
+
+        refreshLock.lock();
+        try {
+            Snapshot current = snapshot;
+            snapshot = load(Objects.isNull(current) ? 1L : current.version + 1,
+                    EntityVersions.get(Dictionary.class), EntityVersions.get(DictionaryItem.class), invalidations.get());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 获取字典的代码与名称
+     *
+     * @param dictCode 字典编码
+     * @return 按排序号排列的 字典项代码->字典项名称，字典不存在时为空
+     */
+    public Map<String, String> getLabels(String dictCode) {
+        return getSnapshot().getLabels(dictCode);
+    }
+
+    /**
+     * 将字典项代码翻译为名称
+     *
+     * @param dictCode 字典编码
+     * @param itemCode 字典项代码
+     * @return 字典项名称，找不到时为null
+     */
+    public String getLabel(String dictCode, Object itemCode) {
+        return getSnapshot().getLabel(dictCode, itemCode);
+    }
+
+    /**
+     * 批量将字典项代码翻译为名称
+     *
+     * @param dictCode  字典编码
+     * @param itemCodes 字典项代码
+     * @return 与代码顺序一致的名称，找不到的为null
+     */
+    public List<String> translate(String dictCode, Collection<?> itemCodes) {
+        Map<String, String> labels = getLabels(dictCode);
+        List<String> result = new ArrayList<>(itemCodes.size());
+        itemCodes.forEach(itemCode -> result.add(Objects.isNull(itemCode) ? null : labels.get(String.valueOf(itemCode))));
+        return result;
+    }
+
+    /**
+     * 创建翻译字典项的函数，用于列表视图的扩展列，如：
+     * <pre>
+     * view.addColumn("性别", "sexName", dictionaryService.translator("sex", User::getSex));
+     * </pre>
+     *
+     * @param dictCode   字典编码
+     * @param codeGetter 获取记录中字典项代码的函数
+     * @param <T>        记录类型
+     * @return 返回字典项名称的函数，找不到时返回null
+     */
+    public <T> Function<T, String> translator(String dictCode, Function<T, ?> codeGetter) {
+        return record -> getLabel(dictCode, codeGetter.apply(record));
+    }
+
+    /**
+     * 查询所有字典
+     *
+     * @return 字典
+     */
+    protected List<Dictionary> listDictionaries() {
+        return CrudHelper.getCrudMapper(Dictionary.class).selectList(Wrappers.emptyWrapper());
+    }
+
+    /**
+     * 查询所有字典项
+     *
+     * @return 按字典与排序号排列的字典项
+     */
+    protected List<DictionaryItem> listItems() {
+        return CrudHelper.getCrudMapper(DictionaryItem.class).selectList(Wrappers.<DictionaryItem>query()
+                .orderByAsc("dict_id", "order_id"));
+    }
+
+    private Snapshot load(long version, long dictVersion, long itemVersion, long invalidation) {
+        List<Dictionary> dictionaries = listDictionaries();
+        List<DictionaryItem> items = listItems();
+        Map<Long, Map<String, String>> dictItems = new HashMap<>(Math.max((int) (dictionaries.size() / .75f) + 1, 16));
+        items.forEach(item -> dictItems.computeIfAbsent(item.getDictId(), key -> new LinkedHashMap<>())
+                .putIfAbsent(item.getItemCode(), item.getItemName()));
+
+        Map<String, Map<String, String>> labels = new HashMap<>(Math.max((int) (dictionaries.size() / .75f) + 1, 16));
+        dictionaries.forEach(dictionary -> labels.putIfAbsent(dictionary.getDictCode(),
+                Collections.unmodifiableMap(dictItems.getOrDefault(dictionary.getDictId(), Collections.emptyMap()))));
+        return new Snapshot(version, dictVersion, itemVersion, invalidation, Collections.unmodifiableMap(labels));
+    }
+
+    /**
+     * 字典快照，创建后不再修改
+     */
+    public static final class Snapshot {
+
+        private final long version;
+
+        private final long dictVersion;
+
+        private final long itemVersion;
+
+        private final long invalidation;
+
+        /**
+         * 字典编码 -> (字典项代码 -> 字典项名称)
+         */
+        private final Map<String, Map<String, String>> labels;
+
+        private Snapshot(long version, long dictVersion, long itemVersion, long invalidation, Map<String, Map<String, String>> labels) {
+            this.version = version;
+            this.dictVersion = dictVersion;
+            this.itemVersion = itemVersion;
+            this.invalidation = invalidation;
+            this.labels = labels;
+        }
+
+        /**
+         * @return 快照版本，每次重新加载递增
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        public Map<String, String> getLabels(String dictCode) {
+            return labels.getOrDefault(dictCode, Collections.emptyMap());
+        }
+
+        public String getLabel(String dictCode, Object itemCode) {
+            return Objects.isNull(itemCode) ? null : getLabels(dictCode).get(String.valueOf(itemCode));
+        }
+
+        private boolean matches(long dictVersion, long itemVersion, long invalidation) {
+            return this.dictVersion == dictVersion && this.itemVersion == itemVersion && this.invalidation == invalidation;
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package com.github.yiuman.citrus.system.service;
 
+import cn.hutool.cache.Cache;
+import cn.hutool.cache.CacheUtil;
 import cn.hutool.core.io.FileUtil;
+import com.github.yiuman.citrus.security.authenticate.NoPermissionException;
+import com.github.yiuman.citrus.support.crud.query.Query;
 import com.github.yiuman.citrus.support.crud.query.builder.QueryBuilders;
 import com.github.yiuman.citrus.support.crud.service.BaseService;
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.support.file.ChunkedFileStorageService;
+import com.github.yiuman.citrus.support.file.ChunkedUpload;
+import com.github.yiuman.citrus.support.file.FileDownloader;
 import com.github.yiuman.citrus.support.file.FileStorageService;
+import com.github.yiuman.citrus.support.file.StoredFile;
+import com.github.yiuman.citrus.support.http.ResponseStatusCode;
 import com.github.yiuman.citrus.system.entity.FileResource;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.ZoneId;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 文件资源管理
@@ -26,44 +40,215 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class FileResourceService extends BaseService<FileResource, String> {
 
+    /**
+     * 文件资源元数据的缓存容量
+     */
+    private static final int METADATA_CACHE_CAPACITY = 1024;
+
+    /**
+     * 文件资源元数据的缓存时间，其他节点修改或删除后最多在此时间后生效
+     */
+    private static final long METADATA_CACHE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
     private final FileStorageService fileStorageService;
 
+    private final UserService userService;
+
+    /**
+     * 文件资源元数据的LRU缓存，下载等按主键获取时不必每次查库
+     */
+    private final Cache<String, FileResource> metadataCache = CacheUtil.newLRUCache(METADATA_CACHE_CAPACITY, METADATA_CACHE_TIMEOUT);
+
     public String upload(String identify, MultipartFile file) throws Exception {
+        //传了文件标识（内容哈希）且已存在则直接复用，无需读取文件
+        if (!ObjectUtils.isEmpty(identify)) {
+            FileResource fileResource = getByIdentify(identify);
+            if (Objects.nonNull(fileResource)) {
+                return fileResource.getFileId();
+            }
+        }
+
+        //流式写入，同时计算内容哈希作为唯一标识，相同内容在存储中只保留一份
+        StoredFile storedFile = fileStorageService.saveContent(file.getInputStream());
+        return register(storedFile, file.getOriginalFilename());
+    }
+
+    /**
+     * 初始化分片上传
+     *
+     * @param filename  文件名称
+     * @param size      文件大小
+     * @param chunkSize 分片大小
+     * @param hash      整个文件的MD5哈希，可为空
+     * @return 上传会话
+     * @throws IOException IO异常
+     */
+    public ChunkedUpload initUpload(String filename, long size, int chunkSize, String hash) throws IOException {
+        return getChunkedFileStorageService().initUpload(filename, size, chunkSize, hash, getUploadOwner());
+    }
 
-        //没有传文件标识即计算一次md5哈希值作为唯一标识
-        if (ObjectUtils.isEmpty(identify)) {
-            identify = makeIdentify(file.getInputStream());
+    /**
+     * 上传分片
+     *
+     * @param uploadId   上传会话ID
+     * @param chunkIndex 分片下标
+     * @param stream     分片内容
+     * @param chunkHash  分片的MD5哈希，可为空
+     * @return 上传会话
+     * @throws IOException IO异常
+     */
+    public ChunkedUpload uploadChunk(String uploadId, int chunkIndex, InputStream stream, String chunkHash) throws IOException {
+        return getChunkedFileStorageService().writeChunk(uploadId, getUploadOwner(), chunkIndex, stream, chunkHash);
+    }
+
+    /**
+     * 获取上传会话，用于断点续传时查询已接收的分片
+     *
+     * @param uploadId 上传会话ID
+     * @return 上传会话
+     * @throws IOException IO异常
+     */
+    public ChunkedUpload getUpload(String uploadId) throws IOException {
+        return getChunkedFileStorageService().getUpload(uploadId, getUploadOwner());
+    }
+
+    /**
+     * 完成分片上传并登记文件资源
+     *
+     * @param uploadId 上传会话ID
+     * @return 文件资源ID
+     * @throws Exception IO异常、保存异常
+     */
+    public String completeUpload(String uploadId) throws Exception {
+        ChunkedFileStorageService chunkedFileStorageService = getChunkedFileStorageService();
+        String owner = getUploadOwner();
+        ChunkedUpload upload = chunkedFileStorageService.getUpload(uploadId, owner);
+        if (Objects.isNull(upload)) {
+            throw new RestException("上传会话不存在或已完成", ResponseStatusCode.NOT_FOUND);
         }
-        FileResource fileResource = get(QueryBuilders.<FileResource>lambda().eq(FileResource::getIdentify, identify).toQuery());
+
+        StoredFile storedFile = chunkedFileStorageService.completeUpload(uploadId, owner);
+        return register(storedFile, upload.getFilename());
+    }
+
+    /**
+     * 放弃分片上传
+     *
+     * @param uploadId 上传会话ID
+     * @throws IOException IO异常
+     */
+    public void abortUpload(String uploadId) throws IOException {
+        getChunkedFileStorageService().abortUpload(uploadId, getUploadOwner());
+    }
+
+    /**
+     * 登记已存储的文件内容，相同内容已登记过则直接返回已有的文件资源ID
+     */
+    private String register(StoredFile storedFile, String filename) throws Exception {
+        FileResource fileResource = getByIdentify(storedFile.getHash());
         if (Objects.nonNull(fileResource)) {
             return fileResource.getFileId();
         }
 
         fileResource = new FileResource();
-        fileResource.setIdentify(identify);
-        String originalFilename = file.getOriginalFilename();
-
-        String uploadFilePath = fileStorageService.save(FileUtil.getPrefix(originalFilename), file.getInputStream());
-        fileResource.setFilename(originalFilename);
-        fileResource.setPath(uploadFilePath);
-        fileResource.setSize(file.getSize());
-        fileResource.setFileType(FileUtil.getSuffix(originalFilename));
+        fileResource.setIdentify(storedFile.getHash());
+        fileResource.setFilename(filename);
+        fileResource.setPath(storedFile.getPath());
+        fileResource.setSize(storedFile.getSize());
+        fileResource.setFileType(FileUtil.getSuffix(filename));
         return save(fileResource);
     }
 
+    private ChunkedFileStorageService getChunkedFileStorageService() {
+        if (!(fileStorageService instanceof ChunkedFileStorageService)) {
+            throw new RestException("当前文件存储不支持分片上传", ResponseStatusCode.BAD_REQUEST);
+        }
+
+        return (ChunkedFileStorageService) fileStorageService;
+    }
+
+    /**
+     * 上传会话归属于当前用户，以用户ID作为会话的所属用户
+     */
+    private String getUploadOwner() {
+        return userService.getCurrentUser()
+                .map(user -> String.valueOf(user.getUserId()))
+                .orElseThrow(NoPermissionException::new);
+    }
+
     /**
-     * 构造文件的标识
+     * 根据文件标识获取文件资源
      *
-     * @param inputStream 文件流
-     * @return md5hex
-     * @throws IOException 输入输出异常
+     * @param identify 文件标识（内容的MD5哈希）
+     * @return 文件资源
      */
-    private String makeIdentify(InputStream inputStream) throws IOException {
-        return DigestUtils.md5Hex(StreamUtils.copyToByteArray(inputStream));
+    public FileResource getByIdentify(String identify) {
+        return get(QueryBuilders.<FileResource>lambda().eq(FileResource::getIdentify, identify).toQuery());
     }
 
     public InputStream getInputStream(FileResource fileResource) throws IOException {
         return fileStorageService.get(fileResource.getPath());
     }
 
+    /**
+     * 下载文件，使用文件内容哈希作为ETag，本地存储的文件支持Range
+     *
+     * @param fileResource 文件资源
+     * @param request      当前请求
+     * @param response     当前响应
+     * @throws IOException IO异常
+     */
+    public void download(FileResource fileResource, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = fileResource.getIdentify();
+        Path localPath = fileStorageService.getLocalPath(fileResource.getPath());
+        if (Objects.nonNull(localPath)) {
+            FileDownloader.send(request, response, localPath, fileResource.getFilename(), etag);
+            return;
+        }
+
+        long lastModified = Optional.ofNullable(fileResource.getLastModifiedTime())
+                .map(time -> time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(-1L);
+        FileDownloader.send(request, response, getInputStream(fileResource), fileResource.getSize(), fileResource.getFilename(), etag, lastModified);
+    }
+
+    @Override
+    public FileResource get(String key) {
+        FileResource fileResource = metadataCache.get(key);
+        if (Objects.nonNull(fileResource)) {
+            return fileResource;
+        }
+
+        fileResource = super.get(key);
+        //直接保存二进制数据的不缓存
+        if (Objects.nonNull(fileResource) && Objects.isNull(fileResource.getBytes())) {
+            metadataCache.put(key, fileResource);
+        }
+        return fileResource;
+    }
+
+    @Override
+    public void afterSave(FileResource entity) {
+        metadataCache.remove(entity.getFileId());
+    }
+
+    @Override
+    public boolean beforeRemove(FileResource entity) {
+        metadataCache.remove(entity.getFileId());
+        return true;
+    }
+
+    @Override
+    public boolean remove(Query query) {
+        boolean removed = super.remove(query);
+        metadataCache.clear();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        metadataCache.clear();
+    }
+
 }
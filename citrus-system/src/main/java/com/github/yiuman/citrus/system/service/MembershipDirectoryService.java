@@ -0,0 +1,179 @@
+package com.github.yiuman.citrus.system.service;
+
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
+import com.github.yiuman.citrus.system.entity.RoleAuthority;
+import com.github.yiuman.citrus.system.entity.UserOrgan;
+import com.github.yiuman.citrus.system.entity.UserRole;
+import com.github.yiuman.citrus.system.mapper.RoleAuthorityMapper;
+import com.github.yiuman.citrus.system.mapper.UserOrganMapper;
+import com.github.yiuman.citrus.system.mapper.UserRoleMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 成员关系目录服务<br/>
+ * 缓存 角色->用户、部门->用户、权限->角色 的成员关系，未命中的key合并为一次批量查询加载，
+ * 用户或角色的成员关系变更时由{@link UserService}、{@link RoleService}失效
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Service
+public class MembershipDirectoryService {
+
+    /**
+     * 角色ID -> 用户ID
+     */
+    private final Map<Long, Set<Long>> roleUsers = new ConcurrentHashMap<>(64);
+
+    /**
+     * 部门ID -> 用户ID
+     */
+    private final Map<Long, Set<Long>> deptUsers = new ConcurrentHashMap<>(64);
+
+    /**
+     * 权限ID -> 角色ID
+     */
+    private final Map<Long, Set<Long>> authorityRoles = new ConcurrentHashMap<>(64);
+
+    private final UserRoleMapper userRoleMapper;
+
+    private final UserOrganMapper userOrganMapper;
+
+    private final RoleAuthorityMapper roleAuthorityMapper;
+
+    public MembershipDirectoryService(UserRoleMapper userRoleMapper, UserOrganMapper userOrganMapper, RoleAuthorityMapper roleAuthorityMapper) {
+        this.userRoleMapper = userRoleMapper;
+        this.userOrganMapper = userOrganMapper;
+        this.roleAuthorityMapper = roleAuthorityMapper;
+    }
+
+    /**
+     * 根据角色ID获取用户ID
+     *
+     * @param roleIds 角色ID
+     * @return 去重且保持顺序的用户ID
+     */
+    public Set<Long> getUserIdsByRoleIds(Collection<Long> roleIds) {
+        return lookup(roleUsers, roleIds, userRoleMapper, UserRole::getRoleId, UserRole::getUserId);
+    }
+
+    /**
+     * 根据部门ID获取用户ID
+     *
+     * @param deptIds 部门ID
+     * @return 去重且保持顺序的用户ID
+     */
+    public Set<Long> getUserIdsByDeptIds(Collection<Long> deptIds) {
+        return lookup(deptUsers, deptIds, userOrganMapper, UserOrgan::getOrganId, UserOrgan::getUserId);
+    }
+
+    /**
+     * 根据权限ID获取角色ID
+     *
+     * @param authIds 权限ID
+     * @return 去重且保持顺序的角色ID
+     */
+    public Set<Long> getRoleIdsByAuthIds(Collection<Long> authIds) {
+        return lookup(authorityRoles, authIds, roleAuthorityMapper, RoleAuthority::getAuthorityId, RoleAuthority::getRoleId);
+    }
+
+    /**
+     * 根据权限ID获取用户ID
+     *
+     * @param authIds 权限ID
+     * @return 去重且保持顺序的用户ID
+     */
+    public Set<Long> getUserIdsByAuthIds(Collection<Long> authIds) {
+        return getUserIdsByRoleIds(getRoleIdsByAuthIds(authIds));
+    }
+
+    /**
+     * 用户的角色或部门发生变更
+     */
+    public void invalidateUserMemberships() {
+        invalidate(roleUsers, deptUsers);
+    }
+
+    /**
+     * 角色的权限发生变更
+     */
+    public void invalidateRoleAuthorities() {
+        invalidate(authorityRoles);
+    }
+
+    /**
+     * 角色被删除，角色的用户与权限关系都失效
+     */
+    public void invalidateRoleMemberships() {
+        invalidate(roleUsers, authorityRoles);
+    }
+
+    /**
+     * 立即清空，若在事务中则在事务提交后再清空一次，防止提交前并发读取把旧数据重新加载进缓存
+     */
+    @SafeVarargs
+    private final void invalidate(Map<Long, Set<Long>>... directories) {
+        Arrays.stream(directories).forEach(Map::clear);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    Arrays.stream(directories).forEach(Map::clear);
+                }
+            });
+        }
+    }
+
+    /**
+     * 从目录中查找，未命中的key通过一次IN查询加载
+     *
+     * @param directory   目录缓存
+     * @param keys        需要查找的key
+     * @param mapper      关联关系的Mapper
+     * @param keyColumn   关联关系中key的列
+     * @param valueGetter 获取关联关系的值
+     * @param <T>         关联关系实体类型
+     * @return 去重且保持顺序的值
+     */
+    private <T> Set<Long> lookup(Map<Long, Set<Long>> directory,
+                                 Collection<Long> keys,
+                                 CrudMapper<T> mapper,
+                                 SFunction<T, Long> keyColumn,
+                                 Function<T, Long> valueGetter) {
+        if (CollUtil.isEmpty(keys)) {
+            return new LinkedHashSet<>();
+        }
+
+        Set<Long> missingKeys = keys.stream()
+                .filter(Objects::nonNull)
+                .filter(key -> !directory.containsKey(key))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!missingKeys.isEmpty()) {
+            Map<Long, LinkedHashSet<Long>> loaded = mapper.selectList(Wrappers.<T>lambdaQuery().in(keyColumn, missingKeys))
+                    .stream()
+                    .collect(Collectors.groupingBy(
+                            keyColumn,
+                            Collectors.mapping(valueGetter, Collectors.toCollection(LinkedHashSet::new))
+                    ));
+            //没有成员的key也放入目录，避免重复查询
+            missingKeys.forEach(key -> directory.put(key, Collections.unmodifiableSet(loaded.getOrDefault(key, new LinkedHashSet<>()))));
+        }
+
+        Set<Long> values = new LinkedHashSet<>();
+        keys.stream()
+                .filter(Objects::nonNull)
+                .map(key -> directory.getOrDefault(key, Collections.emptySet()))
+                .forEach(values::addAll);
+        return values;
+    }
+}
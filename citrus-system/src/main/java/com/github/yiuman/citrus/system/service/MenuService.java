@@ -75,7 +75,7 @@ public class MenuService extends BaseSimpleTreeService<Resource, Long> {
         //若是CrudRestful则保存操作资源，则增删改查资源
         Map<String, QueryRestful> crudRestfulMap = applicationContext.getBeansOfType(QueryRestful.class);
         final AtomicReference<Class<? extends QueryRestful>> targetClass = new AtomicReference<>();
-        crudRestfulMap.values().parallelStream().forEach(item -> {
+        crudRestfulMap.values().forEach(item -> {
             Class<? extends QueryRestful> restClass = (Class<? extends QueryRestful>) AopUtils.getTargetClass(item);
             RequestMapping annotation = restClass.getAnnotation(RequestMapping.class);
             boolean isMapping = annotation != null && Arrays.asList(annotation.value()).contains(entity.getPath());
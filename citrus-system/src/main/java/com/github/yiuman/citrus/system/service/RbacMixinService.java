@@ -73,8 +73,10 @@ public class RbacMixinService {
             userOnlineInfo.setMenus(menuService.list());
         } else {
             final Long userId = userOnlineInfo.getUserId();
-            userOnlineInfo.setRoles(userService.getRolesByUserId(userId));
-            userOnlineInfo.setOrganizations(userService.getUserOrgansByUserId(userId));
+            //当前用户的角色与组织机构使用请求内已加载的
+            boolean currentUser = userService.getCurrentUser().filter(user -> userId.equals(user.getUserId())).isPresent();
+            userOnlineInfo.setRoles(currentUser ? userService.getCurrentUserRoles() : userService.getRolesByUserId(userId));
+            userOnlineInfo.setOrganizations(currentUser ? userService.getCurrentUserOrgans() : userService.getUserOrgansByUserId(userId));
             Set<Resource> userResourcesWithAll = getUserResourcesWithAll(userId);
             //菜单排序 todo 考虑添加一个orderId？
             Comparator<? super Resource> menuSortComparator = (r1, r2) -> (int) (r1.getId() - r2.getId());
@@ -36,6 +36,7 @@ public class RoleService extends BaseDtoService<Role, Long, RoleDto> {
     private final RoleMapper roleMapper;
     private final RoleAuthorityMapper roleAuthorityMapper;
     private final UserRoleMapper userRoleMapper;
+    private final MembershipDirectoryService membershipDirectoryService;
 
     @Override
     public void afterSave(RoleDto entity) {
@@ -46,6 +47,7 @@ public class RoleService extends BaseDtoService<Role, Long, RoleDto> {
             roleAuthorityMapper.saveBatch(authIds.stream()
                     .map(authId -> new RoleAuthority(entity.getRoleId(), authId))
                     .collect(Collectors.toList()));
+            membershipDirectoryService.invalidateRoleAuthorities();
         }
 
     }
@@ -87,6 +89,7 @@ public class RoleService extends BaseDtoService<Role, Long, RoleDto> {
 
         userRoleMapper.delete(Wrappers.<UserRole>lambdaQuery().eq(UserRole::getRoleId, entity.getRoleId()));
         roleAuthorityMapper.delete(Wrappers.<RoleAuthority>lambdaQuery().eq(RoleAuthority::getRoleId, entity.getRoleId()));
+        membershipDirectoryService.invalidateRoleMemberships();
         return super.beforeRemove(entity);
     }
 
@@ -49,7 +49,7 @@ public class ScopeService extends BaseDtoService<Scope, Long, ScopeDto> {
         if (!CollectionUtils.isEmpty(entity.getScopeDefines())) {
             //将当前的数据范围ID，设置到数据范围定义的关联数据范围ID中
             entity.getScopeDefines()
-                    .parallelStream()
+                    .stream()
                     .forEach(scopeDefine -> scopeDefine.setScopeId(entity.getScopeId()));
             scopeDefineMapper.saveBatch(entity.getScopeDefines());
         }
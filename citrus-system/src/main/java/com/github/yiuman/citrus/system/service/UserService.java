@@ -1,6 +1,7 @@
 package com.github.yiuman.citrus.system.service;
 
 import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.github.yiuman.citrus.security.authenticate.NoPermissionException;
 import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
@@ -9,8 +10,11 @@ import com.github.yiuman.citrus.support.crud.service.BaseDtoService;
 import com.github.yiuman.citrus.support.exception.RestException;
 import com.github.yiuman.citrus.support.http.ResponseStatusCode;
 import com.github.yiuman.citrus.support.utils.LambdaUtils;
+import com.github.yiuman.citrus.support.utils.ThreadUtils;
+import com.github.yiuman.citrus.system.authticate.PrincipalAuthenticationToken;
 import com.github.yiuman.citrus.system.dto.UserDto;
 import com.github.yiuman.citrus.system.dto.UserOnlineInfo;
+import com.github.yiuman.citrus.system.dto.UserProvisionProgress;
 import com.github.yiuman.citrus.system.entity.*;
 import com.github.yiuman.citrus.system.mapper.RoleMapper;
 import com.github.yiuman.citrus.system.mapper.UserMapper;
@@ -22,10 +26,20 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 /**
  * 用户逻辑层
@@ -41,18 +55,35 @@ public class UserService extends BaseDtoService<User, Long, UserDto> {
      * 匿名登录的认证对象principal
      */
     private static final String ANONYMOUS = "anonymousUser";
+
+    /**
+     * 请求中缓存已查询用户的属性名前缀
+     */
+    private static final String PRINCIPAL_USER_ATTRIBUTE = UserService.class.getName() + ".PRINCIPAL_USER.";
+
+    /**
+     * 新用户的默认密码
+     */
+    private static final String DEFAULT_PASSWORD = "123456";
+
+    /**
+     * 批量开通用户时每个事务写入的用户数
+     */
+    private static final int PROVISION_CHUNK_SIZE = 500;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final RoleMapper roleMapper;
     private final UserRoleMapper userRoleMapper;
     private final UserOrganMapper userOrganMapper;
     private final OrganService organService;
+    private final MembershipDirectoryService membershipDirectoryService;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     public boolean beforeSave(UserDto entity) {
         if (Objects.isNull(entity.getUserId())) {
             //若是新增则添加默认密码及默认版本号
-            entity.setPassword(passwordEncoder.encode("123456"));
+            entity.setPassword(passwordEncoder.encode(DEFAULT_PASSWORD));
             entity.setVersion(1);
             entity.setUuid(UUID.randomUUID().toString().replace("-", ""));
         }
@@ -86,9 +117,121 @@ public class UserService extends BaseDtoService<User, Long, UserDto> {
             }
 
         }));
+        membershipDirectoryService.invalidateUserMemberships();
     }
 
 
+    /**
+     * 新用户走批量开通，已存在的用户按原来的方式保存
+     */
+    @Override
+    public boolean batchSave(Iterable<UserDto> entityIterable) {
+        Map<Boolean, List<UserDto>> partition = StreamSupport.stream(entityIterable.spliterator(), false)
+                .collect(Collectors.partitioningBy(dto -> Objects.isNull(dto.getUserId())));
+        provision(partition.get(true), null);
+        return partition.get(false).isEmpty() || super.batchSave(partition.get(false));
+    }
+
+    /**
+     * 批量开通用户<br/>
+     * 没有指定密码的用户共用一次加密的默认密码，指定了密码的在线程池中并行加密，下一批的加密与当前批的写入同时进行；
+     * 用户、用户组织机构、用户角色按批使用多行插入，每批一个事务，已提交的批不会因后续批失败而回滚
+     *
+     * @param users            新用户，开通后回填用户ID与uuid
+     * @param progressListener 进度监听，每提交一批回调一次，可为空
+     * @return 开通的用户数
+     */
+    public int provision(List<UserDto> users, Consumer<UserProvisionProgress> progressListener) {
+        if (CollectionUtils.isEmpty(users)) {
+            return 0;
+        }
+
+        String defaultPassword = passwordEncoder.encode(DEFAULT_PASSWORD);
+        Long operatorId = getCurrentUser().map(User::getUserId).orElse(-1L);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<List<UserDto>> chunks = CollUtil.split(users, PROVISION_CHUNK_SIZE);
+        List<Future<String>> pendingPasswords = encodePasswords(chunks.get(0));
+        int provisioned = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            List<UserDto> chunk = chunks.get(i);
+            List<String> passwords = awaitPasswords(pendingPasswords, defaultPassword);
+            pendingPasswords = i + 1 < chunks.size() ? encodePasswords(chunks.get(i + 1)) : Collections.emptyList();
+            transactionTemplate.executeWithoutResult(status -> insertUsers(chunk, passwords, operatorId));
+            provisioned += chunk.size();
+            if (Objects.nonNull(progressListener)) {
+                progressListener.accept(new UserProvisionProgress(users.size(), provisioned));
+            }
+        }
+
+        membershipDirectoryService.invalidateUserMemberships();
+        return provisioned;
+    }
+
+    private List<Future<String>> encodePasswords(List<UserDto> users) {
+        return users.stream()
+                .map(UserDto::getPassword)
+                .map(password -> StringUtils.hasText(password) ? ThreadUtils.submit(() -> passwordEncoder.encode(password)) : null)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> awaitPasswords(List<Future<String>> futures, String defaultPassword) {
+        List<String> passwords = new ArrayList<>(futures.size());
+        try {
+            for (Future<String> future : futures) {
+                passwords.add(Objects.isNull(future) ? defaultPassword : future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RestException("批量开通用户被中断", ex, ResponseStatusCode.SERVER_ERROR);
+        } catch (ExecutionException ex) {
+            throw new RestException("用户密码加密失败", ex.getCause(), ResponseStatusCode.SERVER_ERROR);
+        }
+        return passwords;
+    }
+
+    private void insertUsers(List<UserDto> chunk, List<String> passwords, Long operatorId) {
+        List<User> users = new ArrayList<>(chunk.size());
+        List<UserOrgan> userOrgans = new ArrayList<>(chunk.size());
+        List<UserRole> userRoles = new ArrayList<>();
+        //多行插入不经过审计字段填充，需自行设置
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserDto dto = chunk.get(i);
+            dto.setUserId(IdWorker.getId());
+            dto.setPassword(passwords.get(i));
+            dto.setVersion(1);
+            dto.setUuid(UUID.randomUUID().toString().replace("-", ""));
+
+            User user = dtoToEntity().apply(dto);
+            user.setAdmin(Optional.ofNullable(user.getAdmin()).orElse(false));
+            user.setCreatedTime(now);
+            user.setCreatedBy(operatorId);
+            user.setLastModifiedTime(now);
+            user.setLastModifiedBy(operatorId);
+            users.add(user);
+
+            List<Long> organIds = CollectionUtils.isEmpty(dto.getOrganIds()) ? Collections.singletonList(-1L) : dto.getOrganIds();
+            for (Long organId : organIds) {
+                userOrgans.add(new UserOrgan(dto.getUserId(), organId));
+                if (CollUtil.isNotEmpty(dto.getRoleIds())) {
+                    dto.getRoleIds().forEach(roleId -> {
+                        UserRole userRole = new UserRole();
+                        userRole.setUserId(dto.getUserId());
+                        userRole.setRoleId(roleId);
+                        userRole.setOrganId(organId);
+                        userRoles.add(userRole);
+                    });
+                }
+            }
+        }
+
+        userMapper.insertUsers(users);
+        userOrganMapper.insertUserOrgans(userOrgans);
+        if (!userRoles.isEmpty()) {
+            userRoleMapper.insertUserRoles(userRoles);
+        }
+    }
+
     @Override
     protected CrudMapper<User> getBaseMapper() {
         return userMapper;
@@ -116,15 +259,39 @@ public class UserService extends BaseDtoService<User, Long, UserDto> {
         }
 
         User user = null;
-        if (principal instanceof User) {
+        if (authentication instanceof PrincipalAuthenticationToken) {
+            user = ((PrincipalAuthenticationToken) authentication).getUser();
+        } else if (principal instanceof User) {
             user = (User) principal;
         } else if (principal instanceof String) {
-            user = getUserByUuid((String) principal);
+            user = getRequestScopedUser((String) principal);
         }
 
         return Optional.ofNullable(user);
     }
 
+    /**
+     * 根据uuid获取用户，同一请求内只查询一次
+     */
+    private User getRequestScopedUser(String uuid) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.isNull(requestAttributes)) {
+            return getUserByUuid(uuid);
+        }
+
+        String attributeName = PRINCIPAL_USER_ATTRIBUTE + uuid;
+        Object user = requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+        if (user instanceof User) {
+            return (User) user;
+        }
+
+        User userByUuid = getUserByUuid(uuid);
+        if (Objects.nonNull(userByUuid)) {
+            requestAttributes.setAttribute(attributeName, userByUuid, RequestAttributes.SCOPE_REQUEST);
+        }
+        return userByUuid;
+    }
+
     public List<Role> getRoleByUser(UserDto userDto) {
         return userMapper.getRolesByUserId(userDto.getUserId());
     }
@@ -138,8 +305,19 @@ public class UserService extends BaseDtoService<User, Long, UserDto> {
         return getUser(SecurityContextHolder.getContext().getAuthentication());
     }
 
+    /**
+     * 获取当前用户的在线信息，同一请求内返回同一个实例
+     *
+     * @return 当前用户的在线信息
+     */
     public UserOnlineInfo getCurrentUserOnlineInfo() {
-        return UserOnlineInfo.newInstance(getCurrentUser().orElseThrow(NoPermissionException::new));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof PrincipalAuthenticationToken) {
+            return Optional.ofNullable(((PrincipalAuthenticationToken) authentication).getOnlineInfo())
+                    .orElseThrow(NoPermissionException::new);
+        }
+
+        return UserOnlineInfo.newInstance(getUser(authentication).orElseThrow(NoPermissionException::new));
     }
 
     /**
@@ -153,7 +331,17 @@ public class UserService extends BaseDtoService<User, Long, UserDto> {
     }
 
     public List<Organization> getCurrentUserOrgans() {
-        Optional<User> currentUser = getCurrentUser();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof PrincipalAuthenticationToken) {
+            PrincipalAuthenticationToken principalToken = (PrincipalAuthenticationToken) authentication;
+            if (Objects.isNull(principalToken.getUser())) {
+                throw new NoPermissionException();
+            }
+
+            return principalToken.getOrgans(this::getUserOrgansByUserId);
+        }
+
+        Optional<User> currentUser = getUser(authentication);
         if (!currentUser.isPresent()) {
             throw new NoPermissionException();
         }
@@ -161,6 +349,25 @@ public class UserService extends BaseDtoService<User, Long, UserDto> {
         return getUserOrgansByUserId(currentUser.get().getUserId());
     }
 
+    /**
+     * 获取当前用户的角色，同一请求内只查询一次
+     *
+     * @return 角色集合
+     */
+    public List<Role> getCurrentUserRoles() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof PrincipalAuthenticationToken) {
+            PrincipalAuthenticationToken principalToken = (PrincipalAuthenticationToken) authentication;
+            if (Objects.isNull(principalToken.getUser())) {
+                throw new NoPermissionException();
+            }
+
+            return principalToken.getRoles(this::getRolesByUserId);
+        }
+
+        return getRolesByUserId(getUser(authentication).orElseThrow(NoPermissionException::new).getUserId());
+    }
+
     public List<Role> getRolesByUserId(Long userId) {
         return userMapper.getRolesByUserId(userId);
     }
@@ -206,6 +413,7 @@ public class UserService extends BaseDtoService<User, Long, UserDto> {
     public boolean beforeRemove(UserDto entity) {
         userOrganMapper.delete(Wrappers.<UserOrgan>lambdaQuery().eq(UserOrgan::getUserId, entity.getUserId()));
         userRoleMapper.delete(Wrappers.<UserRole>lambdaQuery().eq(UserRole::getUserId, entity.getUserId()));
+        membershipDirectoryService.invalidateUserMemberships();
         return super.beforeRemove(entity);
     }
 
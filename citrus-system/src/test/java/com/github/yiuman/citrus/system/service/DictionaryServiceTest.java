@@ -0,0 +1,131 @@
+package com.github.yiuman.citrus.system.service;
+
+import com.github.yiuman.citrus.support.cache.EntityCacheBroadcaster;
+import com.github.yiuman.citrus.support.cache.EntityCacheManager;
+import com.github.yiuman.citrus.support.cache.LocalNearCache;
+import com.github.yiuman.citrus.support.crud.EntityVersions;
+import com.github.yiuman.citrus.system.entity.Dictionary;
+import com.github.yiuman.citrus.system.entity.DictionaryItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 字典快照的加载与失效测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class DictionaryServiceTest {
+
+    private final List<Dictionary> dictionaries = new ArrayList<>();
+
+    private final List<DictionaryItem> items = new ArrayList<>();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final List<String> broadcastRegions = new ArrayList<>();
+
+    private EntityCacheManager entityCacheManager;
+
+    private DictionaryService dictionaryService;
+
+    @BeforeEach
+    public void setUp() {
+        dictionaries.add(dictionary(1L, "sex"));
+        items.add(item(1L, "1", "男"));
+        items.add(item(1L, "2", "女"));
+
+        EntityCacheBroadcaster broadcaster = (region, keys) -> broadcastRegions.add(region);
+        entityCacheManager = new EntityCacheManager(new LocalNearCache(), Collections.singletonList(broadcaster));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("entityCacheManager", entityCacheManager);
+        dictionaryService = new DictionaryService(beanFactory.getBeanProvider(EntityCacheManager.class)) {
+            @Override
+            protected List<Dictionary> listDictionaries() {
+                loads.incrementAndGet();
+                return new ArrayList<>(dictionaries);
+            }
+
+            @Override
+            protected List<DictionaryItem> listItems() {
+                return new ArrayList<>(items);
+            }
+        };
+    }
+
+    @Test
+    public void snapshotIsReusedUntilChanged() {
+        DictionaryService.Snapshot snapshot = dictionaryService.getSnapshot();
+
+        assertSame(snapshot, dictionaryService.getSnapshot());
+        assertEquals(1, loads.get());
+        assertEquals(Arrays.asList("男", "女"), new ArrayList<>(dictionaryService.getLabels("sex").values()));
+        assertEquals(Arrays.asList("女", null, null), dictionaryService.translate("sex", Arrays.asList(2, 3, null)));
+    }
+
+    @Test
+    public void localItemWriteReloadsSnapshot() {
+        DictionaryService.Snapshot snapshot = dictionaryService.getSnapshot();
+        items.add(item(1L, "9", "未知"));
+        EntityVersions.changed(DictionaryItem.class);
+
+        DictionaryService.Snapshot reloaded = dictionaryService.getSnapshot();
+
+        assertEquals(snapshot.getVersion() + 1, reloaded.getVersion());
+        assertEquals("未知", dictionaryService.getLabel("sex", "9"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void invalidationFromOtherNodeReloadsSnapshot() {
+        dictionaryService.getSnapshot();
+        dictionaries.add(dictionary(2L, "status"));
+        items.add(item(2L, "on", "启用"));
+
+        //其他节点的写入经广播到达，只失效本地缓存，不改变本进程的实体版本
+        entityCacheManager.evictLocal(EntityCacheManager.getRegion(DictionaryItem.class), Collections.singletonList("3"));
+
+        assertEquals("启用", dictionaryService.getLabel("status", "on"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void refreshReloadsAndBroadcasts() {
+        dictionaryService.getSnapshot();
+        items.clear();
+
+        dictionaryService.refresh();
+
+        assertNull(dictionaryService.getLabel("sex", "1"));
+        assertEquals(Collections.singletonList(EntityCacheManager.getRegion(Dictionary.class)), broadcastRegions);
+        //刷新时已计入自身的失效，读取不再重复加载
+        dictionaryService.getSnapshot();
+        assertEquals(2, loads.get());
+    }
+
+    private static Dictionary dictionary(Long dictId, String dictCode) {
+        Dictionary dictionary = new Dictionary();
+        dictionary.setDictId(dictId);
+        dictionary.setDictCode(dictCode);
+        return dictionary;
+    }
+
+    private static DictionaryItem item(Long dictId, String itemCode, String itemName) {
+        DictionaryItem item = new DictionaryItem();
+        item.setDictId(dictId);
+        item.setItemCode(itemCode);
+        item.setItemName(itemName);
+        return item;
+    }
+}
@@ -1,15 +1,15 @@
 package com.github.yiuman.citrus.workflowimpl;
 
-import com.github.yiuman.citrus.system.entity.RoleAuthority;
-import com.github.yiuman.citrus.system.service.RbacMixinService;
+import com.github.yiuman.citrus.system.service.MembershipDirectoryService;
 import com.github.yiuman.citrus.workflow.model.CandidateModel;
 import com.github.yiuman.citrus.workflow.model.WorkflowContext;
-import com.github.yiuman.citrus.workflow.model.impl.CandidateModelImpl;
 import com.github.yiuman.citrus.workflow.resolver.CandidateParser;
 import com.github.yiuman.citrus.workflow.resolver.WorkflowDimension;
 import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,13 +21,10 @@ import java.util.stream.Collectors;
 @Component
 public class AuthCandidateParserImpl implements CandidateParser {
 
-    private final RbacMixinService rbacMixinService;
+    private final MembershipDirectoryService membershipDirectoryService;
 
-    private final RoleCandidateParserImpl roleCandidateParser;
-
-    public AuthCandidateParserImpl(RbacMixinService rbacMixinService, RoleCandidateParserImpl roleCandidateParser) {
-        this.rbacMixinService = rbacMixinService;
-        this.roleCandidateParser = roleCandidateParser;
+    public AuthCandidateParserImpl(MembershipDirectoryService membershipDirectoryService) {
+        this.membershipDirectoryService = membershipDirectoryService;
     }
 
     @Override
@@ -41,13 +38,12 @@ public class AuthCandidateParserImpl implements CandidateParser {
                 .map(Long::valueOf)
                 .collect(Collectors.toList());
 
-        List<RoleAuthority> roleAuthorityByAuthAuthIds = rbacMixinService
-                .getRoleService().getRoleAuthorityByAuthIds(authIds);
+        //权限->角色->用户
+        Set<Long> userIds = membershipDirectoryService.getUserIdsByAuthIds(authIds);
+        if (CollectionUtils.isEmpty(userIds)) {
+            return null;
+        }
 
-        List<String> roleIds = roleAuthorityByAuthAuthIds.stream()
-                .map(RoleAuthority::getRoleId)
-                .map(String::valueOf)
-                .collect(Collectors.toList());
-        return roleCandidateParser.parse(workflowContext, CandidateModelImpl.builder().dimension(WorkflowDimension.ROLE).values(roleIds).build());
+        return userIds.stream().map(String::valueOf).collect(Collectors.toList());
     }
 }
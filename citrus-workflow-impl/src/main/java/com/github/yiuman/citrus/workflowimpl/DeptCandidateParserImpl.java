@@ -1,7 +1,6 @@
 package com.github.yiuman.citrus.workflowimpl;
 
-import com.github.yiuman.citrus.system.entity.User;
-import com.github.yiuman.citrus.system.service.RbacMixinService;
+import com.github.yiuman.citrus.system.service.MembershipDirectoryService;
 import com.github.yiuman.citrus.workflow.model.CandidateModel;
 import com.github.yiuman.citrus.workflow.model.WorkflowContext;
 import com.github.yiuman.citrus.workflow.resolver.CandidateParser;
@@ -10,6 +9,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,10 +21,10 @@ import java.util.stream.Collectors;
 @Component
 public class DeptCandidateParserImpl implements CandidateParser {
 
-    private final RbacMixinService rbacMixinService;
+    private final MembershipDirectoryService membershipDirectoryService;
 
-    public DeptCandidateParserImpl(RbacMixinService rbacMixinService) {
-        this.rbacMixinService = rbacMixinService;
+    public DeptCandidateParserImpl(MembershipDirectoryService membershipDirectoryService) {
+        this.membershipDirectoryService = membershipDirectoryService;
     }
 
     @Override
@@ -38,11 +38,11 @@ public class DeptCandidateParserImpl implements CandidateParser {
                 .map(Long::valueOf)
                 .collect(Collectors.toList());
 
-        List<User> usersByDeptIds = rbacMixinService.getUserService().getUsersByDeptIds(deptIds);
-        if (CollectionUtils.isEmpty(usersByDeptIds)) {
+        Set<Long> userIds = membershipDirectoryService.getUserIdsByDeptIds(deptIds);
+        if (CollectionUtils.isEmpty(userIds)) {
             return null;
         }
 
-        return usersByDeptIds.stream().map(User::getUserId).map(String::valueOf).collect(Collectors.toList());
+        return userIds.stream().map(String::valueOf).collect(Collectors.toList());
     }
 }
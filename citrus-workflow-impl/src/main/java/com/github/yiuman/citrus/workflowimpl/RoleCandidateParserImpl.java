@@ -1,7 +1,6 @@
 package com.github.yiuman.citrus.workflowimpl;
 
-import com.github.yiuman.citrus.system.entity.User;
-import com.github.yiuman.citrus.system.service.UserService;
+import com.github.yiuman.citrus.system.service.MembershipDirectoryService;
 import com.github.yiuman.citrus.workflow.model.CandidateModel;
 import com.github.yiuman.citrus.workflow.model.WorkflowContext;
 import com.github.yiuman.citrus.workflow.resolver.CandidateParser;
@@ -10,6 +9,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,11 +21,10 @@ import java.util.stream.Collectors;
 @Component
 public class RoleCandidateParserImpl implements CandidateParser {
 
-    private final UserService userService;
+    private final MembershipDirectoryService membershipDirectoryService;
 
-    public RoleCandidateParserImpl(UserService userService) {
-
-        this.userService = userService;
+    public RoleCandidateParserImpl(MembershipDirectoryService membershipDirectoryService) {
+        this.membershipDirectoryService = membershipDirectoryService;
     }
 
     @Override
@@ -35,17 +34,14 @@ public class RoleCandidateParserImpl implements CandidateParser {
 
     @Override
     public <T extends CandidateModel> List<String> parse(WorkflowContext workflowContext, T candidateModel) {
-        List<String> roleIds = candidateModel.getValues();
-        List<User> usersByRoleIds = userService.getUsersByRoleIds(
-                roleIds.parallelStream().map(Long::valueOf).collect(Collectors.toList())
+        Set<Long> userIds = membershipDirectoryService.getUserIdsByRoleIds(
+                candidateModel.getValues().stream().map(Long::valueOf).collect(Collectors.toList())
         );
 
-        if (CollectionUtils.isEmpty(usersByRoleIds)) {
+        if (CollectionUtils.isEmpty(userIds)) {
             return null;
         }
 
-        return usersByRoleIds.stream().map(User::getUserId).map(String::valueOf).collect(Collectors.toList());
-
-
+        return userIds.stream().map(String::valueOf).collect(Collectors.toList());
     }
 }
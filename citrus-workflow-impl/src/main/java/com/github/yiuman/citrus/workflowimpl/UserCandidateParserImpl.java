@@ -35,8 +35,9 @@ public class UserCandidateParserImpl implements CandidateParser {
 
     @Override
     public <T extends CandidateModel> List<String> parse(WorkflowContext workflowContext, T candidateModel) {
-        QueryBuilders.<UserDto>lambda().in(UserDto::getUuid, candidateModel.getValues()).toQuery();
-        List<UserDto> userDtos = userService.list();
+        List<UserDto> userDtos = userService.list(
+                QueryBuilders.<UserDto>lambda().in(UserDto::getUuid, candidateModel.getValues()).toQuery()
+        );
         if (CollectionUtils.isEmpty(userDtos)) {
             return null;
         }
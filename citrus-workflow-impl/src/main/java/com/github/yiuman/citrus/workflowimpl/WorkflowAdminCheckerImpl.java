@@ -0,0 +1,26 @@
+package com.github.yiuman.citrus.workflowimpl;
+
+import com.github.yiuman.citrus.system.service.UserService;
+import com.github.yiuman.citrus.workflow.service.WorkflowAdminChecker;
+import org.springframework.stereotype.Component;
+
+/**
+ * 使用系统用户的管理员标识校验流程管理员
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Component
+public class WorkflowAdminCheckerImpl implements WorkflowAdminChecker {
+
+    private final UserService userService;
+
+    public WorkflowAdminCheckerImpl(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean isAdmin() {
+        return Boolean.TRUE.equals(userService.getCurrentUserOnlineInfo().getAdmin());
+    }
+}
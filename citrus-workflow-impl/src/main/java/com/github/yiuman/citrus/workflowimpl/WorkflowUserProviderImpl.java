@@ -0,0 +1,29 @@
+package com.github.yiuman.citrus.workflowimpl;
+
+import com.github.yiuman.citrus.system.service.UserService;
+import com.github.yiuman.citrus.workflow.service.WorkflowUserProvider;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 使用系统用户的ID作为流程用户，与用户候选人解析的结果一致
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Component
+public class WorkflowUserProviderImpl implements WorkflowUserProvider {
+
+    private final UserService userService;
+
+    public WorkflowUserProviderImpl(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public String getCurrentUserId() {
+        return userService.getUser(SecurityContextHolder.getContext().getAuthentication())
+                .map(user -> String.valueOf(user.getUserId()))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.yiuman.citrus.workflowimpl;
+
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.system.authticate.PrincipalAuthenticationToken;
+import com.github.yiuman.citrus.system.entity.User;
+import com.github.yiuman.citrus.system.service.UserService;
+import com.github.yiuman.citrus.workflow.entity.TaskInbox;
+import com.github.yiuman.citrus.workflow.rest.TaskInboxController;
+import com.github.yiuman.citrus.workflow.service.WorkflowAdminChecker;
+import com.github.yiuman.citrus.workflow.service.WorkflowUserProvider;
+import com.github.yiuman.citrus.workflow.service.impl.TaskInboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 收件箱控制器按当前登录用户过滤的测试，认证信息与用户解析均使用真实实现
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class TaskInboxControllerTest {
+
+    private TaskInboxService taskInboxService;
+
+    private TaskInboxController controller;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setUserId(7L);
+        user.setUuid("0f3c6d2e");
+        SecurityContextHolder.getContext().setAuthentication(new PrincipalAuthenticationToken(user, "0f3c6d2e", "token"));
+
+        //只使用getUser的真实实现，认证信息中已带有用户，不会查库
+        UserService userService = mock(UserService.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("workflowUserProvider", new WorkflowUserProviderImpl(userService));
+        taskInboxService = mock(TaskInboxService.class);
+        controller = new TaskInboxController(taskInboxService,
+                beanFactory.getBeanProvider(WorkflowAdminChecker.class),
+                beanFactory.getBeanProvider(WorkflowUserProvider.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void countUsesAuthenticatedUserId() {
+        when(taskInboxService.count("7")).thenReturn(3L);
+
+        assertEquals(3L, controller.count().getData());
+    }
+
+    @Test
+    public void getReturnsOwnInbox() {
+        TaskInbox inbox = inbox(1L, "7");
+        when(taskInboxService.get(1L)).thenReturn(inbox);
+
+        assertSame(inbox, controller.get(1L));
+    }
+
+    @Test
+    public void getHidesOtherUsersInbox() {
+        when(taskInboxService.get(2L)).thenReturn(inbox(2L, "8"));
+
+        assertThrows(RestException.class, () -> controller.get(2L));
+    }
+
+    @Test
+    public void rebuildRequiresAdmin() {
+        assertThrows(RestException.class, () -> controller.rebuild());
+        verify(taskInboxService, never()).rebuild();
+    }
+
+    private static TaskInbox inbox(Long id, String userId) {
+        TaskInbox inbox = new TaskInbox();
+        inbox.setId(id);
+        inbox.setUserId(userId);
+        return inbox;
+    }
+}
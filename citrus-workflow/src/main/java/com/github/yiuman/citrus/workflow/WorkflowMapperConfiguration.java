@@ -0,0 +1,15 @@
+package com.github.yiuman.citrus.workflow;
+
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 流程模块的Mapper注册
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Configuration(proxyBeanMethods = false)
+@MapperScan(basePackages = "com.github.yiuman.citrus.workflow.mapper")
+public class WorkflowMapperConfiguration {
+}
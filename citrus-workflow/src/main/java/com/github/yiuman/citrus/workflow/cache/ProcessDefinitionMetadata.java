@@ -0,0 +1,98 @@
+package com.github.yiuman.citrus.workflow.cache;
+
+import com.github.yiuman.citrus.workflow.utils.ProcessUtils;
+import lombok.Getter;
+import org.activiti.bpmn.model.Activity;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.FlowElement;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 流程定义的元数据<br/>
+ * 包含流程模型、各用户任务节点的元数据以及节点的前置活动关系
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Getter
+public class ProcessDefinitionMetadata {
+
+    /**
+     * 流程定义ID
+     */
+    private final String processDefinitionId;
+
+    /**
+     * 流程模型
+     */
+    private final BpmnModel bpmnModel;
+
+    /**
+     * 用户任务节点的元数据，key为任务定义的key
+     */
+    private final Map<String, UserTaskMetadata> userTasks;
+
+    /**
+     * 节点的前置活动节点，key为节点ID
+     */
+    private final Map<String, List<Activity>> preActivities = new ConcurrentHashMap<>();
+
+    /**
+     * 表达式解析后的候选人定义，key为表达式字符串
+     */
+    private final Map<String, List<String>> expressionCandidates = new ConcurrentHashMap<>();
+
+    public ProcessDefinitionMetadata(String processDefinitionId, BpmnModel bpmnModel, Map<String, UserTaskMetadata> userTasks) {
+        this.processDefinitionId = processDefinitionId;
+        this.bpmnModel = bpmnModel;
+        this.userTasks = Collections.unmodifiableMap(userTasks);
+        userTasks.forEach((key, userTaskMetadata) -> preActivities.put(key, userTaskMetadata.getPreActivities()));
+    }
+
+    /**
+     * 获取流程节点
+     *
+     * @param flowElementId 节点ID
+     * @return 流程节点
+     */
+    public FlowElement getFlowElement(String flowElementId) {
+        return bpmnModel.getFlowElement(flowElementId);
+    }
+
+    /**
+     * 获取用户任务节点的元数据
+     *
+     * @param taskDefinitionKey 任务定义key
+     * @return 用户任务元数据，不是用户任务节点则返回null
+     */
+    public UserTaskMetadata getUserTask(String taskDefinitionKey) {
+        return userTasks.get(taskDefinitionKey);
+    }
+
+    /**
+     * 获取节点的前置活动节点
+     *
+     * @param flowElementId 节点ID
+     * @return 前置活动节点
+     */
+    public List<Activity> getPreActivities(String flowElementId) {
+        return preActivities.computeIfAbsent(flowElementId,
+                key -> Collections.unmodifiableList(ProcessUtils.collectPreActivities(bpmnModel, getFlowElement(key))));
+    }
+
+    /**
+     * 获取表达式解析后的候选人定义
+     *
+     * @param expression 表达式字符串
+     * @param parser     表达式的解析方法，仅在未缓存时调用
+     * @return 候选人定义
+     */
+    public List<String> getExpressionCandidates(String expression, Function<String, List<String>> parser) {
+        return expressionCandidates.computeIfAbsent(expression, key -> Collections.unmodifiableList(parser.apply(key)));
+    }
+}
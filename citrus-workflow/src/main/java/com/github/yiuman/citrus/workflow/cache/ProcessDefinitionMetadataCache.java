@@ -0,0 +1,133 @@
+package com.github.yiuman.citrus.workflow.cache;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yiuman.citrus.support.utils.SpringUtils;
+import com.github.yiuman.citrus.workflow.exception.WorkflowException;
+import com.github.yiuman.citrus.workflow.model.CandidateModel;
+import com.github.yiuman.citrus.workflow.model.impl.CandidateModelImpl;
+import com.github.yiuman.citrus.workflow.utils.ProcessUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.UserTask;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 流程定义元数据缓存<br/>
+ * 以流程定义ID为key，首次使用时加载流程模型并解析用户任务节点的候选人、扩展属性与前置活动节点，
+ * 流程定义或部署删除时由{@link ProcessDefinitionMetadataListener}失效
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Slf4j
+public final class ProcessDefinitionMetadataCache {
+
+    /**
+     * 流程定义元数据缓存
+     */
+    private static final Map<String, ProcessDefinitionMetadata> METADATA_CACHE = new ConcurrentHashMap<>(64);
+
+    private static final String JSON_OBJECT_PREFIX = "{";
+
+    private ProcessDefinitionMetadataCache() {
+    }
+
+    /**
+     * 获取流程定义的元数据，没有则加载
+     *
+     * @param processDefinitionId 流程定义ID
+     * @return 流程定义元数据
+     */
+    public static ProcessDefinitionMetadata get(String processDefinitionId) {
+        return METADATA_CACHE.computeIfAbsent(processDefinitionId, ProcessDefinitionMetadataCache::load);
+    }
+
+    /**
+     * 获取用户任务节点的元数据
+     *
+     * @param processDefinitionId 流程定义ID
+     * @param taskDefinitionKey   任务定义key
+     * @return 用户任务节点的元数据，非用户任务节点返回null
+     */
+    public static UserTaskMetadata getUserTask(String processDefinitionId, String taskDefinitionKey) {
+        return get(processDefinitionId).getUserTask(taskDefinitionKey);
+    }
+
+    /**
+     * 失效某个流程定义的元数据
+     *
+     * @param processDefinitionId 流程定义ID
+     */
+    public static void evict(String processDefinitionId) {
+        METADATA_CACHE.remove(processDefinitionId);
+    }
+
+    /**
+     * 清空所有元数据
+     */
+    public static void clear() {
+        METADATA_CACHE.clear();
+    }
+
+    private static ProcessDefinitionMetadata load(String processDefinitionId) {
+        BpmnModel bpmnModel = getBpmnModel(processDefinitionId);
+        if (Objects.isNull(bpmnModel)) {
+            throw new WorkflowException(String.format("can not find BpmnModel for processDefinitionId:[%s]", processDefinitionId));
+        }
+
+        ObjectMapper objectMapper = SpringUtils.getBean(ObjectMapper.class, true);
+        Map<String, UserTaskMetadata> userTasks = new HashMap<>(16);
+        for (Process process : bpmnModel.getProcesses()) {
+            for (UserTask userTask : process.findFlowElementsOfType(UserTask.class)) {
+                List<String> candidateDefines = Optional.ofNullable(userTask.getCandidateUsers()).orElse(Collections.emptyList());
+                Map<String, CandidateModel> candidateModels = new LinkedHashMap<>(candidateDefines.size());
+                candidateDefines.forEach(candidateDefine ->
+                        Optional.ofNullable(parseCandidateModel(objectMapper, candidateDefine))
+                                .ifPresent(candidateModel -> candidateModels.put(candidateDefine, candidateModel))
+                );
+
+                userTasks.put(userTask.getId(), UserTaskMetadata.builder()
+                        .userTask(userTask)
+                        .candidateDefines(Collections.unmodifiableList(new ArrayList<>(candidateDefines)))
+                        .candidateModels(Collections.unmodifiableMap(candidateModels))
+                        .properties(Collections.unmodifiableMap(ProcessUtils.getElementProperties(userTask)))
+                        .preActivities(Collections.unmodifiableList(ProcessUtils.collectPreActivities(bpmnModel, userTask)))
+                        .build());
+            }
+        }
+
+        return new ProcessDefinitionMetadata(processDefinitionId, bpmnModel, userTasks);
+    }
+
+    /**
+     * 在命令上下文中直接从部署缓存获取，否则通过仓库服务获取
+     */
+    private static BpmnModel getBpmnModel(String processDefinitionId) {
+        if (Objects.nonNull(Context.getCommandContext())) {
+            return ProcessDefinitionUtil.getBpmnModel(processDefinitionId);
+        }
+
+        return SpringUtils.getBean(ProcessEngine.class).getRepositoryService().getBpmnModel(processDefinitionId);
+    }
+
+    private static CandidateModel parseCandidateModel(ObjectMapper objectMapper, String candidateDefine) {
+        if (StrUtil.isBlank(candidateDefine) || !candidateDefine.trim().startsWith(JSON_OBJECT_PREFIX)) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(candidateDefine, CandidateModelImpl.class);
+        } catch (Exception ex) {
+            log.info("candidate define `{}` is not a CandidateModel", candidateDefine, ex);
+            return null;
+        }
+    }
+
+}
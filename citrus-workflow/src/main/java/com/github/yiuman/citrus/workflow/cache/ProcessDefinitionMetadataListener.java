@@ -0,0 +1,53 @@
+package com.github.yiuman.citrus.workflow.cache;
+
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.repository.Deployment;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流程定义元数据缓存的失效监听<br/>
+ * 流程定义重新部署（创建）或删除时失效对应的元数据，部署删除时清空所有元数据
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Component
+public class ProcessDefinitionMetadataListener implements ActivitiEventListener, InitializingBean {
+
+    private final RuntimeService runtimeService;
+
+    public ProcessDefinitionMetadataListener(RuntimeService runtimeService) {
+        this.runtimeService = runtimeService;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        runtimeService.addEventListener(this, ActivitiEventType.ENTITY_CREATED, ActivitiEventType.ENTITY_DELETED);
+    }
+
+    @Override
+    public void onEvent(ActivitiEvent event) {
+        if (!(event instanceof ActivitiEntityEvent)) {
+            return;
+        }
+
+        Object entity = ((ActivitiEntityEvent) event).getEntity();
+        if (entity instanceof ProcessDefinition) {
+            ProcessDefinitionMetadataCache.evict(((ProcessDefinition) entity).getId());
+        } else if (entity instanceof Deployment && ActivitiEventType.ENTITY_DELETED.equals(event.getType())) {
+            //删除部署时不会逐个发布流程定义的删除事件
+            ProcessDefinitionMetadataCache.clear();
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        return false;
+    }
+}
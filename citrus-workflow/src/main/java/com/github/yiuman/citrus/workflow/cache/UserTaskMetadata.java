@@ -0,0 +1,48 @@
+package com.github.yiuman.citrus.workflow.cache;
+
+import com.github.yiuman.citrus.workflow.model.CandidateModel;
+import lombok.Builder;
+import lombok.Getter;
+import org.activiti.bpmn.model.Activity;
+import org.activiti.bpmn.model.UserTask;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户任务节点的元数据<br/>
+ * 流程定义部署后不会再变化，解析一次后缓存复用
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class UserTaskMetadata {
+
+    /**
+     * 用户任务节点
+     */
+    private final UserTask userTask;
+
+    /**
+     * 节点定义的候选人（原始字符串）
+     */
+    private final List<String> candidateDefines;
+
+    /**
+     * 已解析的维度候选人模型，key为候选人定义的原始字符串，无法解析为维度模型的定义不在其中
+     */
+    private final Map<String, CandidateModel> candidateModels;
+
+    /**
+     * 节点的扩展属性
+     */
+    private final Map<String, Object> properties;
+
+    /**
+     * 上一个活动节点
+     */
+    private final List<Activity> preActivities;
+
+}
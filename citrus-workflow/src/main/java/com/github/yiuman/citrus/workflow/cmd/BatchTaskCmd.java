@@ -0,0 +1,107 @@
+package com.github.yiuman.citrus.workflow.cmd;
+
+import com.github.yiuman.citrus.workflow.vo.TaskOperationResult;
+import lombok.Builder;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntityManager;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 任务批量操作命令<br/>
+ * 在同一个命令上下文（同一事务）中先逐个校验任务，校验不通过的任务记录失败原因后跳过，再处理校验通过的任务；
+ * 处理过程中抛出的异常会使整个命令回滚，由调用方决定是否逐个重试
+ *
+ * @param <T> 操作模型类型
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Builder
+public class BatchTaskCmd<T> implements Command<List<TaskOperationResult>> {
+
+    /**
+     * 需要处理的操作模型
+     */
+    private final Collection<T> items;
+
+    /**
+     * 获取操作模型的任务ID
+     */
+    private final Function<T, String> taskIdGetter;
+
+    /**
+     * 校验任务，返回失败原因，校验通过返回null
+     */
+    private final BiFunction<TaskEntity, T, String> validator;
+
+    /**
+     * 处理任务前的操作，参数为校验通过的任务及其操作模型，用于批量准备数据
+     */
+    private final BiConsumer<CommandContext, Map<TaskEntity, T>> beforeOperation;
+
+    /**
+     * 处理任务
+     */
+    private final BiConsumer<TaskEntity, T> operation;
+
+    /**
+     * 所有任务处理完成后的操作，参数为处理成功的任务及其操作模型
+     */
+    private final BiConsumer<CommandContext, Map<TaskEntity, T>> afterOperation;
+
+    public BatchTaskCmd(Collection<T> items,
+                        Function<T, String> taskIdGetter,
+                        BiFunction<TaskEntity, T, String> validator,
+                        BiConsumer<CommandContext, Map<TaskEntity, T>> beforeOperation,
+                        BiConsumer<TaskEntity, T> operation,
+                        BiConsumer<CommandContext, Map<TaskEntity, T>> afterOperation) {
+        this.items = items;
+        this.taskIdGetter = taskIdGetter;
+        this.validator = validator;
+        this.beforeOperation = beforeOperation;
+        this.operation = operation;
+        this.afterOperation = afterOperation;
+    }
+
+    @Override
+    public List<TaskOperationResult> execute(CommandContext commandContext) {
+        TaskEntityManager taskEntityManager = commandContext.getTaskEntityManager();
+        List<TaskOperationResult> results = new ArrayList<>(items.size());
+        Map<TaskEntity, T> handled = new LinkedHashMap<>(items.size());
+        for (T item : items) {
+            String taskId = taskIdGetter.apply(item);
+            TaskEntity task = Objects.nonNull(taskId) ? taskEntityManager.findById(taskId) : null;
+            if (Objects.isNull(task) || task.isSuspended()) {
+                results.add(TaskOperationResult.failure(taskId, String.format("cannot find active Task for taskId:[%s]", taskId)));
+                continue;
+            }
+
+            String message = Objects.nonNull(validator) ? validator.apply(task, item) : null;
+            if (Objects.nonNull(message)) {
+                results.add(TaskOperationResult.failure(taskId, message));
+                continue;
+            }
+
+            handled.put(task, item);
+            results.add(TaskOperationResult.success(taskId));
+        }
+
+        if (Objects.nonNull(beforeOperation) && !handled.isEmpty()) {
+            beforeOperation.accept(commandContext, handled);
+        }
+
+        //处理中抛出异常时整个命令回滚，已记录的结果随之丢弃
+        handled.forEach(operation);
+
+        if (Objects.nonNull(afterOperation) && !handled.isEmpty()) {
+            afterOperation.accept(commandContext, handled);
+        }
+
+        return results;
+    }
+}
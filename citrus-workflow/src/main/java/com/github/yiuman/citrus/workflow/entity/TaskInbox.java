@@ -0,0 +1,111 @@
+package com.github.yiuman.citrus.workflow.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 待办任务收件箱<br/>
+ * 活动任务按（处理人/候选人，任务）展开的投影，携带任务信息与部分业务字段，
+ * 由{@link com.github.yiuman.citrus.workflow.listener.TaskInboxListener}跟随任务的生命周期维护
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+@TableName("wf_task_inbox")
+public class TaskInbox {
+
+    /**
+     * 身份类型，处理人
+     */
+    public static final String IDENTITY_ASSIGNEE = "assignee";
+
+    /**
+     * 身份类型，候选人
+     */
+    public static final String IDENTITY_CANDIDATE = "candidate";
+
+    /**
+     * 主键
+     */
+    @TableId(type = IdType.ASSIGN_ID)
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+
+    /**
+     * 用户ID（处理人或候选人）
+     */
+    private String userId;
+
+    /**
+     * 身份类型 assignee/candidate
+     */
+    private String identityType;
+
+    /**
+     * 任务ID
+     */
+    private String taskId;
+
+    /**
+     * 任务名称
+     */
+    private String taskName;
+
+    /**
+     * 任务定义的key
+     */
+    private String taskDefinitionKey;
+
+    /**
+     * 流程实例ID
+     */
+    private String processInstanceId;
+
+    /**
+     * 流程定义ID
+     */
+    private String processDefinitionId;
+
+    /**
+     * 流程定义的key
+     */
+    private String processDefinitionKey;
+
+    /**
+     * 业务主键
+     */
+    private String businessKey;
+
+    /**
+     * 业务字段投影（JSON）
+     */
+    private String businessData;
+
+    /**
+     * 任务优先级
+     */
+    private Integer priority;
+
+    /**
+     * 是否挂起
+     */
+    private Boolean suspended;
+
+    /**
+     * 任务创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 任务到期时间
+     */
+    private Date dueDate;
+
+}
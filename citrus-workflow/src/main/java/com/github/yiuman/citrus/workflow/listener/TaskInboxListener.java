@@ -0,0 +1,173 @@
+package com.github.yiuman.citrus.workflow.listener;
+
+import com.github.yiuman.citrus.workflow.service.impl.TaskInboxService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.task.IdentityLinkType;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 待办任务收件箱的维护监听<br/>
+ * 任务创建、签收/转办、挂起/激活时重新投影任务，候选人增删时只增删该候选人的记录，任务完成或删除时移除任务的收件箱记录；
+ * 同一流程命令中新增的候选人按任务汇总，在命令关闭前每个任务一次插入；
+ * 监听在流程命令的事务中执行，投影失败时整个流程操作回滚，保证收件箱与流程引擎一致
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Component
+public class TaskInboxListener implements ActivitiEventListener, InitializingBean {
+
+    /**
+     * 命令上下文中待插入候选人的属性名
+     */
+    private static final String PENDING_CANDIDATES = TaskInboxListener.class.getName() + ".pendingCandidates";
+
+    private final RuntimeService runtimeService;
+
+    private final TaskInboxService taskInboxService;
+
+    public TaskInboxListener(RuntimeService runtimeService, TaskInboxService taskInboxService) {
+        this.runtimeService = runtimeService;
+        this.taskInboxService = taskInboxService;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        runtimeService.addEventListener(this,
+                ActivitiEventType.TASK_CREATED,
+                ActivitiEventType.TASK_ASSIGNED,
+                ActivitiEventType.TASK_COMPLETED,
+                ActivitiEventType.ENTITY_CREATED,
+                ActivitiEventType.ENTITY_DELETED,
+                ActivitiEventType.ENTITY_SUSPENDED,
+                ActivitiEventType.ENTITY_ACTIVATED);
+    }
+
+    @Override
+    public void onEvent(ActivitiEvent event) {
+        if (!(event instanceof ActivitiEntityEvent)) {
+            return;
+        }
+
+        Object entity = ((ActivitiEntityEvent) event).getEntity();
+        if (entity instanceof TaskEntity) {
+            onTaskEvent(event.getType(), (TaskEntity) entity);
+        } else if (entity instanceof IdentityLinkEntity) {
+            onIdentityLinkEvent(event.getType(), (IdentityLinkEntity) entity);
+        }
+    }
+
+    private void onTaskEvent(ActivitiEventType eventType, TaskEntity task) {
+        switch (eventType) {
+            case TASK_COMPLETED:
+            case ENTITY_DELETED:
+                taskInboxService.removeTask(task.getId());
+                break;
+            case TASK_CREATED:
+            case TASK_ASSIGNED:
+            case ENTITY_SUSPENDED:
+            case ENTITY_ACTIVATED:
+                taskInboxService.project(task);
+                break;
+            default:
+        }
+    }
+
+    /**
+     * 任务的候选人变更，如流程节点设置候选人后通过{@link org.activiti.engine.TaskService#addCandidateUser}添加的候选人，
+     * 删除时立即移除该候选人的记录，新增时先记录在命令上下文中，命令关闭前按任务批量插入
+     */
+    private void onIdentityLinkEvent(ActivitiEventType eventType, IdentityLinkEntity identityLink) {
+        if (Objects.isNull(identityLink.getTaskId())
+                || Objects.isNull(identityLink.getUserId())
+                || !IdentityLinkType.CANDIDATE.equals(identityLink.getType())) {
+            return;
+        }
+
+        CommandContext commandContext = Context.getCommandContext();
+        PendingCandidates pendingCandidates = (PendingCandidates) commandContext.getAttribute(PENDING_CANDIDATES);
+        if (eventType == ActivitiEventType.ENTITY_DELETED) {
+            taskInboxService.removeCandidate(identityLink.getTaskId(), identityLink.getUserId());
+            if (Objects.nonNull(pendingCandidates)) {
+                pendingCandidates.remove(identityLink.getTaskId(), identityLink.getUserId());
+            }
+            return;
+        }
+
+        if (eventType == ActivitiEventType.ENTITY_CREATED) {
+            if (Objects.isNull(pendingCandidates)) {
+                pendingCandidates = new PendingCandidates();
+                commandContext.addAttribute(PENDING_CANDIDATES, pendingCandidates);
+                commandContext.addCloseListener(pendingCandidates);
+            }
+            pendingCandidates.add(identityLink.getTaskId(), identityLink.getUserId());
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        return true;
+    }
+
+    /**
+     * 命令中新增的候选人，命令关闭前（事务提交前）每个任务只加载一次任务实体并批量插入
+     */
+    private class PendingCandidates implements CommandContextCloseListener {
+
+        private final Map<String, Set<String>> taskCandidates = new LinkedHashMap<>(4);
+
+        void add(String taskId, String userId) {
+            taskCandidates.computeIfAbsent(taskId, key -> new LinkedHashSet<>()).add(userId);
+        }
+
+        void remove(String taskId, String userId) {
+            Set<String> userIds = taskCandidates.get(taskId);
+            if (Objects.nonNull(userIds)) {
+                userIds.remove(userId);
+            }
+        }
+
+        @Override
+        public void closing(CommandContext commandContext) {
+            //命令已失败时事务会回滚，无需插入
+            if (Objects.nonNull(commandContext.getException())) {
+                return;
+            }
+
+            taskCandidates.forEach((taskId, userIds) -> {
+                TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+                if (Objects.nonNull(task)) {
+                    taskInboxService.addCandidates(task, userIds);
+                }
+            });
+        }
+
+        @Override
+        public void afterSessionsFlush(CommandContext commandContext) {
+        }
+
+        @Override
+        public void closed(CommandContext commandContext) {
+        }
+
+        @Override
+        public void closeFailure(CommandContext commandContext) {
+        }
+    }
+}
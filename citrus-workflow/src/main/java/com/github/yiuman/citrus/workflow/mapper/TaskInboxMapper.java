@@ -0,0 +1,36 @@
+package com.github.yiuman.citrus.workflow.mapper;
+
+import com.github.yiuman.citrus.support.crud.mapper.CrudMapper;
+import com.github.yiuman.citrus.workflow.entity.TaskInbox;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * 待办任务收件箱DAO
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Mapper
+@Repository
+public interface TaskInboxMapper extends CrudMapper<TaskInbox> {
+
+    /**
+     * 多行插入收件箱记录，与已有记录的（任务ID，用户ID）唯一键重复的行忽略
+     *
+     * @param inboxes 收件箱记录，需已设置主键
+     * @return 插入的行数
+     */
+    @Insert("<script>insert ignore into wf_task_inbox (id, user_id, identity_type, task_id, task_name, task_definition_key, "
+            + "process_instance_id, process_definition_id, process_definition_key, business_key, business_data, "
+            + "priority, suspended, create_time, due_date) values "
+            + "<foreach collection='inboxes' item='item' separator=','>(#{item.id}, #{item.userId}, #{item.identityType}, "
+            + "#{item.taskId}, #{item.taskName}, #{item.taskDefinitionKey}, #{item.processInstanceId}, #{item.processDefinitionId}, "
+            + "#{item.processDefinitionKey}, #{item.businessKey}, #{item.businessData}, #{item.priority}, #{item.suspended}, "
+            + "#{item.createTime}, #{item.dueDate})</foreach></script>")
+    int insertIgnore(@Param("inboxes") Collection<TaskInbox> inboxes);
+}
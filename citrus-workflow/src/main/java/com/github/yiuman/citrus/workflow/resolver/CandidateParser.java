@@ -23,7 +23,8 @@ public interface CandidateParser {
     boolean support(String dimension);
 
     /**
-     * 根据当前流程上下文与维度候选人模型获取具体的获选人
+     * 根据当前流程上下文与维度候选人模型获取具体的获选人<br/>
+     * 同一维度的候选人会合并成一个模型只调用一次，实现应以一次批量查询处理所有维度值
      *
      * @param workflowContext 流程上下文
      * @param candidateModel  维度候选人模型
@@ -3,22 +3,24 @@ package com.github.yiuman.citrus.workflow.resolver.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.yiuman.citrus.support.utils.LambdaUtils;
 import com.github.yiuman.citrus.support.utils.SpringUtils;
+import com.github.yiuman.citrus.workflow.cache.ProcessDefinitionMetadataCache;
 import com.github.yiuman.citrus.workflow.exception.WorkflowException;
 import com.github.yiuman.citrus.workflow.model.impl.WorkflowContextImpl;
 import com.github.yiuman.citrus.workflow.resolver.ExpressionResolver;
 import com.github.yiuman.citrus.workflow.resolver.TaskCandidateResolver;
 import com.github.yiuman.citrus.workflow.service.impl.WorkflowServiceImpl;
+import com.github.yiuman.citrus.workflow.utils.WorkflowUserUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.RuntimeService;
 import org.activiti.engine.delegate.DelegateExecution;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.runtime.ProcessInstance;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 
 /**
  * 处理人表达式解析器
@@ -45,24 +47,35 @@ public class Assignments implements ExpressionResolver<List<String>> {
         ProcessEngine processEngine = workflowService.getProcessEngine();
         RuntimeService runtimeService = processEngine.getRuntimeService();
         //找到当前用于的ID
-        String currentUserId = "anonymousUser";
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (Objects.nonNull(authentication)) {
-            currentUserId = (String) authentication.getPrincipal();
-        }
+        String currentUserId = Optional.ofNullable(WorkflowUserUtils.getCurrentUserId()).orElse("anonymousUser");
+        //执行实例本身可以取到流程实例，无需再查询
+        ProcessInstance processInstance = execution instanceof ExecutionEntity
+                ? ((ExecutionEntity) execution).getProcessInstance()
+                : runtimeService.createProcessInstanceQuery()
+                .processInstanceId(execution.getProcessInstanceId())
+                .singleResult();
         //构建流程上下文
         WorkflowContextImpl workflowContext = WorkflowContextImpl.builder()
                 .processEngine(workflowService.getProcessEngine())
-                .processInstance(
-                        runtimeService
-                                .createProcessInstanceQuery()
-                                .processInstanceId(execution.getProcessInstanceId())
-                                .singleResult()
-                )
+                .processInstance(processInstance)
                 .executionId(execution.getId())
                 .flowElement(execution.getCurrentFlowElement())
                 .currentUserId(currentUserId)
                 .build();
+        //表达式解析结果随流程定义元数据缓存，同一个表达式只解析一次
+        List<String> candidateDefines = ProcessDefinitionMetadataCache.get(execution.getProcessDefinitionId())
+                .getExpressionCandidates(expressionStr, this::parseExpression);
+        return taskCandidateResolver.resolve(workflowContext, new ArrayList<>(candidateDefines));
+
+    }
+
+    /**
+     * 将表达式中的JSON数组拆分成候选人定义
+     *
+     * @param expressionStr 表达式字符串
+     * @return 候选人定义集合
+     */
+    private List<String> parseExpression(String expressionStr) {
         final List<String> stringArrayList = new ArrayList<>();
         try {
             List<?> list = objectMapper.readValue(expressionStr, List.class);
@@ -72,7 +85,6 @@ public class Assignments implements ExpressionResolver<List<String>> {
             log.info("Assignments resolver exception: ", ex);
         }
 
-        return taskCandidateResolver.resolve(workflowContext, stringArrayList);
-
+        return stringArrayList;
     }
 }
@@ -1,27 +1,32 @@
 package com.github.yiuman.citrus.workflow.resolver.impl;
 
+import cn.hutool.cache.Cache;
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.core.util.StrUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yiuman.citrus.workflow.cache.ProcessDefinitionMetadataCache;
+import com.github.yiuman.citrus.workflow.cache.UserTaskMetadata;
+import com.github.yiuman.citrus.workflow.model.CandidateModel;
 import com.github.yiuman.citrus.workflow.model.WorkflowContext;
 import com.github.yiuman.citrus.workflow.model.impl.CandidateModelImpl;
 import com.github.yiuman.citrus.workflow.resolver.CandidateParser;
 import com.github.yiuman.citrus.workflow.resolver.TaskCandidateResolver;
 import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.task.Task;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * 任务候选人解析器实现<br/>
  * 1.将候选人的字符串JSON转成候选人实体模型CandidateModel
- * 2.找到支持的维度翻译器，CandidateModel.getDimension()
- * 3.翻译
+ * 2.按维度合并候选人模型，CandidateModel.getDimension()
+ * 3.找到支持的维度翻译器，每个维度只翻译一次
+ * 4.合并翻译结果，去重并保持顺序
  *
  * @author yiuman
  * @date 2020/12/18
@@ -30,6 +35,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TaskCandidateResolverImpl implements TaskCandidateResolver {
 
+    private static final String JSON_OBJECT_PREFIX = "{";
+
     private final ObjectMapper objectMapper;
 
     /**
@@ -37,42 +44,96 @@ public class TaskCandidateResolverImpl implements TaskCandidateResolver {
      */
     private final List<CandidateParser> candidateParsers;
 
+    /**
+     * 已解析的候选人模型，key为候选人定义的JSON字符串
+     */
+    private final Cache<String, CandidateModel> candidateModelCache = CacheUtil.newLRUCache(1024);
+
     @Autowired(required = false)
     public TaskCandidateResolverImpl(@NonNull ObjectMapper objectMapper, @Nullable List<CandidateParser> candidateParsers) {
         this.objectMapper = objectMapper;
-        this.candidateParsers = candidateParsers;
+        this.candidateParsers = Optional.ofNullable(candidateParsers).orElse(Collections.emptyList());
     }
 
     @Override
     public List<String> resolve(WorkflowContext workflowContext, List<String> taskCandidateDefine) {
-        List<String> realUserIds = new ArrayList<>();
-        taskCandidateDefine.parallelStream()
-                .forEach(taskCandidate -> {
-                    try {
-                        //转化成候选人模型
-                        CandidateModelImpl candidateModel = objectMapper
-                                .readValue(taskCandidate, CandidateModelImpl.class);
-
-                        //找到支持的解析器
-                        Optional<CandidateParser> candidateParser = candidateParsers.parallelStream()
-                                .filter(parser -> parser.support(candidateModel.getDimension()))
-                                .findFirst();
-
-                        //找到就进行解释,没找到直接加入
-                        realUserIds.addAll(candidateParser.isPresent()
-                                ? candidateParser.get().parse(workflowContext, candidateModel)
-                                : candidateModel
-                                .getValues()
-                                .stream()
-                                .map(dimensionValue -> String.format("%s#%s", candidateModel.getDimension(), dimensionValue))
-                                .collect(Collectors.toList())
-                        );
-
-                    } catch (JsonProcessingException exception) {
-                        log.info(String.format("%s resolver exception:", getClass().getName()), exception);
-                        realUserIds.add(taskCandidate);
-                    }
-                });
-        return realUserIds;
+        Set<String> realUserIds = new LinkedHashSet<>();
+        Map<String, CandidateModel> definedCandidateModels = getDefinedCandidateModels(workflowContext);
+        //按维度合并候选人的值
+        Map<String, Set<String>> dimensionValues = new LinkedHashMap<>();
+        for (String taskCandidate : taskCandidateDefine) {
+            //转化成候选人模型，流程定义中的候选人已在元数据中解析
+            CandidateModel candidateModel = Optional.ofNullable(definedCandidateModels.get(taskCandidate))
+                    .orElseGet(() -> parseCandidateModel(taskCandidate));
+            if (Objects.isNull(candidateModel)) {
+                realUserIds.add(taskCandidate);
+                continue;
+            }
+
+            Set<String> values = dimensionValues.computeIfAbsent(candidateModel.getDimension(), dimension -> new LinkedHashSet<>());
+            Optional.ofNullable(candidateModel.getValues()).ifPresent(values::addAll);
+        }
+
+        dimensionValues.forEach((dimension, values) -> {
+            //找到支持的解析器
+            Optional<CandidateParser> candidateParser = candidateParsers.stream()
+                    .filter(parser -> parser.support(dimension))
+                    .findFirst();
+
+            //找到就进行解释,没找到直接加入
+            if (candidateParser.isPresent()) {
+                CandidateModelImpl candidateModel = CandidateModelImpl.builder()
+                        .dimension(dimension)
+                        .values(new ArrayList<>(values))
+                        .build();
+                Optional.ofNullable(candidateParser.get().parse(workflowContext, candidateModel)).ifPresent(realUserIds::addAll);
+            } else {
+                values.forEach(dimensionValue -> realUserIds.add(String.format("%s#%s", dimension, dimensionValue)));
+            }
+        });
+
+        return new ArrayList<>(realUserIds);
+    }
+
+    /**
+     * 获取当前任务节点在流程定义中已解析的候选人模型
+     *
+     * @param workflowContext 流程上下文
+     * @return 候选人定义与候选人模型的映射
+     */
+    private Map<String, CandidateModel> getDefinedCandidateModels(WorkflowContext workflowContext) {
+        Task task = workflowContext.getTask();
+        if (Objects.isNull(task)) {
+            return Collections.emptyMap();
+        }
+
+        UserTaskMetadata userTaskMetadata = ProcessDefinitionMetadataCache.getUserTask(task.getProcessDefinitionId(), task.getTaskDefinitionKey());
+        return Objects.nonNull(userTaskMetadata) ? userTaskMetadata.getCandidateModels() : Collections.emptyMap();
+    }
+
+    /**
+     * 将候选人JSON转化成候选人模型
+     *
+     * @param taskCandidate 候选人定义
+     * @return 候选人模型，不是候选人模型JSON时返回null
+     */
+    private CandidateModel parseCandidateModel(String taskCandidate) {
+        if (StrUtil.isBlank(taskCandidate) || !taskCandidate.trim().startsWith(JSON_OBJECT_PREFIX)) {
+            return null;
+        }
+
+        CandidateModel candidateModel = candidateModelCache.get(taskCandidate);
+        if (Objects.nonNull(candidateModel)) {
+            return candidateModel;
+        }
+
+        try {
+            candidateModel = objectMapper.readValue(taskCandidate, CandidateModelImpl.class);
+            candidateModelCache.put(taskCandidate, candidateModel);
+            return candidateModel;
+        } catch (JsonProcessingException exception) {
+            log.info(String.format("%s resolver exception:", getClass().getName()), exception);
+            return null;
+        }
     }
 }
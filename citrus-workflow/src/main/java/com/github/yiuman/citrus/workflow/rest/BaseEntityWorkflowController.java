@@ -8,6 +8,7 @@ import com.github.yiuman.citrus.support.utils.CrudUtils;
 import com.github.yiuman.citrus.workflow.model.ProcessBusinessModel;
 import com.github.yiuman.citrus.workflow.service.EntityCrudWorkflowService;
 import com.github.yiuman.citrus.workflow.service.impl.BaseEntityWorkflowService;
+import com.github.yiuman.citrus.workflow.vo.TaskOperationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -75,4 +77,15 @@ public abstract class BaseEntityWorkflowController<E extends ProcessBusinessMode
         return ResponseEntity.ok();
     }
 
+    /**
+     * 批量完成任务
+     *
+     * @param data 任务ID与任务的数据
+     * @return 每个任务的处理结果
+     */
+    @PostMapping("/complete/batch")
+    public ResponseEntity<List<TaskOperationResult>> batchComplete(@RequestBody Map<String, Map<String, Object>> data) throws Exception {
+        return ResponseEntity.ok(getProcessService().batchComplete(data));
+    }
+
 }
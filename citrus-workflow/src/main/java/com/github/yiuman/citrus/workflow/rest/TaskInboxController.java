@@ -0,0 +1,137 @@
+package com.github.yiuman.citrus.workflow.rest;
+
+import com.github.yiuman.citrus.support.crud.query.Query;
+import com.github.yiuman.citrus.support.crud.query.annotations.Equals;
+import com.github.yiuman.citrus.support.crud.query.annotations.Like;
+import com.github.yiuman.citrus.support.crud.query.builder.QueryBuilders;
+import com.github.yiuman.citrus.support.crud.rest.BaseQueryController;
+import com.github.yiuman.citrus.support.crud.view.impl.PageTableView;
+import com.github.yiuman.citrus.support.exception.RestException;
+import com.github.yiuman.citrus.support.http.ResponseEntity;
+import com.github.yiuman.citrus.support.http.ResponseStatusCode;
+import com.github.yiuman.citrus.workflow.entity.TaskInbox;
+import com.github.yiuman.citrus.workflow.service.WorkflowAdminChecker;
+import com.github.yiuman.citrus.workflow.service.WorkflowUserProvider;
+import com.github.yiuman.citrus.workflow.service.impl.TaskInboxService;
+import com.github.yiuman.citrus.workflow.utils.WorkflowUserUtils;
+import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 待办任务收件箱<br/>
+ * 列表、计数与筛选均查询收件箱投影，只返回当前用户的待办
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@RestController
+@RequestMapping("/rest/inbox")
+public class TaskInboxController extends BaseQueryController<TaskInbox, Long> {
+
+    private final TaskInboxService taskInboxService;
+
+    private final ObjectProvider<WorkflowAdminChecker> adminChecker;
+
+    private final ObjectProvider<WorkflowUserProvider> userProvider;
+
+    public TaskInboxController(TaskInboxService taskInboxService,
+                               ObjectProvider<WorkflowAdminChecker> adminChecker,
+                               ObjectProvider<WorkflowUserProvider> userProvider) {
+        this.taskInboxService = taskInboxService;
+        this.adminChecker = adminChecker;
+        this.userProvider = userProvider;
+        addSortBy("create_time", true);
+        setParamClass(TaskInboxQuery.class);
+    }
+
+    @Data
+    static class TaskInboxQuery {
+        @Like(mapping = "task_name")
+        private String taskName;
+        @Equals(mapping = "task_definition_key")
+        private String taskDefinitionKey;
+        @Equals(mapping = "process_definition_key")
+        private String processDefinitionKey;
+        @Equals(mapping = "identity_type")
+        private String identityType;
+        @Equals(mapping = "suspended")
+        private Boolean suspended;
+    }
+
+    @Override
+    public Object createPageView() {
+        PageTableView<TaskInbox> view = new PageTableView<>(false);
+        view.addWidget("任务名称", "taskName");
+        view.addColumn("任务名称", "taskName");
+        view.addColumn("身份", "identityType");
+        view.addColumn("业务信息", "businessData");
+        view.addColumn("创建时间", "createTime");
+        view.addColumn("到期时间", "dueDate");
+        return view;
+    }
+
+    @Override
+    protected TaskInboxService getService() {
+        return taskInboxService;
+    }
+
+    /**
+     * 只能查看当前用户的待办
+     */
+    @Override
+    public TaskInbox get(Long key) {
+        TaskInbox inbox = super.get(key);
+        String userId = getCurrentUserId();
+        if (Objects.isNull(inbox) || Objects.isNull(userId) || !userId.equals(inbox.getUserId())) {
+            throw new RestException("待办不存在", ResponseStatusCode.NOT_FOUND);
+        }
+        return inbox;
+    }
+
+    @Override
+    protected Query getQueryCondition(Object params) {
+        Query query = Optional.ofNullable(super.getQueryCondition(params)).orElse(Query.create());
+        return QueryBuilders.wrapper(query).eq("user_id", getCurrentUserId()).toQuery();
+    }
+
+    /**
+     * 当前用户的待办数
+     *
+     * @return 未挂起的待办任务数
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> count() {
+        return ResponseEntity.ok(taskInboxService.count(getCurrentUserId()));
+    }
+
+    /**
+     * 根据流程引擎中的活动任务重建收件箱，仅管理员可操作
+     *
+     * @return 空Void
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        WorkflowAdminChecker checker = adminChecker.getIfAvailable();
+        if (Objects.isNull(checker) || !checker.isAdmin()) {
+            throw new RestException("只有管理员可以重建收件箱", ResponseStatusCode.NO_PERMISSIONS);
+        }
+        taskInboxService.rebuild();
+        return ResponseEntity.ok();
+    }
+
+    /**
+     * 当前用户ID，与收件箱中保存的候选人ID一致
+     *
+     * @return 用户ID
+     */
+    protected String getCurrentUserId() {
+        return WorkflowUserUtils.getCurrentUserId(userProvider.getIfAvailable());
+    }
+}
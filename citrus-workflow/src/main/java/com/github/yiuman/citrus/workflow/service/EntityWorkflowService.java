@@ -1,8 +1,10 @@
 package com.github.yiuman.citrus.workflow.service;
 
 import com.github.yiuman.citrus.workflow.model.ProcessBusinessModel;
+import com.github.yiuman.citrus.workflow.vo.TaskOperationResult;
 import org.activiti.engine.runtime.ProcessInstance;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,4 +41,23 @@ public interface EntityWorkflowService<E extends ProcessBusinessModel> extends W
      */
     void complete(String taskId, Map<String, Object> variables) throws Exception;
 
+    /**
+     * 根据ID批量完成任务，业务实体统一查询并批量保存
+     *
+     * @param taskVariables 任务ID与任务变量
+     * @return 每个任务的处理结果
+     * @throws Exception 数据库异常
+     */
+    List<TaskOperationResult> batchComplete(Map<String, Map<String, Object>> taskVariables) throws Exception;
+
+    /**
+     * 获取业务对象在待办收件箱中的字段投影
+     *
+     * @param businessKey 业务主键
+     * @return 业务字段投影，默认不投影
+     */
+    default Map<String, Object> getInboxProjection(String businessKey) {
+        return null;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.github.yiuman.citrus.workflow.service;
+
+/**
+ * 流程管理员校验，由接入的用户体系实现，用于重建收件箱等管理操作<br/>
+ * 容器中没有实现时所有用户都不是管理员
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public interface WorkflowAdminChecker {
+
+    /**
+     * 当前用户是否为管理员
+     *
+     * @return 是管理员时为true
+     */
+    boolean isAdmin();
+}
@@ -2,7 +2,14 @@ package com.github.yiuman.citrus.workflow.service;
 
 import com.github.yiuman.citrus.workflow.model.StartProcessModel;
 import com.github.yiuman.citrus.workflow.model.TaskCompleteModel;
+import com.github.yiuman.citrus.workflow.vo.TaskOperationResult;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 流程服务类
@@ -29,6 +36,25 @@ public interface WorkflowService extends WorkflowEngineGetter {
      */
     void complete(TaskCompleteModel model);
 
+    /**
+     * 批量完成任务
+     *
+     * @param models 任务完成模型集合
+     * @return 每个任务的处理结果
+     * @see TaskCompleteModel
+     */
+    List<TaskOperationResult> batchComplete(Collection<? extends TaskCompleteModel> models);
+
+    /**
+     * 批量完成任务，每组任务校验通过后、完成前执行一次beforeComplete，与任务的完成在同一事务中
+     *
+     * @param models         任务完成模型集合
+     * @param beforeComplete 任务完成前的操作，参数为校验通过的任务及其完成模型，如批量保存业务对象，可以为空
+     * @return 每个任务的处理结果
+     */
+    List<TaskOperationResult> batchComplete(Collection<? extends TaskCompleteModel> models,
+                                            Consumer<Map<Task, TaskCompleteModel>> beforeComplete);
+
     /**
      * 签收任务
      *
@@ -37,6 +63,25 @@ public interface WorkflowService extends WorkflowEngineGetter {
      */
     void claim(String taskId, String userId);
 
+    /**
+     * 批量签收任务
+     *
+     * @param taskIds 任务ID集合
+     * @param userId  用户ID
+     * @return 每个任务的处理结果
+     */
+    List<TaskOperationResult> batchClaim(Collection<String> taskIds, String userId);
+
+    /**
+     * 批量委派任务
+     *
+     * @param taskIds        任务ID集合
+     * @param userId         当前处理人ID
+     * @param delegateUserId 被委派人ID
+     * @return 每个任务的处理结果
+     */
+    List<TaskOperationResult> batchDelegate(Collection<String> taskIds, String userId, String delegateUserId);
+
     /**
      * 任务跳转
      *
@@ -0,0 +1,18 @@
+package com.github.yiuman.citrus.workflow.service;
+
+/**
+ * 流程当前用户，由接入的用户体系实现<br/>
+ * 返回的用户ID需与候选人解析结果一致，收件箱、签收、办理均以此识别当前用户
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public interface WorkflowUserProvider {
+
+    /**
+     * 当前用户ID
+     *
+     * @return 用户ID，未登录时为null
+     */
+    String getCurrentUserId();
+}
@@ -1,9 +1,11 @@
 package com.github.yiuman.citrus.workflow.service.impl;
 
+import cn.hutool.core.bean.BeanUtil;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.github.yiuman.citrus.support.crud.query.Query;
 import com.github.yiuman.citrus.support.crud.service.BaseService;
 import com.github.yiuman.citrus.support.utils.ConvertUtils;
+import com.github.yiuman.citrus.support.utils.LambdaUtils;
 import com.github.yiuman.citrus.support.utils.SpringUtils;
 import com.github.yiuman.citrus.workflow.exception.WorkflowException;
 import com.github.yiuman.citrus.workflow.model.ProcessBusinessModel;
@@ -13,16 +15,19 @@ import com.github.yiuman.citrus.workflow.model.impl.StartProcessModelImpl;
 import com.github.yiuman.citrus.workflow.model.impl.TaskCompleteModelImpl;
 import com.github.yiuman.citrus.workflow.service.EntityCrudWorkflowService;
 import com.github.yiuman.citrus.workflow.service.WorkflowService;
+import com.github.yiuman.citrus.workflow.utils.WorkflowUserUtils;
+import com.github.yiuman.citrus.workflow.vo.TaskOperationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.TaskService;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.CollectionUtils;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * 实体业务模型的基础流程逻辑服务类
@@ -139,10 +144,7 @@ public abstract class BaseEntityWorkflowService<E extends ProcessBusinessModel,
                             .active()
                             .singleResult()
             ).orElseThrow(() -> new WorkflowException(String.format("can not find Task for taskId:[%s]", taskId)));
-            Map<String, Object> businessObject = (Map<String, Object>) variables.get(task.getBusinessKey());
-            if (Objects.nonNull(businessObject)) {
-                save(ConvertUtils.mapAssignment(get((K) task.getBusinessKey()), businessObject));
-            }
+            saveBusinessObjects(Collections.singletonMap(task, variables));
 
         }
 
@@ -153,8 +155,94 @@ public abstract class BaseEntityWorkflowService<E extends ProcessBusinessModel,
                 .build());
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<TaskOperationResult> batchComplete(Map<String, Map<String, Object>> taskVariables) throws Exception {
+        if (CollectionUtils.isEmpty(taskVariables)) {
+            return new ArrayList<>();
+        }
+
+        String userId = getCurrentUserId();
+        List<TaskCompleteModel> models = new ArrayList<>(taskVariables.size());
+        taskVariables.forEach((taskId, variables) -> models.add(TaskCompleteModelImpl.builder()
+                .taskId(taskId)
+                .taskVariables(variables)
+                .userId(userId)
+                .build()));
+        //业务对象在每组任务校验通过后、完成前批量保存，与任务的完成在同一事务中，校验不通过的任务不保存
+        return batchComplete(models, LambdaUtils.consumerWrapper(tasks -> {
+            Map<Task, Map<String, Object>> variablesOfTasks = new LinkedHashMap<>(tasks.size());
+            tasks.forEach((task, model) -> variablesOfTasks.put(task, model.getTaskVariables()));
+            saveBusinessObjects(variablesOfTasks);
+        }));
+    }
+
+    /**
+     * 保存任务变量中以业务主键为键的业务对象，一次查询所有业务实体，赋值后一次批量保存
+     *
+     * @param taskVariables 任务及其变量
+     * @throws Exception 赋值或保存失败时抛出
+     */
+    @SuppressWarnings("unchecked")
+    protected void saveBusinessObjects(Map<Task, Map<String, Object>> taskVariables) throws Exception {
+        Map<String, Map<String, Object>> businessObjects = new LinkedHashMap<>(taskVariables.size());
+        taskVariables.forEach((task, variables) -> {
+            Object businessObject = Objects.nonNull(variables) && Objects.nonNull(task.getBusinessKey())
+                    ? variables.get(task.getBusinessKey())
+                    : null;
+            if (businessObject instanceof Map) {
+                businessObjects.put(task.getBusinessKey(), (Map<String, Object>) businessObject);
+            }
+        });
+        if (businessObjects.isEmpty()) {
+            return;
+        }
+
+        List<E> entities = listByKeys(businessObjects.keySet().stream().map(key -> (K) key).collect(Collectors.toList()));
+        for (E entity : entities) {
+            ConvertUtils.mapAssignment(entity, businessObjects.get(String.valueOf(getKey(entity))));
+        }
+        batchSave(entities);
+    }
+
+    /**
+     * 获取投影到待办收件箱的业务字段，用于待办列表的展示与筛选
+     *
+     * @return 业务实体的属性名，默认不投影
+     */
+    protected List<String> getInboxFields() {
+        return Collections.emptyList();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<String, Object> getInboxProjection(String businessKey) {
+        if (CollectionUtils.isEmpty(getInboxFields())) {
+            return null;
+        }
+
+        return Optional.ofNullable(get((K) businessKey))
+                .map(this::toInboxProjection)
+                .orElse(null);
+    }
+
+    @Override
+    public void afterSave(E entity) throws Exception {
+        //业务对象变更后同步收件箱中的业务字段
+        if (!CollectionUtils.isEmpty(getInboxFields())) {
+            SpringUtils.getBean(TaskInboxService.class, true)
+                    .refreshBusinessData(getProcessDefineKey(), String.valueOf(getKey(entity)), toInboxProjection(entity));
+        }
+    }
+
+    private Map<String, Object> toInboxProjection(E entity) {
+        Map<String, Object> projection = new LinkedHashMap<>(getInboxFields().size());
+        getInboxFields().forEach(field -> projection.put(field, BeanUtil.getProperty(entity, field)));
+        return projection;
+    }
+
     protected String getCurrentUserId() {
-        return (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return WorkflowUserUtils.getCurrentUserId();
     }
 
     @Override
@@ -168,6 +256,27 @@ public abstract class BaseEntityWorkflowService<E extends ProcessBusinessModel,
         getProcessService().complete(model);
     }
 
+    @Override
+    public List<TaskOperationResult> batchComplete(Collection<? extends TaskCompleteModel> models) {
+        return getProcessService().batchComplete(models);
+    }
+
+    @Override
+    public List<TaskOperationResult> batchComplete(Collection<? extends TaskCompleteModel> models,
+                                                   Consumer<Map<Task, TaskCompleteModel>> beforeComplete) {
+        return getProcessService().batchComplete(models, beforeComplete);
+    }
+
+    @Override
+    public List<TaskOperationResult> batchClaim(Collection<String> taskIds, String userId) {
+        return getProcessService().batchClaim(taskIds, userId);
+    }
+
+    @Override
+    public List<TaskOperationResult> batchDelegate(Collection<String> taskIds, String userId, String delegateUserId) {
+        return getProcessService().batchDelegate(taskIds, userId, delegateUserId);
+    }
+
     @Override
     public void jump(String taskId, String targetTaskKey) {
         getProcessService().jump(taskId, targetTaskKey);
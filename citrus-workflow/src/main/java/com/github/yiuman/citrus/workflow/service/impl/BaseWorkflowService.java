@@ -1,8 +1,12 @@
 package com.github.yiuman.citrus.workflow.service.impl;
 
+import cn.hutool.core.collection.CollUtil;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.github.yiuman.citrus.support.utils.LambdaUtils;
 import com.github.yiuman.citrus.support.utils.SpringUtils;
+import com.github.yiuman.citrus.workflow.cache.ProcessDefinitionMetadataCache;
+import com.github.yiuman.citrus.workflow.cache.UserTaskMetadata;
+import com.github.yiuman.citrus.workflow.cmd.BatchTaskCmd;
 import com.github.yiuman.citrus.workflow.cmd.JumpTaskCmd;
 import com.github.yiuman.citrus.workflow.exception.WorkflowException;
 import com.github.yiuman.citrus.workflow.model.ProcessPersonalModel;
@@ -13,13 +17,14 @@ import com.github.yiuman.citrus.workflow.model.impl.WorkflowContextImpl;
 import com.github.yiuman.citrus.workflow.resolver.TaskCandidateResolver;
 import com.github.yiuman.citrus.workflow.service.WorkflowEngineGetter;
 import com.github.yiuman.citrus.workflow.service.WorkflowService;
-import org.activiti.bpmn.model.BpmnModel;
-import org.activiti.bpmn.model.FlowElement;
-import org.activiti.bpmn.model.UserTask;
+import com.github.yiuman.citrus.workflow.vo.TaskOperationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.ManagementService;
 import org.activiti.engine.ProcessEngine;
-import org.activiti.engine.RepositoryService;
-import org.activiti.engine.RuntimeService;
 import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
@@ -27,6 +32,10 @@ import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 流程处理抽象类<br/>
@@ -35,8 +44,14 @@ import java.util.*;
  * @author yiuman
  * @date 2020/12/11
  */
+@Slf4j
 public abstract class BaseWorkflowService implements WorkflowService {
 
+    /**
+     * 批量处理任务时，默认每个流程命令处理的任务数
+     */
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
     private WorkflowEngineGetter workflowEngineGetter;
 
     private TaskCandidateResolver taskCandidateResolver;
@@ -131,12 +146,84 @@ public abstract class BaseWorkflowService implements WorkflowService {
                 .list();
 
         if (!taskList.isEmpty()) {
+            //同一流程实例下的任务共用流程实例，避免每个任务都查询一次
+            ProcessInstance processInstance = getProcessEngine().getRuntimeService()
+                    .createProcessInstanceQuery()
+                    .processInstanceId(task.getProcessInstanceId())
+                    .singleResult();
             //设置任务的候选人
-            taskList.forEach(LambdaUtils.consumerWrapper(nextTask -> setCandidateOrAssigned(nextTask, model)));
+            taskList.forEach(LambdaUtils.consumerWrapper(nextTask -> setCandidateOrAssigned(nextTask, processInstance, model)));
         }
 
     }
 
+    @Override
+    public List<TaskOperationResult> batchComplete(Collection<? extends TaskCompleteModel> models) {
+        return batchComplete(models, null);
+    }
+
+    @Override
+    public List<TaskOperationResult> batchComplete(Collection<? extends TaskCompleteModel> models,
+                                                   Consumer<Map<Task, TaskCompleteModel>> beforeComplete) {
+        TaskService taskService = getProcessEngine().getTaskService();
+        BiConsumer<CommandContext, Map<TaskEntity, TaskCompleteModel>> beforeOperation = Objects.nonNull(beforeComplete)
+                ? (commandContext, tasks) -> beforeComplete.accept(new LinkedHashMap<>(tasks))
+                : null;
+        return executeBatch(
+                new ArrayList<TaskCompleteModel>(models),
+                TaskCompleteModel::getTaskId,
+                (task, model) -> {
+                    String assignee = task.getAssignee();
+                    if (StringUtils.isBlank(assignee)) {
+                        return String.format("Task for taskId:[%s] did not claimed", task.getId());
+                    }
+
+                    return assignee.equals(model.getUserId())
+                            ? null
+                            : String.format("Task for taskId:[%s] can not complete by user:[%s]", task.getId(), model.getUserId());
+                },
+                beforeOperation,
+                (task, model) -> {
+                    taskService.setVariables(task.getId(), model.getVariables());
+                    taskService.setVariablesLocal(task.getId(), model.getTaskVariables());
+                    taskService.complete(task.getId());
+                    //任务已完成，直接对执行实例进行跳转
+                    if (StringUtils.isNotBlank(model.getTargetTaskKey())) {
+                        getProcessEngine().getManagementService().executeCommand(
+                                JumpTaskCmd.builder()
+                                        .executionId(task.getExecutionId())
+                                        .targetTaskKey(model.getTargetTaskKey())
+                                        .build()
+                        );
+                    }
+                },
+                this::setNextCandidateOrAssigned
+        );
+    }
+
+    /**
+     * 批量完成任务后，按流程实例找到活动中的任务并设置候选人，每个流程实例只处理一次
+     *
+     * @param commandContext 命令上下文
+     * @param completedTasks 已完成的任务及其完成模型
+     */
+    protected void setNextCandidateOrAssigned(CommandContext commandContext, Map<TaskEntity, ? extends TaskCompleteModel> completedTasks) {
+        Map<String, TaskCompleteModel> instanceModels = new LinkedHashMap<>();
+        completedTasks.forEach((task, model) -> instanceModels.put(task.getProcessInstanceId(), model));
+        instanceModels.forEach((instanceId, model) -> {
+            ExecutionEntity processInstance = commandContext.getExecutionEntityManager().findById(instanceId);
+            //流程已结束
+            if (Objects.isNull(processInstance) || processInstance.isEnded() || processInstance.isDeleted()) {
+                return;
+            }
+
+            //从命令上下文中查找，可以取到本次命令中新创建的任务
+            commandContext.getTaskEntityManager().findTasksByProcessInstanceId(instanceId).stream()
+                    .filter(nextTask -> !nextTask.isDeleted() && !nextTask.isSuspended())
+                    .forEach(LambdaUtils.consumerWrapper(nextTask -> setCandidateOrAssigned(nextTask, processInstance, model)));
+        });
+    }
+
     /**
      * 设置候选人或处理人
      *
@@ -144,55 +231,69 @@ public abstract class BaseWorkflowService implements WorkflowService {
      * @param model 流程人员模型
      */
     protected void setCandidateOrAssigned(Task task, ProcessPersonalModel model) {
-        task.getProcessInstanceId();
+        setCandidateOrAssigned(
+                task,
+                getProcessEngine().getRuntimeService()
+                        .createProcessInstanceQuery()
+                        .processInstanceId(task.getProcessInstanceId())
+                        .singleResult(),
+                model
+        );
+    }
+
+    /**
+     * 设置候选人或处理人
+     *
+     * @param task            当前的任务
+     * @param processInstance 任务所属的流程实例
+     * @param model           流程人员模型
+     */
+    protected void setCandidateOrAssigned(Task task, ProcessInstance processInstance, ProcessPersonalModel model) {
+        //已有负责人则无需处理
+        if (StringUtils.isNotBlank(task.getAssignee())) {
+            return;
+        }
+
+        //从流程定义元数据缓存中找到用户任务节点，不再每次加载流程模型
+        UserTaskMetadata userTaskMetadata = ProcessDefinitionMetadataCache.getUserTask(
+                task.getProcessDefinitionId(),
+                task.getTaskDefinitionKey()
+        );
+        if (Objects.isNull(userTaskMetadata)) {
+            return;
+        }
+
         TaskService taskService = getProcessEngine().getTaskService();
-        //查询当前任务是否已经有候选人或办理人
-        RepositoryService repositoryService = getProcessEngine().getRepositoryService();
-        BpmnModel bpmnModel = repositoryService.getBpmnModel(task.getProcessDefinitionId());
-        FlowElement flowElement = bpmnModel.getFlowElement(task.getTaskDefinitionKey());
-        if (flowElement instanceof UserTask) {
-            UserTask userTask = (UserTask) flowElement;
-            List<String> taskCandidateUsersDefine = userTask.getCandidateUsers();
-            //没有负责人，则用解析器解析流程任务定义的候选人或参数传入来的候选人
-            if (StringUtils.isBlank(task.getAssignee())) {
-                List<String> allCandidateOrAssigned = new ArrayList<>();
-                List<String> modelCandidateOrAssigned = model.getCandidateOrAssigned();
-                if (!CollectionUtils.isEmpty(modelCandidateOrAssigned)) {
-                    allCandidateOrAssigned.addAll(modelCandidateOrAssigned);
-                }
-
-                allCandidateOrAssigned.addAll(taskCandidateUsersDefine);
-
-                //删除任务候选人
-                allCandidateOrAssigned.forEach(candidateDefine -> taskService.deleteCandidateUser(task.getId(), candidateDefine));
-
-                RuntimeService runtimeService = getProcessEngine().getRuntimeService();
-
-                WorkflowContextImpl workflowContext = WorkflowContextImpl.builder()
-                        .processEngine(getProcessEngine())
-                        .processInstance(
-                                runtimeService
-                                        .createProcessInstanceQuery()
-                                        .processInstanceId(task.getProcessInstanceId())
-                                        .singleResult()
-                        )
-                        .task(task)
-                        .flowElement(flowElement)
-                        .currentUserId(model.getUserId())
-                        .build();
-                //解析器解析完成后，把真正的候选人添加到任务中去
-                Optional.ofNullable(getTaskCandidateResolver().resolve(workflowContext, allCandidateOrAssigned))
-                        .ifPresent(resolvedCandidates -> {
-                            if (resolvedCandidates.size() == 1) {
-                                taskService.setAssignee(task.getId(), resolvedCandidates.get(1));
-                            } else {
-                                resolvedCandidates.stream().filter(Objects::nonNull)
-                                        .forEach(realUserId -> taskService.addCandidateUser(task.getId(), realUserId));
-                            }
-                        });
-            }
+        //没有负责人，则用解析器解析流程任务定义的候选人或参数传入来的候选人
+        List<String> allCandidateOrAssigned = new ArrayList<>();
+        List<String> modelCandidateOrAssigned = model.getCandidateOrAssigned();
+        if (!CollectionUtils.isEmpty(modelCandidateOrAssigned)) {
+            allCandidateOrAssigned.addAll(modelCandidateOrAssigned);
         }
 
+        allCandidateOrAssigned.addAll(userTaskMetadata.getCandidateDefines());
+
+        //删除任务候选人
+        allCandidateOrAssigned.forEach(candidateDefine -> taskService.deleteCandidateUser(task.getId(), candidateDefine));
+
+        WorkflowContextImpl workflowContext = WorkflowContextImpl.builder()
+                .processEngine(getProcessEngine())
+                .processInstance(processInstance)
+                .task(task)
+                .flowElement(userTaskMetadata.getUserTask())
+                .currentUserId(model.getUserId())
+                .build();
+        //解析器解析完成后，把真正的候选人添加到任务中去
+        Optional.ofNullable(getTaskCandidateResolver().resolve(workflowContext, allCandidateOrAssigned))
+                .ifPresent(resolvedCandidates -> {
+                    if (resolvedCandidates.size() == 1) {
+                        taskService.setAssignee(task.getId(), resolvedCandidates.get(0));
+                    } else {
+                        resolvedCandidates.stream().filter(Objects::nonNull)
+                                .forEach(realUserId -> taskService.addCandidateUser(task.getId(), realUserId));
+                    }
+                });
+
     }
 
     @Override
@@ -212,6 +313,118 @@ public abstract class BaseWorkflowService implements WorkflowService {
         taskService.claim(taskId, userId);
     }
 
+    @Override
+    public List<TaskOperationResult> batchClaim(Collection<String> taskIds, String userId) {
+        TaskService taskService = getProcessEngine().getTaskService();
+        return executeBatch(
+                new ArrayList<>(taskIds),
+                Function.identity(),
+                (task, taskId) -> {
+                    if (StringUtils.isNotBlank(task.getAssignee())) {
+                        return String.format("Task for taskId:[%s] has been claimed", taskId);
+                    }
+
+                    //与单个签收一致，候选人包含候选组中的用户
+                    boolean isCandidate = taskService.createTaskQuery()
+                            .taskId(taskId)
+                            .taskCandidateOrAssigned(userId)
+                            .count() > 0;
+                    return isCandidate ? null : String.format("can not claim Task for taskId:[%s]", taskId);
+                },
+                (task, taskId) -> taskService.claim(taskId, userId),
+                null
+        );
+    }
+
+    @Override
+    public List<TaskOperationResult> batchDelegate(Collection<String> taskIds, String userId, String delegateUserId) {
+        Assert.notNull(delegateUserId, "The delegate user can not be empty!");
+        TaskService taskService = getProcessEngine().getTaskService();
+        return executeBatch(
+                new ArrayList<>(taskIds),
+                Function.identity(),
+                (task, taskId) -> Objects.equals(userId, task.getAssignee())
+                        ? null
+                        : String.format("Task for taskId:[%s] can not delegate by user:[%s]", taskId, userId),
+                (task, taskId) -> taskService.delegateTask(taskId, delegateUserId),
+                null
+        );
+    }
+
+    /**
+     * 批量处理任务<br/>
+     * 按批次大小分组，每组任务在一个流程命令（同一事务）中处理；
+     * 若某组在处理中出现异常导致整组回滚，则对该组任务逐个重新执行，以便返回每个任务的处理结果
+     *
+     * @param items          操作模型集合
+     * @param taskIdGetter   获取操作模型的任务ID
+     * @param validator      任务校验，返回失败原因，通过返回null
+     * @param operation      任务处理
+     * @param afterOperation 每组任务处理完成后的操作，可以为空
+     * @param <T>            操作模型类型
+     * @return 每个任务的处理结果
+     */
+    protected <T> List<TaskOperationResult> executeBatch(List<T> items,
+                                                         Function<T, String> taskIdGetter,
+                                                         BiFunction<TaskEntity, T, String> validator,
+                                                         BiConsumer<TaskEntity, T> operation,
+                                                         BiConsumer<CommandContext, Map<TaskEntity, T>> afterOperation) {
+        return executeBatch(items, taskIdGetter, validator, null, operation, afterOperation);
+    }
+
+    /**
+     * 批量处理任务<br/>
+     * 按批次大小分组，每组任务在一个流程命令（同一事务）中处理；
+     * 若某组在处理中出现异常导致整组回滚，则对该组任务逐个重新执行，以便返回每个任务的处理结果
+     *
+     * @param items           操作模型集合
+     * @param taskIdGetter    获取操作模型的任务ID
+     * @param validator       任务校验，返回失败原因，通过返回null
+     * @param beforeOperation 每组任务校验通过后、处理前的操作，可以为空
+     * @param operation       任务处理
+     * @param afterOperation  每组任务处理完成后的操作，可以为空
+     * @param <T>             操作模型类型
+     * @return 每个任务的处理结果
+     */
+    protected <T> List<TaskOperationResult> executeBatch(List<T> items,
+                                                         Function<T, String> taskIdGetter,
+                                                         BiFunction<TaskEntity, T, String> validator,
+                                                         BiConsumer<CommandContext, Map<TaskEntity, T>> beforeOperation,
+                                                         BiConsumer<TaskEntity, T> operation,
+                                                         BiConsumer<CommandContext, Map<TaskEntity, T>> afterOperation) {
+        ManagementService managementService = getProcessEngine().getManagementService();
+        List<TaskOperationResult> results = new ArrayList<>(items.size());
+        for (List<T> batchItems : CollUtil.split(items, getBatchSize())) {
+            try {
+                results.addAll(managementService.executeCommand(
+                        new BatchTaskCmd<>(batchItems, taskIdGetter, validator, beforeOperation, operation, afterOperation)
+                ));
+            } catch (Exception ex) {
+                log.warn("batch task operation failed, retry one by one", ex);
+                batchItems.forEach(item -> {
+                    try {
+                        results.addAll(managementService.executeCommand(
+                                new BatchTaskCmd<>(Collections.singletonList(item), taskIdGetter, validator, beforeOperation, operation, afterOperation)
+                        ));
+                    } catch (Exception itemEx) {
+                        results.add(TaskOperationResult.failure(taskIdGetter.apply(item), itemEx.getMessage()));
+                    }
+                });
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * 批量处理时每个流程命令处理的任务数
+     *
+     * @return 批次大小
+     */
+    protected int getBatchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
     @Override
     public void jump(String taskId, String targetTaskKey) {
         TaskService taskService = getProcessEngine().getTaskService();
@@ -0,0 +1,275 @@
+package com.github.yiuman.citrus.workflow.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yiuman.citrus.support.crud.service.BaseService;
+import com.github.yiuman.citrus.support.utils.SpringUtils;
+import com.github.yiuman.citrus.workflow.cache.ProcessDefinitionMetadataCache;
+import com.github.yiuman.citrus.workflow.entity.TaskInbox;
+import com.github.yiuman.citrus.workflow.exception.WorkflowException;
+import com.github.yiuman.citrus.workflow.mapper.TaskInboxMapper;
+import com.github.yiuman.citrus.workflow.service.EntityWorkflowService;
+import org.activiti.bpmn.model.Process;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.task.IdentityLink;
+import org.activiti.engine.task.IdentityLinkType;
+import org.activiti.engine.task.Task;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 待办任务收件箱服务<br/>
+ * 维护活动任务的收件箱投影，待办的列表、计数与筛选只需查询收件箱表，无需关联流程引擎的运行时表再逐条加载业务对象
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Service
+public class TaskInboxService extends BaseService<TaskInbox, Long> {
+
+    /**
+     * 重建收件箱时每个命令处理的任务数
+     */
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+
+    private final TaskInboxMapper taskInboxMapper;
+
+    /**
+     * 流程定义key -> 业务实体的流程服务
+     */
+    private volatile Map<String, EntityWorkflowService<?>> entityWorkflowServices;
+
+    public TaskInboxService(ObjectMapper objectMapper, TaskInboxMapper taskInboxMapper) {
+        this.objectMapper = objectMapper;
+        this.taskInboxMapper = taskInboxMapper;
+    }
+
+    /**
+     * 根据任务当前状态重新投影任务的收件箱记录<br/>
+     * 有处理人时只投影处理人，否则投影所有候选人；需在流程命令上下文中调用
+     *
+     * @param task 任务实体
+     */
+    public void project(TaskEntity task) {
+        removeTask(task.getId());
+        if (task.isDeleted()) {
+            return;
+        }
+
+        Map<String, String> identities = new LinkedHashMap<>();
+        if (StringUtils.isNotBlank(task.getAssignee())) {
+            identities.put(task.getAssignee(), TaskInbox.IDENTITY_ASSIGNEE);
+        } else {
+            task.getIdentityLinks().stream()
+                    .filter(identityLink -> IdentityLinkType.CANDIDATE.equals(identityLink.getType()))
+                    .map(IdentityLink::getUserId)
+                    .filter(StringUtils::isNotBlank)
+                    .forEach(userId -> identities.putIfAbsent(userId, TaskInbox.IDENTITY_CANDIDATE));
+        }
+
+        if (identities.isEmpty()) {
+            return;
+        }
+
+        TaskInbox template = newInbox(task);
+        List<TaskInbox> inboxes = identities.entrySet().stream()
+                .map(identity -> copyInbox(template, identity.getKey(), identity.getValue()))
+                .collect(Collectors.toList());
+        getMapper().saveBatch(inboxes);
+    }
+
+    /**
+     * 任务添加候选人后增加这些候选人的收件箱记录，已有处理人时忽略<br/>
+     * 任务信息与业务字段从任务已有的收件箱记录复制，不重新加载业务对象；
+     * 所有候选人一次插入，已有的记录依靠（任务ID，用户ID）唯一键忽略；需在流程命令上下文中调用
+     *
+     * @param task    任务实体
+     * @param userIds 候选人
+     */
+    public void addCandidates(TaskEntity task, Collection<String> userIds) {
+        if (task.isDeleted() || StringUtils.isNotBlank(task.getAssignee()) || CollectionUtils.isEmpty(userIds)) {
+            return;
+        }
+
+        TaskInbox template = getMapper().selectPage(new Page<>(1, 1, false), Wrappers.<TaskInbox>lambdaQuery()
+                        .eq(TaskInbox::getTaskId, task.getId()))
+                .getRecords()
+                .stream()
+                .findFirst()
+                .orElseGet(() -> newInbox(task));
+        List<TaskInbox> inboxes = userIds.stream()
+                .map(userId -> {
+                    TaskInbox inbox = copyInbox(template, userId, TaskInbox.IDENTITY_CANDIDATE);
+                    inbox.setId(IdWorker.getId());
+                    return inbox;
+                })
+                .collect(Collectors.toList());
+        taskInboxMapper.insertIgnore(inboxes);
+    }
+
+    /**
+     * 任务删除候选人后移除该候选人的收件箱记录
+     *
+     * @param taskId 任务ID
+     * @param userId 候选人
+     */
+    public void removeCandidate(String taskId, String userId) {
+        getMapper().delete(Wrappers.<TaskInbox>lambdaQuery()
+                .eq(TaskInbox::getTaskId, taskId)
+                .eq(TaskInbox::getUserId, userId)
+                .eq(TaskInbox::getIdentityType, TaskInbox.IDENTITY_CANDIDATE));
+    }
+
+    /**
+     * 移除任务的收件箱记录
+     *
+     * @param taskId 任务ID
+     */
+    public void removeTask(String taskId) {
+        getMapper().delete(Wrappers.<TaskInbox>lambdaQuery().eq(TaskInbox::getTaskId, taskId));
+    }
+
+    /**
+     * 业务对象变更后刷新收件箱中的业务字段投影
+     *
+     * @param processDefinitionKey 流程定义key
+     * @param businessKey          业务主键
+     * @param projection           业务字段投影
+     */
+    public void refreshBusinessData(String processDefinitionKey, String businessKey, Map<String, Object> projection) {
+        TaskInbox inbox = new TaskInbox();
+        inbox.setBusinessData(toBusinessData(projection));
+        getMapper().update(inbox, Wrappers.<TaskInbox>lambdaUpdate()
+                .eq(TaskInbox::getProcessDefinitionKey, processDefinitionKey)
+                .eq(TaskInbox::getBusinessKey, businessKey));
+    }
+
+    /**
+     * 统计用户的待办数
+     *
+     * @param userId 用户ID
+     * @return 未挂起的待办任务数
+     */
+    public long count(String userId) {
+        return getMapper().selectCount(Wrappers.<TaskInbox>lambdaQuery()
+                .eq(TaskInbox::getUserId, userId)
+                .eq(TaskInbox::getSuspended, false));
+    }
+
+    /**
+     * 根据流程引擎中的活动任务重建收件箱，用于首次启用或数据修复<br/>
+     * 每页任务在一个流程命令中投影，整个重建在同一事务中，失败时保留原有的收件箱
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void rebuild() {
+        getMapper().delete(Wrappers.<TaskInbox>lambdaQuery().isNotNull(TaskInbox::getId));
+        ProcessEngine processEngine = SpringUtils.getBean(ProcessEngine.class);
+        int pageNo = 0;
+        int projected;
+        do {
+            final int firstResult = pageNo++ * REBUILD_PAGE_SIZE;
+            projected = processEngine.getManagementService().executeCommand(commandContext -> {
+                List<Task> tasks = processEngine.getTaskService().createTaskQuery()
+                        .orderByTaskId()
+                        .asc()
+                        .listPage(firstResult, REBUILD_PAGE_SIZE);
+                tasks.forEach(task -> project(commandContext.getTaskEntityManager().findById(task.getId())));
+                return tasks.size();
+            });
+        } while (projected == REBUILD_PAGE_SIZE);
+    }
+
+    /**
+     * 根据任务创建不含用户的收件箱记录，加载业务字段投影
+     */
+    private TaskInbox newInbox(TaskEntity task) {
+        String processDefinitionKey = getProcessDefinitionKey(task);
+        String businessKey = getBusinessKey(task);
+        TaskInbox inbox = new TaskInbox();
+        inbox.setTaskId(task.getId());
+        inbox.setTaskName(task.getName());
+        inbox.setTaskDefinitionKey(task.getTaskDefinitionKey());
+        inbox.setProcessInstanceId(task.getProcessInstanceId());
+        inbox.setProcessDefinitionId(task.getProcessDefinitionId());
+        inbox.setProcessDefinitionKey(processDefinitionKey);
+        inbox.setBusinessKey(businessKey);
+        inbox.setBusinessData(toBusinessData(getBusinessProjection(processDefinitionKey, businessKey)));
+        inbox.setPriority(task.getPriority());
+        inbox.setSuspended(task.isSuspended());
+        inbox.setCreateTime(task.getCreateTime());
+        inbox.setDueDate(task.getDueDate());
+        return inbox;
+    }
+
+    private TaskInbox copyInbox(TaskInbox template, String userId, String identityType) {
+        TaskInbox inbox = new TaskInbox();
+        BeanUtils.copyProperties(template, inbox, "id");
+        inbox.setUserId(userId);
+        inbox.setIdentityType(identityType);
+        return inbox;
+    }
+
+    private String getProcessDefinitionKey(TaskEntity task) {
+        if (StringUtils.isBlank(task.getProcessDefinitionId())) {
+            return null;
+        }
+
+        return Optional.ofNullable(ProcessDefinitionMetadataCache.get(task.getProcessDefinitionId()).getBpmnModel().getMainProcess())
+                .map(Process::getId)
+                .orElse(null);
+    }
+
+    private String getBusinessKey(TaskEntity task) {
+        return Optional.ofNullable(task.getBusinessKey())
+                .orElseGet(() -> Optional.ofNullable(task.getProcessInstance())
+                        .map(ExecutionEntity::getBusinessKey)
+                        .orElse(null));
+    }
+
+    private Map<String, Object> getBusinessProjection(String processDefinitionKey, String businessKey) {
+        if (StringUtils.isBlank(processDefinitionKey) || StringUtils.isBlank(businessKey)) {
+            return null;
+        }
+
+        EntityWorkflowService<?> entityWorkflowService = getEntityWorkflowServices().get(processDefinitionKey);
+        return Objects.nonNull(entityWorkflowService) ? entityWorkflowService.getInboxProjection(businessKey) : null;
+    }
+
+    private Map<String, EntityWorkflowService<?>> getEntityWorkflowServices() {
+        if (Objects.isNull(entityWorkflowServices)) {
+            Map<String, EntityWorkflowService<?>> services = new HashMap<>(16);
+            SpringUtils.getBeanOfType(EntityWorkflowService.class)
+                    .values()
+                    .forEach(service -> services.put(service.getProcessDefineKey(), service));
+            entityWorkflowServices = services;
+        }
+
+        return entityWorkflowServices;
+    }
+
+    private String toBusinessData(Map<String, Object> projection) {
+        if (CollectionUtils.isEmpty(projection)) {
+            return null;
+        }
+
+        try {
+            return objectMapper.writeValueAsString(projection);
+        } catch (JsonProcessingException ex) {
+            throw new WorkflowException(String.format("can not write business projection:%s", ex.getMessage()));
+        }
+    }
+
+}
@@ -3,9 +3,9 @@ package com.github.yiuman.citrus.workflow.utils;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.StrUtil;
+import com.github.yiuman.citrus.workflow.cache.ProcessDefinitionMetadataCache;
 import org.activiti.bpmn.model.*;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
-import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 
 import java.util.*;
 
@@ -37,7 +37,7 @@ public final class ProcessUtils {
         if (MapUtil.isEmpty(extensionElements)) {
             return elementProperties;
         }
-        List<ExtensionElement> property = extensionElements.get(PROPERTIES_EL_NAME)
+        List<ExtensionElement> property = extensionElements.getOrDefault(PROPERTIES_EL_NAME, Collections.emptyList())
                 .stream()
                 .map(item -> item.getChildElements().get(PROPERTY_EL_NAME))
                 .reduce(CollUtil.newArrayList(), (collect, current) -> {
@@ -107,19 +107,35 @@ public final class ProcessUtils {
      *
      * @param executionEntity 当前执行实例
      * @return 上一个活动节点
+     * @see ProcessDefinitionMetadataCache
      */
     public static List<Activity> findPreActivities(ExecutionEntity executionEntity) {
-        BpmnModel bpmnModel = ProcessDefinitionUtil.getBpmnModel(executionEntity.getProcessDefinitionId());
-        Activity currentFlowElement = (Activity) executionEntity.getCurrentFlowElement();
-        List<SequenceFlow> incomingFlows = currentFlowElement.getIncomingFlows();
+        return ProcessDefinitionMetadataCache.get(executionEntity.getProcessDefinitionId())
+                .getPreActivities(executionEntity.getCurrentActivityId());
+    }
+
+    /**
+     * 根据流程模型找到节点的上一个活动节点（会穿过排他网关）
+     *
+     * @param bpmnModel   流程模型
+     * @param flowElement 当前节点
+     * @return 上一个活动节点
+     */
+    public static List<Activity> collectPreActivities(BpmnModel bpmnModel, FlowElement flowElement) {
         List<Activity> activities = new ArrayList<>();
-        collectActivity(bpmnModel, incomingFlows, activities);
+        if (flowElement instanceof FlowNode) {
+            collectActivity(bpmnModel, ((FlowNode) flowElement).getIncomingFlows(), activities, new HashSet<>());
+        }
         return activities;
     }
 
-    private static void collectActivity(BpmnModel bpmnModel, List<SequenceFlow> incomingFlows, List<Activity> collection) {
+    private static void collectActivity(BpmnModel bpmnModel, List<SequenceFlow> incomingFlows, List<Activity> collection, Set<String> visited) {
         for (SequenceFlow incomingFlow : incomingFlows) {
             String sourceRef = incomingFlow.getSourceRef();
+            //网关可能成环，访问过的节点不再处理
+            if (!visited.add(sourceRef)) {
+                continue;
+            }
             FlowElement sourceFlowElement = bpmnModel.getFlowElement(sourceRef);
             if (sourceFlowElement instanceof UserTask) {
                 collection.add((Activity) sourceFlowElement);
@@ -127,7 +143,7 @@ public final class ProcessUtils {
 
             if (sourceFlowElement instanceof ExclusiveGateway) {
                 ExclusiveGateway gateway = (ExclusiveGateway) sourceFlowElement;
-                collectActivity(bpmnModel, gateway.getIncomingFlows(), collection);
+                collectActivity(bpmnModel, gateway.getIncomingFlows(), collection, visited);
             }
         }
     }
@@ -0,0 +1,44 @@
+package com.github.yiuman.citrus.workflow.utils;
+
+import com.github.yiuman.citrus.support.utils.SpringUtils;
+import com.github.yiuman.citrus.workflow.service.WorkflowUserProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Objects;
+
+/**
+ * 流程当前用户工具类
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public final class WorkflowUserUtils {
+
+    private WorkflowUserUtils() {
+    }
+
+    /**
+     * 从容器中的{@link WorkflowUserProvider}获取当前用户ID
+     *
+     * @return 用户ID
+     */
+    public static String getCurrentUserId() {
+        return getCurrentUserId(SpringUtils.getBean(WorkflowUserProvider.class));
+    }
+
+    /**
+     * 获取当前用户ID，没有提供者时使用认证信息的名称
+     *
+     * @param provider 当前用户提供者，可为空
+     * @return 用户ID，未登录时为null
+     */
+    public static String getCurrentUserId(WorkflowUserProvider provider) {
+        if (Objects.nonNull(provider)) {
+            return provider.getCurrentUserId();
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return Objects.isNull(authentication) ? null : authentication.getName();
+    }
+}
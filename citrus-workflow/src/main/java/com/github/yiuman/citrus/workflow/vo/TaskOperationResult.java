@@ -0,0 +1,40 @@
+package com.github.yiuman.citrus.workflow.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 任务批量操作中单个任务的处理结果
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperationResult {
+
+    /**
+     * 任务ID
+     */
+    private String taskId;
+
+    /**
+     * 是否处理成功
+     */
+    private boolean success;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+
+    public static TaskOperationResult success(String taskId) {
+        return new TaskOperationResult(taskId, true, null);
+    }
+
+    public static TaskOperationResult failure(String taskId, String message) {
+        return new TaskOperationResult(taskId, false, message);
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.yiuman.citrus.workflow.listener;
+
+import com.github.yiuman.citrus.workflow.service.impl.TaskInboxService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntityManager;
+import org.activiti.engine.task.IdentityLinkType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 收件箱监听按命令汇总候选人的测试
+ *
+ * @author yiuman
+ * @date 2026/10/19
+ */
+public class TaskInboxListenerTest {
+
+    private final TaskInboxService taskInboxService = mock(TaskInboxService.class);
+
+    private final TaskInboxListener listener = new TaskInboxListener(mock(RuntimeService.class), taskInboxService);
+
+    private final CommandContext commandContext = mock(CommandContext.class);
+
+    private final TaskEntityManager taskEntityManager = mock(TaskEntityManager.class);
+
+    private final TaskEntity task = mock(TaskEntity.class);
+
+    @BeforeEach
+    public void setUp() {
+        Map<String, Object> attributes = new HashMap<>(4);
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(commandContext).addAttribute(anyString(), any());
+        when(commandContext.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+        when(commandContext.getTaskEntityManager()).thenReturn(taskEntityManager);
+        when(taskEntityManager.findById("t1")).thenReturn(task);
+        Context.setCommandContext(commandContext);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Context.removeCommandContext();
+    }
+
+    @Test
+    public void candidatesOfTaskAreInsertedOnceOnClosing() {
+        listener.onEvent(event(ActivitiEventType.ENTITY_CREATED, candidate("t1", "u1")));
+        listener.onEvent(event(ActivitiEventType.ENTITY_CREATED, candidate("t1", "u2")));
+        verify(taskInboxService, never()).addCandidates(any(), any());
+
+        closeListener().closing(commandContext);
+
+        verify(taskEntityManager, times(1)).findById("t1");
+        verify(taskInboxService).addCandidates(task, new LinkedHashSet<>(Arrays.asList("u1", "u2")));
+    }
+
+    @Test
+    public void removedCandidateIsNotInserted() {
+        listener.onEvent(event(ActivitiEventType.ENTITY_CREATED, candidate("t1", "u1")));
+        listener.onEvent(event(ActivitiEventType.ENTITY_CREATED, candidate("t1", "u2")));
+        listener.onEvent(event(ActivitiEventType.ENTITY_DELETED, candidate("t1", "u1")));
+
+        closeListener().closing(commandContext);
+
+        verify(taskInboxService).removeCandidate("t1", "u1");
+        verify(taskInboxService).addCandidates(task, Collections.singleton("u2"));
+    }
+
+    @Test
+    public void failedCommandDoesNotInsert() {
+        listener.onEvent(event(ActivitiEventType.ENTITY_CREATED, candidate("t1", "u1")));
+        when(commandContext.getException()).thenReturn(new IllegalStateException("failed"));
+
+        closeListener().closing(commandContext);
+
+        verify(taskInboxService, never()).addCandidates(any(), any());
+    }
+
+    @Test
+    public void nonCandidateLinkIsIgnored() {
+        IdentityLinkEntity participant = candidate("t1", "u1");
+        when(participant.getType()).thenReturn(IdentityLinkType.PARTICIPANT);
+
+        listener.onEvent(event(ActivitiEventType.ENTITY_CREATED, participant));
+
+        verify(commandContext, never()).addCloseListener(any());
+    }
+
+    private CommandContextCloseListener closeListener() {
+        ArgumentCaptor<CommandContextCloseListener> captor = ArgumentCaptor.forClass(CommandContextCloseListener.class);
+        verify(commandContext).addCloseListener(captor.capture());
+        return captor.getValue();
+    }
+
+    private static IdentityLinkEntity candidate(String taskId, String userId) {
+        IdentityLinkEntity identityLink = mock(IdentityLinkEntity.class);
+        when(identityLink.getTaskId()).thenReturn(taskId);
+        when(identityLink.getUserId()).thenReturn(userId);
+        when(identityLink.getType()).thenReturn(IdentityLinkType.CANDIDATE);
+        return identityLink;
+    }
+
+    private static ActivitiEntityEvent event(ActivitiEventType type, Object entity) {
+        ActivitiEntityEvent event = mock(ActivitiEntityEvent.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getEntity()).thenReturn(entity);
+        return event;
+    }
+}
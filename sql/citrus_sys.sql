@@ -242,6 +242,24 @@ CREATE TABLE `sys_dict`
 -- ----------------------------
 
 
+-- ------------字典项表----------------
+DROP TABLE IF EXISTS `sys_dict_item`;
+CREATE TABLE `sys_dict_item`
+(
+    `item_id`   bigint        NOT NULL COMMENT '字典项ID',
+    `item_name` varchar(1000) NOT NULL COMMENT '字典项名称',
+    `item_code` varchar(200)  NOT NULL COMMENT '字典项代码',
+    `order_id`  int           DEFAULT NULL COMMENT '排序',
+    `dict_id`   bigint        NOT NULL COMMENT '所属字典ID',
+    PRIMARY KEY (`item_id`) USING BTREE,
+    KEY `idx_dict_item_dict_id` (`dict_id`) USING BTREE
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8
+  ROW_FORMAT = DYNAMIC COMMENT ='字典项表';
+
+-- ----------------------------
+
+
 -- ------------访问日志表----------------
 DROP TABLE IF EXISTS `sys_access_log`;
 CREATE TABLE `sys_access_log`
@@ -286,4 +304,34 @@ CREATE TABLE `sys_file`
   DEFAULT CHARSET = utf8
   ROW_FORMAT = DYNAMIC COMMENT ='系统文件表表';
 
--- ----------------------------
\ No newline at end of file
+-- ----------------------------
+
+
+-- ------------待办任务收件箱----------------
+DROP TABLE IF EXISTS `wf_task_inbox`;
+CREATE TABLE `wf_task_inbox`
+(
+    `id`                     bigint       NOT NULL COMMENT '主键',
+    `user_id`                varchar(64)  NOT NULL COMMENT '用户ID（处理人或候选人）',
+    `identity_type`          varchar(20)  NOT NULL COMMENT '身份类型 assignee/candidate',
+    `task_id`                varchar(64)  NOT NULL COMMENT '任务ID',
+    `task_name`              varchar(255) DEFAULT NULL COMMENT '任务名称',
+    `task_definition_key`    varchar(255) DEFAULT NULL COMMENT '任务定义的key',
+    `process_instance_id`    varchar(64)  DEFAULT NULL COMMENT '流程实例ID',
+    `process_definition_id`  varchar(64)  DEFAULT NULL COMMENT '流程定义ID',
+    `process_definition_key` varchar(255) DEFAULT NULL COMMENT '流程定义的key',
+    `business_key`           varchar(255) DEFAULT NULL COMMENT '业务主键',
+    `business_data`          text         DEFAULT NULL COMMENT '业务字段投影（JSON）',
+    `priority`               int          DEFAULT NULL COMMENT '任务优先级',
+    `suspended`              bit(1)       DEFAULT b'0' COMMENT '是否挂起',
+    `create_time`            datetime     DEFAULT NULL COMMENT '任务创建时间',
+    `due_date`               datetime     DEFAULT NULL COMMENT '任务到期时间',
+    PRIMARY KEY (`id`) USING BTREE,
+    KEY `idx_inbox_user` (`user_id`, `suspended`, `create_time`) USING BTREE,
+    UNIQUE KEY `uk_inbox_task_user` (`task_id`, `user_id`) USING BTREE,
+    KEY `idx_inbox_business` (`process_definition_key`, `business_key`) USING BTREE
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8
+  ROW_FORMAT = DYNAMIC COMMENT ='待办任务收件箱';
+
+-- ----------------------------